@@ -16,6 +16,7 @@ import org.bsc.langgraph4j.prebuilt.MessagesState;
 import org.bsc.langgraph4j.serializer.StateSerializer;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface representing an Agent Executor (AKA ReACT agent).
@@ -83,7 +84,7 @@ public interface AgentExecutor {
 
     static AsyncNodeActionWithConfig<AgentExecutor.State> executeTooL( LC4jToolService toolService ) {
 
-        return AsyncNodeActionWithConfig.node_async((state, config) -> {
+        return (state, config) -> {
             log.trace("executeTools");
 
             var toolExecutionRequests = state.lastMessage()
@@ -93,18 +94,13 @@ public interface AgentExecutor {
                     .map(AiMessage::toolExecutionRequests);
 
             if (toolExecutionRequests.isEmpty()) {
-                return Map.of("agent_response", "no tool execution request found!");
+                return CompletableFuture.completedFuture(Map.of("agent_response", "no tool execution request found!"));
             }
 
-            var result = toolExecutionRequests.get().stream()
-                    .map(toolService::execute)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .toList();
+            return toolService.executeAll(toolExecutionRequests.get())
+                    .thenApply(result -> Map.of("messages", result));
 
-            return Map.of("messages", result);
-
-        });
+        };
     }
 
     private static AsyncCommandAction<State> shouldContinue() {
@@ -180,7 +176,7 @@ public interface AgentExecutor {
                 stateSerializer = Serializers.STD.object();
             }
 
-            final LC4jToolService toolService = new LC4jToolService(toolMap());
+            final LC4jToolService toolService = new LC4jToolService(this);
 
             return Agent.<ChatMessage,State>builder()
                     .stateSerializer(stateSerializer)
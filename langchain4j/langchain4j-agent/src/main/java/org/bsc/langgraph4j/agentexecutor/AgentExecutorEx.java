@@ -135,7 +135,7 @@ public interface AgentExecutorEx {
 
     static AsyncNodeActionWithConfig<State> executeTooL( LC4jToolService toolService, String actionName  ) {
 
-        return AsyncNodeActionWithConfig.node_async(( state, config ) -> {
+        return ( state, config ) -> {
             log.trace( "ExecuteTool" );
             var toolExecutionRequests = state.lastMessage()
                     .filter( m -> ChatMessageType.AI==m.type() )
@@ -143,20 +143,16 @@ public interface AgentExecutorEx {
                     .filter(AiMessage::hasToolExecutionRequests)
                     .map(AiMessage::toolExecutionRequests)
                     .map( requests -> requests.stream()
-                            .filter( req -> Objects.equals(req.name(), actionName)).toList())
-                    .orElseThrow(() -> new IllegalArgumentException("no tool execution request found!"))
-                    ;
+                            .filter( req -> Objects.equals(req.name(), actionName)).toList());
 
-            var results = toolExecutionRequests.stream()
-                    .map(toolService::execute)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .toList()
-                    ;
+            if( toolExecutionRequests.isEmpty() ) {
+                return CompletableFuture.failedFuture( new IllegalArgumentException("no tool execution request found!") );
+            }
 
-            return Map.of("tool_execution_results", results );
+            return toolService.executeAll( toolExecutionRequests.get() )
+                    .thenApply( results -> Map.of("tool_execution_results", results ) );
 
-        });
+        };
     }
 
     private static AsyncNodeActionWithConfig<State> dispatchTools(Set<String> approvals ) {
@@ -284,7 +280,7 @@ public interface AgentExecutorEx {
 
             var tools = toolMap();
 
-            final LC4jToolService toolService = new LC4jToolService(tools);
+            final LC4jToolService toolService = new LC4jToolService(this);
 
             return AgentEx.<ChatMessage, State, ToolSpecification>builder()
                     .stateSerializer( stateSerializer )
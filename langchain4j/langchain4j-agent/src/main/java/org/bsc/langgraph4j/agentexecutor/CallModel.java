@@ -7,11 +7,14 @@ import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.request.ChatRequestParameters;
 import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
 import dev.langchain4j.model.output.FinishReason;
 import org.bsc.langgraph4j.RunnableConfig;
 import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
 import org.bsc.langgraph4j.langchain4j.generators.StreamingChatGenerator;
 import org.bsc.langgraph4j.prebuilt.MessagesState;
+import org.bsc.langgraph4j.tracing.TraceSpan;
+import org.bsc.langgraph4j.tracing.Tracing;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -113,20 +116,47 @@ public class CallModel<State extends MessagesState<ChatMessage>> implements Asyn
                     .startingNode("agent")
                     .startingState( state )
                     .build();
-            streamingChatModel.chat(prepareRequest(messages),  generator.handler());
+            final var span = Tracing.startSpan( Tracing.MODEL_SPAN );
+            streamingChatModel.chat(prepareRequest(messages),
+                    ( span != null ) ? tracedHandler( span, generator.handler() ) : generator.handler() );
 
             return Map.of( "_generator", generator);
 
 
         }
         else {
-            var response = chatModel.chat(prepareRequest(messages));
+            var response = Tracing.trace( Tracing.MODEL_SPAN, span -> {}, () -> chatModel.chat(prepareRequest(messages)) );
 
             return mapResult(response);
         }
 
     }
 
+    /**
+     * Decorates the streaming handler to end the model span when the response is completed
+     */
+    private static StreamingChatResponseHandler tracedHandler( TraceSpan span, StreamingChatResponseHandler handler ) {
+        return new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String token) {
+                handler.onPartialResponse(token);
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse chatResponse) {
+                span.end();
+                handler.onCompleteResponse(chatResponse);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                span.recordError(error);
+                span.end();
+                handler.onError(error);
+            }
+        };
+    }
+
     @Override
     public CompletableFuture<Map<String, Object>> apply(State state, RunnableConfig config) {
         return CompletableFuture.completedFuture( applySync(state, config) );
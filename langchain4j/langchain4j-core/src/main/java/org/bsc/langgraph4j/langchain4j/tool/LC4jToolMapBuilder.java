@@ -5,20 +5,66 @@ import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.mcp.client.McpClient;
 import dev.langchain4j.service.tool.DefaultToolExecutor;
 import dev.langchain4j.service.tool.ToolExecutor;
+import org.bsc.langgraph4j.agent.ToolResultCache;
+import org.bsc.langgraph4j.bulkhead.Bulkhead;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import static dev.langchain4j.agent.tool.ToolSpecifications.toolSpecificationFrom;
 
 public class LC4jToolMapBuilder<T extends LC4jToolMapBuilder<T>> {
     private final Map<ToolSpecification, ToolExecutor> toolMap = new HashMap<>();
+    private final Map<String, Duration> toolTimeouts = new HashMap<>();
+    private final Map<String, Bulkhead> toolBulkheads = new HashMap<>();
+    private Executor toolCallExecutor;
+    private Duration defaultToolTimeout;
+    private ToolResultCache toolResultCache;
 
     public Map<ToolSpecification, ToolExecutor> toolMap() {
         return Map.copyOf(toolMap);
     }
 
+    /**
+     * Returns the executor used to run concurrent tool calls, if configured
+     *
+     * @return the configured executor
+     */
+    public Optional<Executor> toolCallExecutor() {
+        return Optional.ofNullable(toolCallExecutor);
+    }
+
+    /**
+     * Returns the default timeout applied to every tool call, if configured
+     *
+     * @return the default timeout
+     */
+    public Optional<Duration> defaultToolTimeout() {
+        return Optional.ofNullable(defaultToolTimeout);
+    }
+
+    /**
+     * Returns the per tool timeouts, indexed by tool name
+     *
+     * @return the per tool timeouts
+     */
+    public Map<String, Duration> toolTimeouts() {
+        return Map.copyOf(toolTimeouts);
+    }
+
+    /**
+     * Returns the per tool bulkheads, indexed by tool name
+     *
+     * @return the per tool bulkheads
+     */
+    public Map<String, Bulkhead> toolBulkheads() {
+        return Map.copyOf(toolBulkheads);
+    }
+
     @SuppressWarnings("unchecked")
     protected T result() {
         return (T) this;
@@ -58,6 +104,78 @@ public class LC4jToolMapBuilder<T extends LC4jToolMapBuilder<T>> {
         return result();
     }
 
+    /**
+     * Returns the cache of tool results, if configured
+     *
+     * @return the tool result cache
+     */
+    public Optional<ToolResultCache> toolResultCache() {
+        return Optional.ofNullable(toolResultCache);
+    }
+
+    /**
+     * Enables the caching of tool results
+     *
+     * @param cache the cache to use
+     * @return the updated builder instance
+     */
+    public final T toolResultCache( ToolResultCache cache ) {
+        this.toolResultCache = Objects.requireNonNull(cache, "cache cannot be null");
+        return result();
+    }
+
+    /**
+     * Sets the executor used to run independent tool calls concurrently.
+     * The executor is owned by the caller, that is in charge of shutting it down.
+     * If not set, every call runs on its own virtual thread when available (Java 21+),
+     * otherwise on the {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     *
+     * @param executor the executor
+     * @return the updated builder instance
+     */
+    public final T toolCallExecutor( Executor executor ) {
+        this.toolCallExecutor = Objects.requireNonNull(executor, "executor cannot be null");
+        return result();
+    }
+
+    /**
+     * Sets the timeout applied to every tool call that hasn't a specific one
+     *
+     * @param timeout the timeout
+     * @return the updated builder instance
+     */
+    public final T toolTimeout( Duration timeout ) {
+        this.defaultToolTimeout = Objects.requireNonNull(timeout, "timeout cannot be null");
+        return result();
+    }
+
+    /**
+     * Sets the timeout applied to the calls of the given tool
+     *
+     * @param toolName the tool name
+     * @param timeout the timeout
+     * @return the updated builder instance
+     */
+    public final T toolTimeout( String toolName, Duration timeout ) {
+        toolTimeouts.put( Objects.requireNonNull(toolName, "toolName cannot be null"),
+                Objects.requireNonNull(timeout, "timeout cannot be null") );
+        return result();
+    }
+
+    /**
+     * Limits the concurrency and the rate of the calls of the given tool through a bulkhead.
+     * The same bulkhead can be shared by several tools, or tool services, calling the same resource
+     *
+     * @param toolName the tool name
+     * @param bulkhead the bulkhead
+     * @return the updated builder instance
+     */
+    public final T toolBulkhead( String toolName, Bulkhead bulkhead ) {
+        toolBulkheads.put( Objects.requireNonNull(toolName, "toolName cannot be null"),
+                Objects.requireNonNull(bulkhead, "bulkhead cannot be null") );
+        return result();
+    }
+
     /**
      * add tools published by the mcp client
      * @param mcpClient mcpClient instance
@@ -6,12 +6,24 @@ import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.data.message.ToolExecutionResultMessage;
 import dev.langchain4j.service.tool.DefaultToolExecutor;
 import dev.langchain4j.service.tool.ToolExecutor;
+import org.bsc.langgraph4j.agent.ToolCallTask;
+import org.bsc.langgraph4j.agent.ToolResultCache;
+import org.bsc.langgraph4j.bulkhead.Bulkhead;
+import org.bsc.langgraph4j.tracing.Tracing;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static dev.langchain4j.agent.tool.ToolSpecifications.toolSpecificationFrom;
+import static java.lang.String.format;
 
 public final  class LC4jToolService {
 
@@ -77,7 +89,7 @@ public final  class LC4jToolService {
          * @return the node
          */
         public LC4jToolService build() {
-            return new LC4jToolService(toolMap());
+            return new LC4jToolService(this);
         }
     }
 
@@ -86,13 +98,55 @@ public final  class LC4jToolService {
     }
 
     private final Map<ToolSpecification, ToolExecutor> toolMap;
+    private final Map<String, Map.Entry<ToolSpecification, ToolExecutor>> toolsByName;
+    private final Executor executor;
+    private final Duration defaultTimeout;
+    private final Map<String, Duration> timeouts;
+
+    private final ToolResultCache cache;
+    private final Map<String, Bulkhead> bulkheads;
 
     public LC4jToolService(  Map<ToolSpecification, ToolExecutor> toolMap ) {
+        this( toolMap, null, null, Map.of(), null, Map.of() );
+    }
+
+    /**
+     * Creates a tool service using the tools and the execution settings collected by the given builder
+     *
+     * @param builder the builder holding tools, executor and timeouts
+     */
+    public LC4jToolService( LC4jToolMapBuilder<?> builder ) {
+        this( Objects.requireNonNull(builder, "builder cannot be null").toolMap(),
+                builder.toolCallExecutor().orElse(null),
+                builder.defaultToolTimeout().orElse(null),
+                builder.toolTimeouts(),
+                builder.toolResultCache().orElse(null),
+                builder.toolBulkheads() );
+    }
+
+    private LC4jToolService( Map<ToolSpecification, ToolExecutor> toolMap,
+                             Executor executor,
+                             Duration defaultTimeout,
+                             Map<String, Duration> timeouts,
+                             ToolResultCache cache,
+                             Map<String, Bulkhead> bulkheads ) {
         this.toolMap = Objects.requireNonNull(toolMap, "toolMap cannot be null");
         if (toolMap.isEmpty()) {
             log.warn( "tool chain is empty!" );
             // throw new IllegalArgumentException("entries cannot be empty!");
         }
+        this.toolsByName = new LinkedHashMap<>();
+        for( var entry : toolMap.entrySet() ) {
+            var prev = toolsByName.putIfAbsent( entry.getKey().name(), Map.entry( entry.getKey(), entry.getValue() ) );
+            if( prev != null ) {
+                log.warn( "tool '{}' is declared more than once! only one will be used", entry.getKey().name() );
+            }
+        }
+        this.executor = executor;
+        this.defaultTimeout = defaultTimeout;
+        this.timeouts = Map.copyOf(timeouts);
+        this.cache = cache;
+        this.bulkheads = Map.copyOf(bulkheads);
     }
 
     /**
@@ -116,17 +170,147 @@ public final  class LC4jToolService {
 
         log.trace("execute: {}", request.name());
 
-        return toolMap.entrySet().stream()
-                .filter(e -> Objects.equals(e.getKey().name(),request.name()))
-                .map(Map.Entry::getValue)
-                .findFirst()
-                .map(e -> {
-                    String value = e.execute(request, memoryId);
+        return Optional.ofNullable( toolsByName.get(request.name()) )
+                .map( e -> Tracing.trace( Tracing.TOOL_SPAN, span -> span.setAttribute( Tracing.TOOL_NAME, request.name() ), () -> {
+                    String value = ( cache != null ) ?
+                            cache.computeIfAbsent( memoryId, request.name(), request.arguments(), () -> executeTool( e.getValue(), request, memoryId ) ) :
+                            executeTool( e.getValue(), request, memoryId );
                     return new ToolExecutionResultMessage(request.id(), request.name(), value);
-                })
+                }))
                 ;
     }
 
+    /**
+     * Executes all the given requests concurrently on the configured executor.
+     * Each call is bounded by its tool timeout (if any), that interrupts the call once elapsed, and the results are
+     * returned in the same order of requests.
+     * A failing (or timed out) call doesn't affect the others and its error is reported as the tool result.
+     * Requests that don't match any tool are skipped.
+     *
+     * @param requests the requests to execute
+     * @param memoryId the memory id to pass to the tools
+     * @return a future completed with the tool results
+     */
+    public CompletableFuture<List<ToolExecutionResultMessage>> executeAll(List<ToolExecutionRequest> requests, Object memoryId) {
+        Objects.requireNonNull(requests, "requests cannot be null");
+
+        final var futures = requests.stream()
+                .filter( request -> {
+                    if( toolsByName.containsKey( request.name() ) ) {
+                        return true;
+                    }
+                    log.warn( "no tool found for request '{}'", request.name() );
+                    return false;
+                })
+                .map( request -> executeAsync( request, memoryId ) )
+                .toList();
+
+        return CompletableFuture.allOf( futures.toArray( CompletableFuture[]::new ) )
+                .thenApply( v -> futures.stream().map(CompletableFuture::join).toList() );
+    }
+
+    /**
+     * Executes all the given requests concurrently on the configured executor.
+     *
+     * @param requests the requests to execute
+     * @return a future completed with the tool results in the same order of requests
+     * @see #executeAll(List, Object)
+     */
+    public CompletableFuture<List<ToolExecutionResultMessage>> executeAll(List<ToolExecutionRequest> requests) {
+        return executeAll(requests, null);
+    }
+
+    private CompletableFuture<ToolExecutionResultMessage> executeAsync(ToolExecutionRequest request, Object memoryId) {
+        final var toolExecutor = toolsByName.get(request.name()).getValue();
+        final var timeout = timeouts.getOrDefault( request.name(), defaultTimeout );
+
+        // results are scoped by memory id and the same calls in flight are executed once
+        final var future = ( cache != null ) ?
+                cache.computeIfAbsentAsync( memoryId, request.name(), request.arguments(), () -> callAsync( toolExecutor, request, memoryId, timeout ) ) :
+                callAsync( toolExecutor, request, memoryId, timeout );
+
+        // errors and timeouts are converted in a tool result, so they are isolated from the other calls
+        return future.handle( ( value, ex ) -> {
+            if( ex == null ) {
+                return new ToolExecutionResultMessage(request.id(), request.name(), value);
+            }
+            var cause = ( ex instanceof CompletionException && ex.getCause() != null ) ? ex.getCause() : ex;
+
+            log.warn( "tool call '{}' with id '{}' failed", request.name(), request.id(), cause );
+
+            var message = ( cause instanceof TimeoutException && timeout != null ) ?
+                    format( "tool '%s' timed out after %d ms", request.name(), timeout.toMillis() ) :
+                    format( "tool '%s' failed: %s", request.name(), cause.getMessage() );
+            return new ToolExecutionResultMessage(request.id(), request.name(), message);
+        });
+    }
+
+    private CompletableFuture<String> callAsync( ToolExecutor toolExecutor, ToolExecutionRequest request, Object memoryId, Duration timeout ) {
+        // the span is started on the caller thread, that runs within the node span
+        final var span = Tracing.startSpan( Tracing.TOOL_SPAN );
+        if( span != null ) {
+            span.setAttribute( Tracing.TOOL_NAME, request.name() );
+        }
+
+        // the timeout interrupts the tool call, that holds the bulkhead permit until it returns
+        final var task = ToolCallTask.submit( () -> Tracing.withSpan( span, () -> {
+                    log.trace("execute async: {}", request.name());
+                    return toolExecutor.execute(request, memoryId);
+                }),
+                executor(),
+                timeout,
+                bulkheads.get( request.name() ) );
+
+        return Tracing.endOnCompletion( span, task.result() );
+    }
+
+    /**
+     * Executes the tool on the calling thread, through its bulkhead if any
+     */
+    private String executeTool( ToolExecutor toolExecutor, ToolExecutionRequest request, Object memoryId ) {
+        final var bulkhead = bulkheads.get( request.name() );
+        if( bulkhead == null ) {
+            return toolExecutor.execute(request, memoryId);
+        }
+        try {
+            return bulkhead.execute( () -> CompletableFuture.completedFuture( toolExecutor.execute(request, memoryId) ) ).join();
+        }
+        catch( CompletionException ex ) {
+            if( ex.getCause() instanceof RuntimeException runtimeException ) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+    }
+
+    private Executor executor() {
+        return ( executor != null ) ? executor : DefaultExecutorHolder.INSTANCE;
+    }
+
+    /**
+     * Lazily resolves the default executor: a new virtual thread per task when running on Java 21+,
+     * otherwise the common fork join pool. Neither of them has to be shut down
+     */
+    private static final class DefaultExecutorHolder {
+        static final Executor INSTANCE = newDefaultExecutor();
+
+        private static Executor newDefaultExecutor() {
+            try {
+                var startVirtualThread = Thread.class.getMethod("startVirtualThread", Runnable.class);
+                return task -> {
+                    try {
+                        startVirtualThread.invoke(null, task);
+                    } catch (ReflectiveOperationException e) {
+                        throw new RejectedExecutionException( "cannot start virtual thread", e );
+                    }
+                };
+            } catch (ReflectiveOperationException e) {
+                log.debug( "virtual threads are not available, fallback to common pool" );
+                return ForkJoinPool.commonPool();
+            }
+        }
+    }
+
     /**
      * Executes the first matching tool
      *
@@ -6,15 +6,22 @@ import dev.langchain4j.agent.tool.*;
 import dev.langchain4j.data.message.ToolExecutionResultMessage;
 import dev.langchain4j.model.chat.request.json.JsonObjectSchema;
 import dev.langchain4j.service.tool.ToolExecutor;
+import org.bsc.langgraph4j.agent.ToolResultCache;
+import org.bsc.langgraph4j.bulkhead.Bulkhead;
 import org.bsc.langgraph4j.langchain4j.tool.LC4jToolService;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.String.format;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class LC4jToolServiceTest {
 
@@ -102,4 +109,171 @@ public class LC4jToolServiceTest {
         assertEquals("execTest", result.get().toolName());
         assertEquals("test tool executed: test succeeded", result.get().text());
     }
+
+    @Test
+    public void executeAllToolsConcurrently() throws Exception {
+
+        final var latch = new CountDownLatch(3);
+
+        ToolExecutor awaitAll = (request, memoryId) -> {
+            latch.countDown();
+            try {
+                // every call waits for the others, so it completes only if they run concurrently
+                assertTrue( latch.await( 5, TimeUnit.SECONDS ) );
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return format( "%s(%s)", request.name(), request.arguments() );
+        };
+
+        var executor = Executors.newFixedThreadPool(3);
+        try {
+            var toolService = LC4jToolService.builder()
+                    .tool( ToolSpecification.builder().name("search").build(), awaitAll )
+                    .tool( ToolSpecification.builder().name("fetch").build(), awaitAll )
+                    .toolCallExecutor( executor )
+                    .build();
+
+            var requests = List.of(
+                    ToolExecutionRequest.builder().id("1").name("search").arguments("a").build(),
+                    ToolExecutionRequest.builder().id("2").name("unknown").arguments("b").build(),
+                    ToolExecutionRequest.builder().id("3").name("fetch").arguments("c").build(),
+                    ToolExecutionRequest.builder().id("4").name("search").arguments("d").build() );
+
+            var results = toolService.executeAll( requests ).get( 10, TimeUnit.SECONDS );
+
+            assertEquals( 3, results.size() );
+            assertEquals( List.of("1", "3", "4"), results.stream().map(ToolExecutionResultMessage::id).toList() );
+            assertEquals( List.of("search(a)", "fetch(c)", "search(d)"), results.stream().map(ToolExecutionResultMessage::text).toList() );
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void executeAllToolsWithTimeout() throws Exception {
+
+        final var interrupted = new CountDownLatch(1);
+
+        var toolService = LC4jToolService.builder()
+                .tool( ToolSpecification.builder().name("fast").build(), (request, memoryId) -> "fast" )
+                .tool( ToolSpecification.builder().name("slow").build(), (request, memoryId) -> {
+                    try {
+                        Thread.sleep( 10_000 );
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return "slow";
+                })
+                .tool( ToolSpecification.builder().name("fail").build(), (request, memoryId) -> {
+                    throw new IllegalStateException( "boom" );
+                })
+                .toolTimeout( "slow", Duration.ofMillis(100) )
+                .build();
+
+        var results = toolService.executeAll( List.of(
+                    ToolExecutionRequest.builder().id("1").name("fast").build() ) )
+                .join();
+        assertEquals( 1, results.size() );
+        assertEquals( "fast", results.get(0).text() );
+
+        // the timed out call doesn't fail the others
+        results = toolService.executeAll( List.of(
+                        ToolExecutionRequest.builder().id("1").name("fast").build(),
+                        ToolExecutionRequest.builder().id("2").name("slow").build(),
+                        ToolExecutionRequest.builder().id("3").name("fail").build() ) )
+                .join();
+        assertEquals( List.of("fast", "tool 'slow' timed out after 100 ms", "tool 'fail' failed: boom"),
+                results.stream().map(ToolExecutionResultMessage::text).toList() );
+        // the timed out call is interrupted
+        assertTrue( interrupted.await( 5, TimeUnit.SECONDS ) );
+    }
+
+    @Test
+    public void executeToolsWithResultCache() {
+
+        final var searchCalls = new AtomicInteger();
+        final var sendCalls = new AtomicInteger();
+
+        var cache = ToolResultCache.builder()
+                .exclude("send")
+                .build();
+
+        var toolService = LC4jToolService.builder()
+                .tool( ToolSpecification.builder().name("search").build(),
+                        (request, memoryId) -> "found-" + searchCalls.incrementAndGet() )
+                .tool( ToolSpecification.builder().name("send").build(),
+                        (request, memoryId) -> "sent-" + sendCalls.incrementAndGet() )
+                .toolResultCache( cache )
+                .build();
+
+        var result = toolService.execute( ToolExecutionRequest.builder().id("1").name("search").arguments("{\"q\":\"a\",\"n\":1}").build() );
+        assertEquals( "found-1", result.map(ToolExecutionResultMessage::text).orElseThrow() );
+
+        var results = toolService.executeAll( List.of(
+                ToolExecutionRequest.builder().id("2").name("search").arguments("{ \"n\": 1, \"q\": \"a\" }").build(),
+                ToolExecutionRequest.builder().id("3").name("send").arguments("{}").build(),
+                ToolExecutionRequest.builder().id("4").name("send").arguments("{}").build() ) )
+                .join();
+
+        assertEquals( List.of("2", "3", "4"), results.stream().map(ToolExecutionResultMessage::id).toList() );
+        assertEquals( "found-1", results.get(0).text() );
+        assertEquals( 1, searchCalls.get() );
+        assertEquals( 2, sendCalls.get() );
+        assertEquals( 1, cache.stats().hits() );
+
+        // results are not shared among different memory ids, the same calls in flight are executed once
+        results = toolService.executeAll( List.of(
+                ToolExecutionRequest.builder().id("5").name("search").arguments("{\"q\":\"a\",\"n\":1}").build(),
+                ToolExecutionRequest.builder().id("6").name("search").arguments("{\"q\":\"a\",\"n\":1}").build() ), "user-1" )
+                .join();
+
+        assertEquals( List.of("found-2", "found-2"), results.stream().map(ToolExecutionResultMessage::text).toList() );
+        assertEquals( 2, searchCalls.get() );
+    }
+
+    @Test
+    public void executeToolsThroughBulkhead() {
+
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+
+        var bulkhead = Bulkhead.builder().name("api").maxConcurrency( 1 ).build();
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var toolService = LC4jToolService.builder()
+                    .tool( ToolSpecification.builder().name("api").build(), (request, memoryId) -> {
+                        maxRunning.accumulateAndGet( running.incrementAndGet(), Math::max );
+                        try {
+                            Thread.sleep( 20 );
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                        return "api(" + request.arguments() + ")";
+                    })
+                    .toolBulkhead( "api", bulkhead )
+                    .toolCallExecutor( executor )
+                    .build();
+
+            var results = toolService.executeAll( List.of(
+                    ToolExecutionRequest.builder().id("1").name("api").arguments("a").build(),
+                    ToolExecutionRequest.builder().id("2").name("api").arguments("b").build(),
+                    ToolExecutionRequest.builder().id("3").name("api").arguments("c").build() ) )
+                    .join();
+
+            assertEquals( List.of("api(a)", "api(b)", "api(c)"), results.stream().map(ToolExecutionResultMessage::text).toList() );
+            assertEquals( 1, maxRunning.get() );
+            assertEquals( 3, bulkhead.stats().completed() );
+
+            var result = toolService.execute( ToolExecutionRequest.builder().id("4").name("api").arguments("d").build() );
+            assertEquals( "api(d)", result.map(ToolExecutionResultMessage::text).orElseThrow() );
+            assertEquals( 4, bulkhead.stats().completed() );
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
 }
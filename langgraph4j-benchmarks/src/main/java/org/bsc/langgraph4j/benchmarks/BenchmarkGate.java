@@ -0,0 +1,276 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static java.lang.String.format;
+
+/**
+ * Regression gate: compares benchmark results with a stored baseline and fails if any of them regressed
+ * beyond the given thresholds.
+ * <p>
+ * For each benchmark (and combination of its parameters) it compares:
+ * <ul>
+ * <li>the score: lower throughput, or higher time for the other modes, is a regression</li>
+ * <li>the {@code bytes} secondary metric (e.g. the serialized size): higher is a regression</li>
+ * <li>the allocated bytes per operation, if run with the gc profiler: higher is a regression</li>
+ * </ul>
+ * Usage:
+ * <pre>
+ * java -cp benchmarks.jar org.bsc.langgraph4j.benchmarks.BenchmarkGate [options] [JMH options]
+ *   --baseline &lt;file&gt;           the baseline file (default baselines/serializer.json)
+ *   --result &lt;file&gt;             compares an existing JMH JSON result instead of running the benchmarks
+ *   --score-threshold &lt;ratio&gt;   tolerated score regression (default 0.10)
+ *   --size-threshold &lt;ratio&gt;    tolerated growth of bytes and allocation (default 0.05)
+ *   --update                    writes the results as new baseline
+ * </pre>
+ * When the benchmarks are run, they are the serializer benchmarks unless a benchmark pattern is given,
+ * and the gc profiler is always enabled.
+ * The process exits with status 1 if any regression is found.
+ */
+public class BenchmarkGate {
+
+    public static final String BYTES = "bytes";
+    public static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    /**
+     * The metrics of a benchmark run
+     *
+     * @param mode the JMH benchmark mode (e.g. {@code thrpt}, {@code avgt})
+     * @param score the primary score
+     * @param unit the unit of the primary score
+     * @param bytes the {@code bytes} secondary metric, if any
+     * @param allocation the allocated bytes per operation, if any
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Metrics( String mode, double score, String unit, Double bytes, Double allocation ) {
+
+        public boolean higherIsBetter() {
+            return "thrpt".equals( mode );
+        }
+    }
+
+    /**
+     * A metric that regressed beyond its threshold
+     *
+     * @param benchmark the benchmark key
+     * @param metric the metric name
+     * @param baseline the baseline value
+     * @param current the current value
+     */
+    public record Regression( String benchmark, String metric, double baseline, double current ) {
+
+        public double change() {
+            return ( current - baseline ) / baseline;
+        }
+
+        @Override
+        public String toString() {
+            return format( "%s %s: %.2f -> %.2f (%+.1f%%)", benchmark, metric, baseline, current, change() * 100 );
+        }
+    }
+
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .enable( SerializationFeature.INDENT_OUTPUT )
+            .enable( SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS );
+
+    /**
+     * Returns the key of a benchmark result: the benchmark class and method, followed by the parameters sorted by name
+     * (e.g. {@code SerializerBenchmark.write[corpus=chat,serializerType=std]})
+     *
+     * @param result a benchmark result of the JMH JSON report
+     * @return the key
+     */
+    static String key( JsonNode result ) {
+        var benchmark = result.get("benchmark").asText();
+        var segments = benchmark.split("\\.");
+        var name = ( segments.length >= 2 ) ?
+                segments[segments.length - 2] + "." + segments[segments.length - 1] :
+                benchmark;
+        var params = new TreeMap<String,String>();
+        var paramsNode = result.get("params");
+        if( paramsNode != null ) {
+            paramsNode.fields().forEachRemaining( e -> params.put( e.getKey(), e.getValue().asText() ) );
+        }
+        if( params.isEmpty() ) {
+            return name;
+        }
+        var joiner = new StringJoiner( ",", name + "[", "]" );
+        params.forEach( (k, v) -> joiner.add( k + "=" + v ) );
+        return joiner.toString();
+    }
+
+    private static Double secondaryScore( JsonNode result, String metric ) {
+        var node = result.path("secondaryMetrics").path(metric).path("score");
+        return node.isNumber() ? node.asDouble() : null;
+    }
+
+    /**
+     * Returns the median of a secondary metric over the iterations: event counters (as the {@code bytes} one)
+     * are summed over the iterations by the score, while the median is the value of a single iteration
+     */
+    private static Double secondaryMedian( JsonNode result, String metric ) {
+        var node = result.path("secondaryMetrics").path(metric).path("scorePercentiles").path("50.0");
+        if( node.isNumber() ) {
+            return node.asDouble();
+        }
+        return secondaryScore( result, metric );
+    }
+
+    /**
+     * Parses a JMH JSON report
+     *
+     * @param report the JMH JSON report
+     * @return the metrics by benchmark key
+     */
+    public static Map<String,Metrics> parse( JsonNode report ) {
+        var metrics = new TreeMap<String,Metrics>();
+        for( var result : report ) {
+            var primary = result.get("primaryMetric");
+            metrics.put( key(result), new Metrics(
+                    result.get("mode").asText(),
+                    primary.get("score").asDouble(),
+                    primary.get("scoreUnit").asText(),
+                    secondaryMedian( result, BYTES ),
+                    secondaryScore( result, ALLOCATION ) ) );
+        }
+        return metrics;
+    }
+
+    /**
+     * Compares the current metrics with the baseline. Benchmarks not in the baseline are not compared.
+     *
+     * @param baseline the baseline metrics by benchmark key
+     * @param current the current metrics by benchmark key
+     * @param scoreThreshold the tolerated score regression ratio (e.g. 0.1 for 10%)
+     * @param sizeThreshold the tolerated bytes and allocation growth ratio
+     * @return the regressions found
+     */
+    public static List<Regression> compare( Map<String,Metrics> baseline,
+                                            Map<String,Metrics> current,
+                                            double scoreThreshold,
+                                            double sizeThreshold ) {
+        var regressions = new ArrayList<Regression>();
+        current.forEach( (key, metrics) -> {
+            var base = baseline.get(key);
+            if( base == null ) {
+                return;
+            }
+            var scoreRegressed = metrics.higherIsBetter() ?
+                    metrics.score() < base.score() * ( 1 - scoreThreshold ) :
+                    metrics.score() > base.score() * ( 1 + scoreThreshold );
+            if( scoreRegressed ) {
+                regressions.add( new Regression( key, "score(" + metrics.unit() + ")", base.score(), metrics.score() ) );
+            }
+            if( base.bytes() != null && metrics.bytes() != null && metrics.bytes() > base.bytes() * ( 1 + sizeThreshold ) ) {
+                regressions.add( new Regression( key, BYTES, base.bytes(), metrics.bytes() ) );
+            }
+            if( base.allocation() != null && metrics.allocation() != null && metrics.allocation() > base.allocation() * ( 1 + sizeThreshold ) ) {
+                regressions.add( new Regression( key, ALLOCATION, base.allocation(), metrics.allocation() ) );
+            }
+        });
+        return regressions;
+    }
+
+    public static Map<String,Metrics> readBaseline( Path file ) throws IOException {
+        return mapper.readValue( file.toFile(), new TypeReference<TreeMap<String,Metrics>>() {} );
+    }
+
+    public static void writeBaseline( Path file, Map<String,Metrics> metrics ) throws IOException {
+        if( file.getParent() != null ) {
+            Files.createDirectories( file.getParent() );
+        }
+        mapper.writeValue( file.toFile(), new TreeMap<>( metrics ) );
+    }
+
+    private static Path runBenchmarks( List<String> jmhArgs ) throws Exception {
+        var commandLine = new CommandLineOptions( jmhArgs.toArray( String[]::new ) );
+
+        var options = new OptionsBuilder().parent( commandLine )
+                .addProfiler( GCProfiler.class );
+
+        if( commandLine.getIncludes().isEmpty() ) {
+            options.include( SerializerBenchmark.class.getSimpleName() );
+        }
+        var resultFile = commandLine.getResult().hasValue() ?
+                Path.of( commandLine.getResult().get() ) :
+                Path.of( "target", "jmh-result-gate.json" );
+        if( resultFile.getParent() != null ) {
+            Files.createDirectories( resultFile.getParent() );
+        }
+        options.result( resultFile.toString() ).resultFormat( ResultFormatType.JSON );
+
+        new Runner( options.build() ).run();
+
+        return resultFile;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var baselineFile = Path.of( "baselines", "serializer.json" );
+        Path resultFile = null;
+        double scoreThreshold = 0.10;
+        double sizeThreshold = 0.05;
+        boolean update = false;
+        var jmhArgs = new ArrayList<String>();
+
+        for( int i = 0; i < args.length; ++i ) {
+            switch( args[i] ) {
+                case "--baseline" -> baselineFile = Path.of( args[++i] );
+                case "--result" -> resultFile = Path.of( args[++i] );
+                case "--score-threshold" -> scoreThreshold = Double.parseDouble( args[++i] );
+                case "--size-threshold" -> sizeThreshold = Double.parseDouble( args[++i] );
+                case "--update" -> update = true;
+                default -> jmhArgs.add( args[i] );
+            }
+        }
+
+        if( resultFile == null ) {
+            resultFile = runBenchmarks( jmhArgs );
+        }
+
+        var current = parse( mapper.readTree( resultFile.toFile() ) );
+
+        if( update ) {
+            writeBaseline( baselineFile, current );
+            System.out.printf( "baseline '%s' updated with %d benchmarks%n", baselineFile, current.size() );
+            return;
+        }
+
+        if( !Files.exists( baselineFile ) ) {
+            System.err.printf( "baseline '%s' not found, run with --update to create it%n", baselineFile );
+            System.exit( 2 );
+        }
+
+        var baseline = readBaseline( baselineFile );
+        var regressions = compare( baseline, current, scoreThreshold, sizeThreshold );
+
+        var missing = current.keySet().stream().filter( key -> !baseline.containsKey(key) ).toList();
+        if( !missing.isEmpty() ) {
+            System.out.printf( "%d benchmarks not in baseline, not compared:%n", missing.size() );
+            missing.forEach( key -> System.out.printf( "  %s%n", key ) );
+        }
+
+        if( regressions.isEmpty() ) {
+            System.out.printf( "no regressions against baseline '%s' (%d benchmarks compared, score threshold %.0f%%, size threshold %.0f%%)%n",
+                    baselineFile, current.size() - missing.size(), scoreThreshold * 100, sizeThreshold * 100 );
+            return;
+        }
+
+        System.err.printf( "%d regressions against baseline '%s':%n", regressions.size(), baselineFile );
+        regressions.forEach( regression -> System.err.printf( "  %s%n", regression ) );
+        System.exit( 1 );
+    }
+}
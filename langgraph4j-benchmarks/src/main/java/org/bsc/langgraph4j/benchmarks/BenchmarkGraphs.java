@@ -0,0 +1,188 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import org.bsc.langgraph4j.GraphStateException;
+import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.action.AsyncNodeAction;
+import org.bsc.langgraph4j.langchain4j.serializer.jackson.LC4jJacksonStateSerializer;
+import org.bsc.langgraph4j.langchain4j.serializer.std.LC4jStateSerializer;
+import org.bsc.langgraph4j.serializer.plain_text.gson.GsonStateSerializer;
+import org.bsc.langgraph4j.serializer.plain_text.jackson.JacksonStateSerializer;
+import org.bsc.langgraph4j.serializer.std.ObjectStreamStateSerializer;
+import org.bsc.langgraph4j.state.AgentState;
+import org.bsc.langgraph4j.state.Channel;
+import org.bsc.langgraph4j.state.Channels;
+import org.bsc.langgraph4j.serializer.StateSerializer;
+import org.bsc.langgraph4j.spring.ai.serializer.jackson.SpringAIJacksonStateSerializer;
+import org.bsc.langgraph4j.spring.ai.serializer.std.SpringAIStateSerializer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncEdgeAction.edge_async;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+
+/**
+ * Graphs, states and serializers shared by the benchmark suites
+ */
+public final class BenchmarkGraphs {
+
+    public static final String MESSAGES = "messages";
+    public static final String COUNTER = "counter";
+    public static final String VALUE = "value";
+
+    public static final Map<String, Channel<?>> SCHEMA = Map.of(
+            MESSAGES, Channels.appenderWithDuplicate(ArrayList::new)
+    );
+
+    public enum Shape { linear, loop, parallel }
+
+    /**
+     * The framework whose chat messages a serializer supports
+     */
+    public enum MessagesFamily { core, langchain4j, springai }
+
+    public enum SerializerType {
+        std( MessagesFamily.core ),
+        jackson( MessagesFamily.core ),
+        gson( MessagesFamily.core ),
+        lc4j_std( MessagesFamily.langchain4j ),
+        lc4j_jackson( MessagesFamily.langchain4j ),
+        springai_std( MessagesFamily.springai ),
+        springai_jackson( MessagesFamily.springai );
+
+        private final MessagesFamily family;
+
+        SerializerType( MessagesFamily family ) {
+            this.family = family;
+        }
+
+        public MessagesFamily family() {
+            return family;
+        }
+    }
+
+    private BenchmarkGraphs() {}
+
+    static AsyncNodeAction<AgentState> appendMessage( String id ) {
+        return node_async( state -> Map.of( MESSAGES, id ) );
+    }
+
+    static AsyncNodeAction<AgentState> increment() {
+        return node_async( state -> Map.of( COUNTER, state.<Integer>value(COUNTER).orElse(0) + 1 ) );
+    }
+
+    /**
+     * Creates a graph of the given shape executing the given number of steps
+     *
+     * @param shape the graph shape
+     * @param steps the number of node executions
+     * @return the graph
+     * @throws GraphStateException if the graph is not valid
+     */
+    public static StateGraph<AgentState> graph( Shape shape, int steps ) throws GraphStateException {
+        var workflow = new StateGraph<>( SCHEMA, AgentState::new );
+
+        switch (shape) {
+            case linear -> {
+                var previous = START;
+                for( int i = 0; i < steps; ++i ) {
+                    var id = "node" + i;
+                    workflow.addNode( id, appendMessage(id) ).addEdge( previous, id );
+                    previous = id;
+                }
+                workflow.addEdge( previous, END );
+            }
+            case loop -> workflow.addNode( "loop", increment() )
+                                .addEdge( START, "loop" )
+                                .addConditionalEdges( "loop",
+                                        edge_async( state -> state.<Integer>value(COUNTER).orElse(0) < steps ? "continue" : "end" ),
+                                        Map.of( "continue", "loop", "end", END ) );
+            case parallel -> {
+                // fan-out from 'start' to the branches, then join to 'end'
+                workflow.addNode( "start", appendMessage("start") )
+                        .addNode( "end", appendMessage("end") )
+                        .addEdge( START, "start" )
+                        .addEdge( "end", END );
+                for( int i = 0; i < steps; ++i ) {
+                    var id = "branch" + i;
+                    workflow.addNode( id, appendMessage(id) )
+                            .addEdge( "start", id )
+                            .addEdge( id, "end" );
+                }
+            }
+        }
+        return workflow;
+    }
+
+    /**
+     * Creates a linear graph composed by subgraphs, each one containing {@code nodesPerSubgraph} nodes
+     *
+     * @param nodeCount the total number of nodes
+     * @param nodesPerSubgraph the number of nodes of each subgraph
+     * @return the graph
+     * @throws GraphStateException if the graph is not valid
+     */
+    public static StateGraph<AgentState> graphWithSubgraphs( int nodeCount, int nodesPerSubgraph ) throws GraphStateException {
+        var workflow = new StateGraph<>( SCHEMA, AgentState::new );
+        var previous = START;
+        for( int i = 0; i < nodeCount / nodesPerSubgraph; ++i ) {
+            var subgraph = graph( Shape.linear, nodesPerSubgraph );
+            var id = "subgraph" + i;
+            workflow.addNode( id, subgraph ).addEdge( previous, id );
+            previous = id;
+        }
+        return workflow.addEdge( previous, END );
+    }
+
+    /**
+     * Creates a state containing {@code size} messages of {@code messageLength} characters and as many plain values
+     *
+     * @param size the number of messages
+     * @param messageLength the length of each message
+     * @return the state data
+     */
+    public static Map<String,Object> state( int size, int messageLength ) {
+        var messages = new ArrayList<String>( size );
+        var data = new HashMap<String,Object>();
+        var text = "x".repeat( messageLength );
+        for( int i = 0; i < size; ++i ) {
+            messages.add( format( "%d:%s", i, text ) );
+            data.put( VALUE + i, text );
+        }
+        data.put( MESSAGES, messages );
+        return data;
+    }
+
+    static class JacksonSerializer extends JacksonStateSerializer<AgentState> {
+        JacksonSerializer() {
+            super( AgentState::new );
+        }
+    }
+
+    static class GsonSerializer extends GsonStateSerializer<AgentState> {
+        GsonSerializer() {
+            super( AgentState::new );
+        }
+    }
+
+    public static StateSerializer<AgentState> serializer( SerializerType type ) {
+        return switch (type) {
+            case std -> new ObjectStreamStateSerializer<>( AgentState::new );
+            case jackson -> new JacksonSerializer();
+            case gson -> new GsonSerializer();
+            case lc4j_std -> new LC4jStateSerializer<>( AgentState::new );
+            case lc4j_jackson -> new LC4jJacksonStateSerializer<>( AgentState::new );
+            case springai_std -> new SpringAIStateSerializer<>( AgentState::new );
+            case springai_jackson -> new SpringAIJacksonStateSerializer<>( AgentState::new );
+        };
+    }
+
+    public static List<String> messages( AgentState state ) {
+        return state.<List<String>>value( MESSAGES ).orElseGet( List::of );
+    }
+}
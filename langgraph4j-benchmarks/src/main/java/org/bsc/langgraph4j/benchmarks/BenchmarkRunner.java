@@ -0,0 +1,36 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the benchmarks writing the results in JSON format, so they can be tracked release by release.
+ * <p>
+ * It accepts the standard JMH command line options. Unless a result file is given ({@code -rff}),
+ * the results are written in {@code target/jmh-result-<version>.json}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        var commandLine = new CommandLineOptions( args );
+
+        var options = new OptionsBuilder().parent( commandLine );
+
+        if( !commandLine.getResult().hasValue() ) {
+            var version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+            var resultFile = Path.of( "target", "jmh-result-" + ( version == null ? "dev" : version ) + ".json" );
+            Files.createDirectories( resultFile.getParent() );
+            options.result( resultFile.toString() );
+        }
+        if( !commandLine.getResultFormat().hasValue() ) {
+            options.resultFormat( ResultFormatType.JSON );
+        }
+
+        new Runner( options.build() ).run();
+    }
+}
@@ -0,0 +1,42 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.state.AgentState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graph compile time vs node count, for flat graphs and graphs made of subgraphs (that are flattened at compile time)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphCompileBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int nodeCount;
+
+    StateGraph<AgentState> flatGraph;
+    StateGraph<AgentState> graphWithSubgraphs;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        flatGraph = BenchmarkGraphs.graph( BenchmarkGraphs.Shape.linear, nodeCount );
+        graphWithSubgraphs = BenchmarkGraphs.graphWithSubgraphs( nodeCount, 10 );
+    }
+
+    @Benchmark
+    public CompiledGraph<AgentState> compileFlat() throws Exception {
+        return flatGraph.compile();
+    }
+
+    @Benchmark
+    public CompiledGraph<AgentState> compileWithSubgraphs() throws Exception {
+        return graphWithSubgraphs.compile();
+    }
+}
@@ -0,0 +1,121 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import jdk.jfr.Recording;
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.jfr.GraphFlightRecorder;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleListener;
+import org.bsc.langgraph4j.state.AgentState;
+import org.bsc.langgraph4j.tracing.TraceSpan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-step overhead of the engine for linear, loop and parallel graphs whose nodes do no work.
+ * <p>
+ * The {@code instrumentation} parameter measures the cost of the instrumentation against the engine with
+ * all of it disabled ({@code none}: no lifecycle listener, no tracer and no flight recording), enabling
+ * a no-op lifecycle listener, a no-op tracer, a flight recording of the LangGraph4j events or all of them,
+ * while {@code checkpoint} enables the {@link MemorySaver}.
+ * Each operation is a full run: divide the score by {@code steps} to get the per-step overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphStepBenchmark {
+
+    public enum Instrumentation { none, listener, tracing, jfr, all }
+
+    @Param({"linear", "loop", "parallel"})
+    BenchmarkGraphs.Shape shape;
+
+    @Param({"10"})
+    int steps;
+
+    @Param({"none", "listener", "tracing", "jfr", "all"})
+    Instrumentation instrumentation;
+
+    @Param({"false", "true"})
+    boolean checkpoint;
+
+    CompiledGraph<AgentState> graph;
+    Recording recording;
+
+    /**
+     * Span that records nothing, so that only the cost of the engine tracing is measured
+     */
+    static final class NoopSpan implements TraceSpan {
+
+        static final NoopSpan INSTANCE = new NoopSpan();
+
+        @Override
+        public TraceSpan child( String name ) {
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute( String key, String value ) {
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute( String key, long value ) {
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute( String key, boolean value ) {
+            return this;
+        }
+
+        @Override
+        public void recordError( Throwable error ) {
+        }
+
+        @Override
+        public void end() {
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        var config = CompileConfig.builder();
+        if( instrumentation == Instrumentation.listener || instrumentation == Instrumentation.all ) {
+            config.lifecycleListener( new GraphLifecycleListener() {} );
+        }
+        if( instrumentation == Instrumentation.tracing || instrumentation == Instrumentation.all ) {
+            config.tracer( name -> NoopSpan.INSTANCE );
+        }
+        if( instrumentation == Instrumentation.jfr || instrumentation == Instrumentation.all ) {
+            recording = new Recording( GraphFlightRecorder.configuration() );
+            recording.setToDisk( false );
+            recording.start();
+        }
+        if( checkpoint ) {
+            config.checkpointSaver( new MemorySaver() ).releaseThread( true );
+        }
+        graph = BenchmarkGraphs.graph( shape, steps ).compile( config.build() );
+        graph.setMaxIterations( steps * 2 + 10 );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if( recording != null ) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    @Benchmark
+    public AgentState run() {
+        return graph.invoke( GraphInput.args( Map.of() ), RunnableConfig.builder().build() ).orElseThrow();
+    }
+}
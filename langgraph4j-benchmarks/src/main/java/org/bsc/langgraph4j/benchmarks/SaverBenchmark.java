@@ -0,0 +1,111 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.bsc.langgraph4j.checkpoint.Checkpoint;
+import org.bsc.langgraph4j.checkpoint.FileSystemSaver;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.checkpoint.VersionedMemorySaver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Throughput of saver put/get/list under contention.
+ * Run it with {@code -t <threads>}: each benchmark thread uses its own graph thread id,
+ * so the contention is on the saver itself and not on the same checkpoints history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class SaverBenchmark {
+
+    public enum SaverType { memory, versioned, filesystem }
+
+    @Param({"memory", "versioned", "filesystem"})
+    SaverType saverType;
+
+    @Param({"10"})
+    int stateSize;
+
+    /**
+     * The format of the checkpoints written by the filesystem saver
+     */
+    @Param({"std"})
+    BenchmarkGraphs.SerializerType serializerType;
+
+    BaseCheckpointSaver saver;
+    Map<String,Object> state;
+    Path folder;
+
+    @State(Scope.Thread)
+    public static class GraphThread {
+        RunnableConfig config;
+
+        @Setup(Level.Trial)
+        public void setup( SaverBenchmark benchmark, ThreadParams threadParams ) throws Exception {
+            config = RunnableConfig.builder().threadId( "thread-" + threadParams.getThreadIndex() ).build();
+            // at least a checkpoint to read
+            benchmark.saver.put( config, benchmark.checkpoint() );
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        state = BenchmarkGraphs.state( stateSize, 64 );
+        saver = switch (saverType) {
+            case memory -> new MemorySaver();
+            case versioned -> new VersionedMemorySaver();
+            case filesystem -> {
+                folder = Files.createTempDirectory( "langgraph4j-bench" );
+                yield new FileSystemSaver( folder, BenchmarkGraphs.serializer( serializerType ) );
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if( folder != null ) {
+            try( Stream<Path> files = Files.walk( folder ) ) {
+                files.sorted( Comparator.reverseOrder() ).forEach( path -> path.toFile().delete() );
+            }
+        }
+    }
+
+    Checkpoint checkpoint() {
+        return Checkpoint.builder()
+                .nodeId( "node" )
+                .nextNodeId( "next" )
+                .state( state )
+                .build();
+    }
+
+    @Benchmark
+    public RunnableConfig put( GraphThread thread ) throws Exception {
+        // a new checkpoint is pushed each time, thus the history grows along the iteration
+        return saver.put( thread.config, checkpoint() );
+    }
+
+    @Benchmark
+    public Optional<Checkpoint> get( GraphThread thread ) {
+        return saver.get( thread.config );
+    }
+
+    @Benchmark
+    public Collection<Checkpoint> list( GraphThread thread ) {
+        return saver.list( thread.config );
+    }
+}
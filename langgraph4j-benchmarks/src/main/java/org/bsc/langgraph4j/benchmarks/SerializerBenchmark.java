@@ -0,0 +1,62 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import org.bsc.langgraph4j.serializer.StateSerializer;
+import org.bsc.langgraph4j.state.AgentState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode ({@code write}) and decode ({@code read}) throughput of the state serializers on the {@link StateCorpus},
+ * reporting also the serialized size (the {@code bytes} secondary metric is the size of each serialized state).
+ * Run it with {@code -prof gc} to measure also the allocated bytes per operation ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+    @Param({"std", "jackson", "gson", "lc4j_std", "lc4j_jackson", "springai_std", "springai_jackson"})
+    BenchmarkGraphs.SerializerType serializerType;
+
+    @Param({"chat", "tools", "multimodal", "nested"})
+    StateCorpus.Kind corpus;
+
+    StateSerializer<AgentState> serializer;
+    Map<String,Object> state;
+    byte[] serialized;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Size {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        serializer = BenchmarkGraphs.serializer( serializerType );
+        state = StateCorpus.state( corpus, serializerType );
+        serialized = serializer.dataToBytes( state );
+    }
+
+    @Benchmark
+    public byte[] write( Size size ) throws Exception {
+        var bytes = serializer.dataToBytes( state );
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Map<String,Object> read() throws Exception {
+        return serializer.dataFromBytes( serialized );
+    }
+}
@@ -0,0 +1,54 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import org.bsc.langgraph4j.serializer.StateSerializer;
+import org.bsc.langgraph4j.state.AgentState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State merge through the channels ({@link AgentState#updateState(Map, Map, Map)} with an appender channel)
+ * and state clone through the default serializer, vs state size
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int stateSize;
+
+    Map<String,Object> state;
+    Map<String,Object> appendUpdate;
+    Map<String,Object> valueUpdate;
+    StateSerializer<AgentState> serializer;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        // the appender channel reuses the current list, so the state must be fresh for each invocation
+        state = BenchmarkGraphs.state( stateSize, 64 );
+        appendUpdate = Map.of( BenchmarkGraphs.MESSAGES, List.of( "new message" ) );
+        valueUpdate = Map.of( BenchmarkGraphs.VALUE + 0, "new value" );
+        serializer = BenchmarkGraphs.serializer( BenchmarkGraphs.SerializerType.std );
+    }
+
+    @Benchmark
+    public Map<String,Object> mergeAppend() {
+        return AgentState.updateState( state, appendUpdate, BenchmarkGraphs.SCHEMA );
+    }
+
+    @Benchmark
+    public Map<String,Object> mergeValue() {
+        return AgentState.updateState( state, valueUpdate, BenchmarkGraphs.SCHEMA );
+    }
+
+    @Benchmark
+    public AgentState cloneState() throws Exception {
+        return serializer.cloneObject( state );
+    }
+}
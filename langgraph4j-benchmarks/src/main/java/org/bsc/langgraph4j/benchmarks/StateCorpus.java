@@ -0,0 +1,298 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+
+import java.util.*;
+
+import static java.lang.String.format;
+
+/**
+ * Reproducible corpus of realistic agent states, used to compare the state serializers.
+ * <p>
+ * Each {@link Kind} of state is built with the message types of the framework the serializer is made for:
+ * plain maps (as the JSON of a chat completion API) for the core serializers, and the chat messages
+ * of LangChain4j or Spring AI for their serializers. The content is generated from a fixed seed,
+ * so the same corpus is produced on every run.
+ */
+public final class StateCorpus {
+
+    public static final String MESSAGES = "messages";
+    public static final String ATTACHMENTS = "attachments";
+    public static final String CONTEXT = "context";
+
+    public enum Kind {
+        /** a long conversation of user and assistant messages */
+        chat,
+        /** a conversation where the assistant calls tools, with JSON arguments and results */
+        tools,
+        /** a short conversation with images attached as base64 */
+        multimodal,
+        /** a conversation with a deeply nested context map (e.g. retrieved documents with metadata) */
+        nested
+    }
+
+    /**
+     * Builds the chat messages of a framework
+     */
+    interface Messages {
+        Object system( String text );
+        Object user( String text );
+        Object assistant( String text );
+        Object toolCalls( List<ToolCall> calls );
+        Object toolResult( ToolCall call, String result );
+    }
+
+    record ToolCall( String id, String name, String arguments ) {}
+
+    private static final String[] WORDS = {
+            "the", "agent", "graph", "state", "node", "edge", "checkpoint", "tool", "model", "request", "response",
+            "weather", "forecast", "city", "temperature", "document", "summary", "customer", "order", "invoice",
+            "is", "was", "will", "be", "with", "for", "from", "about", "and", "or", "not", "a", "an", "this", "that"
+    };
+
+    private static final long SEED = 20240917L;
+
+    private final Random random = new Random( SEED );
+    private final Messages messages;
+
+    private StateCorpus( Messages messages ) {
+        this.messages = messages;
+    }
+
+    /**
+     * Creates a state of the given kind, using the messages supported by the given serializer
+     *
+     * @param kind the kind of state
+     * @param serializerType the serializer the state is made for
+     * @return the state data
+     */
+    public static Map<String,Object> state( Kind kind, BenchmarkGraphs.SerializerType serializerType ) {
+        var messages = switch (serializerType.family()) {
+            case core -> new MapMessages();
+            case langchain4j -> new LC4jMessages();
+            case springai -> new SpringAIMessages();
+        };
+        var corpus = new StateCorpus( messages );
+        return switch (kind) {
+            case chat -> corpus.chat( 100 );
+            case tools -> corpus.tools( 20 );
+            case multimodal -> corpus.multimodal( 3, 48 * 1024 );
+            case nested -> corpus.nested( 5, 4 );
+        };
+    }
+
+    private String sentence( int words ) {
+        var sb = new StringBuilder();
+        for( int i = 0; i < words; ++i ) {
+            if( i > 0 ) {
+                sb.append(' ');
+            }
+            sb.append( WORDS[ random.nextInt( WORDS.length ) ] );
+        }
+        return sb.append('.').toString();
+    }
+
+    private String paragraph() {
+        var sb = new StringBuilder();
+        for( int i = 0, sentences = 1 + random.nextInt( 5 ); i < sentences; ++i ) {
+            sb.append( sentence( 5 + random.nextInt( 15 ) ) ).append(' ');
+        }
+        return sb.toString().trim();
+    }
+
+    private Map<String,Object> chat( int turns ) {
+        var history = new ArrayList<Object>();
+        history.add( messages.system( "You are a helpful assistant. " + paragraph() ) );
+        for( int i = 0; i < turns; ++i ) {
+            history.add( messages.user( paragraph() ) );
+            history.add( messages.assistant( paragraph() + "\n\n" + paragraph() ) );
+        }
+        var data = new HashMap<String,Object>();
+        data.put( MESSAGES, history );
+        data.put( "summary", paragraph() );
+        data.put( "turns", turns );
+        return data;
+    }
+
+    private Map<String,Object> tools( int turns ) {
+        var history = new ArrayList<Object>();
+        history.add( messages.system( "You are an assistant that uses tools. " + paragraph() ) );
+        for( int i = 0; i < turns; ++i ) {
+            history.add( messages.user( paragraph() ) );
+            var calls = new ArrayList<ToolCall>();
+            for( int c = 0, count = 1 + random.nextInt( 3 ); c < count; ++c ) {
+                calls.add( new ToolCall( format( "call_%d_%d", i, c ), "tool_" + random.nextInt( 5 ),
+                        format( "{\"query\":\"%s\",\"limit\":%d,\"filters\":{\"city\":\"%s\",\"days\":%d}}",
+                                sentence( 6 ), 1 + random.nextInt( 20 ), WORDS[ random.nextInt( WORDS.length ) ], random.nextInt( 7 ) ) ) );
+            }
+            history.add( messages.toolCalls( calls ) );
+            for( var call : calls ) {
+                history.add( messages.toolResult( call,
+                        format( "{\"status\":\"ok\",\"items\":[\"%s\",\"%s\",\"%s\"]}", sentence( 8 ), sentence( 8 ), sentence( 8 ) ) ) );
+            }
+            history.add( messages.assistant( paragraph() ) );
+        }
+        var data = new HashMap<String,Object>();
+        data.put( MESSAGES, history );
+        data.put( "turns", turns );
+        return data;
+    }
+
+    private Map<String,Object> multimodal( int images, int imageBytes ) {
+        var history = new ArrayList<Object>();
+        var attachments = new ArrayList<Map<String,Object>>();
+        history.add( messages.system( "You are an assistant that describes images. " + paragraph() ) );
+        for( int i = 0; i < images; ++i ) {
+            var image = new byte[ imageBytes ];
+            random.nextBytes( image );
+            attachments.add( Map.of(
+                    "id", "image" + i,
+                    "mimeType", "image/png",
+                    "data", Base64.getEncoder().encodeToString( image ) ) );
+            history.add( messages.user( format( "describe the image 'image%d'. %s", i, paragraph() ) ) );
+            history.add( messages.assistant( paragraph() ) );
+        }
+        var data = new HashMap<String,Object>();
+        data.put( MESSAGES, history );
+        data.put( ATTACHMENTS, attachments );
+        return data;
+    }
+
+    private Object nestedValue( int depth, int width ) {
+        if( depth == 0 ) {
+            return random.nextBoolean() ? sentence( 4 ) : List.of( sentence( 2 ), sentence( 2 ) );
+        }
+        var map = new HashMap<String,Object>();
+        for( int i = 0; i < width; ++i ) {
+            map.put( WORDS[ random.nextInt( WORDS.length ) ] + i, nestedValue( depth - 1, width ) );
+        }
+        return map;
+    }
+
+    private Map<String,Object> nested( int depth, int width ) {
+        var history = new ArrayList<Object>();
+        history.add( messages.system( "You are an assistant that answers using the context. " + paragraph() ) );
+        for( int i = 0; i < 5; ++i ) {
+            history.add( messages.user( paragraph() ) );
+            history.add( messages.assistant( paragraph() ) );
+        }
+        var data = new HashMap<String,Object>();
+        data.put( MESSAGES, history );
+        data.put( CONTEXT, nestedValue( depth, width ) );
+        return data;
+    }
+
+    /**
+     * Messages as maps, following the JSON of the chat completion APIs
+     */
+    static class MapMessages implements Messages {
+
+        static Map<String,Object> message( String role, String content ) {
+            var message = new LinkedHashMap<String,Object>();
+            message.put( "role", role );
+            message.put( "content", content );
+            return message;
+        }
+
+        @Override
+        public Object system( String text ) {
+            return message( "system", text );
+        }
+
+        @Override
+        public Object user( String text ) {
+            return message( "user", text );
+        }
+
+        @Override
+        public Object assistant( String text ) {
+            return message( "assistant", text );
+        }
+
+        @Override
+        public Object toolCalls( List<ToolCall> calls ) {
+            var message = message( "assistant", "" );
+            message.put( "tool_calls", calls.stream()
+                    .map( call -> Map.of( "id", call.id(), "type", "function",
+                            "function", Map.of( "name", call.name(), "arguments", call.arguments() ) ) )
+                    .toList() );
+            return message;
+        }
+
+        @Override
+        public Object toolResult( ToolCall call, String result ) {
+            var message = message( "tool", result );
+            message.put( "tool_call_id", call.id() );
+            message.put( "name", call.name() );
+            return message;
+        }
+    }
+
+    static class LC4jMessages implements Messages {
+
+        @Override
+        public Object system( String text ) {
+            return dev.langchain4j.data.message.SystemMessage.from( text );
+        }
+
+        @Override
+        public Object user( String text ) {
+            return dev.langchain4j.data.message.UserMessage.from( text );
+        }
+
+        @Override
+        public Object assistant( String text ) {
+            return AiMessage.from( text );
+        }
+
+        @Override
+        public Object toolCalls( List<ToolCall> calls ) {
+            return AiMessage.from( calls.stream()
+                    .map( call -> ToolExecutionRequest.builder()
+                            .id( call.id() )
+                            .name( call.name() )
+                            .arguments( call.arguments() )
+                            .build() )
+                    .toList() );
+        }
+
+        @Override
+        public Object toolResult( ToolCall call, String result ) {
+            return ToolExecutionResultMessage.from( call.id(), call.name(), result );
+        }
+    }
+
+    static class SpringAIMessages implements Messages {
+
+        @Override
+        public Object system( String text ) {
+            return new org.springframework.ai.chat.messages.SystemMessage( text );
+        }
+
+        @Override
+        public Object user( String text ) {
+            return new org.springframework.ai.chat.messages.UserMessage( text );
+        }
+
+        @Override
+        public Object assistant( String text ) {
+            return new AssistantMessage( text );
+        }
+
+        @Override
+        public Object toolCalls( List<ToolCall> calls ) {
+            return new AssistantMessage( "", Map.of(), calls.stream()
+                    .map( call -> new AssistantMessage.ToolCall( call.id(), "function", call.name(), call.arguments() ) )
+                    .toList() );
+        }
+
+        @Override
+        public Object toolResult( ToolCall call, String result ) {
+            return new ToolResponseMessage( List.of( new ToolResponseMessage.ToolResponse( call.id(), call.name(), result ) ) );
+        }
+    }
+}
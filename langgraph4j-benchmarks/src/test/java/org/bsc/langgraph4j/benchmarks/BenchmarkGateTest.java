@@ -0,0 +1,86 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BenchmarkGateTest {
+
+    static final String REPORT = """
+            [
+              {
+                "benchmark" : "org.bsc.langgraph4j.benchmarks.SerializerBenchmark.write",
+                "mode" : "thrpt",
+                "params" : { "serializerType" : "std", "corpus" : "chat" },
+                "primaryMetric" : { "score" : 1000.0, "scoreUnit" : "ops/s" },
+                "secondaryMetrics" : {
+                  "bytes" : { "score" : 10240.0, "scorePercentiles" : { "50.0" : 2048.0 }, "scoreUnit" : "#" },
+                  "gc.alloc.rate.norm" : { "score" : 4096.0, "scoreUnit" : "B/op" }
+                }
+              },
+              {
+                "benchmark" : "org.bsc.langgraph4j.benchmarks.GraphCompileBenchmark.compile",
+                "mode" : "avgt",
+                "primaryMetric" : { "score" : 20.0, "scoreUnit" : "us/op" },
+                "secondaryMetrics" : {}
+              }
+            ]
+            """;
+
+    @Test
+    public void parseReport() throws Exception {
+        var metrics = BenchmarkGate.parse( new ObjectMapper().readTree( REPORT ) );
+
+        assertEquals( 2, metrics.size() );
+        var write = metrics.get( "SerializerBenchmark.write[corpus=chat,serializerType=std]" );
+        assertNotNull( write );
+        assertEquals( new BenchmarkGate.Metrics( "thrpt", 1000.0, "ops/s", 2048.0, 4096.0 ), write );
+
+        var compile = metrics.get( "GraphCompileBenchmark.compile" );
+        assertNotNull( compile );
+        assertFalse( compile.higherIsBetter() );
+        assertNull( compile.bytes() );
+    }
+
+    @Test
+    public void detectRegressions() {
+        var baseline = Map.of(
+                "write", new BenchmarkGate.Metrics( "thrpt", 1000.0, "ops/s", 2048.0, 4096.0 ),
+                "compile", new BenchmarkGate.Metrics( "avgt", 20.0, "us/op", null, null ) );
+
+        // within the thresholds
+        var current = Map.of(
+                "write", new BenchmarkGate.Metrics( "thrpt", 950.0, "ops/s", 2048.0, 4200.0 ),
+                "compile", new BenchmarkGate.Metrics( "avgt", 21.0, "us/op", null, null ),
+                "new", new BenchmarkGate.Metrics( "thrpt", 1.0, "ops/s", null, null ) );
+        assertTrue( BenchmarkGate.compare( baseline, current, 0.10, 0.05 ).isEmpty() );
+
+        // slower, bigger and allocating more
+        current = Map.of(
+                "write", new BenchmarkGate.Metrics( "thrpt", 800.0, "ops/s", 3000.0, 8192.0 ),
+                "compile", new BenchmarkGate.Metrics( "avgt", 30.0, "us/op", null, null ) );
+        var regressions = BenchmarkGate.compare( baseline, current, 0.10, 0.05 );
+        assertEquals( 4, regressions.size() );
+        assertEquals( -0.2, regressions.stream()
+                .filter( r -> r.benchmark().equals("write") && r.metric().startsWith("score") )
+                .findFirst().orElseThrow().change(), 1e-9 );
+        assertTrue( regressions.stream().anyMatch( r -> r.benchmark().equals("compile") ) );
+        assertTrue( regressions.stream().anyMatch( r -> r.metric().equals( BenchmarkGate.BYTES ) ) );
+        assertTrue( regressions.stream().anyMatch( r -> r.metric().equals( BenchmarkGate.ALLOCATION ) ) );
+    }
+
+    @Test
+    public void writeAndReadBaseline( @TempDir Path folder ) throws Exception {
+        var metrics = BenchmarkGate.parse( new ObjectMapper().readTree( REPORT ) );
+        var file = folder.resolve( "baseline.json" );
+
+        BenchmarkGate.writeBaseline( file, metrics );
+
+        assertEquals( metrics, BenchmarkGate.readBaseline( file ) );
+    }
+}
@@ -0,0 +1,52 @@
+package org.bsc.langgraph4j.benchmarks;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StateCorpusTest {
+
+    @ParameterizedTest
+    @EnumSource(BenchmarkGraphs.SerializerType.class)
+    public void roundTripEachKind( BenchmarkGraphs.SerializerType serializerType ) throws Exception {
+        var serializer = BenchmarkGraphs.serializer( serializerType );
+
+        for( var kind : StateCorpus.Kind.values() ) {
+            var state = StateCorpus.state( kind, serializerType );
+
+            var bytes = serializer.dataToBytes( state );
+            var restored = serializer.dataFromBytes( bytes );
+
+            assertEquals( state.keySet(), restored.keySet(), () -> kind + " keys" );
+            var messages = (List<?>) state.get( StateCorpus.MESSAGES );
+            var restoredMessages = (List<?>) restored.get( StateCorpus.MESSAGES );
+            assertEquals( messages.size(), restoredMessages.size(), () -> kind + " messages" );
+            var last = restoredMessages.get( restoredMessages.size() - 1 );
+            if( serializerType.family() == BenchmarkGraphs.MessagesFamily.core ) {
+                assertInstanceOf( Map.class, last );
+            }
+            else {
+                // the chat messages are restored as the original type
+                assertEquals( messages.get( messages.size() - 1 ).getClass(), last.getClass() );
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StateCorpus.Kind.class)
+    public void reproducible( StateCorpus.Kind kind ) throws Exception {
+        var serializer = BenchmarkGraphs.serializer( BenchmarkGraphs.SerializerType.std );
+
+        var first = serializer.dataToBytes( StateCorpus.state( kind, BenchmarkGraphs.SerializerType.std ) );
+        var second = serializer.dataToBytes( StateCorpus.state( kind, BenchmarkGraphs.SerializerType.std ) );
+
+        assertEquals( first.length, second.length );
+        assertTrue( first.length > 10 * 1024, () -> kind + " state is too small: " + first.length );
+        assertEquals( Arrays.hashCode( first ), Arrays.hashCode( second ) );
+    }
+}
@@ -0,0 +1,253 @@
+package org.bsc.langgraph4j;
+
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.bsc.langgraph4j.tracing.Tracing;
+
+import java.lang.ref.Cleaner;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes the checkpoints of the runs of a compiled graph according to its {@link CompiledGraph.Durability}.
+ * <p>
+ * The writes of the same thread id are applied in order. The pending writes of a thread id are applied by
+ * {@link #flush(RunnableConfig)}, called when its run is interrupted, fails or completes, by
+ * {@link #await(RunnableConfig)}, called before reading the saver, or when the generator of the run is
+ * garbage collected before the end of the run (see {@link #track(Object, RunnableConfig)}).
+ */
+class CheckpointWriter {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(CheckpointWriter.class);
+
+    @FunctionalInterface
+    interface Write {
+        void run() throws Exception;
+    }
+
+    private static final class DefaultExecutorHolder {
+        static final AtomicInteger threadCount = new AtomicInteger();
+        static final Executor INSTANCE = Executors.newCachedThreadPool( task -> {
+            var thread = new Thread( task, format( "langgraph4j-checkpoint-%d", threadCount.incrementAndGet() ) );
+            thread.setDaemon( true );
+            return thread;
+        });
+    }
+
+    private static final class CleanerHolder {
+        static final Cleaner INSTANCE = Cleaner.create();
+    }
+
+    /**
+     * The pending writes of a run, applied when its generator is garbage collected before the end of the run,
+     * e.g. because its consumer stopped iterating it
+     */
+    final class Run {
+        private final RunnableConfig config;
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        private Run( Object generator, RunnableConfig config ) {
+            this.config = config;
+            if( durability != CompiledGraph.Durability.SYNC ) {
+                // the action must not refer to the generator, otherwise it is never collected
+                final var key = key( config );
+                final var ended = this.ended;
+                CleanerHolder.INSTANCE.register( generator, () -> {
+                    if( ended.compareAndSet( false, true ) ) {
+                        log.debug( "run of thread '{}' abandoned, write its pending checkpoints", key );
+                        executor.execute( () -> flushQuietly( config ) );
+                    }
+                });
+            }
+        }
+
+        /**
+         * Marks the end of the run, whose pending writes are going to be applied by the generator
+         */
+        void ended() {
+            ended.set( true );
+        }
+    }
+
+    /**
+     * The asynchronous writes of a thread id, chained so that they are applied in order
+     */
+    private static final class Lane {
+        CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        // the first write failed since the last flush
+        Throwable error;
+    }
+
+    private final CompiledGraph.Durability durability;
+    private final Executor executor;
+
+    // guarded by this
+    private final Map<String, Lane> lanes = new HashMap<>();
+    private final Map<String, Write> pending = new HashMap<>();
+
+    CheckpointWriter( CompiledGraph.Durability durability ) {
+        this( durability, DefaultExecutorHolder.INSTANCE );
+    }
+
+    CheckpointWriter( CompiledGraph.Durability durability, Executor executor ) {
+        this.durability = requireNonNull( durability, "durability cannot be null" );
+        this.executor = requireNonNull( executor, "executor cannot be null" );
+    }
+
+    private static String key( RunnableConfig config ) {
+        return config.threadId().orElse( BaseCheckpointSaver.THREAD_ID_DEFAULT );
+    }
+
+    /**
+     * Tracks the run of a generator, so that its pending writes are applied even if the generator is abandoned
+     *
+     * @param generator the generator of the run
+     * @param config the config of the run
+     * @return the run, to be marked as ended when the generator applies its pending writes
+     */
+    Run track( Object generator, RunnableConfig config ) {
+        return new Run( generator, config );
+    }
+
+    /**
+     * Writes a checkpoint of a run, according to the durability
+     *
+     * @param config the config of the run
+     * @param write the write of the checkpoint
+     * @throws Exception if the write is synchronous and fails
+     */
+    void write( RunnableConfig config, Write write ) throws Exception {
+        switch( durability ) {
+            case SYNC -> write.run();
+            case ASYNC -> writeAsync( key( config ), write );
+            // only the last checkpoint of the run is going to be written
+            case EXIT -> {
+                synchronized( this ) {
+                    pending.put( key( config ), write );
+                }
+            }
+        }
+    }
+
+    private void writeAsync( String key, Write write ) {
+        // the write runs within the current span, e.g. the one of the node
+        final var span = Tracing.current();
+        synchronized( this ) {
+            final var lane = lanes.computeIfAbsent( key, k -> new Lane() );
+            final var tail = lane.tail.thenRunAsync( () -> {
+                try {
+                    Tracing.withSpan( span, () -> {
+                        write.run();
+                        return null;
+                    });
+                }
+                catch( Throwable ex ) {
+                    log.error( "checkpoint write of thread '{}' failed", key, ex );
+                    synchronized( this ) {
+                        if( lane.error == null ) {
+                            lane.error = ex;
+                        }
+                    }
+                }
+            }, executor );
+            lane.tail = tail;
+            tail.thenRun( () -> {
+                synchronized( this ) {
+                    // the lane is discarded when it has no pending write and nothing to report
+                    if( lane.tail == tail && lane.error == null ) {
+                        lanes.remove( key, lane );
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Applies the checkpoint kept until the exit of the run of a thread, chaining it to the asynchronous writes
+     * of the thread, so that it is applied in order also when the run exits concurrently.
+     * Must be called holding the lock
+     *
+     * @param key the thread id
+     * @return the last write of the thread, if any
+     */
+    private CompletableFuture<Void> applyPending( String key ) {
+        final var write = pending.remove( key );
+        if( write != null ) {
+            writeAsync( key, write );
+        }
+        final var lane = lanes.get( key );
+        return ( lane != null ) ? lane.tail : null;
+    }
+
+    /**
+     * Applies the pending writes of the thread of a run, so that the saver can be read consistently.
+     * A failed write is reported by the next flush of the thread
+     *
+     * @param config the config of the run
+     */
+    void await( RunnableConfig config ) {
+        final CompletableFuture<Void> tail;
+        synchronized( this ) {
+            tail = applyPending( key( config ) );
+        }
+        if( tail != null ) {
+            tail.join();
+        }
+    }
+
+    /**
+     * Applies the pending writes of the thread of a run
+     *
+     * @param config the config of the run
+     * @throws Exception if a pending write failed
+     */
+    void flush( RunnableConfig config ) throws Exception {
+        final var key = key( config );
+        final Lane lane;
+        final CompletableFuture<Void> tail;
+        synchronized( this ) {
+            tail = applyPending( key );
+            lane = lanes.get( key );
+        }
+        if( lane == null ) {
+            return;
+        }
+        // the asynchronous writes never complete exceptionally, their failures are kept by the lane
+        tail.join();
+        final Throwable error;
+        synchronized( this ) {
+            error = lane.error;
+            lane.error = null;
+            if( lane.tail == tail ) {
+                lanes.remove( key, lane );
+            }
+        }
+        if( error instanceof Exception ex ) {
+            throw ex;
+        }
+        if( error != null ) {
+            throw new CompletionException( error );
+        }
+    }
+
+    /**
+     * Applies the pending writes of the thread of a failed run, logging the failures
+     *
+     * @param config the config of the run
+     */
+    void flushQuietly( RunnableConfig config ) {
+        try {
+            flush( config );
+        }
+        catch( Exception ex ) {
+            log.error( "cannot flush the checkpoints of thread '{}'", key( config ), ex );
+        }
+    }
+}
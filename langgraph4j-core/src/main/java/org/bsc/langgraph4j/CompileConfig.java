@@ -1,12 +1,21 @@
 package org.bsc.langgraph4j;
 
+import org.bsc.langgraph4j.bulkhead.Bulkhead;
 import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleListener;
+import org.bsc.langgraph4j.scheduler.RunScheduler;
+import org.bsc.langgraph4j.tracing.GraphTracer;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 
 
@@ -21,6 +30,14 @@ public class CompileConfig {
     private Set<String> interruptsAfter = Set.of();
     private boolean releaseThread = false;
     private boolean interruptBeforeEdge = false;
+    private List<GraphLifecycleListener> lifecycleListeners = List.of();
+    private GraphLifecycleListener lifecycleListener;
+    private boolean resourceAccounting = false;
+    private GraphTracer tracer;
+    private CompiledGraph.ExecutionMode executionMode = CompiledGraph.ExecutionMode.SEQUENTIAL;
+    private Map<String, Bulkhead> bulkheads = Map.of();
+    private RunScheduler scheduler;
+    private CompiledGraph.Durability durability = CompiledGraph.Durability.SYNC;
 
     /**
      * Returns the array of interrupts that will occur before the specified node.
@@ -79,6 +96,78 @@ public class CompileConfig {
         return interruptBeforeEdge;
     }
 
+    /**
+     * Returns the registered lifecycle listeners
+     *
+     * @return an unmodifiable {@link List} of listeners
+     */
+    public List<GraphLifecycleListener> lifecycleListeners() {
+        return lifecycleListeners;
+    }
+
+    /**
+     * Returns a listener that notifies all the registered lifecycle listeners, if any
+     *
+     * @return an {@link Optional} containing the composite listener, or an empty {@link Optional} if no listener is registered
+     */
+    public Optional<GraphLifecycleListener> lifecycleListener() {
+        return ofNullable(lifecycleListener);
+    }
+
+    /**
+     * Returns whether the CPU time and allocated bytes of the nodes are accounted and notified to the lifecycle listeners
+     *
+     * @return true if resource accounting is enabled, false otherwise
+     */
+    public boolean resourceAccounting() {
+        return resourceAccounting;
+    }
+
+    /**
+     * Returns the tracer that creates the spans of the graph runs, if any
+     *
+     * @return an {@link Optional} containing the tracer, or an empty {@link Optional} if tracing is not enabled
+     */
+    public Optional<GraphTracer> tracer() {
+        return ofNullable(tracer);
+    }
+
+    /**
+     * Returns the engine that executes the compiled graph
+     *
+     * @return the execution mode, {@link CompiledGraph.ExecutionMode#SEQUENTIAL} by default
+     */
+    public CompiledGraph.ExecutionMode executionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Returns the bulkheads limiting the executions of the nodes across all the runs of the graph
+     *
+     * @return an unmodifiable {@link Map} of bulkheads, by node id
+     */
+    public Map<String, Bulkhead> bulkheads() {
+        return bulkheads;
+    }
+
+    /**
+     * Returns the scheduler of the steps of all the runs of the graph, if any
+     *
+     * @return an {@link Optional} containing the {@link RunScheduler}, or empty if the steps are not scheduled
+     */
+    public Optional<RunScheduler> scheduler() {
+        return ofNullable(scheduler);
+    }
+
+    /**
+     * Returns when the checkpoints of the runs are written to the checkpoint saver
+     *
+     * @return the durability, {@link CompiledGraph.Durability#SYNC} by default
+     */
+    public CompiledGraph.Durability durability() {
+        return durability;
+    }
+
     /**
      * Returns a new {@link Builder} instance with the default {@link CompileConfig}.
      *
@@ -191,6 +280,108 @@ public class CompileConfig {
             return this;
         }
 
+        /**
+         * Registers a listener notified about the graph execution lifecycle.
+         * Listeners are notified in registration order.
+         *
+         * @param listener the listener to register
+         * @return The current {@code Builder} instance for method chaining.
+         */
+        public Builder lifecycleListener( GraphLifecycleListener listener ) {
+            requireNonNull( listener, "listener cannot be null" );
+            var listeners = new ArrayList<>(this.config.lifecycleListeners);
+            listeners.add(listener);
+            this.config.lifecycleListeners = List.copyOf(listeners);
+            this.config.lifecycleListener = GraphLifecycleListener.compose(listeners);
+            return this;
+        }
+
+        /**
+         * Enables the accounting of CPU time and allocated bytes of each node and of the whole run, notified to the
+         * registered lifecycle listeners. It has effect only if at least a lifecycle listener is registered.
+         *
+         * @param resourceAccounting true to enable resource accounting
+         * @see org.bsc.langgraph4j.lifecycle.ResourceAccounting
+         * @return The current {@code Builder} instance for method chaining.
+         */
+        public Builder resourceAccounting( boolean resourceAccounting ) {
+            this.config.resourceAccounting = resourceAccounting;
+            return this;
+        }
+
+        /**
+         * Sets the tracer that creates a span for each graph run, with a child span for each node execution and
+         * checkpoint operation. Runs started while a span is current (e.g. subgraphs) are traced as its children
+         * even without a tracer.
+         *
+         * @param tracer the tracer, or null to disable tracing
+         * @see org.bsc.langgraph4j.tracing.Tracing
+         * @return The current {@code Builder} instance for method chaining.
+         */
+        public Builder tracer( GraphTracer tracer ) {
+            this.config.tracer = tracer;
+            return this;
+        }
+
+        /**
+         * Sets the engine that executes the compiled graph.
+         * <p>
+         * With {@link CompiledGraph.ExecutionMode#SUPERSTEP} the graph runs in supersteps: all the nodes triggered
+         * in a step run concurrently, and a node may have several outgoing edges, both static and conditional,
+         * without the restrictions of the parallel branches of the sequential engine.
+         *
+         * @param executionMode the execution mode
+         * @see RunnableConfig.Builder#superstepExecutor(java.util.concurrent.Executor)
+         * @return The current {@code Builder} instance for method chaining.
+         */
+        public Builder executionMode( CompiledGraph.ExecutionMode executionMode ) {
+            this.config.executionMode = requireNonNull( executionMode, "executionMode cannot be null" );
+            return this;
+        }
+
+        /**
+         * Limits the executions of a node, across all the runs of the compiled graph, through a bulkhead.
+         * The same bulkhead can be shared by several nodes, or graphs, calling the same resource
+         *
+         * @param nodeId the node id
+         * @param bulkhead the bulkhead limiting the concurrency and the rate of the node executions
+         * @return The current {@code Builder} instance for method chaining.
+         */
+        public Builder bulkhead( String nodeId, Bulkhead bulkhead ) {
+            requireNonNull( nodeId, "nodeId cannot be null" );
+            requireNonNull( bulkhead, "bulkhead cannot be null" );
+            var bulkheads = new HashMap<>( this.config.bulkheads );
+            bulkheads.put( nodeId, bulkhead );
+            this.config.bulkheads = Map.copyOf( bulkheads );
+            return this;
+        }
+
+        /**
+         * Schedules the steps of all the runs of the compiled graph through a {@link RunScheduler}, bounding the steps
+         * in flight and sharing them fairly among the tenants of the runs.
+         * The same scheduler can be shared by several graphs
+         *
+         * @param scheduler the scheduler of the steps
+         * @return The current {@code Builder} instance for method chaining.
+         */
+        public Builder scheduler( RunScheduler scheduler ) {
+            this.config.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Sets when the checkpoints of the runs are written to the checkpoint saver, trading durability for latency:
+         * with {@link CompiledGraph.Durability#ASYNC} or {@link CompiledGraph.Durability#EXIT} the writes are taken
+         * off the critical path of the steps, but a crash of the process loses the checkpoints not yet written
+         *
+         * @param durability the durability of the checkpoints
+         * @return The current {@code Builder} instance for method chaining.
+         */
+        public Builder durability( CompiledGraph.Durability durability ) {
+            this.config.durability = requireNonNull( durability, "durability cannot be null" );
+            return this;
+        }
+
         /**
          * Initializes the compilation configuration and returns it.
          *
@@ -218,6 +409,14 @@ public class CompileConfig {
         this.interruptsAfter = config.interruptsAfter;
         this.releaseThread = config.releaseThread;
         this.interruptBeforeEdge = config.interruptBeforeEdge;
+        this.lifecycleListeners = config.lifecycleListeners;
+        this.lifecycleListener = config.lifecycleListener;
+        this.resourceAccounting = config.resourceAccounting;
+        this.tracer = config.tracer;
+        this.executionMode = config.executionMode;
+        this.bulkheads = config.bulkheads;
+        this.scheduler = config.scheduler;
+        this.durability = config.durability;
 
     }
 
@@ -2,24 +2,41 @@ package org.bsc.langgraph4j;
 
 import org.bsc.async.AsyncGenerator;
 import org.bsc.langgraph4j.action.*;
+import org.bsc.langgraph4j.batch.BatchConfig;
+import org.bsc.langgraph4j.batch.BatchReport;
+import org.bsc.langgraph4j.batch.BatchResult;
 import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
 import org.bsc.langgraph4j.checkpoint.Checkpoint;
+import org.bsc.langgraph4j.internal.batch.GraphBatch;
 import org.bsc.langgraph4j.internal.edge.Edge;
 import org.bsc.langgraph4j.internal.edge.EdgeValue;
+import org.bsc.langgraph4j.internal.node.BulkheadNodeAction;
+import org.bsc.langgraph4j.internal.node.ScheduledNodeAction;
 import org.bsc.langgraph4j.internal.node.ParallelNode;
+import org.bsc.langgraph4j.internal.node.SendNode;
 import org.bsc.langgraph4j.internal.node.SubCompiledGraphNodeAction;
+import org.bsc.langgraph4j.internal.superstep.SuperstepNodeGenerator;
+import org.bsc.langgraph4j.jfr.*;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleEvent;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleListener;
+import org.bsc.langgraph4j.lifecycle.ResourceAccounting;
+import org.bsc.langgraph4j.lifecycle.ResourceUsage;
 import org.bsc.langgraph4j.state.AgentState;
 import org.bsc.langgraph4j.state.StateSnapshot;
+import org.bsc.langgraph4j.tracing.GraphTracer;
+import org.bsc.langgraph4j.tracing.TraceSpan;
+import org.bsc.langgraph4j.tracing.Tracing;
 import org.bsc.langgraph4j.utils.TryFunction;
+import org.bsc.langgraph4j.utils.TrySupplier;
 import org.bsc.langgraph4j.utils.TypeRef;
 
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
-import java.util.function.Supplier;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -29,6 +46,7 @@ import static java.util.concurrent.CompletableFuture.failedFuture;
 import static java.util.stream.Collectors.toList;
 import static org.bsc.langgraph4j.StateGraph.END;
 import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.internal.node.NodeActionWrapper.unwrap;
 
 /**
  * Represents a compiled graph of nodes and edges.
@@ -62,7 +80,7 @@ public class CompiledGraph<State extends AgentState> {
          * @param args the arguments to format the error message
          * @return a new GraphRunnerException
          */
-        GraphRunnerException exception(String... args) {
+        public GraphRunnerException exception(String... args) {
             return new GraphRunnerException(format(errorMessage, (Object[]) args));
         }
     }
@@ -73,10 +91,48 @@ public class CompiledGraph<State extends AgentState> {
         SNAPSHOTS
     }
 
+    /**
+     * The engines that can execute a compiled graph
+     */
+    public enum ExecutionMode {
+        /**
+         * a single node is executed at a time, following the edges; fan-out is supported by parallel branches
+         * that converge on the same node
+         */
+        SEQUENTIAL,
+        /**
+         * the graph is executed in supersteps: all the nodes triggered in a step run concurrently, their updates
+         * are merged into the state through the channel reducers at the end of the step, and the outgoing edges
+         * of the executed nodes trigger the nodes of the next step. A checkpoint is stored for each superstep.
+         */
+        SUPERSTEP
+    }
+
+    /**
+     * When the checkpoints of a run are written to the checkpoint saver
+     */
+    public enum Durability {
+        /**
+         * each checkpoint is written before the output of its step is emitted
+         */
+        SYNC,
+        /**
+         * the checkpoints are written in background, in order for each thread id; the pending writes are awaited
+         * when the run is interrupted, fails or completes. Reading the state of a thread awaits its pending writes
+         */
+        ASYNC,
+        /**
+         * only the last checkpoint of a run is written, when the run is interrupted, fails or completes
+         */
+        EXIT
+    }
+
     public final StateGraph<State> stateGraph;
 
     final Map<String, AsyncNodeActionWithConfig<State>> nodes = new LinkedHashMap<>();
     final Map<String, EdgeValue<State>> edges = new LinkedHashMap<>();
+    // the targets of each edge by source id, used by the superstep engine
+    final Map<String, List<EdgeValue<State>>> superstepEdges = new LinkedHashMap<>();
 
     private final ProcessedNodesEdgesAndConfig<State> processedData;
 
@@ -84,6 +140,13 @@ public class CompiledGraph<State extends AgentState> {
 
     public final CompileConfig compileConfig;
 
+    // null if no listener is registered, so that each notification costs a single check
+    private final GraphLifecycleListener lifecycleListener;
+    private final boolean resourceAccounting;
+    // null if tracing is not enabled
+    private final GraphTracer tracer;
+    private final CheckpointWriter checkpointWriter;
+
     /**
      * Constructs a CompiledGraph with the given StateGraph.
      *
@@ -112,65 +175,286 @@ public class CompiledGraph<State extends AgentState> {
                                 .interruptsAfter(processedData.interruptsAfter())
                                 .build();
 
+        this.lifecycleListener = this.compileConfig.lifecycleListener().orElse(null);
+        this.resourceAccounting = this.lifecycleListener != null && this.compileConfig.resourceAccounting();
+        this.tracer = this.compileConfig.tracer().orElse(null);
+        this.checkpointWriter = new CheckpointWriter( this.compileConfig.durability() );
+
+        for( String nodeId : this.compileConfig.bulkheads().keySet() ) {
+            if (!processedData.nodes().anyMatchById( nodeId )) {
+                throw StateGraph.Errors.bulkheadNodeNotExist.exception(nodeId);
+            }
+        }
+
         // EVALUATES NODES
         for (var n : processedData.nodes().elements ) {
             var factory = n.actionFactory();
             requireNonNull(factory, format("action factory for node id '%s' is null!", n.id()));
-            nodes.put(n.id(), factory.apply(compileConfig));
+            var action = factory.apply(compileConfig);
+            // the step holds a scheduler slot only while it runs, not while it waits for the bulkhead
+            var scheduler = this.compileConfig.scheduler().orElse(null);
+            // a subgraph node holding a slot while waiting for its own steps could deadlock the scheduler
+            if( scheduler != null && !(action instanceof SubCompiledGraphNodeAction<?>) ) {
+                action = new ScheduledNodeAction<>( action, scheduler );
+            }
+            var bulkhead = this.compileConfig.bulkheads().get(n.id());
+            nodes.put(n.id(), ( bulkhead != null ) ? new BulkheadNodeAction<>( action, bulkhead ) : action );
         }
 
         // EVALUATE EDGES
+        if( this.compileConfig.executionMode() == ExecutionMode.SUPERSTEP ) {
+            // all the targets of an edge are triggered together, no parallel node is needed
+            for( var e : processedData.edges().elements ) {
+                if( isSendEdge( e ) ) {
+                    var sendNodeId = addSendNode( e );
+                    superstepEdges.put( e.sourceId(), List.of( new EdgeValue<>( sendNodeId ) ) );
+                    superstepEdges.put( sendNodeId, sendJoinTargets( e ) );
+                    continue;
+                }
+                superstepEdges.put( e.sourceId(), List.copyOf( e.targets() ) );
+            }
+            // the ids of the nodes of a superstep are joined in its checkpoint
+            for( var nodeId : nodes.keySet() ) {
+                if( nodeId.contains( SuperstepNodeGenerator.NODE_IDS_SEPARATOR ) ) {
+                    throw StateGraph.Errors.illegalSuperstepNodeId.exception( nodeId, SuperstepNodeGenerator.NODE_IDS_SEPARATOR );
+                }
+            }
+            return;
+        }
         for( var e : processedData.edges().elements ) {
             var targets = e.targets();
-            if (targets.size() == 1) {
+            if( isSendEdge( e ) ) {
+                var joinTargets = sendJoinTargets( e );
+                if( joinTargets.size() > 1 ) {
+                    throw StateGraph.Errors.illegalMultipleTargetsOnSendEdge.exception( e.sourceId(),
+                            joinTargets.stream().map( EdgeValue::id ).toList() );
+                }
+                var sendNodeId = addSendNode( e );
+                edges.put( e.sourceId(), new EdgeValue<>( sendNodeId ) );
+                edges.put( sendNodeId, joinTargets.get(0) );
+            }
+            else if (targets.size() == 1) {
                 edges.put(e.sourceId(), targets.get(0));
             }
             else {
-                Supplier<Stream<EdgeValue<State>>> parallelNodeStream = () ->
-                        targets.stream().filter( target -> nodes.containsKey(target.id()) );
-
-                var parallelNodeEdges = parallelNodeStream.get()
-                        .map( target -> new Edge<State>(target.id()))
-                        .filter( ee -> processedData.edges().elements.contains( ee ) )
-                        .map(  ee -> processedData.edges().elements.indexOf( ee ) )
-                        .map( index -> processedData.edges().elements.get(index) )
+                var branchIds = targets.stream()
+                        .map( EdgeValue::id )
+                        .filter( nodes::containsKey )
                         .toList();
 
-                var  parallelNodeTargets = parallelNodeEdges.stream()
-                                                .map( ee -> ee.target().id() )
-                                                .collect(Collectors.toSet());
+                var joinNodeId = parallelJoinNodeId( e.sourceId(), branchIds );
 
-                if( parallelNodeTargets.size() > 1  ) {
-
-                    var conditionalEdges = parallelNodeEdges.stream()
-                                                .filter( ee -> ee.target().value() != null )
-                                                .toList();
-                    if(!conditionalEdges.isEmpty()) {
-                        throw StateGraph.Errors.unsupportedConditionalEdgeOnParallelNode.exception(
-                                e.sourceId(),
-                                conditionalEdges.stream().map(Edge::sourceId).toList() );
+                // a branch that is a single node routing to the join node runs as is, otherwise it runs the path up to the join node
+                var actions = new LinkedHashMap<String, AsyncNodeActionWithConfig<State>>();
+                for( var branchId : branchIds ) {
+                    var isSingleNode = processedData.edges().edgeBySourceId( branchId )
+                            .filter( branchEdge -> !branchEdge.isParallel() && Objects.equals( branchEdge.target().id(), joinNodeId ) )
+                            .isPresent();
+                    if( !isSingleNode ) {
+                        checkBranchPathInterruptions( e.sourceId(), branchId, joinNodeId );
                     }
-                    throw StateGraph.Errors.illegalMultipleTargetsOnParallelNode.exception(e.sourceId(), parallelNodeTargets );
+                    actions.put( branchId, isSingleNode ? nodes.get( branchId ) : branchPath( branchId, joinNodeId ) );
                 }
 
-                var actions = parallelNodeStream.get()
-                                    //.map( target -> nodes.remove(target.id()) )
-                                    .map( target -> nodes.get(target.id()) )
-                                    .toList();
-
                 var parallelNode = new ParallelNode<>( e.sourceId(), actions, stateGraph.getChannels() );
 
                 nodes.put( parallelNode.id(), parallelNode.actionFactory().apply(compileConfig) );
 
                 edges.put( e.sourceId(), new EdgeValue<>( parallelNode.id() ) );
 
-                edges.put( parallelNode.id(), new EdgeValue<>( parallelNodeTargets.iterator().next() ));
+                edges.put( parallelNode.id(), new EdgeValue<>( joinNodeId ));
 
             }
 
         }
     }
 
+    /**
+     * Returns the nodes reachable from a node, with their distance
+     *
+     * @param nodeId the node the search starts from
+     * @param stopId the node where the search doesn't go further, if any
+     * @return the reachable node ids with their distance, including the start node
+     */
+    private Map<String,Integer> reachableNodeIds( String nodeId, String stopId ) {
+        var result = new LinkedHashMap<String,Integer>();
+        var queue = new ArrayDeque<String>();
+        result.put( nodeId, 0 );
+        queue.add( nodeId );
+        while( !queue.isEmpty() ) {
+            var id = queue.poll();
+            if( Objects.equals( id, stopId ) ) {
+                continue;
+            }
+            var distance = result.get( id ) + 1;
+            processedData.edges().edgeBySourceId( id ).ifPresent( edge -> {
+                for( var targetId : edge.targetIds() ) {
+                    if( !Objects.equals( targetId, END ) && result.putIfAbsent( targetId, distance ) == null ) {
+                        queue.add( targetId );
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Returns the node where the branches of a parallel edge join: the nearest node reachable from all the branches,
+     * such that the paths of the branches up to it don't share any node
+     *
+     * @param sourceId the source of the parallel edge
+     * @param branchIds the nodes the branches start from
+     * @return the id of the join node
+     * @throws GraphStateException if there is no such node
+     */
+    private String parallelJoinNodeId( String sourceId, List<String> branchIds ) throws GraphStateException {
+        var reachables = branchIds.stream().map( branchId -> reachableNodeIds( branchId, null ) ).toList();
+
+        var candidates = new ArrayList<>( reachables.get(0).keySet() );
+        reachables.forEach( reachable -> candidates.retainAll( reachable.keySet() ) );
+        candidates.removeAll( branchIds );
+        candidates.sort( Comparator.comparingInt( (String id) -> reachables.stream().mapToInt( reachable -> reachable.get(id) ).max().orElse(0) )
+                                .thenComparingInt( id -> reachables.stream().mapToInt( reachable -> reachable.get(id) ).sum() ) );
+
+        for( var candidate : candidates ) {
+            var visited = new HashSet<String>();
+            var disjoint = branchIds.stream()
+                    .map( branchId -> reachableNodeIds( branchId, candidate ).keySet() )
+                    .allMatch( path -> path.stream()
+                                .filter( id -> !Objects.equals( id, candidate ) )
+                                .allMatch( visited::add ) );
+            if( disjoint ) {
+                return candidate;
+            }
+        }
+
+        var parallelNodeTargets = branchIds.stream()
+                .map( branchId -> processedData.edges().edgeBySourceId( branchId ) )
+                .flatMap( Optional::stream )
+                .flatMap( edge -> edge.targetIds().stream() )
+                .collect(Collectors.toSet());
+        throw StateGraph.Errors.illegalMultipleTargetsOnParallelNode.exception( sourceId, parallelNodeTargets );
+    }
+
+    /**
+     * Checks that no interruption is configured on the nodes of a branch path following the first one, since
+     * they run within the parallel node
+     *
+     * @param sourceId the source of the parallel edge
+     * @param branchId the node the branch starts from
+     * @param joinNodeId the node where the parallel branches join
+     * @throws GraphStateException if a node following the first one can be interrupted
+     */
+    private void checkBranchPathInterruptions( String sourceId, String branchId, String joinNodeId ) throws GraphStateException {
+        for( var nodeId : reachableNodeIds( branchId, joinNodeId ).keySet() ) {
+            if( Objects.equals( nodeId, branchId ) || Objects.equals( nodeId, joinNodeId ) ) {
+                continue;
+            }
+            if( compileConfig.interruptsBefore().contains( nodeId ) ||
+                    compileConfig.interruptsAfter().contains( nodeId ) ||
+                    unwrap( nodes.get( nodeId ) ) instanceof InterruptableAction<?> ) {
+                throw StateGraph.Errors.illegalInterruptionOnParallelBranch.exception( nodeId, sourceId );
+            }
+        }
+    }
+
+    /**
+     * Creates the action running a branch of a parallel node that is a path of nodes: each node runs on the state of
+     * the branch and the path follows the edges until the join node (or the end) is reached. The result is the
+     * combination, through the channel reducers, of the updates of the nodes and of the edges of the path.
+     * Interruptions are not evaluated on the nodes of the path, so they cannot be configured on the nodes following the first one.
+     *
+     * @param branchId the node the branch starts from
+     * @param joinNodeId the node where the parallel branches join
+     * @return the branch action
+     */
+    private AsyncNodeActionWithConfig<State> branchPath( String branchId, String joinNodeId ) {
+        return ( state, config ) -> {
+            final var channels = stateGraph.getChannels();
+            var branchState = state.data();
+            Map<String,Object> update = Map.of();
+            var nodeId = branchId;
+            try {
+                for( int iteration = 1; !Objects.equals( nodeId, joinNodeId ) && !Objects.equals( nodeId, END ); ++iteration ) {
+                    if( iteration > maxIterations ) {
+                        throw new IllegalStateException( format("Maximum number of iterations (%d) reached!", maxIterations) );
+                    }
+                    final var action = nodes.get( nodeId );
+                    if( action == null ) {
+                        throw RunnableErrors.missingNode.exception( nodeId );
+                    }
+                    final var id = nodeId;
+                    final var nodeState = stateGraph.getStateFactory().apply( branchState );
+                    final var nodeUpdate = Tracing.trace( Tracing.NODE_SPAN, span -> span.setAttribute( Tracing.NODE_ID, id ), () ->
+                            ParallelNode.evalNodeAction( action, nodeState, config, channels ).join() );
+                    branchState = AgentState.updateState( branchState, nodeUpdate, channels );
+                    update = AgentState.updateState( update, nodeUpdate, channels );
+
+                    final var command = routeCommand( edges.get( nodeId ), branchState, nodeId, config );
+                    branchState = AgentState.updateState( branchState, command.update(), channels );
+                    update = AgentState.updateState( update, command.update(), channels );
+                    nodeId = command.gotoNode();
+                }
+            }
+            catch( Exception ex ) {
+                return CompletableFuture.failedFuture( ex );
+            }
+            return completedFuture( update );
+        };
+    }
+
+    private boolean isSendEdge( Edge<State> edge ) {
+        return edge.targets().size() == 1 && edge.target().value() != null && edge.target().value().isSend();
+    }
+
+    /**
+     * Creates the node running the nodes dispatched by a send edge, whose progress is checkpointed after each
+     * completed node
+     *
+     * @param edge the send edge
+     * @return the id of the send node
+     * @throws GraphStateException if the send node cannot be created
+     */
+    private String addSendNode( Edge<State> edge ) throws GraphStateException {
+        var actions = new LinkedHashMap<String, AsyncNodeActionWithConfig<State>>();
+        for( var targetId : edge.target().value().mappings().values() ) {
+            actions.put( targetId, nodes.get( targetId ) );
+        }
+        var sendNodeId = SendNode.formatNodeId( edge.sourceId() );
+        var sendNode = new SendNode<>( edge.sourceId(),
+                edge.target().value().send(),
+                actions,
+                stateGraph.getChannels(),
+                stateGraph.getStateFactory(),
+                ( config, state ) -> addCheckpoint( config, sendNodeId, state, sendNodeId ) );
+
+        nodes.put( sendNode.id(), sendNode.actionFactory().apply(compileConfig) );
+
+        return sendNode.id();
+    }
+
+    /**
+     * Returns the targets of the nodes dispatched by a send edge, that must be the same for all of them
+     *
+     * @param edge the send edge
+     * @return the targets the send node joins into
+     * @throws GraphStateException if the dispatched nodes have different targets
+     */
+    private List<EdgeValue<State>> sendJoinTargets( Edge<State> edge ) throws GraphStateException {
+        var joinTargets = edge.target().value().mappings().values().stream()
+                .distinct()
+                .map( targetId -> processedData.edges().edgeBySourceId( targetId )
+                                        .map( Edge::targets )
+                                        .orElseGet( List::of ) )
+                .collect( Collectors.toSet() );
+
+        if( joinTargets.size() != 1 || joinTargets.iterator().next().isEmpty() ) {
+            throw StateGraph.Errors.illegalMultipleTargetsOnSendEdge.exception( edge.sourceId(),
+                    joinTargets.stream().flatMap( List::stream ).map( EdgeValue::id ).collect( Collectors.toSet() ) );
+        }
+        return List.copyOf( joinTargets.iterator().next() );
+    }
+
     /**
      * Gets the history of graph states relate to a specific Thread ID. Useful for:
      * - Debugging execution history
@@ -182,6 +466,7 @@ public class CompiledGraph<State extends AgentState> {
      */
     public Collection<StateSnapshot<State>> getStateHistory( RunnableConfig config ) {
         BaseCheckpointSaver saver = compileConfig.checkpointSaver().orElseThrow( () -> (new IllegalStateException("Missing CheckpointSaver!")) );
+        checkpointWriter.await( config );
 
         return saver.list(config).stream()
                 .map( checkpoint -> StateSnapshot.of( checkpoint, config, stateGraph.getStateFactory() ) )
@@ -209,6 +494,7 @@ public class CompiledGraph<State extends AgentState> {
      */
     public Optional<StateSnapshot<State>> stateOf( RunnableConfig config ) {
         BaseCheckpointSaver saver = compileConfig.checkpointSaver().orElseThrow( () -> (new IllegalStateException("Missing CheckpointSaver!")) );
+        checkpointWriter.await( config );
 
         return saver.get(config)
                 .map( checkpoint -> StateSnapshot.of( checkpoint, config, stateGraph.getStateFactory() ) );
@@ -238,6 +524,7 @@ public class CompiledGraph<State extends AgentState> {
     public RunnableConfig updateState( RunnableConfig config, Map<String,Object> values, String asNode ) throws Exception {
 
         BaseCheckpointSaver saver = compileConfig.checkpointSaver().orElseThrow( () -> (new IllegalStateException("Missing CheckpointSaver!")) );
+        checkpointWriter.await( config );
 
         // merge values with checkpoint values
         Checkpoint branchCheckpoint = saver.get(config)
@@ -246,7 +533,16 @@ public class CompiledGraph<State extends AgentState> {
                             .orElseThrow( () -> (new IllegalStateException("Missing Checkpoint!")) );
 
         String nextNodeId = null;
-        if( asNode != null ) {
+        if( asNode != null && compileConfig.executionMode() == ExecutionMode.SUPERSTEP ) {
+            var triggered = new LinkedHashSet<String>();
+            var state = branchCheckpoint.getState();
+            for( var nodeId : SuperstepNodeGenerator.parseNodeIds( asNode ) ) {
+                state = triggerNodes( nodeId, state, config, triggered );
+            }
+            nextNodeId = SuperstepNodeGenerator.formatNodeIds( triggered );
+            branchCheckpoint = branchCheckpoint.updateState( state, stateGraph.getChannels() );
+        }
+        else if( asNode != null ) {
             var nextNodeCommand = nextNodeId( asNode, branchCheckpoint.getState(), config );
 
             nextNodeId = nextNodeCommand.gotoNode();
@@ -288,12 +584,43 @@ public class CompiledGraph<State extends AgentState> {
     }
 
     private Command nextNodeId(EdgeValue<State> route , Map<String,Object> state, String nodeId, RunnableConfig config ) throws Exception {
+        var command = routeCommand( route, state, nodeId, config );
+        return new Command( command.gotoNode(), AgentState.updateState(state, command.update(), stateGraph.getChannels()) );
+    }
+
+    /**
+     * Evaluates an edge
+     *
+     * @return the command with the next node id and the update of the edge, if any
+     */
+    private Command routeCommand(EdgeValue<State> route , Map<String,Object> state, String nodeId, RunnableConfig config ) throws Exception {
+        final var event = new EdgeEvaluationEvent();
+        if( lifecycleListener == null && !event.isEnabled() ) {
+            return evaluateRoute( route, state, nodeId, config );
+        }
+        final long start = System.nanoTime();
+        event.begin();
+        var command = evaluateRoute( route, state, nodeId, config );
+        event.end();
+        if( event.shouldCommit() ) {
+            event.sourceId = nodeId;
+            event.targetId = command.gotoNode();
+            event.threadId = config.threadId().orElse(null);
+            event.commit();
+        }
+        if( lifecycleListener != null ) {
+            lifecycleListener.onEdgeRouting( new GraphLifecycleEvent.EdgeRouting( nodeId, command.gotoNode(), config, start, System.nanoTime() - start ) );
+        }
+        return command;
+    }
+
+    private Command evaluateRoute(EdgeValue<State> route , Map<String,Object> state, String nodeId, RunnableConfig config ) throws Exception {
 
         if( route == null ) {
             throw RunnableErrors.missingEdge.exception(nodeId);
         }
         if( route.id() != null ) {
-            return new Command(route.id(), state);
+            return new Command(route.id(), Map.of());
         }
         if( route.value() != null ) {
             State derefState = stateGraph.getStateFactory().apply(state);
@@ -307,9 +634,7 @@ public class CompiledGraph<State extends AgentState> {
                 throw RunnableErrors.missingNodeInEdgeMapping.exception(nodeId, newRoute);
             }
 
-            var currentState = AgentState.updateState(state, command.update(), stateGraph.getChannels());
-
-            return new Command(result, currentState);
+            return new Command(result, command.update());
         }
         throw RunnableErrors.executionError.exception( format("invalid edge value for nodeId: [%s] !", nodeId) );
     }
@@ -327,9 +652,32 @@ public class CompiledGraph<State extends AgentState> {
 
     }
 
+    /**
+     * Evaluates all the outgoing edges of a node, used by the superstep engine
+     *
+     * @param nodeId the node id
+     * @param state the current state
+     * @param triggered collects the ids of the triggered nodes
+     * @return the state updated by the commands of the conditional edges
+     * @throws Exception if there is an error evaluating the edges
+     */
+    private Map<String,Object> triggerNodes( String nodeId, Map<String,Object> state, RunnableConfig config, Set<String> triggered ) throws Exception {
+        var targets = superstepEdges.get( nodeId );
+        if( targets == null ) {
+            throw RunnableErrors.missingEdge.exception( nodeId );
+        }
+        var currentState = state;
+        for( var target : targets ) {
+            var command = nextNodeId( target, currentState, nodeId, config );
+            currentState = command.update();
+            triggered.add( command.gotoNode() );
+        }
+        return currentState;
+    }
+
     private Command getEntryPoint( Map<String,Object> state, RunnableConfig config ) throws Exception {
         var entryPoint = this.edges.get(START);
-        return nextNodeId(entryPoint, state, "entryPoint", config);
+        return nextNodeId(entryPoint, state, START, config);
     }
 
     private boolean shouldInterruptBefore( String nodeId, String previousNodeId ) {
@@ -350,18 +698,59 @@ public class CompiledGraph<State extends AgentState> {
 
     private Optional<Checkpoint> addCheckpoint( RunnableConfig config, String nodeId, Map<String,Object> state, String nextNodeId ) throws Exception {
         if( compileConfig.checkpointSaver().isPresent() ) {
+            // the state size of the checkpoint event is taken by the clone of the state, that serializes it anyway
+            final var stateSize = new CheckpointSaveEvent().isEnabled() ? new AtomicLong() : null;
             var cp =  Checkpoint.builder()
                                 .nodeId( nodeId )
-                                .state( cloneState(state) )
+                                .state( cloneState(state, nodeId, config, ( stateSize != null ) ? stateSize::set : null ) )
                                 .nextNodeId( nextNodeId )
                                 .build();
-            compileConfig.checkpointSaver().get().put( config, cp );
+            final var saver = compileConfig.checkpointSaver().get();
+            checkpointWriter.write( config, () -> saveCheckpoint( saver, config, nodeId, cp, ( stateSize != null ) ? stateSize.get() : 0 ) );
             return Optional.of(cp);
         }
         return Optional.empty();
 
     }
 
+    /**
+     * Stores the checkpoint, notifying the listeners and the JFR event
+     */
+    private void saveCheckpoint( BaseCheckpointSaver saver, RunnableConfig config, String nodeId, Checkpoint cp, long stateSize ) throws Exception {
+        final var event = new CheckpointSaveEvent();
+        if( lifecycleListener == null && !event.isEnabled() ) {
+            putCheckpoint( saver, config, nodeId, cp );
+        }
+        else {
+            final long start = System.nanoTime();
+            event.begin();
+            putCheckpoint( saver, config, nodeId, cp );
+            event.end();
+            if( event.shouldCommit() ) {
+                event.saver = saver.getClass();
+                event.threadId = config.threadId().orElse(null);
+                event.nodeId = nodeId;
+                event.checkpointId = cp.getId();
+                event.stateSize = stateSize;
+                event.commit();
+            }
+            if( lifecycleListener != null ) {
+                lifecycleListener.onCheckpointPut( new GraphLifecycleEvent.CheckpointPut( nodeId, cp.getId(), config, start, System.nanoTime() - start ) );
+            }
+        }
+    }
+
+    /**
+     * Stores the checkpoint, traced as child of the current span if any
+     */
+    private void putCheckpoint( BaseCheckpointSaver saver, RunnableConfig config, String nodeId, Checkpoint cp ) throws Exception {
+        Tracing.trace( Tracing.CHECKPOINT_SPAN,
+                span -> span.setAttribute( Tracing.CHECKPOINT_OPERATION, "put" )
+                            .setAttribute( Tracing.NODE_ID, nodeId )
+                            .setAttribute( Tracing.CHECKPOINT_ID, cp.getId() ),
+                () -> saver.put( config, cp ) );
+    }
+
     Map<String,Object> getInitialStateFromSchema() {
         return stateGraph.getStateFactory().initialDataFromSchema(stateGraph.getChannels());
     }
@@ -369,15 +758,91 @@ public class CompiledGraph<State extends AgentState> {
     Map<String,Object> getInitialState(Map<String,Object> inputs, RunnableConfig config) {
 
         return compileConfig.checkpointSaver()
-                .flatMap( saver -> saver.get( config ) )
+                .flatMap( saver -> loadCheckpoint( saver, config ) )
                 .map( cp -> AgentState.updateState( cp.getState(), inputs, stateGraph.getChannels() ))
                 .orElseGet( () -> AgentState.updateState( getInitialStateFromSchema(), inputs, stateGraph.getChannels() ));
     }
 
+    private Optional<Checkpoint> loadCheckpoint( BaseCheckpointSaver saver, RunnableConfig config ) {
+        checkpointWriter.await( config );
+        return Tracing.trace( Tracing.CHECKPOINT_SPAN,
+                span -> span.setAttribute( Tracing.CHECKPOINT_OPERATION, "get" ),
+                () -> loadCheckpointWithEvent( saver, config ) );
+    }
+
+    private Optional<Checkpoint> loadCheckpointWithEvent( BaseCheckpointSaver saver, RunnableConfig config ) {
+        final var event = new CheckpointLoadEvent();
+        if( !event.isEnabled() ) {
+            return saver.get( config );
+        }
+        event.begin();
+        var result = saver.get( config );
+        event.end();
+        if( event.shouldCommit() ) {
+            event.saver = saver.getClass();
+            event.threadId = config.threadId().orElse(null);
+            event.found = result.isPresent();
+            if( result.isPresent() ) {
+                event.checkpointId = result.get().getId();
+                try {
+                    event.stateSize = stateGraph.getStateSerializer().dataToBytes( result.get().getState() ).length;
+                }
+                catch( IOException ex ) {
+                    log.warn( "cannot evaluate the size of checkpoint '{}'", result.get().getId(), ex );
+                }
+            }
+            event.commit();
+        }
+        return result;
+    }
+
     State cloneState( Map<String,Object> data ) throws IOException, ClassNotFoundException, InstantiationException, IllegalAccessException {
         return stateGraph.getStateSerializer().cloneObject(data);
     }
 
+    private State cloneState( Map<String,Object> data, String nodeId, RunnableConfig config ) throws IOException, ClassNotFoundException, InstantiationException, IllegalAccessException {
+        return cloneState( data, nodeId, config, null );
+    }
+
+    /**
+     * Clones the state, notifying the listeners and the JFR event
+     *
+     * @param serializedSize receives the serialized size of the state, if not null
+     */
+    private State cloneState( Map<String,Object> data, String nodeId, RunnableConfig config, LongConsumer serializedSize ) throws IOException, ClassNotFoundException, InstantiationException, IllegalAccessException {
+        final var event = new StateSerializationEvent();
+        if( lifecycleListener == null && !event.isEnabled() && serializedSize == null ) {
+            return cloneState(data);
+        }
+        final long start = System.nanoTime();
+        State result;
+        if( event.isEnabled() || serializedSize != null ) {
+            // same steps of the serializer clone, keeping track of the serialized size
+            final var serializer = stateGraph.getStateSerializer();
+            event.begin();
+            var bytes = serializer.dataToBytes( data );
+            result = serializer.stateOf( serializer.dataFromBytes( bytes ) );
+            event.end();
+            if( serializedSize != null ) {
+                serializedSize.accept( bytes.length );
+            }
+            if( event.shouldCommit() ) {
+                event.nodeId = nodeId;
+                event.threadId = config.threadId().orElse(null);
+                event.serializer = serializer.getClass();
+                event.size = bytes.length;
+                event.commit();
+            }
+        }
+        else {
+            result = cloneState(data);
+        }
+        if( lifecycleListener != null ) {
+            lifecycleListener.onStateSerialization( new GraphLifecycleEvent.StateSerialization( nodeId, config, start, System.nanoTime() - start ) );
+        }
+        return result;
+    }
+
     /**
      * Creates an AsyncGenerator stream of NodeOutput based on the provided inputs.
      *
@@ -389,11 +854,20 @@ public class CompiledGraph<State extends AgentState> {
         requireNonNull(config, "config cannot be null");
         requireNonNull( input, "input cannot be null" );
 
-        final var generator = new AsyncNodeGenerator<>( input, config );
+        final var generator = newGenerator( input, config );
 
         return new AsyncGenerator.WithEmbed<>( generator );
     }
 
+    /**
+     * Creates the generator of the configured execution mode
+     */
+    private AsyncNodeGenerator<NodeOutput<State>> newGenerator( GraphInput input, RunnableConfig config ) {
+        return ( compileConfig.executionMode() == ExecutionMode.SUPERSTEP ) ?
+                new SuperstepNodeGenerator<>( this, input, config ) :
+                new AsyncNodeGenerator<>( input, config );
+    }
+
     /**
      * Creates an AsyncGenerator stream of NodeOutput based on the provided inputs.
      *
@@ -425,7 +899,7 @@ public class CompiledGraph<State extends AgentState> {
     public AsyncGenerator<NodeOutput<State>> streamSnapshots( GraphInput input, RunnableConfig config )  {
         requireNonNull(config, "config cannot be null");
 
-        final AsyncNodeGenerator<NodeOutput<State>> generator = new AsyncNodeGenerator<>( input, config.withStreamMode(StreamMode.SNAPSHOTS) );
+        final var generator = newGenerator( input, config.withStreamMode(StreamMode.SNAPSHOTS) );
         return new AsyncGenerator.WithEmbed<>( generator );
     }
 
@@ -490,6 +964,71 @@ public class CompiledGraph<State extends AgentState> {
         return invokeFinal( GraphInput.args(inputs), RunnableConfig.builder().build() ).map( NodeOutput::state);
     }
 
+    /**
+     * Runs the graph on many independent inputs, with bounded concurrency.
+     * <p>
+     * The returned generator yields a {@link BatchResult} for each input, in the {@link BatchConfig#order()} of the
+     * batch, and completes with the {@link BatchReport} of the batch as result value
+     * (see {@link AsyncGenerator#resultValue(AsyncGenerator)}).
+     * The runs are launched as the generator is created.
+     *
+     * @param inputs the inputs of the runs
+     * @param configs the configuration of each run, matching the inputs by position. When a checkpoint saver is set
+     *                the runs must have distinct thread ids
+     * @param batchConfig the configuration of the batch
+     * @return the generator of the results of the runs
+     * @throws IllegalArgumentException if the number of configurations doesn't match the number of inputs, or if
+     *                                  a checkpoint saver is set and some runs share the same thread id
+     */
+    public AsyncGenerator<BatchResult<State>> batchAsync( List<GraphInput> inputs, List<RunnableConfig> configs, BatchConfig batchConfig ) {
+        return graphBatch().runAsync( inputs, configs, batchConfig );
+    }
+
+    /**
+     * Runs the graph on many independent inputs sharing the same configuration, with bounded concurrency.
+     * When a checkpoint saver is set each run gets its own thread, whose id is the one of the configuration
+     * (or the default one) followed by the index of the input, e.g. {@code "thread-0"}, {@code "thread-1"}
+     *
+     * @param inputs the inputs of the runs
+     * @param config the configuration of all the runs
+     * @param batchConfig the configuration of the batch
+     * @return the generator of the results of the runs
+     * @see #batchAsync(List, List, BatchConfig)
+     */
+    public AsyncGenerator<BatchResult<State>> batchAsync( List<GraphInput> inputs, RunnableConfig config, BatchConfig batchConfig ) {
+        return graphBatch().runAsync( inputs, config, batchConfig );
+    }
+
+    /**
+     * Runs the graph on many independent inputs, with bounded concurrency, and waits for all of them.
+     *
+     * @param inputs the inputs of the runs
+     * @param configs the configuration of each run, matching the inputs by position
+     * @param batchConfig the configuration of the batch
+     * @return the report of the batch, holding the results of the runs in the order of delivery
+     * @see #batchAsync(List, List, BatchConfig)
+     */
+    public BatchReport<State> batch( List<GraphInput> inputs, List<RunnableConfig> configs, BatchConfig batchConfig ) {
+        return graphBatch().run( inputs, configs, batchConfig );
+    }
+
+    /**
+     * Runs the graph on many independent inputs sharing the same configuration, with bounded concurrency,
+     * and waits for all of them.
+     *
+     * @param inputs the inputs of the runs
+     * @param config the configuration of all the runs
+     * @param batchConfig the configuration of the batch
+     * @return the report of the batch, holding the results of the runs in the order of delivery
+     * @see #batchAsync(List, List, BatchConfig)
+     */
+    public BatchReport<State> batch( List<GraphInput> inputs, RunnableConfig config, BatchConfig batchConfig ) {
+        return graphBatch().run( inputs, config, batchConfig );
+    }
+
+    private GraphBatch<State> graphBatch() {
+        return new GraphBatch<>( this::invokeFinal, compileConfig.checkpointSaver().isPresent() );
+    }
 
     /**
      * Generates a drawable graph representation of the state graph.
@@ -604,26 +1143,43 @@ public class CompiledGraph<State extends AgentState> {
 
         }
 
-        Map<String,Object> currentState;
+        protected static final String INTERRUPT_AFTER = CompiledGraph.INTERRUPT_AFTER;
+
+        protected Map<String,Object> currentState;
         final Context context;
-        int iteration = 0;
-        final RunnableConfig config;
+        protected int iteration = 0;
+        protected final RunnableConfig config;
+        private long runStartTime;
+        private boolean runEnded;
+        private boolean runInterrupted;
+        private GraphRunEvent runEvent;
+        // the usage is notified by the thread completing a node, guarded by resourceUsageByNode
+        private ResourceUsage runResourceUsage = ResourceUsage.ZERO;
+        private final Map<String,ResourceUsage> resourceUsageByNode = new LinkedHashMap<>();
+        // null if the run is not traced
+        protected final TraceSpan runSpan;
+        // the pending checkpoints of the run, written even if the generator is abandoned
+        private final CheckpointWriter.Run writes;
 
         protected AsyncNodeGenerator(GraphInput input, RunnableConfig config )  {
             final boolean isResumeRequest =  (input instanceof GraphResume);
 
+            this.runSpan = startRunSpan( config );
+
             if( isResumeRequest ) {
 
                 log.trace( "RESUME REQUEST" );
 
-                var saver = compileConfig.checkpointSaver()
-                        .orElseThrow(() -> (new IllegalStateException("Resume request without a configured checkpoint saver!")));
-                var startCheckpoint = saver.get( config )
-                        .orElseThrow( () -> (new IllegalStateException("Resume request without a valid checkpoint!")) );
+                var startCheckpoint = initRun( () -> {
+                    var saver = compileConfig.checkpointSaver()
+                            .orElseThrow(() -> (new IllegalStateException("Resume request without a configured checkpoint saver!")));
+                    return loadCheckpoint( saver, config )
+                            .orElseThrow( () -> (new IllegalStateException("Resume request without a valid checkpoint!")) );
+                });
 
                 this.currentState = startCheckpoint.getState();
 
-                var startCheckpointNextNodeAction = nodes.get(startCheckpoint.getNextNodeId());
+                var startCheckpointNextNodeAction = unwrap( nodes.get(startCheckpoint.getNextNodeId()) );
                 if( startCheckpointNextNodeAction instanceof SubCompiledGraphNodeAction<State> action ) {
 
                     // RESUME FORM SUBGRAPH DETECTED
@@ -648,7 +1204,7 @@ public class CompiledGraph<State extends AgentState> {
 
                 log.trace( "START" );
                 
-                Map<String,Object> initState = getInitialState( ((GraphArgs)input).value(), config );
+                Map<String,Object> initState = initRun( () -> getInitialState( ((GraphArgs)input).value(), config ) );
                 // patch for backward support of AppendableValue
                 State initializedState = stateGraph.getStateFactory().apply(initState);
                 this.currentState = initializedState.data();
@@ -657,11 +1213,108 @@ public class CompiledGraph<State extends AgentState> {
                 //this.currentNodeId = START;
                 this.config = config;
             }
+
+            final var event = new GraphRunEvent();
+            if( event.isEnabled() ) {
+                event.begin();
+                runEvent = event;
+            }
+            this.writes = checkpointWriter.track( this, this.config );
+            if( lifecycleListener != null ) {
+                runStartTime = System.nanoTime();
+                lifecycleListener.onGraphStart( new GraphLifecycleEvent.GraphStart( this.config, runStartTime ) );
+            }
+        }
+
+        /**
+         * Starts the span of the run, as child of the current span if any (e.g. the node span of a parent graph)
+         */
+        private TraceSpan startRunSpan( RunnableConfig config ) {
+            final var parent = Tracing.current();
+            final TraceSpan span;
+            if( parent != null ) {
+                span = parent.child( Tracing.RUN_SPAN );
+            }
+            else if( tracer != null ) {
+                span = tracer.startSpan( Tracing.RUN_SPAN );
+            }
+            else {
+                return null;
+            }
+            return span.setAttribute( Tracing.THREAD_ID, config.threadId().orElse( BaseCheckpointSaver.THREAD_ID_DEFAULT ) );
+        }
+
+        /**
+         * Runs an initialization step within the run span, ending it if the initialization fails
+         */
+        private <T> T initRun( TrySupplier<T,RuntimeException> action ) {
+            try {
+                return Tracing.withSpan( runSpan, action );
+            }
+            catch( RuntimeException ex ) {
+                if( runSpan != null ) {
+                    runSpan.recordError( ex );
+                    runSpan.end();
+                }
+                throw ex;
+            }
+        }
+
+        /**
+         * Returns the id of the node being evaluated
+         */
+        protected String currentNodeId() {
+            return context.currentNodeId();
+        }
+
+        protected void setCurrentNodeId( String nodeId ) {
+            context.setCurrentNodeId( nodeId );
+        }
+
+        /**
+         * Returns the id of the node to evaluate next, e.g. the next node id of the checkpoint a resumed run starts from
+         */
+        protected String pendingNodeId() {
+            return context.nextNodeId();
+        }
+
+        /**
+         * Returns, only once, the id of the node of the checkpoint a resumed run starts from
+         */
+        protected Optional<String> takeResumeFrom() {
+            return context.getResumeFromAndReset();
+        }
+
+        protected AsyncNodeActionWithConfig<State> nodeAction( String nodeId ) {
+            return nodes.get( nodeId );
+        }
+
+        protected int maxIterations() {
+            return maxIterations;
+        }
+
+        protected boolean resourceAccounting() {
+            return resourceAccounting;
+        }
+
+        protected State cloneState( Map<String,Object> data, String nodeId, RunnableConfig config ) throws IOException, ClassNotFoundException, InstantiationException, IllegalAccessException {
+            return CompiledGraph.this.cloneState( data, nodeId, config );
+        }
+
+        protected Optional<Checkpoint> addCheckpoint( RunnableConfig config, String nodeId, Map<String,Object> state, String nextNodeId ) throws Exception {
+            return CompiledGraph.this.addCheckpoint( config, nodeId, state, nextNodeId );
+        }
+
+        /**
+         * Evaluates all the outgoing edges of a node, used by the superstep engine
+         */
+        protected Map<String,Object> triggerNodes( String nodeId, Map<String,Object> state, RunnableConfig config, Set<String> triggered ) throws Exception {
+            return CompiledGraph.this.triggerNodes( nodeId, state, config, triggered );
         }
 
         @SuppressWarnings("unchecked")
         protected Output buildNodeOutput(String nodeId ) throws Exception {
-            return  (Output)NodeOutput.of( nodeId, cloneState(currentState) );
+            return  (Output)NodeOutput.of( nodeId, cloneState(currentState, context.currentNodeId(), config) );
         }
 
         @SuppressWarnings("unchecked")
@@ -716,37 +1369,140 @@ public class CompiledGraph<State extends AgentState> {
                     ;
         }
 
-        private CompletableFuture<Data<Output>> evaluateAction( AsyncNodeActionWithConfig<State> action ) {
-                try {
-                    return action.apply( cloneState(currentState), config)
-                            .thenApply(TryFunction.Try(updateState -> {
+        private CompletableFuture<Map<String,Object>> applyAction( AsyncNodeActionWithConfig<State> action ) throws Exception {
+            final var nodeState = cloneState(currentState, context.currentNodeId(), config);
 
+            return applyAction( context.currentNodeId(), action, nodeState );
+        }
 
-                                Optional<Data<Output>> embed = getEmbedGenerator( action, updateState);
-                                if (embed.isPresent()) {
-                                    return embed.get();
-                                }
+        CompletableFuture<Map<String,Object>> applyAction( String nodeId, AsyncNodeActionWithConfig<State> action, State nodeState ) throws Exception {
+            return applyAction( nodeId, action, nodeState, config );
+        }
 
-                                currentState = AgentState.updateState(currentState, updateState, stateGraph.getChannels());
+        protected CompletableFuture<Map<String,Object>> applyAction( String nodeId, AsyncNodeActionWithConfig<State> action, State nodeState, RunnableConfig config ) throws Exception {
+            final var event = new NodeExecutionEvent();
+            if( lifecycleListener == null && !event.isEnabled() ) {
+                return action.apply( nodeState, config );
+            }
 
-                                if (compileConfig.interruptBeforeEdge() && compileConfig.interruptsAfter().contains(context.currentNodeId())) {
-                                    //nextNodeId = INTERRUPT_AFTER;
-                                    context.setNextNodeId(INTERRUPT_AFTER);
-                                } else {
-                                    var nextNodeCommand = nextNodeId(context.currentNodeId(), currentState, config);
-                                    //nextNodeId = nextNodeCommand.gotoNode();
-                                    context.setNextNodeId(nextNodeCommand.gotoNode());
-                                    currentState = nextNodeCommand.update();
-                                }
+            final long start = System.nanoTime();
+            event.begin();
+            if( lifecycleListener != null ) {
+                lifecycleListener.onNodeStart( new GraphLifecycleEvent.NodeStart( nodeId, config, start ) );
+            }
+            CompletableFuture<Map<String,Object>> result;
+            try {
+                result = action.apply( nodeState, config );
+            }
+            catch( Exception ex ) {
+                nodeCompleted( event, nodeId, config, start, ex );
+                throw ex;
+            }
+            return result.whenComplete( (partialState, ex) -> nodeCompleted( event, nodeId, config, start, ex ) );
+        }
+
+        private void nodeCompleted( NodeExecutionEvent event, String nodeId, RunnableConfig config, long start, Throwable error ) {
+            event.end();
+            if( event.shouldCommit() ) {
+                event.nodeId = nodeId;
+                event.threadId = config.threadId().orElse(null);
+                event.failed = error != null;
+                event.commit();
+            }
+            if( lifecycleListener != null ) {
+                if( error == null ) {
+                    lifecycleListener.onNodeEnd( new GraphLifecycleEvent.NodeEnd( nodeId, config, start, System.nanoTime() - start ) );
+                }
+                else {
+                    lifecycleListener.onNodeError( new GraphLifecycleEvent.NodeError( nodeId, config, start, System.nanoTime() - start, error ) );
+                }
+            }
+        }
 
-                                return Data.of(getNodeOutput());
+        private Map<String,Object> mergeState( Map<String,Object> updateState ) {
+            return mergeState( context.currentNodeId(), updateState );
+        }
+
+        protected Map<String,Object> mergeState( String nodeId, Map<String,Object> updateState ) {
+            final var event = new StateUpdateEvent();
+            if( lifecycleListener == null && !event.isEnabled() ) {
+                return AgentState.updateState(currentState, updateState, stateGraph.getChannels());
+            }
+            final long start = System.nanoTime();
+            event.begin();
+            var result = AgentState.updateState(currentState, updateState, stateGraph.getChannels());
+            event.end();
+            if( event.shouldCommit() ) {
+                event.nodeId = nodeId;
+                event.threadId = config.threadId().orElse(null);
+                event.updatedKeys = updateState.size();
+                event.commit();
+            }
+            if( lifecycleListener != null ) {
+                lifecycleListener.onStateUpdate( new GraphLifecycleEvent.StateUpdate( nodeId, config, start, System.nanoTime() - start, result ) );
+            }
+            return result;
+        }
+
+        private CompletableFuture<Data<Output>> evaluateAction( AsyncNodeActionWithConfig<State> action ) {
+            final var nodeSpan = ( runSpan != null ) ?
+                    runSpan.child( Tracing.NODE_SPAN ).setAttribute( Tracing.NODE_ID, context.currentNodeId() ) :
+                    null;
+            if( !resourceAccounting ) {
+                return Tracing.endOnCompletion( nodeSpan, evaluateAction( action, null, nodeSpan ) );
+            }
+            final var nodeId = context.currentNodeId();
+            final long start = System.nanoTime();
+            final var accumulator = new ResourceAccounting.Accumulator();
+            return Tracing.endOnCompletion( nodeSpan,
+                    ResourceAccounting.measure( accumulator, () -> evaluateAction( action, accumulator, nodeSpan ) )
+                        .whenComplete( (data, ex) -> notifyNodeResourceUsage( nodeId, start, accumulator.usage() ) ) );
+        }
 
-                            }));
+        private CompletableFuture<Data<Output>> evaluateAction( AsyncNodeActionWithConfig<State> action,
+                                                               ResourceAccounting.Accumulator accumulator,
+                                                               TraceSpan nodeSpan ) {
+                try {
+                    return Tracing.withSpan( nodeSpan, () -> applyAction( action ) )
+                            .thenApply(TryFunction.Try(updateState -> Tracing.withSpan( nodeSpan, () ->
+                                ( accumulator == null ) ?
+                                        processUpdate( action, updateState ) :
+                                        ResourceAccounting.measure( accumulator, () -> processUpdate( action, updateState ) ) ) ));
                 } catch( Exception e ) {
                     return failedFuture(e);
                 }
         }
 
+        private Data<Output> processUpdate( AsyncNodeActionWithConfig<State> action, Map<String,Object> updateState ) throws Exception {
+
+            Optional<Data<Output>> embed = getEmbedGenerator( action, updateState);
+            if (embed.isPresent()) {
+                return embed.get();
+            }
+
+            currentState = mergeState( updateState );
+
+            if (compileConfig.interruptBeforeEdge() && compileConfig.interruptsAfter().contains(context.currentNodeId())) {
+                //nextNodeId = INTERRUPT_AFTER;
+                context.setNextNodeId(INTERRUPT_AFTER);
+            } else {
+                var nextNodeCommand = nextNodeId(context.currentNodeId(), currentState, config);
+                //nextNodeId = nextNodeCommand.gotoNode();
+                context.setNextNodeId(nextNodeCommand.gotoNode());
+                currentState = nextNodeCommand.update();
+            }
+
+            return Data.of(getNodeOutput());
+        }
+
+        protected void notifyNodeResourceUsage( String nodeId, long start, ResourceUsage usage ) {
+            synchronized( resourceUsageByNode ) {
+                runResourceUsage = runResourceUsage.plus( usage );
+                resourceUsageByNode.merge( nodeId, usage, ResourceUsage::plus );
+            }
+            lifecycleListener.onNodeResourceUsage( new GraphLifecycleEvent.NodeResourceUsage( nodeId, config, start, usage ) );
+        }
+
         private CompletableFuture<Output> getNodeOutput() throws Exception {
             Optional<Checkpoint>  cp = addCheckpoint(config, context.currentNodeId(), currentState, context.nextNodeId());
             return completedFuture(( cp.isPresent() && config.streamMode() == StreamMode.SNAPSHOTS) ?
@@ -755,9 +1511,14 @@ public class CompiledGraph<State extends AgentState> {
                     ;
         }
 
-        private Optional<BaseCheckpointSaver.Tag> releaseThread() throws Exception {
+        protected Optional<BaseCheckpointSaver.Tag> releaseThread() throws Exception {
+            writes.ended();
+            checkpointWriter.flush( config );
             if(compileConfig.releaseThread() && compileConfig.checkpointSaver().isPresent() ) {
-                return Optional.of(compileConfig.checkpointSaver().get().release( config ));
+                final var saver = compileConfig.checkpointSaver().get();
+                return Optional.of( Tracing.trace( Tracing.CHECKPOINT_SPAN,
+                                        span -> span.setAttribute( Tracing.CHECKPOINT_OPERATION, "release" ),
+                                        () -> saver.release( config ) ) );
             }
             return Optional.empty();
         }
@@ -765,6 +1526,73 @@ public class CompiledGraph<State extends AgentState> {
 
         @Override
         public Data<Output> next() {
+            if( ( lifecycleListener == null && runEvent == null && runSpan == null ) || runEnded ) {
+                return flushOnError( nextData() );
+            }
+            final var data = flushOnError( Tracing.withSpan( runSpan, this::nextData ) );
+            if( data.isDone() || data.isError() ) {
+                notifyRunEnd( null );
+            }
+            return data;
+        }
+
+        /**
+         * Writes the pending checkpoints of a failed run, so that it can be resumed from its last step
+         */
+        private Data<Output> flushOnError( Data<Output> data ) {
+            if( data.isError() ) {
+                writes.ended();
+                checkpointWriter.flushQuietly( config );
+            }
+            return data;
+        }
+
+        protected void notifyRunEnd( Throwable error ) {
+            if( runEnded ) {
+                return;
+            }
+            runEnded = true;
+            if( runEvent != null ) {
+                runEvent.end();
+                if( runEvent.shouldCommit() ) {
+                    runEvent.threadId = config.threadId().orElse(null);
+                    runEvent.outcome = ( error != null ) ? "failed" : ( runInterrupted ? "interrupted" : "completed" );
+                    runEvent.commit();
+                }
+            }
+            if( resourceAccounting ) {
+                final GraphLifecycleEvent.RunResourceUsage event;
+                synchronized( resourceUsageByNode ) {
+                    event = new GraphLifecycleEvent.RunResourceUsage( config, runStartTime,
+                            runResourceUsage, Collections.unmodifiableMap( new LinkedHashMap<>(resourceUsageByNode) ) );
+                }
+                lifecycleListener.onRunResourceUsage( event );
+            }
+            if( lifecycleListener != null ) {
+                lifecycleListener.onGraphEnd( new GraphLifecycleEvent.GraphEnd( config, runStartTime, System.nanoTime() - runStartTime, error ) );
+            }
+            if( runSpan != null ) {
+                if( error != null ) {
+                    runSpan.recordError( error );
+                }
+                if( runInterrupted ) {
+                    runSpan.setAttribute( Tracing.INTERRUPTED, true );
+                }
+                runSpan.end();
+            }
+        }
+
+        protected Data<Output> interruption( InterruptionMetadata<State> metadata ) throws Exception {
+            writes.ended();
+            checkpointWriter.flush( config );
+            runInterrupted = true;
+            if( lifecycleListener != null ) {
+                lifecycleListener.onInterruption( new GraphLifecycleEvent.Interruption( metadata.nodeId(), config, System.nanoTime() ) );
+            }
+            return Data.done( metadata );
+        }
+
+        protected Data<Output> nextData() {
 
             try {
                 // GUARD: CHECK MAX ITERATION REACHED
@@ -788,7 +1616,7 @@ public class CompiledGraph<State extends AgentState> {
                     var interruption = returnFromEmbed.get().value(new TypeRef<InterruptionMetadata<State>>(){} );
 
                     if( interruption.isPresent() ) {
-                        return Data.done( interruption.get() );
+                        return interruption( interruption.get() );
                     }
 
                     return Data.of( getNodeOutput() );
@@ -836,11 +1664,11 @@ public class CompiledGraph<State extends AgentState> {
 
                 // check on previous node
                 if( shouldInterruptAfter( context.currentNodeId(), context.nextNodeId() )) {
-                    return Data.done( InterruptionMetadata.builder(context.currentNodeId(), cloneState(currentState)).build() );
+                    return interruption( InterruptionMetadata.builder(context.currentNodeId(), cloneState(currentState, context.currentNodeId(), config)).build() );
                 }
 
                 if( shouldInterruptBefore( context.nextNodeId(), context.currentNodeId() ) ) {
-                    return Data.done(InterruptionMetadata.builder(context.currentNodeId(), cloneState(currentState)).build() );
+                    return interruption( InterruptionMetadata.builder(context.currentNodeId(), cloneState(currentState, context.currentNodeId(), config)).build() );
                 }
 
                 context.setCurrentNodeId( context.nextNodeId() );
@@ -851,12 +1679,12 @@ public class CompiledGraph<State extends AgentState> {
                 if (action == null)
                     throw RunnableErrors.missingNode.exception(context.currentNodeId());
 
-                if( action instanceof InterruptableAction<?>) {
+                if( unwrap( action ) instanceof InterruptableAction<?> interruptable ) {
                     @SuppressWarnings("unchecked")
-                    final var interruption = (InterruptableAction<State>) action;
-                    final var interruptMetadata = interruption.interrupt(context.currentNodeId(), cloneState(currentState));
+                    final var interruption = (InterruptableAction<State>) interruptable;
+                    final var interruptMetadata = interruption.interrupt(context.currentNodeId(), cloneState(currentState, context.currentNodeId(), config));
                     if( interruptMetadata.isPresent() ) {
-                        return Data.done( interruptMetadata.get() );
+                        return interruption( interruptMetadata.get() );
                     }
                 }
 
@@ -864,6 +1692,7 @@ public class CompiledGraph<State extends AgentState> {
             }
             catch( Exception e ) {
                 log.error( e.getMessage(), e );
+                notifyRunEnd( e );
                 return Data.error(e);
             }
 
@@ -907,19 +1736,20 @@ record ProcessedNodesEdgesAndConfig<State extends AgentState>(
             //
             var sgEdgeStart = sgWorkflow.edges.edgeBySourceId(START).orElseThrow();
 
-            if( sgEdgeStart.isParallel() ) {
-                throw new GraphStateException( "subgraph not support start with parallel branches yet!"  );
+            var sgEdgeStartTargets = new ArrayList<EdgeValue<State>>();
+            for( var sgEdgeStartTarget : sgEdgeStart.targets() ) {
+                if( sgEdgeStartTarget.id() == null ) {
+                    throw new GraphStateException( format("the target for node '%s' is null!", subgraphNode.id())  );
+                }
+                sgEdgeStartTargets.add( new EdgeValue<>( subgraphNode.formatId( sgEdgeStartTarget.id() ) ) );
             }
 
-            var sgEdgeStartTarget = sgEdgeStart.target();
-
-            if( sgEdgeStartTarget.id() == null ) {
-                throw new GraphStateException( format("the target for node '%s' is null!", subgraphNode.id())  );
+            // Process Interruption (Before) Subgraph(s)
+            if( interruptsBefore.contains( subgraphNode.id() ) && sgEdgeStart.isParallel() ) {
+                throw new GraphStateException( "'interruption before' on subgraph starting with parallel branches is not supported yet!" );
             }
+            var sgEdgeStartRealTargetId = sgEdgeStartTargets.get(0).id();
 
-            var sgEdgeStartRealTargetId = subgraphNode.formatId( sgEdgeStartTarget.id()  );
-
-            // Process Interruption (Before) Subgraph(s)
             interruptsBefore = interruptsBefore.stream().map( interrupt ->
                 Objects.equals( subgraphNode.id(), interrupt ) ?
                         sgEdgeStartRealTargetId :
@@ -934,10 +1764,11 @@ record ProcessedNodesEdgesAndConfig<State extends AgentState>(
 
             for( var edgeWithSubgraphTargetId : edgesWithSubgraphTargetId  ) {
 
-                var newEdge = edgeWithSubgraphTargetId.withSourceAndTargetIdsUpdated( subgraphNode,
-                        Function.identity(),
-                        id -> new EdgeValue<>( (Objects.equals( id, subgraphNode.id() ) ?
-                                            subgraphNode.formatId( sgEdgeStartTarget.id()  ) : id)));
+                // the edges to a subgraph starting with parallel branches become parallel edges
+                var newEdge = edgeWithSubgraphTargetId.withSourceAndTargetsUpdated( Function.identity(),
+                        id -> (Objects.equals( id, subgraphNode.id() ) ?
+                                            sgEdgeStartTargets :
+                                            List.of( new EdgeValue<>( id ) ) ) );
                 edges.elements.remove(edgeWithSubgraphTargetId);
                 edges.elements.add( newEdge );
 
@@ -949,14 +1780,10 @@ record ProcessedNodesEdgesAndConfig<State extends AgentState>(
 
             var edgeWithSubgraphSourceId = edges.edgeBySourceId( subgraphNode.id() ).orElseThrow();
 
-            if( edgeWithSubgraphSourceId.isParallel() ) {
-                throw new GraphStateException( "subgraph not support routes to parallel branches yet!" );
-            }
-
             // Process Interruption (After) Subgraph(s)
             if( interruptsAfter.contains(subgraphNode.id()) ) {
 
-                var exceptionMessage = ( edgeWithSubgraphSourceId.target().id()==null ) ?
+                var exceptionMessage = ( edgeWithSubgraphSourceId.isParallel() || edgeWithSubgraphSourceId.target().id()==null ) ?
                                 "'interruption after' on subgraph is not supported yet!" :
                                 format("'interruption after' on subgraph is not supported yet! consider to use 'interruption before' node: '%s'",
                                         edgeWithSubgraphSourceId.target().id());
@@ -964,14 +1791,13 @@ record ProcessedNodesEdgesAndConfig<State extends AgentState>(
 
             }
 
-            sgEdgesEnd.stream()
-                    .map( e -> e.withSourceAndTargetIdsUpdated( subgraphNode,
-                                    subgraphNode::formatId,
+            // the edges to the end of a subgraph routing to parallel branches become parallel edges
+            for( var sgEdgeEnd : sgEdgesEnd ) {
+                edges.elements.add( sgEdgeEnd.withSourceAndTargetsUpdated( subgraphNode::formatId,
                                     id  -> (Objects.equals(id,END) ?
-                                                    edgeWithSubgraphSourceId.target() :
-                                                    new EdgeValue<>(subgraphNode.formatId(id)) ) )
-                    )
-                    .forEach( edges.elements::add);
+                                                    edgeWithSubgraphSourceId.targets() :
+                                                    List.of( new EdgeValue<>(subgraphNode.formatId(id)) ) ) ) );
+            }
             edges.elements.remove(edgeWithSubgraphSourceId);
 
 
@@ -24,6 +24,21 @@ public final class RunnableConfig implements HasMetadata {
      * Warning: it is a RESERVED METADATA KEY don't use it
      */
     public static final String STUDIO_METADATA_KEY = "__STUDIO_MDK__";
+    /**
+     * key that contains the {@link Executor} running the nodes of a superstep
+     * Warning: it is a RESERVED METADATA KEY don't use it, set it by {@link Builder#superstepExecutor(Executor)}
+     */
+    public static final String SUPERSTEP_EXECUTOR_METADATA_KEY = "__SUPERSTEP_EXECUTOR__";
+    /**
+     * key that contains the tenant the steps of the run are accounted to by a {@link org.bsc.langgraph4j.scheduler.RunScheduler}
+     * Warning: it is a RESERVED METADATA KEY don't use it, set it by {@link Builder#tenant(String)}
+     */
+    public static final String TENANT_METADATA_KEY = "__TENANT__";
+    /**
+     * key that contains the priority of the steps of the run scheduled by a {@link org.bsc.langgraph4j.scheduler.RunScheduler}
+     * Warning: it is a RESERVED METADATA KEY don't use it, set it by {@link Builder#priority(int)}
+     */
+    public static final String PRIORITY_METADATA_KEY = "__PRIORITY__";
 
     private final String threadId;
     private final String checkPointId;
@@ -98,6 +113,24 @@ public final class RunnableConfig implements HasMetadata {
 
     }
 
+    /**
+     * Returns the tenant the steps of the run are accounted to, if set
+     *
+     * @return the tenant wrapped in an {@code Optional}, or an empty {@code Optional} if no tenant is set.
+     */
+    public Optional<String> tenant() {
+        return metadata( TENANT_METADATA_KEY ).map( String.class::cast );
+    }
+
+    /**
+     * Returns the priority of the steps of the run
+     *
+     * @return the priority of the run, 0 if not set
+     */
+    public int priority() {
+        return metadata( PRIORITY_METADATA_KEY ).map( Integer.class::cast ).orElse( 0 );
+    }
+
     /**
      * return metadata value for key
      *
@@ -213,6 +246,8 @@ public final class RunnableConfig implements HasMetadata {
          * When a parallel node is executed, it will look for an executor in the
          * {@link RunnableConfig} metadata. If found, it will be used to run the
          * parallel branches concurrently.
+         * The same executor runs the nodes dispatched by the send edge of the node, if any
+         * (see {@link StateGraph#addSendEdges(String, org.bsc.langgraph4j.action.AsyncSendAction, java.util.Collection, int)}).
          *
          * @param nodeId the ID of the parallel node.
          * @param executor  the {@link Executor} to use for the parallel node.
@@ -222,6 +257,40 @@ public final class RunnableConfig implements HasMetadata {
             return addMetadata( ParallelNode.formatNodeId(nodeId), requireNonNull(executor, "executor cannot be null!") );
         }
 
+        /**
+         * Sets the {@link Executor} that runs the nodes of each superstep, when the graph is compiled with
+         * {@link CompiledGraph.ExecutionMode#SUPERSTEP}. If not set, the common {@link java.util.concurrent.ForkJoinPool}
+         * is used.
+         *
+         * @param executor the {@link Executor} running the nodes of the supersteps.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder superstepExecutor( Executor executor ) {
+            return addMetadata( SUPERSTEP_EXECUTOR_METADATA_KEY, requireNonNull(executor, "executor cannot be null!") );
+        }
+
+        /**
+         * Sets the tenant the steps of the run are accounted to, when the graph is compiled with a
+         * {@link org.bsc.langgraph4j.scheduler.RunScheduler}. If not set, the thread id is used.
+         *
+         * @param tenant the tenant of the run
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder tenant( String tenant ) {
+            return addMetadata( TENANT_METADATA_KEY, requireNonNull(tenant, "tenant cannot be null!") );
+        }
+
+        /**
+         * Sets the priority of the steps of the run, when the graph is compiled with a
+         * {@link org.bsc.langgraph4j.scheduler.RunScheduler}: queued steps with a higher priority start first. Default is 0
+         *
+         * @param priority the priority of the run
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder priority( int priority ) {
+            return addMetadata( PRIORITY_METADATA_KEY, priority );
+        }
+
         /**
          * Constructs and returns the configured {@code RunnableConfig} object.
          *
@@ -1,9 +1,13 @@
 package org.bsc.langgraph4j;
 
 import org.bsc.langgraph4j.action.*;
+import org.bsc.langgraph4j.cache.CachePolicy;
+import org.bsc.langgraph4j.hedge.HedgePolicy;
 import org.bsc.langgraph4j.internal.edge.Edge;
 import org.bsc.langgraph4j.internal.edge.EdgeCondition;
 import org.bsc.langgraph4j.internal.edge.EdgeValue;
+import org.bsc.langgraph4j.internal.edge.SendCondition;
+import org.bsc.langgraph4j.internal.node.CachedNodeAction;
 import org.bsc.langgraph4j.internal.node.Node;
 import org.bsc.langgraph4j.internal.node.SubCompiledGraphNode;
 import org.bsc.langgraph4j.internal.node.SubStateGraphNode;
@@ -12,11 +16,13 @@ import org.bsc.langgraph4j.serializer.std.ObjectStreamStateSerializer;
 import org.bsc.langgraph4j.state.AgentState;
 import org.bsc.langgraph4j.state.AgentStateFactory;
 import org.bsc.langgraph4j.state.Channel;
+import org.bsc.langgraph4j.subgraph.SubGraphStateMapping;
 
 import java.util.*;
 
 import static java.lang.String.format;
 import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.bsc.langgraph4j.state.AgentState.MARK_FOR_REMOVAL;
 import static org.bsc.langgraph4j.utils.CollectionsUtils.mergeMap;
@@ -44,9 +50,16 @@ public class StateGraph<State extends AgentState> {
         missingNodeInEdgeMapping("edge mapping for sourceId: %s contains a not existent nodeId %s!"),
         invalidEdgeTarget("edge sourceId: %s has an initialized target value!"),
         duplicateEdgeTargetError("edge [%s] has duplicate targets %s!"),
+        /** no longer raised, the branches of a parallel node can have conditional edges */
+        @Deprecated
         unsupportedConditionalEdgeOnParallelNode("parallel node doesn't support conditional branch, but on [%s] a conditional branch on %s have been found!"),
         illegalMultipleTargetsOnParallelNode("parallel node [%s] must have only one target, but %s have been found!"),
-        interruptionNodeNotExist( "node '%s' configured as interruption doesn't exist!")
+        illegalSendTarget("send edge from '%s' cannot dispatch '%s'!"),
+        illegalMultipleTargetsOnSendEdge("the nodes dispatched by the send edge from [%s] must have only one target, but %s have been found!"),
+        interruptionNodeNotExist( "node '%s' configured as interruption doesn't exist!"),
+        bulkheadNodeNotExist( "node '%s' configured with a bulkhead doesn't exist!"),
+        illegalSuperstepNodeId( "node id '%s' cannot contain '%s' in superstep execution mode!"),
+        illegalInterruptionOnParallelBranch( "node '%s' cannot be interrupted, it follows the first node of the parallel branch from '%s'!")
         ;
 
         private final String errorMessage;
@@ -160,6 +173,60 @@ public class StateGraph<State extends AgentState> {
         return this;
     }
 
+    /**
+     * Adds a node whose results are cached according to the given policy.
+     *
+     * @param id the identifier of the node
+     * @param action the action to be performed by the node
+     * @param cachePolicy the caching policy of the node
+     * @return this
+     * @throws GraphStateException if the node identifier is invalid or the node already exists
+     */
+    public StateGraph<State> addNode(String id, AsyncNodeAction<State> action, CachePolicy cachePolicy) throws GraphStateException {
+        return addNode( id, AsyncNodeActionWithConfig.of(action), cachePolicy );
+    }
+
+    /**
+     * Adds a node whose results are cached according to the given policy.
+     *
+     * @param id the identifier of the node
+     * @param action the action to be performed by the node
+     * @param cachePolicy the caching policy of the node
+     * @return this
+     * @throws GraphStateException if the node identifier is invalid or the node already exists
+     */
+    public StateGraph<State> addNode(String id, AsyncNodeActionWithConfig<State> action, CachePolicy cachePolicy) throws GraphStateException {
+        requireNonNull(cachePolicy, "cachePolicy cannot be null");
+        return addNode( id, new CachedNodeAction<>( id, action, cachePolicy, stateSerializer ) );
+    }
+
+    /**
+     * Adds a node executed according to the given hedge policy.
+     *
+     * @param id the identifier of the node
+     * @param action the action to be performed by the node
+     * @param hedgePolicy the hedge policy of the node
+     * @return this
+     * @throws GraphStateException if the node identifier is invalid or the node already exists
+     */
+    public StateGraph<State> addNode(String id, AsyncNodeAction<State> action, HedgePolicy hedgePolicy) throws GraphStateException {
+        return addNode( id, AsyncNodeActionWithConfig.of(action), hedgePolicy );
+    }
+
+    /**
+     * Adds a node executed according to the given hedge policy.
+     *
+     * @param id the identifier of the node
+     * @param action the action to be performed by the node
+     * @param hedgePolicy the hedge policy of the node
+     * @return this
+     * @throws GraphStateException if the node identifier is invalid or the node already exists
+     */
+    public StateGraph<State> addNode(String id, AsyncNodeActionWithConfig<State> action, HedgePolicy hedgePolicy) throws GraphStateException {
+        requireNonNull(hedgePolicy, "hedgePolicy cannot be null");
+        return addNode( id, hedgePolicy.wrap( id, action ) );
+    }
+
     /**
      * Adds node that behave as conditional edges.
      *
@@ -201,11 +268,25 @@ public class StateGraph<State extends AgentState> {
      * @throws GraphStateException if the node identifier is invalid or the node already exists
      */
     public StateGraph<State> addNode(String id, CompiledGraph<State> subGraph) throws GraphStateException {
+        return addNode(id, subGraph, SubGraphStateMapping.ALL);
+    }
+
+    /**
+     * Adds a subgraph to the state graph by creating a node with the specified identifier.
+     * Only the state keys declared by the mapping flow into the subgraph and back to the parent graph
+     *
+     * @param id the identifier of the node representing the subgraph
+     * @param subGraph the compiled subgraph to be added
+     * @param stateMapping the input/output key projections
+     * @return this state graph instance
+     * @throws GraphStateException if the node identifier is invalid or the node already exists
+     */
+    public StateGraph<State> addNode(String id, CompiledGraph<State> subGraph, SubGraphStateMapping stateMapping) throws GraphStateException {
         if (Objects.equals(id, END)) {
             throw Errors.invalidNodeIdentifier.exception(END);
         }
 
-        var node = new SubCompiledGraphNode<>(id, subGraph);
+        var node = new SubCompiledGraphNode<>(id, subGraph, Objects.requireNonNull(stateMapping, "stateMapping cannot be null"));
 
         if (nodes.elements.contains(node)) {
             throw Errors.duplicateNodeError.exception(id);
@@ -286,11 +367,11 @@ public class StateGraph<State extends AgentState> {
 
         var newEdge = new Edge<>(sourceId, new EdgeValue<State>(targetId) );
 
-        int index = edges.elements.indexOf( newEdge );
-        if( index >= 0 ) {
-            var newTargets = new ArrayList<>(edges.elements.get(index).targets());
+        var existingEdge = edges.edgeBySourceId( sourceId );
+        if( existingEdge.isPresent() ) {
+            var newTargets = new ArrayList<>(existingEdge.get().targets());
             newTargets.add( newEdge.target() );
-            edges.elements.set( index, new Edge<>(sourceId, newTargets) );
+            edges.replace( new Edge<>(sourceId, newTargets) );
         }
         else {
             edges.elements.add( newEdge );
@@ -338,6 +419,62 @@ public class StateGraph<State extends AgentState> {
         return addConditionalEdges( sourceId, AsyncCommandAction.of(condition), mappings);
     }
 
+    /**
+     * Adds an edge that dispatches nodes with their own input (map-reduce).
+     * <p>
+     * The action returns a list of {@link Send}, each one running a target node on the current state updated with its
+     * input; the dispatched nodes run concurrently, and their results are merged into the state through the channel
+     * reducers, in the order of the sends. Then the graph continues from the edge of the target nodes, that must
+     * route all to the same node.
+     * The outputs of the dispatched nodes are streamed as they complete, and if a checkpoint saver is configured the
+     * progress is checkpointed after each completion: on resume the action is evaluated again on the checkpointed state,
+     * so an action that skips the items already processed dispatches only the pending ones.
+     *
+     * @param sourceId the identifier of the source node
+     * @param action the action that evaluates the nodes to dispatch
+     * @param targetIds the nodes that can be dispatched
+     * @param maxConcurrency the maximum number of dispatched nodes running at the same time
+     * @throws GraphStateException if the edge identifier is invalid, the targets are empty or invalid, or the edge already exists
+     * @see RunnableConfig.Builder#addParallelNodeExecutor(String, java.util.concurrent.Executor)
+     */
+    public StateGraph<State> addSendEdges(String sourceId, AsyncSendAction<State> action, Collection<String> targetIds, int maxConcurrency) throws GraphStateException {
+        if (Objects.equals(sourceId, END)) {
+            throw Errors.invalidEdgeIdentifier.exception(END);
+        }
+        if (targetIds == null || targetIds.isEmpty()) {
+            throw Errors.edgeMappingIsEmpty.exception(sourceId);
+        }
+        var mappings = new LinkedHashMap<String,String>();
+        for( var targetId : targetIds ) {
+            if( Objects.equals(targetId, END) || Objects.equals(targetId, START) ) {
+                throw Errors.illegalSendTarget.exception(sourceId, targetId);
+            }
+            mappings.put(targetId, targetId);
+        }
+
+        var newEdge =  new Edge<>(sourceId, new EdgeValue<>( new EdgeCondition<>( null, mappings, new SendCondition<>( action, maxConcurrency ) ) ) );
+
+        if( edges.elements.contains( newEdge ) ) {
+            throw Errors.duplicateConditionalEdgeError.exception(sourceId);
+        }
+        edges.elements.add( newEdge );
+        return this;
+    }
+
+    /**
+     * Adds an edge that dispatches nodes with their own input (map-reduce), without limiting the number of
+     * dispatched nodes running at the same time.
+     *
+     * @param sourceId the identifier of the source node
+     * @param action the action that evaluates the nodes to dispatch
+     * @param targetIds the nodes that can be dispatched
+     * @throws GraphStateException if the edge identifier is invalid, the targets are empty or invalid, or the edge already exists
+     * @see #addSendEdges(String, AsyncSendAction, Collection, int)
+     */
+    public StateGraph<State> addSendEdges(String sourceId, AsyncSendAction<State> action, Collection<String> targetIds) throws GraphStateException {
+        return addSendEdges(sourceId, action, targetIds, Integer.MAX_VALUE);
+    }
+
     void validateGraph( ) throws GraphStateException {
         for( var node : nodes.elements ) {
             node.validate();
@@ -408,20 +545,66 @@ public class StateGraph<State extends AgentState> {
         return new GraphRepresentation( type, content );
     }
 
+    /**
+     * Collection of the graph nodes indexed by id.
+     * The {@code elements} set keeps the insertion order and it is backed by the index,
+     * so lookups by id and membership checks are performed in constant time.
+     *
+     * @param <State> the type of the state associated with the graph
+     */
     public static class Nodes<State extends AgentState> {
-        public final Set<Node<State>> elements;
+        private final Map<String, Node<State>> nodesById = new LinkedHashMap<>();
+
+        public final Set<Node<State>> elements = new AbstractSet<>() {
+            @Override
+            public Iterator<Node<State>> iterator() {
+                return nodesById.values().iterator();
+            }
+
+            @Override
+            public int size() {
+                return nodesById.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return ( o instanceof Node<?> node ) && nodesById.containsKey( node.id() );
+            }
+
+            @Override
+            public boolean add(Node<State> node) {
+                requireNonNull(node, "node cannot be null");
+                if( nodesById.containsKey( node.id() ) ) {
+                    return false;
+                }
+                nodesById.put( node.id(), node );
+                return true;
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                return ( o instanceof Node<?> node ) && nodesById.remove( node.id() ) != null;
+            }
+
+            @Override
+            public void clear() {
+                nodesById.clear();
+            }
+        };
 
         public Nodes( Collection<Node<State>> elements ) {
-            this.elements = new LinkedHashSet<>(elements);
+            this.elements.addAll(elements);
         }
 
         public Nodes( ) {
-            this.elements = new LinkedHashSet<>();
         }
 
         public boolean anyMatchById(String id ) {
-            return elements.stream()
-                    .anyMatch( n -> Objects.equals( n.id(), id) );
+            return nodesById.containsKey(id);
+        }
+
+        public Optional<Node<State>> findById(String id ) {
+            return Optional.ofNullable( nodesById.get(id) );
         }
 
         public List<SubStateGraphNode<State>> onlySubStateGraphNodes() {
@@ -438,31 +621,297 @@ public class StateGraph<State extends AgentState> {
         }
     }
 
+    /**
+     * Collection of the graph edges indexed by source id and by target id.
+     * The {@code elements} list keeps the insertion order and it is backed by the indexes, so lookups,
+     * membership checks, additions, removals and positional access are performed in constant (amortized) time.
+     * As a list, it doesn't reject edges having the same source id: the lookups by source id return the first one.
+     *
+     * @param <State> the type of the state associated with the graph
+     */
     public static class Edges<State extends AgentState> {
 
-        public final List<Edge<State>> elements;
+        // the edges in insertion order, the slots of the removed edges are null until the next compaction
+        private final List<Edge<State>> slots = new ArrayList<>();
+        // the slots of the edges by source id and by target id, in ascending order
+        private final Map<String, List<Integer>> slotsBySourceId = new HashMap<>();
+        private final Map<String, List<Integer>> slotsByTargetId = new HashMap<>();
+        private int size;
+        // incremented on each compaction, that moves the edges to other slots
+        private int compactions;
+
+        private final class Elements extends AbstractList<Edge<State>> {
+
+            @Override
+            public Edge<State> get(int index) {
+                Objects.checkIndex( index, size );
+                compact();
+                return slots.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return ( o instanceof Edge<?> edge ) && slotsBySourceId.containsKey( edge.sourceId() );
+            }
+
+            @Override
+            public int indexOf(Object o) {
+                if( !contains(o) ) {
+                    return -1;
+                }
+                compact();
+                return slotsBySourceId.get( ((Edge<?>) o).sourceId() ).get(0);
+            }
+
+            @Override
+            public int lastIndexOf(Object o) {
+                if( !contains(o) ) {
+                    return -1;
+                }
+                compact();
+                var sourceSlots = slotsBySourceId.get( ((Edge<?>) o).sourceId() );
+                return sourceSlots.get( sourceSlots.size() - 1 );
+            }
+
+            @Override
+            public boolean add(Edge<State> edge) {
+                requireNonNull(edge, "edge cannot be null");
+                // the removed slots are reclaimed once they outnumber the edges
+                if( slots.size() - size > size ) {
+                    compact();
+                }
+                slots.add( edge );
+                indexSlot( slots.size() - 1, edge );
+                ++size;
+                ++modCount;
+                return true;
+            }
+
+            @Override
+            public Edge<State> set(int index, Edge<State> edge) {
+                requireNonNull(edge, "edge cannot be null");
+                var previous = get(index);
+                replaceSlot( index, previous, edge );
+                return previous;
+            }
+
+            @Override
+            public Edge<State> remove(int index) {
+                var edge = get(index);
+                removeSlot( index );
+                return edge;
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if( !contains(o) ) {
+                    return false;
+                }
+                removeSlot( slotsBySourceId.get( ((Edge<?>) o).sourceId() ).get(0) );
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                slots.clear();
+                slotsBySourceId.clear();
+                slotsByTargetId.clear();
+                size = 0;
+                ++modCount;
+            }
+
+            @Override
+            public Iterator<Edge<State>> iterator() {
+                return new Iterator<>() {
+                    int cursor = nextSlot( 0 );
+                    int current = -1;
+                    // the index of the next edge, that is its slot after a compaction
+                    int position = 0;
+                    int expectedModCount = modCount;
+                    int expectedCompactions = compactions;
+
+                    @Override
+                    public boolean hasNext() {
+                        relocate();
+                        return cursor < slots.size();
+                    }
+
+                    @Override
+                    public Edge<State> next() {
+                        checkForComodification();
+                        relocate();
+                        if( cursor >= slots.size() ) {
+                            throw new NoSuchElementException();
+                        }
+                        current = cursor;
+                        cursor = nextSlot( cursor + 1 );
+                        ++position;
+                        return slots.get( current );
+                    }
+
+                    @Override
+                    public void remove() {
+                        if( current < 0 ) {
+                            throw new IllegalStateException();
+                        }
+                        checkForComodification();
+                        relocate();
+                        // the removal leaves an empty slot, so the slots of the next edges don't change
+                        removeSlot( current );
+                        current = -1;
+                        --position;
+                        expectedModCount = modCount;
+                    }
+
+                    /**
+                     * Moves the cursor to the slots of the edges after a compaction (e.g. by a positional access)
+                     */
+                    private void relocate() {
+                        if( expectedCompactions == compactions ) {
+                            return;
+                        }
+                        expectedCompactions = compactions;
+                        cursor = position;
+                        if( current >= 0 ) {
+                            current = position - 1;
+                        }
+                    }
+
+                    private int nextSlot( int slot ) {
+                        while( slot < slots.size() && slots.get( slot ) == null ) {
+                            ++slot;
+                        }
+                        return slot;
+                    }
+
+                    private void checkForComodification() {
+                        if( modCount != expectedModCount ) {
+                            throw new ConcurrentModificationException();
+                        }
+                    }
+                };
+            }
+
+            private void removeSlot( int slot ) {
+                var removed = slots.set( slot, null );
+                unindexSlot( slot, removed );
+                --size;
+                ++modCount;
+            }
+
+            /**
+             * Moves the edges over the removed slots, keeping their order, and rebuilds the indexes
+             */
+            private void compact() {
+                if( slots.size() == size ) {
+                    return;
+                }
+                slots.removeIf( Objects::isNull );
+                slotsBySourceId.clear();
+                slotsByTargetId.clear();
+                for( int slot = 0; slot < slots.size(); ++slot ) {
+                    indexSlot( slot, slots.get(slot) );
+                }
+                ++compactions;
+            }
+        }
+
+        private final Elements list = new Elements();
+
+        public final List<Edge<State>> elements = list;
 
         public Edges( Collection<Edge<State>> elements ) {
-            this.elements = new LinkedList<>(elements);
+            this.elements.addAll(elements);
         }
 
         public Edges( ) {
-            this.elements = new LinkedList<>();
+        }
+
+        private static void addToIndex( Map<String, List<Integer>> index, String key, int slot ) {
+            var keySlots = index.computeIfAbsent( key, k -> new ArrayList<>(1) );
+            // the slots are mostly appended, a replaced edge keeps its slot
+            if( keySlots.isEmpty() || keySlots.get( keySlots.size() - 1 ) < slot ) {
+                keySlots.add( slot );
+                return;
+            }
+            var position = Collections.binarySearch( keySlots, slot );
+            if( position < 0 ) {
+                keySlots.add( -position - 1, slot );
+            }
+        }
+
+        private static void removeFromIndex( Map<String, List<Integer>> index, String key, int slot ) {
+            var keySlots = index.get( key );
+            if( keySlots == null ) {
+                return;
+            }
+            var position = Collections.binarySearch( keySlots, slot );
+            if( position >= 0 ) {
+                keySlots.remove( position );
+            }
+            if( keySlots.isEmpty() ) {
+                index.remove( key );
+            }
+        }
+
+        private void indexSlot( int slot, Edge<State> edge ) {
+            addToIndex( slotsBySourceId, edge.sourceId(), slot );
+            for( var targetId : edge.targetIds() ) {
+                addToIndex( slotsByTargetId, targetId, slot );
+            }
+        }
+
+        private void unindexSlot( int slot, Edge<State> edge ) {
+            removeFromIndex( slotsBySourceId, edge.sourceId(), slot );
+            for( var targetId : edge.targetIds() ) {
+                removeFromIndex( slotsByTargetId, targetId, slot );
+            }
+        }
+
+        private void replaceSlot( int slot, Edge<State> previous, Edge<State> edge ) {
+            unindexSlot( slot, previous );
+            slots.set( slot, edge );
+            indexSlot( slot, edge );
         }
 
         public Optional<Edge<State>> edgeBySourceId(String sourceId ) {
-            return elements.stream()
-                    .filter( e -> Objects.equals( e.sourceId(), sourceId ))
-                    .findFirst();
+            var sourceSlots = slotsBySourceId.get(sourceId);
+            return ( sourceSlots == null ) ? Optional.empty() : Optional.of( slots.get( sourceSlots.get(0) ) );
         }
 
         public List<Edge<State>> edgesByTargetId(String targetId ) {
-            return elements.stream()
-                    .filter( e -> e.anyMatchByTargetId(targetId)).toList();
+            var targetSlots = slotsByTargetId.get( targetId );
+            if( targetSlots == null ) {
+                return List.of();
+            }
+            return targetSlots.stream()
+                    .map( slots::get )
+                    .toList();
         }
 
+        /**
+         * Replaces the (first) edge having the same source id, keeping its position
+         *
+         * @param edge the new edge
+         * @return the replaced edge, if any
+         */
+        public Optional<Edge<State>> replace( Edge<State> edge ) {
+            requireNonNull(edge, "edge cannot be null");
+            var sourceSlots = slotsBySourceId.get( edge.sourceId() );
+            if( sourceSlots == null ) {
+                return Optional.empty();
+            }
+            int slot = sourceSlots.get(0);
+            var previous = slots.get( slot );
+            replaceSlot( slot, previous, edge );
+            return Optional.of(previous);
+        }
 
     }
 
 }
-
@@ -0,0 +1,39 @@
+package org.bsc.langgraph4j.action;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.state.AgentState;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+/**
+ * Represents an asynchronous conditional edge that, given a state and a configuration,
+ * returns a {@link CompletableFuture} of the nodes to dispatch with their own input.
+ *
+ * @param <S> the type of the agent state, which must extend {@link AgentState}
+ * @see Send
+ */
+@FunctionalInterface
+public interface AsyncSendAction<S extends AgentState> extends BiFunction<S, RunnableConfig, CompletableFuture<List<Send>>> {
+
+    /**
+     * Creates an {@link AsyncSendAction} from a synchronous {@link SendAction}.
+     *
+     * @param syncAction the synchronous send action to convert
+     * @param <S>        the type of the agent state
+     * @return an asynchronous send action
+     */
+    static <S extends AgentState> AsyncSendAction<S> send_async(SendAction<S> syncAction) {
+        return (state, config ) -> {
+            var result = new CompletableFuture<List<Send>>();
+            try {
+                result.complete(syncAction.apply(state, config));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+            return result;
+        };
+    }
+
+}
@@ -0,0 +1,28 @@
+package org.bsc.langgraph4j.action;
+
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents the dispatch of a node with its own input, returned by a {@link SendAction}.
+ * <p>
+ * The same node can be dispatched many times, each one with a different input (e.g. a document, a sub-query or a tool call),
+ * to process a variable number of items concurrently (map-reduce).
+ * The node runs on the current state updated with the given input, and the results of all the dispatched nodes
+ * are merged into the state through the channel reducers.
+ *
+ * @param node  the id of the node to dispatch
+ * @param input the values that replace the ones of the current state for this dispatch
+ */
+public record Send(String node, Map<String,Object> input) {
+
+    /**
+     * check for null values
+     */
+    public Send {
+        requireNonNull(node, "node cannot be null");
+        requireNonNull(input, "input cannot be null");
+    }
+
+}
@@ -0,0 +1,26 @@
+package org.bsc.langgraph4j.action;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.state.AgentState;
+
+import java.util.List;
+
+/**
+ * Represents a conditional edge that dispatches nodes with their own input.
+ *
+ * @param <S> the type of the agent state
+ * @see Send
+ */
+@FunctionalInterface
+public interface SendAction<S extends AgentState> {
+
+    /**
+     * Evaluates the nodes to dispatch.
+     *
+     * @param state the agent state
+     * @param config the runnable config
+     * @return the dispatches, possibly empty
+     * @throws Exception if an error occurs during the action
+     */
+    List<Send> apply(S state, RunnableConfig config) throws Exception;
+}
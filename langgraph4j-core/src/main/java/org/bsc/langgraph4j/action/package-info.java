@@ -30,6 +30,10 @@
  *       {@code EdgeAction}. It provides a non-blocking way to determine the next path in the
  *       graph, returning a {@link java.util.concurrent.CompletableFuture} with the name of the
  *       next node or an indication to end.</li>
+ *   <li>{@link org.bsc.langgraph4j.action.SendAction}: Defines a conditional edge that returns a list of
+ *       {@link org.bsc.langgraph4j.action.Send}, dispatching the same node many times with its own input,
+ *       to process a variable number of items concurrently. {@link org.bsc.langgraph4j.action.AsyncSendAction}
+ *       is its asynchronous version.</li>
  * </ul>
  *
  * <p>Implementations of these interfaces are fundamental to defining the behavior and flow
@@ -0,0 +1,163 @@
+package org.bsc.langgraph4j.agent;
+
+import org.bsc.langgraph4j.bulkhead.Bulkhead;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A tool call running on an executor, that is interrupted once it times out or its result is cancelled.
+ * <p>
+ * The {@link #result()} is completed with the value returned by the call, or exceptionally with a
+ * {@link java.util.concurrent.TimeoutException} as soon as the timeout elapses, without waiting for the call.
+ * The {@link #termination()} is completed once the call has actually returned, so that the resources held by the call
+ * (e.g. a concurrency slot) are released only when it no longer runs.
+ * <p>
+ * The executor is owned by the caller, that is in charge of shutting it down.
+ *
+ * @param <T> the type of the result
+ */
+public final class ToolCallTask<T> implements Runnable {
+
+    private final Supplier<T> call;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final CompletableFuture<Void> termination = new CompletableFuture<>();
+
+    // guarded by this
+    private Thread thread;
+    private boolean cancelled;
+
+    private ToolCallTask( Supplier<T> call ) {
+        this.call = call;
+        // a result completed exceptionally, on timeout or cancellation, interrupts the call
+        result.whenComplete( ( value, error ) -> {
+            if( error != null ) {
+                cancel();
+            }
+        });
+    }
+
+    /**
+     * Submits a tool call to the given executor
+     *
+     * @param call the tool call
+     * @param executor the executor running the call
+     * @param timeout the timeout of the call, {@code null} if the call is unbounded
+     * @param <T> the type of the result
+     * @return the submitted task
+     */
+    public static <T> ToolCallTask<T> submit( Supplier<T> call, Executor executor, Duration timeout ) {
+        return submit( call, executor, timeout, null );
+    }
+
+    /**
+     * Submits a tool call to the given executor as soon as the bulkhead grants a permit, that is held until the call
+     * terminates. The timeout bounds the call, not the wait for the permit
+     *
+     * @param call the tool call
+     * @param executor the executor running the call
+     * @param timeout the timeout of the call, {@code null} if the call is unbounded
+     * @param bulkhead the bulkhead limiting the calls, {@code null} if the calls are not limited
+     * @param <T> the type of the result
+     * @return the submitted task
+     */
+    public static <T> ToolCallTask<T> submit( Supplier<T> call, Executor executor, Duration timeout, Bulkhead bulkhead ) {
+        requireNonNull( call, "call cannot be null" );
+        requireNonNull( executor, "executor cannot be null" );
+
+        final var task = new ToolCallTask<T>( call );
+        if( bulkhead == null ) {
+            task.launch( executor, timeout );
+            return task;
+        }
+        bulkhead.execute( () -> {
+            task.launch( executor, timeout );
+            return task.termination;
+        }).whenComplete( ( value, error ) -> {
+            // the bulkhead rejected the call
+            if( error != null ) {
+                task.result.completeExceptionally( error );
+                task.termination.complete( null );
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Returns the result of the call. Cancelling it interrupts the call
+     *
+     * @return the future result
+     */
+    public CompletableFuture<T> result() {
+        return result;
+    }
+
+    /**
+     * Returns the termination of the call, completed once the call has returned or will never run
+     *
+     * @return the future termination
+     */
+    public CompletableFuture<Void> termination() {
+        return termination;
+    }
+
+    private void launch( Executor executor, Duration timeout ) {
+        if( timeout != null ) {
+            result.orTimeout( timeout.toNanos(), TimeUnit.NANOSECONDS );
+        }
+        try {
+            executor.execute( this );
+        }
+        catch( RejectedExecutionException ex ) {
+            result.completeExceptionally( ex );
+            termination.complete( null );
+        }
+    }
+
+    @Override
+    public void run() {
+        synchronized( this ) {
+            if( cancelled ) {
+                termination.complete( null );
+                return;
+            }
+            thread = Thread.currentThread();
+        }
+        T value = null;
+        Throwable error = null;
+        try {
+            value = call.get();
+        }
+        catch( Throwable ex ) {
+            error = ex;
+        }
+        finally {
+            synchronized( this ) {
+                thread = null;
+            }
+            // clears an interruption of the cancelled call, the pool thread is going to be reused
+            Thread.interrupted();
+        }
+        // the resources held by the call are released before its result is delivered
+        termination.complete( null );
+        if( error != null ) {
+            result.completeExceptionally( error );
+        }
+        else {
+            result.complete( value );
+        }
+    }
+
+    private synchronized void cancel() {
+        cancelled = true;
+        if( thread != null ) {
+            thread.interrupt();
+        }
+    }
+}
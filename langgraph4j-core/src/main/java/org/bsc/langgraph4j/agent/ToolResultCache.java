@@ -0,0 +1,546 @@
+package org.bsc.langgraph4j.agent;
+
+import org.bsc.langgraph4j.cache.CacheStats;
+import org.bsc.langgraph4j.cache.LocalCache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+/**
+ * Opt-in cache of tool results shared by the tool services.
+ * <p>
+ * Results are keyed by caller scope, tool name plus canonicalized arguments, so that calls differing only for
+ * json formatting or properties order hit the same entry. The scope (e.g. the chat memory id or the tool context)
+ * keeps apart the results of tools depending on the caller, a {@code null} scope is shared by all the callers.
+ * Every tool can have its own time to live and side-effecting tools can be excluded from caching.
+ * <p>
+ * Concurrent calls of the same key are deduplicated: while a call is in flight the other callers wait for its result
+ * instead of executing the tool again.
+ *
+ * <pre>
+ * var cache = ToolResultCache.builder()
+ *                 .maxSize( 500 )
+ *                 .defaultTtl( Duration.ofMinutes(10) )
+ *                 .ttl( "weather", Duration.ofMinutes(1) )
+ *                 .exclude( "sendEmail" )
+ *                 .build();
+ * </pre>
+ */
+public class ToolResultCache {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ToolResultCache.class);
+
+    /**
+     * Cache key
+     *
+     * @param scope the caller scope, {@code null} if shared
+     * @param toolName the tool name
+     * @param arguments the canonicalized arguments
+     */
+    public record Key( Object scope, String toolName, String arguments ) {}
+
+    public static class Builder {
+        private final LocalCache.Builder<Key,String> cacheBuilder = LocalCache.builder();
+        private final Map<String, Duration> ttls = new HashMap<>();
+        private final Set<String> excludedTools = new HashSet<>();
+        private Duration defaultTtl;
+        private Function<String,String> canonicalizer = ToolResultCache::canonicalJson;
+
+        public Builder maxSize( int maxSize ) {
+            cacheBuilder.maxSize(maxSize);
+            return this;
+        }
+
+        public Builder evictionPolicy( LocalCache.EvictionPolicy evictionPolicy ) {
+            cacheBuilder.evictionPolicy(evictionPolicy);
+            return this;
+        }
+
+        /**
+         * Sets the time to live of results of tools without a specific one. If not set results never expire
+         *
+         * @param ttl the time to live
+         * @return the builder
+         */
+        public Builder defaultTtl( Duration ttl ) {
+            this.defaultTtl = ttl;
+            return this;
+        }
+
+        /**
+         * Sets the time to live of the results of the given tool
+         *
+         * @param toolName the tool name
+         * @param ttl the time to live
+         * @return the builder
+         */
+        public Builder ttl( String toolName, Duration ttl ) {
+            ttls.put( requireNonNull(toolName, "toolName cannot be null"), requireNonNull(ttl, "ttl cannot be null") );
+            return this;
+        }
+
+        /**
+         * Excludes the given tools from caching (e.g. side-effecting tools)
+         *
+         * @param toolNames the tools to exclude
+         * @return the builder
+         */
+        public Builder exclude( String... toolNames ) {
+            excludedTools.addAll( Set.of(toolNames) );
+            return this;
+        }
+
+        /**
+         * Sets the function used to canonicalize tool arguments.
+         * By default arguments are treated as json: whitespaces are removed and object properties are sorted.
+         *
+         * @param canonicalizer the canonicalization function
+         * @return the builder
+         */
+        public Builder argumentsCanonicalizer( Function<String,String> canonicalizer ) {
+            this.canonicalizer = requireNonNull(canonicalizer, "canonicalizer cannot be null");
+            return this;
+        }
+
+        Builder clock( LongSupplier clock ) {
+            cacheBuilder.clock(clock);
+            return this;
+        }
+
+        public ToolResultCache build() {
+            return new ToolResultCache(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private record ToolCounters( LongAdder hits, LongAdder misses ) {
+        ToolCounters() {
+            this( new LongAdder(), new LongAdder() );
+        }
+    }
+
+    private final LocalCache<Key,String> cache;
+    private final Map<String, Duration> ttls;
+    private final Set<String> excludedTools;
+    private final Duration defaultTtl;
+    private final Function<String,String> canonicalizer;
+    private final Map<String, ToolCounters> countersByTool = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private ToolResultCache( Builder builder ) {
+        this.cache = builder.cacheBuilder.build();
+        this.ttls = Map.copyOf(builder.ttls);
+        this.excludedTools = Set.copyOf(builder.excludedTools);
+        this.defaultTtl = builder.defaultTtl;
+        this.canonicalizer = builder.canonicalizer;
+    }
+
+    /**
+     * Checks whether the results of the given tool can be cached
+     *
+     * @param toolName the tool name
+     * @return false if the tool has been excluded
+     */
+    public boolean isCacheable( String toolName ) {
+        return !excludedTools.contains(toolName);
+    }
+
+    /**
+     * Builds the key of a tool call shared by all the callers
+     *
+     * @param toolName the tool name
+     * @param arguments the raw arguments
+     * @return the cache key
+     */
+    public Key keyOf( String toolName, String arguments ) {
+        return keyOf( null, toolName, arguments );
+    }
+
+    /**
+     * Builds the key of a tool call
+     *
+     * @param scope the caller scope, {@code null} if shared
+     * @param toolName the tool name
+     * @param arguments the raw arguments
+     * @return the cache key
+     */
+    public Key keyOf( Object scope, String toolName, String arguments ) {
+        requireNonNull(toolName, "toolName cannot be null");
+        return new Key( scope, toolName, ( arguments == null ) ? "" : canonicalizer.apply(arguments) );
+    }
+
+    /**
+     * Returns the cached result of the tool call shared by all the callers
+     *
+     * @param toolName the tool name
+     * @param arguments the raw arguments
+     * @return the cached result, empty if not present, expired or the tool is not cacheable
+     */
+    public Optional<String> get( String toolName, String arguments ) {
+        return get( null, toolName, arguments );
+    }
+
+    /**
+     * Returns the cached result of the tool call
+     *
+     * @param scope the caller scope, {@code null} if shared
+     * @param toolName the tool name
+     * @param arguments the raw arguments
+     * @return the cached result, empty if not present, expired or the tool is not cacheable
+     */
+    public Optional<String> get( Object scope, String toolName, String arguments ) {
+        if( !isCacheable(toolName) ) {
+            return Optional.empty();
+        }
+        var result = cache.get( keyOf(scope, toolName, arguments) );
+        record( toolName, result.isPresent() );
+        return result;
+    }
+
+    /**
+     * Stores the result of the tool call shared by all the callers. It does nothing if the tool is not cacheable
+     *
+     * @param toolName the tool name
+     * @param arguments the raw arguments
+     * @param result the tool result
+     */
+    public void put( String toolName, String arguments, String result ) {
+        put( null, toolName, arguments, result );
+    }
+
+    /**
+     * Stores the result of the tool call. It does nothing if the tool is not cacheable
+     *
+     * @param scope the caller scope, {@code null} if shared
+     * @param toolName the tool name
+     * @param arguments the raw arguments
+     * @param result the tool result
+     */
+    public void put( Object scope, String toolName, String arguments, String result ) {
+        if( !isCacheable(toolName) ) {
+            return;
+        }
+        cache.put( keyOf(scope, toolName, arguments), result, ttls.getOrDefault(toolName, defaultTtl) );
+    }
+
+    /**
+     * Returns the cached result of the tool call shared by all the callers or executes it, caching its result
+     *
+     * @param toolName the tool name
+     * @param arguments the raw arguments
+     * @param toolCall the tool invocation
+     * @return the tool result
+     */
+    public String computeIfAbsent( String toolName, String arguments, Supplier<String> toolCall ) {
+        return computeIfAbsent( null, toolName, arguments, toolCall );
+    }
+
+    /**
+     * Returns the cached result of the tool call or executes it, caching its result.
+     * If the same call is already in flight its result is awaited instead
+     *
+     * @param scope the caller scope, {@code null} if shared
+     * @param toolName the tool name
+     * @param arguments the raw arguments
+     * @param toolCall the tool invocation
+     * @return the tool result
+     */
+    public String computeIfAbsent( Object scope, String toolName, String arguments, Supplier<String> toolCall ) {
+        requireNonNull(toolCall, "toolCall cannot be null");
+        try {
+            return computeIfAbsentAsync( scope, toolName, arguments, () -> completedFuture( toolCall.get() ) ).join();
+        }
+        catch( CompletionException ex ) {
+            if( ex.getCause() instanceof RuntimeException cause ) {
+                throw cause;
+            }
+            if( ex.getCause() instanceof Error cause ) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the cached result of the tool call or executes it asynchronously, caching its result.
+     * If the same call is already in flight its result is awaited instead.
+     * Cancelling the returned future doesn't cancel the tool call, that can be awaited by other callers
+     *
+     * @param scope the caller scope, {@code null} if shared
+     * @param toolName the tool name
+     * @param arguments the raw arguments
+     * @param toolCall the asynchronous tool invocation
+     * @return the future tool result
+     */
+    public CompletableFuture<String> computeIfAbsentAsync( Object scope, String toolName, String arguments, Supplier<? extends CompletionStage<String>> toolCall ) {
+        requireNonNull(toolCall, "toolCall cannot be null");
+        if( !isCacheable(toolName) ) {
+            return call( toolCall );
+        }
+        final var key = keyOf(scope, toolName, arguments);
+        final var flight = new CompletableFuture<String>();
+        final var running = inFlight.putIfAbsent( key, flight );
+        if( running != null ) {
+            log.trace( "tool call in flight: {}", toolName );
+            record( toolName, true );
+            return running.copy();
+        }
+        // looked up once the flight is registered, a completed call caches its result before leaving the flight
+        final var result = cache.get( key );
+        record( toolName, result.isPresent() );
+        if( result.isPresent() ) {
+            inFlight.remove( key, flight );
+            flight.complete( result.get() );
+            return completedFuture( result.get() );
+        }
+        call( toolCall ).whenComplete( ( value, error ) -> {
+            if( error == null ) {
+                cache.put( key, value, ttls.getOrDefault(toolName, defaultTtl) );
+            }
+            inFlight.remove( key, flight );
+            if( error != null ) {
+                flight.completeExceptionally( ( error instanceof CompletionException && error.getCause() != null ) ? error.getCause() : error );
+            }
+            else {
+                flight.complete( value );
+            }
+        });
+        return flight.copy();
+    }
+
+    private static CompletableFuture<String> call( Supplier<? extends CompletionStage<String>> toolCall ) {
+        try {
+            return toolCall.get().toCompletableFuture();
+        }
+        catch( Throwable ex ) {
+            return failedFuture( ex );
+        }
+    }
+
+    private void record( String toolName, boolean hit ) {
+        var counters = countersByTool.computeIfAbsent( toolName, k -> new ToolCounters() );
+        if( hit ) {
+            log.trace( "tool result cache hit: {}", toolName );
+            counters.hits().increment();
+        }
+        else {
+            counters.misses().increment();
+        }
+    }
+
+    /**
+     * Removes all cached results
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the overall cache statistics
+     *
+     * @return the statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the hit rate of each cacheable tool looked up so far
+     *
+     * @return the hit rate indexed by tool name
+     */
+    public Map<String, Double> hitRateByTool() {
+        var result = new TreeMap<String, Double>();
+        countersByTool.forEach( (toolName, counters ) -> {
+            long hits = counters.hits().sum();
+            long requests = hits + counters.misses().sum();
+            result.put( toolName, ( requests == 0 ) ? 0.0 : (double) hits / requests );
+        });
+        return result;
+    }
+
+    /**
+     * Canonicalizes a json text removing insignificant whitespaces and sorting object properties.
+     * If the text is not a valid json it is returned trimmed.
+     *
+     * @param json the json text
+     * @return the canonical form
+     */
+    public static String canonicalJson( String json ) {
+        requireNonNull(json, "json cannot be null");
+        try {
+            return new CanonicalJsonParser(json).parse();
+        }
+        catch( IllegalArgumentException ex ) {
+            return json.trim();
+        }
+    }
+
+    /**
+     * Minimal recursive descent json parser that emits the canonical form of the parsed value
+     */
+    private static final class CanonicalJsonParser {
+        private final String text;
+        private int pos;
+
+        CanonicalJsonParser( String text ) {
+            this.text = text;
+        }
+
+        String parse() {
+            var sb = new StringBuilder( text.length() );
+            value(sb);
+            skipWhitespaces();
+            if( pos != text.length() ) {
+                throw new IllegalArgumentException("unexpected trailing characters");
+            }
+            return sb.toString();
+        }
+
+        private void value( StringBuilder sb ) {
+            skipWhitespaces();
+            if( pos >= text.length() ) {
+                throw new IllegalArgumentException("unexpected end of json");
+            }
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{' -> object(sb);
+                case '[' -> array(sb);
+                case '"' -> sb.append( string() );
+                default -> literal(sb);
+            }
+        }
+
+        private void object( StringBuilder sb ) {
+            ++pos; // skip '{'
+            var properties = new TreeMap<String,String>();
+            skipWhitespaces();
+            if( peek() == '}' ) {
+                ++pos;
+                sb.append("{}");
+                return;
+            }
+            while( true ) {
+                skipWhitespaces();
+                var name = string();
+                skipWhitespaces();
+                expect(':');
+                var value = new StringBuilder();
+                value(value);
+                properties.put( name, value.toString() );
+                skipWhitespaces();
+                if( peek() == ',' ) {
+                    ++pos;
+                    continue;
+                }
+                expect('}');
+                break;
+            }
+            sb.append('{');
+            boolean first = true;
+            for( var e : properties.entrySet() ) {
+                if( !first ) sb.append(',');
+                sb.append(e.getKey()).append(':').append(e.getValue());
+                first = false;
+            }
+            sb.append('}');
+        }
+
+        private void array( StringBuilder sb ) {
+            ++pos; // skip '['
+            sb.append('[');
+            skipWhitespaces();
+            if( peek() == ']' ) {
+                ++pos;
+                sb.append(']');
+                return;
+            }
+            while( true ) {
+                value(sb);
+                skipWhitespaces();
+                if( peek() == ',' ) {
+                    ++pos;
+                    sb.append(',');
+                    continue;
+                }
+                expect(']');
+                break;
+            }
+            sb.append(']');
+        }
+
+        private String string() {
+            int start = pos;
+            expect('"');
+            while( pos < text.length() ) {
+                char c = text.charAt(pos++);
+                if( c == '\\' ) {
+                    ++pos;
+                }
+                else if( c == '"' ) {
+                    return text.substring(start, pos);
+                }
+            }
+            throw new IllegalArgumentException("unterminated string");
+        }
+
+        private void literal( StringBuilder sb ) {
+            int start = pos;
+            while( pos < text.length() ) {
+                char c = text.charAt(pos);
+                if( c == ',' || c == '}' || c == ']' || Character.isWhitespace(c) ) {
+                    break;
+                }
+                ++pos;
+            }
+            if( start == pos ) {
+                throw new IllegalArgumentException("unexpected character at " + pos);
+            }
+            var literal = text.substring(start, pos);
+            if( !( literal.equals("true") || literal.equals("false") || literal.equals("null")
+                    || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?") ) ) {
+                throw new IllegalArgumentException("invalid literal: " + literal);
+            }
+            sb.append(literal);
+        }
+
+        private char peek() {
+            if( pos >= text.length() ) {
+                throw new IllegalArgumentException("unexpected end of json");
+            }
+            return text.charAt(pos);
+        }
+
+        private void expect( char c ) {
+            if( peek() != c ) {
+                throw new IllegalArgumentException( "expected '" + c + "' at " + pos );
+            }
+            ++pos;
+        }
+
+        private void skipWhitespaces() {
+            while( pos < text.length() && Character.isWhitespace(text.charAt(pos)) ) {
+                ++pos;
+            }
+        }
+    }
+}
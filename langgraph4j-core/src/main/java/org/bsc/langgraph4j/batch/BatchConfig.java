@@ -0,0 +1,109 @@
+package org.bsc.langgraph4j.batch;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Configuration of a batch of independent graph runs.
+ *
+ * <pre>
+ * var batchConfig = BatchConfig.builder()
+ *                 .maxConcurrency( 8 )
+ *                 .order( BatchConfig.Order.AS_COMPLETED )
+ *                 .build();
+ *
+ * var report = app.batch( inputs, RunnableConfig.builder().build(), batchConfig );
+ * </pre>
+ */
+public class BatchConfig {
+
+    /**
+     * The order of delivery of the results of a batch
+     */
+    public enum Order {
+        /**
+         * the results are delivered in the order of the inputs
+         */
+        ORDERED,
+        /**
+         * the results are delivered as soon as the runs complete
+         */
+        AS_COMPLETED
+    }
+
+    public static class Builder {
+        private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+        private Order order = Order.ORDERED;
+        private Executor executor;
+
+        /**
+         * Sets the maximum number of runs executed concurrently. Default is the number of available processors
+         *
+         * @param maxConcurrency the maximum number of concurrent runs
+         * @return this builder
+         */
+        public Builder maxConcurrency( int maxConcurrency ) {
+            if( maxConcurrency < 1 ) {
+                throw new IllegalArgumentException("maxConcurrency must be greater than 0!");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets the order of delivery of the results. Default is {@link Order#ORDERED}
+         *
+         * @param order the order of delivery
+         * @return this builder
+         */
+        public Builder order( Order order ) {
+            this.order = requireNonNull( order, "order cannot be null" );
+            return this;
+        }
+
+        /**
+         * Sets the {@link Executor} running the graph runs. If not set, each batch uses its own pool of
+         * {@code maxConcurrency} threads, shut down when the batch completes
+         *
+         * @param executor the executor running the graph runs
+         * @return this builder
+         */
+        public Builder executor( Executor executor ) {
+            this.executor = requireNonNull( executor, "executor cannot be null" );
+            return this;
+        }
+
+        public BatchConfig build() {
+            return new BatchConfig( this );
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final int maxConcurrency;
+    private final Order order;
+    private final Executor executor;
+
+    private BatchConfig( Builder builder ) {
+        this.maxConcurrency = builder.maxConcurrency;
+        this.order = builder.order;
+        this.executor = builder.executor;
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public Order order() {
+        return order;
+    }
+
+    public Optional<Executor> executor() {
+        return Optional.ofNullable( executor );
+    }
+
+}
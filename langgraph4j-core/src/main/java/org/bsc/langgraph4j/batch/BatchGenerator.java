@@ -0,0 +1,177 @@
+package org.bsc.langgraph4j.batch;
+
+import org.bsc.async.AsyncGenerator;
+import org.bsc.langgraph4j.NodeOutput;
+import org.bsc.langgraph4j.state.AgentState;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Generator of the results of a batch of independent graph runs.
+ * <p>
+ * At most {@link BatchConfig#maxConcurrency()} runs are executed at a time, a new run is launched as soon as one
+ * completes. The failure of a run doesn't stop the batch, it is reported by its {@link BatchResult}.
+ * The generator completes with the {@link BatchReport} of the batch as result value.
+ *
+ * @param <State> the type of the state of the graph
+ */
+public final class BatchGenerator<State extends AgentState> implements AsyncGenerator<BatchResult<State>> {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(BatchGenerator.class);
+
+    private static final AtomicInteger batchCount = new AtomicInteger();
+
+    private final int size;
+    private final IntFunction<Optional<NodeOutput<State>>> run;
+    private final BatchConfig batchConfig;
+    private final Executor executor;
+    // the executor created for the batch, if any, shut down when the batch completes
+    private final ExecutorService ownedExecutor;
+    private final long start = System.nanoTime();
+
+    private final BlockingQueue<Data<BatchResult<State>>> queue = new LinkedBlockingQueue<>();
+    private Data<BatchResult<State>> last;
+
+    // guarded by this
+    private final List<BatchResult<State>> delivered = new ArrayList<>();
+    private final Map<Integer, BatchResult<State>> pending = new HashMap<>();
+    private int nextIndex;
+    private int nextDelivery;
+
+    /**
+     * @param size the number of runs of the batch
+     * @param run executes the run of the given index, returning its final output
+     * @param batchConfig the configuration of the batch
+     */
+    public BatchGenerator( int size, IntFunction<Optional<NodeOutput<State>>> run, BatchConfig batchConfig ) {
+        this.size = size;
+        this.run = requireNonNull( run, "run cannot be null" );
+        this.batchConfig = requireNonNull( batchConfig, "batchConfig cannot be null" );
+        if( batchConfig.executor().isPresent() || size == 0 ) {
+            this.ownedExecutor = null;
+            this.executor = batchConfig.executor().orElseGet( ForkJoinPool::commonPool );
+        }
+        else {
+            final var batchId = batchCount.incrementAndGet();
+            final var threadCount = new AtomicInteger();
+            this.ownedExecutor = Executors.newFixedThreadPool( Math.min( batchConfig.maxConcurrency(), size ), task -> {
+                var thread = new Thread( task, format( "langgraph4j-batch-%d-%d", batchId, threadCount.incrementAndGet() ) );
+                thread.setDaemon( true );
+                return thread;
+            });
+            this.executor = ownedExecutor;
+        }
+    }
+
+    /**
+     * Launches the first runs of the batch
+     *
+     * @return this generator
+     */
+    public BatchGenerator<State> start() {
+        if( size == 0 ) {
+            complete();
+            return this;
+        }
+        for( int i = 0, count = Math.min( batchConfig.maxConcurrency(), size ); i < count; ++i ) {
+            launchNext();
+        }
+        return this;
+    }
+
+    private void launchNext() {
+        // a rejected run is reported as failed and its slot is taken by the next run
+        while( true ) {
+            final int index;
+            synchronized( this ) {
+                if( nextIndex >= size ) {
+                    return;
+                }
+                index = nextIndex++;
+            }
+            final long runStart = System.nanoTime();
+            try {
+                CompletableFuture.supplyAsync( () -> run.apply( index ), executor )
+                        .whenComplete( ( output, error ) -> {
+                            completed( index, output, error, runStart );
+                            launchNext();
+                        });
+                return;
+            }
+            catch( RejectedExecutionException ex ) {
+                completed( index, null, ex, runStart );
+            }
+        }
+    }
+
+    private void completed( int index, Optional<NodeOutput<State>> output, Throwable error, long runStart ) {
+        final var elapsed = Duration.ofNanos( System.nanoTime() - runStart );
+        if( error != null ) {
+            final var cause = ( error instanceof CompletionException && error.getCause() != null ) ? error.getCause() : error;
+            log.debug( "batch run {} failed", index, cause );
+            deliver( new BatchResult<>( index, null, cause, elapsed ) );
+        }
+        else {
+            deliver( new BatchResult<>( index, output.orElse( null ), null, elapsed ) );
+        }
+    }
+
+    private void deliver( BatchResult<State> result ) {
+        final boolean completed;
+        synchronized( this ) {
+            if( batchConfig.order() == BatchConfig.Order.AS_COMPLETED ) {
+                add( result );
+            }
+            else {
+                pending.put( result.index(), result );
+                for( var next = pending.remove( nextDelivery ); next != null; next = pending.remove( nextDelivery ) ) {
+                    add( next );
+                }
+            }
+            completed = delivered.size() == size;
+        }
+        if( completed ) {
+            complete();
+        }
+    }
+
+    // must be called holding the lock
+    private void add( BatchResult<State> result ) {
+        delivered.add( result );
+        ++nextDelivery;
+        queue.add( Data.of( result ) );
+    }
+
+    private void complete() {
+        final BatchReport<State> report;
+        synchronized( this ) {
+            report = new BatchReport<>( delivered, Duration.ofNanos( System.nanoTime() - start ) );
+        }
+        if( ownedExecutor != null ) {
+            ownedExecutor.shutdown();
+        }
+        log.debug( "{}", report );
+        queue.add( Data.done( report ) );
+    }
+
+    @Override
+    public Data<BatchResult<State>> next() {
+        if( last != null && ( last.isDone() || last.isError() ) ) {
+            return last;
+        }
+        try {
+            last = queue.take();
+        }
+        catch( InterruptedException ex ) {
+            Thread.currentThread().interrupt();
+            last = Data.error( ex );
+        }
+        return last;
+    }
+}
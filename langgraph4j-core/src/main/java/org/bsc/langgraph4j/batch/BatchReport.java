@@ -0,0 +1,59 @@
+package org.bsc.langgraph4j.batch;
+
+import org.bsc.langgraph4j.state.AgentState;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * The aggregated outcome of a batch of graph runs
+ *
+ * @param results the results of the runs, in the order of delivery
+ * @param elapsed the wall clock duration of the batch
+ * @param <State> the type of the state of the graph
+ */
+public record BatchReport<State extends AgentState>( List<BatchResult<State>> results, Duration elapsed ) {
+
+    public BatchReport {
+        results = List.copyOf( results );
+    }
+
+    public int succeeded() {
+        return (int) results.stream().filter( BatchResult::isSuccess ).count();
+    }
+
+    public int failed() {
+        return results.size() - succeeded();
+    }
+
+    /**
+     * @return the number of runs completed per second
+     */
+    public double throughput() {
+        if( elapsed.isZero() ) {
+            return 0;
+        }
+        return results.size() / ( elapsed.toNanos() / 1_000_000_000.0 );
+    }
+
+    /**
+     * @return the average duration of a run
+     */
+    public Duration averageLatency() {
+        if( results.isEmpty() ) {
+            return Duration.ZERO;
+        }
+        return results.stream()
+                .map( BatchResult::elapsed )
+                .reduce( Duration.ZERO, Duration::plus )
+                .dividedBy( results.size() );
+    }
+
+    @Override
+    public String toString() {
+        return format( "BatchReport{ runs=%d, succeeded=%d, failed=%d, elapsed=%s, throughput=%.2f/s, averageLatency=%s }",
+                results.size(), succeeded(), failed(), elapsed, throughput(), averageLatency() );
+    }
+}
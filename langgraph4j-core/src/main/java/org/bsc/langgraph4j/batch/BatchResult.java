@@ -0,0 +1,31 @@
+package org.bsc.langgraph4j.batch;
+
+import org.bsc.langgraph4j.NodeOutput;
+import org.bsc.langgraph4j.state.AgentState;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The result of a graph run of a batch
+ *
+ * @param index the index of the input of the run
+ * @param output the final output of the run, {@code null} if the run failed or produced no output
+ * @param error the error of the run, {@code null} if the run succeeded
+ * @param elapsed the duration of the run
+ * @param <State> the type of the state of the graph
+ */
+public record BatchResult<State extends AgentState>( int index, NodeOutput<State> output, Throwable error, Duration elapsed ) {
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return the final state of the run, if any
+     */
+    public Optional<State> state() {
+        return Optional.ofNullable( output ).map( NodeOutput::state );
+    }
+
+}
@@ -0,0 +1,311 @@
+package org.bsc.langgraph4j.bulkhead;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+/**
+ * Limits the concurrency and the rate of the tasks sharing it, e.g. the executions of a node across all the runs
+ * of a graph, or the calls of a rate limited tool.
+ * <p>
+ * A task that cannot start is queued without holding a thread, and it is started on the bulkhead executor as soon
+ * as a permit is available. When the queue is full the task is rejected with a {@link RejectedExecutionException}.
+ *
+ * <pre>
+ * var llm = Bulkhead.builder()
+ *                 .name( "llm" )
+ *                 .maxConcurrency( 4 )
+ *                 .rateLimit( 60, Duration.ofMinutes(1) )
+ *                 .maxQueueDepth( 100 )
+ *                 .build();
+ *
+ * var app = workflow.compile( CompileConfig.builder()
+ *                 .bulkhead( "agent", llm )
+ *                 .build() );
+ * </pre>
+ */
+public class Bulkhead {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(Bulkhead.class);
+
+    public static class Builder {
+        private String name = "bulkhead";
+        private int maxConcurrency = Integer.MAX_VALUE;
+        private int ratePermits;
+        private Duration ratePeriod;
+        private int maxQueueDepth = Integer.MAX_VALUE;
+        private Executor executor;
+
+        public Builder name( String name ) {
+            this.name = requireNonNull( name, "name cannot be null" );
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of tasks running at the same time. Default is unbounded
+         *
+         * @param maxConcurrency the maximum number of concurrent tasks
+         * @return this builder
+         */
+        public Builder maxConcurrency( int maxConcurrency ) {
+            if( maxConcurrency < 1 ) {
+                throw new IllegalArgumentException("maxConcurrency must be greater than 0!");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of tasks started in a period. The permits are refilled continuously, so that
+         * up to {@code permits} tasks can start in a burst. Default is no rate limit
+         *
+         * @param permits the number of tasks that can start in a period
+         * @param period the period
+         * @return this builder
+         */
+        public Builder rateLimit( int permits, Duration period ) {
+            requireNonNull( period, "period cannot be null" );
+            if( permits < 1 ) {
+                throw new IllegalArgumentException("permits must be greater than 0!");
+            }
+            if( period.isNegative() || period.isZero() ) {
+                throw new IllegalArgumentException("period must be positive!");
+            }
+            this.ratePermits = permits;
+            this.ratePeriod = period;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of tasks waiting for a permit. Default is unbounded
+         *
+         * @param maxQueueDepth the maximum number of waiting tasks
+         * @return this builder
+         */
+        public Builder maxQueueDepth( int maxQueueDepth ) {
+            if( maxQueueDepth < 0 ) {
+                throw new IllegalArgumentException("maxQueueDepth cannot be negative!");
+            }
+            this.maxQueueDepth = maxQueueDepth;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Executor} starting the queued tasks. If not set, the common {@link ForkJoinPool} is used.
+         * Tasks that get a permit immediately run on the calling thread
+         *
+         * @param executor the executor starting the queued tasks
+         * @return this builder
+         */
+        public Builder executor( Executor executor ) {
+            this.executor = requireNonNull( executor, "executor cannot be null" );
+            return this;
+        }
+
+        public Bulkhead build() {
+            return new Bulkhead( this );
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Wakes up the bulkheads waiting for the refill of the rate limit permits
+     */
+    private static final class SchedulerHolder {
+        static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor( task -> {
+            var thread = new Thread( task, "langgraph4j-bulkhead-scheduler" );
+            thread.setDaemon( true );
+            return thread;
+        });
+    }
+
+    private record Waiter( long enqueuedAt, Runnable start, Consumer<Throwable> fail ) {}
+
+    private final String name;
+    private final int maxConcurrency;
+    private final int ratePermits;
+    private final long ratePeriodNanos;
+    private final int maxQueueDepth;
+    private final Executor executor;
+
+    // guarded by this
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private int active;
+    private double tokens;
+    private long lastRefill;
+    private boolean refillScheduled;
+    private long accepted;
+    private long rejected;
+    private long completed;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    private Bulkhead( Builder builder ) {
+        this.name = builder.name;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.ratePermits = builder.ratePermits;
+        this.ratePeriodNanos = ( builder.ratePeriod != null ) ? builder.ratePeriod.toNanos() : 0;
+        this.maxQueueDepth = builder.maxQueueDepth;
+        this.executor = ( builder.executor != null ) ? builder.executor : ForkJoinPool.commonPool();
+        this.tokens = ratePermits;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Runs the task as soon as a permit is available. The permit is held until the future returned by the task completes
+     *
+     * @param task supplies the asynchronous computation to run
+     * @param <T> the type of the result
+     * @return a future completed with the result of the task, or completed exceptionally with a
+     *         {@link RejectedExecutionException} if the queue is full
+     */
+    public <T> CompletableFuture<T> execute( Supplier<? extends CompletionStage<T>> task ) {
+        requireNonNull( task, "task cannot be null" );
+
+        synchronized( this ) {
+            if( !queue.isEmpty() || !tryAcquire( System.nanoTime() ) ) {
+                if( queue.size() >= maxQueueDepth ) {
+                    ++rejected;
+                    return failedFuture( new RejectedExecutionException( format( "bulkhead '%s' is full!", name ) ) );
+                }
+                final var result = new CompletableFuture<T>();
+                queue.add( new Waiter( System.nanoTime(),
+                        () -> run( task ).whenComplete( ( value, error ) -> {
+                            if( error != null ) {
+                                result.completeExceptionally( error );
+                            }
+                            else {
+                                result.complete( value );
+                            }
+                        }),
+                        result::completeExceptionally ) );
+                scheduleRefill( System.nanoTime() );
+                return result;
+            }
+        }
+        return run( task );
+    }
+
+    /**
+     * Returns a snapshot of the counters of the bulkhead
+     *
+     * @return the bulkhead stats
+     */
+    public synchronized BulkheadStats stats() {
+        return new BulkheadStats( name,
+                active,
+                queue.size(),
+                accepted,
+                rejected,
+                completed,
+                Duration.ofNanos( accepted == 0 ? 0 : totalWaitNanos / accepted ),
+                Duration.ofNanos( maxWaitNanos ) );
+    }
+
+    private <T> CompletableFuture<T> run( Supplier<? extends CompletionStage<T>> task ) {
+        CompletableFuture<T> future;
+        try {
+            future = task.get().toCompletableFuture();
+        }
+        catch( Throwable ex ) {
+            future = failedFuture( ex );
+        }
+        return future.whenComplete( ( value, error ) -> release() );
+    }
+
+    private void release() {
+        synchronized( this ) {
+            --active;
+            ++completed;
+        }
+        drain();
+    }
+
+    /**
+     * Starts the queued tasks that can get a permit
+     */
+    private void drain() {
+        final var now = System.nanoTime();
+        final List<Waiter> ready = new ArrayList<>();
+        synchronized( this ) {
+            while( !queue.isEmpty() && tryAcquire( now ) ) {
+                var waiter = queue.poll();
+                var waitNanos = now - waiter.enqueuedAt();
+                totalWaitNanos += waitNanos;
+                maxWaitNanos = Math.max( maxWaitNanos, waitNanos );
+                ready.add( waiter );
+            }
+            scheduleRefill( now );
+        }
+        for( var waiter : ready ) {
+            try {
+                executor.execute( waiter.start() );
+            }
+            catch( RejectedExecutionException ex ) {
+                log.warn( "bulkhead '{}' cannot start a queued task", name, ex );
+                waiter.fail().accept( ex );
+                release();
+            }
+        }
+    }
+
+    // must be called holding the lock
+    private boolean tryAcquire( long now ) {
+        if( active >= maxConcurrency ) {
+            return false;
+        }
+        if( ratePermits > 0 ) {
+            refill( now );
+            if( tokens < 1 ) {
+                return false;
+            }
+            tokens -= 1;
+        }
+        ++active;
+        ++accepted;
+        return true;
+    }
+
+    // must be called holding the lock
+    private void refill( long now ) {
+        tokens = Math.min( ratePermits, tokens + (double)( now - lastRefill ) * ratePermits / ratePeriodNanos );
+        lastRefill = now;
+    }
+
+    // must be called holding the lock
+    private void scheduleRefill( long now ) {
+        if( ratePermits == 0 || refillScheduled || queue.isEmpty() || active >= maxConcurrency ) {
+            return;
+        }
+        refill( now );
+        final var delay = (long) Math.ceil( ( 1 - tokens ) * ratePeriodNanos / ratePermits );
+        refillScheduled = true;
+        SchedulerHolder.INSTANCE.schedule( () -> {
+            synchronized( this ) {
+                refillScheduled = false;
+            }
+            drain();
+        }, Math.max( delay, 0 ), TimeUnit.NANOSECONDS );
+    }
+
+    @Override
+    public String toString() {
+        return format( "Bulkhead{ name=%s, maxConcurrency=%d, ratePermits=%d, ratePeriod=%s, maxQueueDepth=%d }",
+                name, maxConcurrency, ratePermits, Duration.ofNanos( ratePeriodNanos ), maxQueueDepth );
+    }
+}
@@ -0,0 +1,25 @@
+package org.bsc.langgraph4j.bulkhead;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the counters of a {@link Bulkhead}
+ *
+ * @param name the name of the bulkhead
+ * @param active the number of tasks running
+ * @param queueDepth the number of tasks waiting for a permit
+ * @param accepted the number of tasks started
+ * @param rejected the number of tasks rejected because the queue was full
+ * @param completed the number of tasks completed, successfully or not
+ * @param averageWait the average time the started tasks waited for a permit
+ * @param maxWait the longest time a started task waited for a permit
+ */
+public record BulkheadStats( String name,
+                             int active,
+                             int queueDepth,
+                             long accepted,
+                             long rejected,
+                             long completed,
+                             Duration averageWait,
+                             Duration maxWait ) {
+}
@@ -0,0 +1,184 @@
+package org.bsc.langgraph4j.cache;
+
+import org.bsc.langgraph4j.serializer.StateSerializer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caching policy of a node, declared adding the node to the graph.
+ * <p>
+ * The node must be a pure function of the state keys forming the cache key: when it runs again on the same values
+ * (e.g. on a loop iteration, a state update fork or a time travel replay) its cached update is returned, and it is not executed.
+ * The cache key is the 128 bit murmur3 hash of the values serialized by the state serializer of the graph.
+ * The maps and sets within the values (also nested in lists, maps and sets) are serialized in a canonical order,
+ * so that equal values give the same key whatever their insertion history. Maps and sets held by other objects are not.
+ * Updates containing a generator (streaming nodes) are not cached.
+ *
+ * <pre>
+ * var policy = CachePolicy.builder()
+ *                 .keys( "query" )
+ *                 .ttl( Duration.ofMinutes(10) )
+ *                 .maxSize( 500 )
+ *                 .build();
+ *
+ * workflow.addNode( "retrieve", node_async( this::retrieve ), policy );
+ * </pre>
+ */
+public class CachePolicy {
+
+    public static class Builder {
+        private final Set<String> keys = new LinkedHashSet<>();
+        private Duration ttl;
+        private int maxSize = 1_000;
+        private NodeCache store;
+
+        /**
+         * Sets the state keys forming the cache key. If not set, all the state keys form the cache key
+         *
+         * @param keys the state keys
+         * @return the builder
+         */
+        public Builder keys( String... keys ) {
+            this.keys.addAll( List.of( keys ) );
+            return this;
+        }
+
+        /**
+         * Sets the time to live of the cached results. If not set they never expire
+         *
+         * @param ttl the time to live
+         * @return the builder
+         */
+        public Builder ttl( Duration ttl ) {
+            if( ttl != null && ( ttl.isNegative() || ttl.isZero() ) ) {
+                throw new IllegalArgumentException("ttl must be positive!");
+            }
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of cached results of the default in-memory store
+         *
+         * @param maxSize the maximum number of cached results
+         * @return the builder
+         */
+        public Builder maxSize( int maxSize ) {
+            if( maxSize < 1 ) {
+                throw new IllegalArgumentException("maxSize must be greater than 0!");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the store of the cached results. By default, an {@link InMemoryNodeCache} bounded by {@link #maxSize(int)}
+         *
+         * @param store the store
+         * @return the builder
+         * @see CheckpointSaverNodeCache
+         */
+        public Builder store( NodeCache store ) {
+            this.store = requireNonNull( store, "store cannot be null" );
+            return this;
+        }
+
+        public CachePolicy build() {
+            return new CachePolicy( this );
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final Set<String> keys;
+    private final Duration ttl;
+    private final NodeCache store;
+
+    private CachePolicy( Builder builder ) {
+        this.keys = Set.copyOf( builder.keys );
+        this.ttl = builder.ttl;
+        this.store = ( builder.store != null ) ? builder.store : new InMemoryNodeCache( builder.maxSize );
+    }
+
+    public Set<String> keys() {
+        return keys;
+    }
+
+    public Optional<Duration> ttl() {
+        return Optional.ofNullable( ttl );
+    }
+
+    public NodeCache store() {
+        return store;
+    }
+
+    /**
+     * Computes the cache key of a node input state
+     *
+     * @param state the node input state
+     * @param serializer the state serializer used to serialize the values forming the key
+     * @return the cache key
+     * @throws IOException if the values cannot be serialized
+     */
+    public String keyOf( Map<String,Object> state, StateSerializer<?> serializer ) throws IOException {
+        requireNonNull( state, "state cannot be null" );
+        requireNonNull( serializer, "serializer cannot be null" );
+
+        // sorted, so that the same values give the same key
+        var values = new TreeMap<String,Object>();
+        for( var entry : state.entrySet() ) {
+            if( keys.isEmpty() || keys.contains( entry.getKey() ) ) {
+                values.put( entry.getKey(), canonical( entry.getValue() ) );
+            }
+        }
+        return Murmur3.hash128( serializer.dataToBytes( values ), 0 );
+    }
+
+    /**
+     * Orders the elements of the values whose serialization depends on their insertion history, e.g. a {@link HashMap}
+     */
+    private static final Comparator<Object> CANONICAL_ORDER = ( a, b ) -> {
+        if( a == b ) {
+            return 0;
+        }
+        if( a == null || b == null ) {
+            return ( a == null ) ? -1 : 1;
+        }
+        if( a.getClass() == b.getClass() && a instanceof Comparable<?> ) {
+            @SuppressWarnings("unchecked")
+            final var comparable = (Comparable<Object>) a;
+            return comparable.compareTo( b );
+        }
+        final var byType = a.getClass().getName().compareTo( b.getClass().getName() );
+        return ( byType != 0 ) ? byType : String.valueOf( a ).compareTo( String.valueOf( b ) );
+    };
+
+    private static Object canonical( Object value ) {
+        if( value instanceof Map<?,?> map ) {
+            final var entries = new ArrayList<Map.Entry<?,?>>( map.entrySet() );
+            entries.sort( ( a, b ) -> CANONICAL_ORDER.compare( a.getKey(), b.getKey() ) );
+            final var result = new LinkedHashMap<Object,Object>();
+            entries.forEach( entry -> result.put( entry.getKey(), canonical( entry.getValue() ) ) );
+            return result;
+        }
+        if( value instanceof Set<?> set ) {
+            final var elements = new ArrayList<Object>( set.size() );
+            set.forEach( element -> elements.add( canonical( element ) ) );
+            elements.sort( CANONICAL_ORDER );
+            return new LinkedHashSet<>( elements );
+        }
+        if( value instanceof List<?> list ) {
+            final var elements = new ArrayList<Object>( list.size() );
+            list.forEach( element -> elements.add( canonical( element ) ) );
+            return elements;
+        }
+        return value;
+    }
+
+}
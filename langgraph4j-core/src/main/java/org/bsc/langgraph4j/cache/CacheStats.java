@@ -0,0 +1,35 @@
+package org.bsc.langgraph4j.cache;
+
+/**
+ * Snapshot of the statistics collected by a cache
+ *
+ * @param hits the number of lookups that found a valid entry
+ * @param misses the number of lookups that didn't find a valid entry
+ * @param evictions the number of entries removed to honour the size bound
+ * @param expirations the number of entries removed because their time to live elapsed
+ * @param size the number of entries currently stored
+ */
+public record CacheStats( long hits, long misses, long evictions, long expirations, int size ) {
+
+    public static final CacheStats EMPTY = new CacheStats( 0, 0, 0, 0, 0 );
+
+    /**
+     * Returns the number of lookups
+     *
+     * @return hits plus misses
+     */
+    public long requests() {
+        return hits + misses;
+    }
+
+    /**
+     * Returns the ratio of lookups that found a valid entry
+     *
+     * @return a value between 0 and 1, 0 if no lookup has been done
+     */
+    public double hitRate() {
+        final long requests = requests();
+        return ( requests == 0 ) ? 0.0 : (double) hits / requests;
+    }
+
+}
@@ -0,0 +1,150 @@
+package org.bsc.langgraph4j.cache;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.bsc.langgraph4j.checkpoint.Checkpoint;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Store of the cached results of the nodes backed by a checkpoint saver, so that they can be persisted and
+ * shared among processes using the same saver.
+ * <p>
+ * The results of each node are stored as the checkpoints of a dedicated thread, scoped by the namespace of the store,
+ * whose checkpoint ids are the cache keys. The namespace identifies the graph (e.g. its name), so that graphs sharing
+ * the saver don't share the results of their nodes with the same id.
+ * When a node exceeds the maximum number of entries, the oldest ones are evicted down to three quarters of the maximum.
+ * The eviction is atomic for the readers and writers of this store, not for other processes sharing the saver:
+ * they may miss the entries of a node while it is evicted.
+ */
+public class CheckpointSaverNodeCache implements NodeCache {
+    private static final String THREAD_PREFIX = "__NODE_CACHE__";
+    private static final String EXPIRES_AT = "__EXPIRES_AT__";
+
+    private final BaseCheckpointSaver saver;
+    private final String namespace;
+    private final int maxSize;
+    private final LongSupplier clock;
+    // the eviction releases and re-writes the thread of a node
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    CheckpointSaverNodeCache( BaseCheckpointSaver saver, String namespace, int maxSize, LongSupplier clock ) {
+        this.saver = requireNonNull( saver, "saver cannot be null" );
+        this.namespace = requireNonNull( namespace, "namespace cannot be null" );
+        if( maxSize < 1 ) {
+            throw new IllegalArgumentException("maxSize must be greater than 0!");
+        }
+        this.maxSize = maxSize;
+        this.clock = requireNonNull( clock, "clock cannot be null" );
+    }
+
+    /**
+     * Creates a store backed by the given saver
+     *
+     * @param saver the checkpoint saver
+     * @param namespace the namespace of the entries, identifying the graph
+     * @param maxSize the maximum number of entries of each node
+     */
+    public CheckpointSaverNodeCache( BaseCheckpointSaver saver, String namespace, int maxSize ) {
+        this( saver, namespace, maxSize, System::currentTimeMillis );
+    }
+
+    public String namespace() {
+        return namespace;
+    }
+
+    public static String formatThreadId( String namespace, String nodeId ) {
+        return format( "%s(%s/%s)", THREAD_PREFIX,
+                requireNonNull(namespace, "namespace cannot be null!"),
+                requireNonNull(nodeId, "nodeId cannot be null!"));
+    }
+
+    private RunnableConfig threadOf( String nodeId ) {
+        return RunnableConfig.builder().threadId( formatThreadId( namespace, nodeId ) ).build();
+    }
+
+    private boolean isExpired( Checkpoint checkpoint ) {
+        return ( checkpoint.getState().get( EXPIRES_AT ) instanceof Long expiresAt ) && clock.getAsLong() >= expiresAt;
+    }
+
+    private Optional<Checkpoint> lookup( String nodeId, String key ) {
+        return saver.get( RunnableConfig.builder( threadOf( nodeId ) ).checkPointId( key ).build() );
+    }
+
+    @Override
+    public Optional<Map<String, Object>> get(String nodeId, String key) {
+        lock.readLock().lock();
+        try {
+            return lookup( nodeId, key )
+                    .filter( checkpoint -> !isExpired( checkpoint ) )
+                    .map( checkpoint -> {
+                        var update = new HashMap<>( checkpoint.getState() );
+                        update.remove( EXPIRES_AT );
+                        return Collections.unmodifiableMap( update );
+                    });
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(String nodeId, String key, Map<String, Object> update, Duration ttl) throws Exception {
+        var state = new HashMap<>( update );
+        if( ttl != null ) {
+            state.put( EXPIRES_AT, clock.getAsLong() + ttl.toMillis() );
+        }
+        var checkpoint = Checkpoint.builder()
+                .id( key )
+                .nodeId( nodeId )
+                .nextNodeId( nodeId )
+                .state( state )
+                .build();
+
+        var config = threadOf( nodeId );
+        lock.writeLock().lock();
+        try {
+            if( lookup( nodeId, key ).isPresent() ) {
+                // replaces the expired entry
+                saver.put( RunnableConfig.builder( config ).checkPointId( key ).build(), checkpoint );
+                return;
+            }
+            saver.put( config, checkpoint );
+
+            var entries = saver.list( config );
+            if( entries.size() > maxSize ) {
+                evict( config, entries );
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // must be called holding the write lock
+    private void evict( RunnableConfig config, Collection<Checkpoint> entries ) throws Exception {
+        // the checkpoints are listed from the most recent one
+        var retained = new ArrayList<>( entries.stream()
+                .filter( entry -> !isExpired( entry ) )
+                .limit( Math.max( 1, maxSize * 3 / 4 ) )
+                .toList() );
+        saver.release( config );
+        Collections.reverse( retained );
+        for( var entry : retained ) {
+            saver.put( config, entry );
+        }
+    }
+
+}
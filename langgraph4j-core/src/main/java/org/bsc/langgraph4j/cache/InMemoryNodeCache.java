@@ -0,0 +1,53 @@
+package org.bsc.langgraph4j.cache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * In-memory, size bounded store of the cached results of the nodes, backed by a {@link LocalCache}
+ */
+public class InMemoryNodeCache implements NodeCache {
+
+    public record Key( String nodeId, String key ) {}
+
+    private final LocalCache<Key, Map<String,Object>> cache;
+
+    public InMemoryNodeCache( LocalCache<Key, Map<String,Object>> cache ) {
+        this.cache = requireNonNull( cache, "cache cannot be null" );
+    }
+
+    /**
+     * Creates a store evicting the least recently used entries beyond the given size
+     *
+     * @param maxSize the maximum number of entries
+     */
+    public InMemoryNodeCache( int maxSize ) {
+        this( LocalCache.<Key, Map<String,Object>>builder().maxSize( maxSize ).build() );
+    }
+
+    @Override
+    public Optional<Map<String, Object>> get(String nodeId, String key) {
+        return cache.get( new Key( nodeId, key ) );
+    }
+
+    @Override
+    public void put(String nodeId, String key, Map<String, Object> update, Duration ttl) {
+        cache.put( new Key( nodeId, key ), Collections.unmodifiableMap( new HashMap<>( update ) ), ttl );
+    }
+
+    /**
+     * Removes all the cached results
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
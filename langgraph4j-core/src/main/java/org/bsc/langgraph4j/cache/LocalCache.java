@@ -0,0 +1,281 @@
+package org.bsc.langgraph4j.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A thread safe, size bounded, in-memory cache supporting per entry time to live.
+ * <p>
+ * When the cache is full the victim is chosen according to the {@link EvictionPolicy}:
+ * <ul>
+ *     <li>{@link EvictionPolicy#LRU} evicts the least recently used entry in constant time</li>
+ *     <li>{@link EvictionPolicy#LFU} evicts the least frequently used entry (ties broken by recency) scanning the entries,
+ *     so it is intended for small or medium sized caches</li>
+ * </ul>
+ * Expired entries are removed lazily, when they are looked up or when room is needed.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LocalCache<K, V> {
+
+    public enum EvictionPolicy {
+        LRU,
+        LFU
+    }
+
+    public static class Builder<K,V> {
+        private int maxSize = 1_000;
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+        private Duration defaultTtl;
+        private LongSupplier clock = System::nanoTime;
+
+        public Builder<K,V> maxSize(int maxSize) {
+            if( maxSize < 1 ) {
+                throw new IllegalArgumentException("maxSize must be greater than 0!");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public Builder<K,V> evictionPolicy(EvictionPolicy evictionPolicy) {
+            this.evictionPolicy = requireNonNull(evictionPolicy, "evictionPolicy cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the time to live of entries put without an explicit one. If not set entries never expire
+         *
+         * @param defaultTtl the default time to live
+         * @return the builder
+         */
+        public Builder<K,V> defaultTtl(Duration defaultTtl) {
+            this.defaultTtl = defaultTtl;
+            return this;
+        }
+
+        /**
+         * Sets the nanosecond clock used to evaluate expiration. Intended for testing
+         *
+         * @param clock the clock
+         * @return the builder
+         */
+        public Builder<K,V> clock(LongSupplier clock) {
+            this.clock = requireNonNull(clock, "clock cannot be null");
+            return this;
+        }
+
+        public LocalCache<K,V> build() {
+            return new LocalCache<>(this);
+        }
+    }
+
+    public static <K,V> Builder<K,V> builder() {
+        return new Builder<>();
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt; // Long.MAX_VALUE means no expiration
+        long frequency;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final int maxSize;
+    private final EvictionPolicy evictionPolicy;
+    private final Duration defaultTtl;
+    private final LongSupplier clock;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    protected LocalCache(Builder<K,V> builder) {
+        this.maxSize = builder.maxSize;
+        this.evictionPolicy = builder.evictionPolicy;
+        this.defaultTtl = builder.defaultTtl;
+        this.clock = builder.clock;
+        // access order gives us the recency needed by both policies
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public EvictionPolicy evictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Returns the value associated with the key, if present and not expired
+     *
+     * @param key the key
+     * @return the cached value
+     */
+    public Optional<V> get(K key) {
+        requireNonNull(key, "key cannot be null");
+        lock.lock();
+        try {
+            var entry = entries.get(key);
+            if( entry != null && isExpired(entry, clock.getAsLong()) ) {
+                entries.remove(key);
+                ++expirations;
+                entry = null;
+            }
+            if( entry == null ) {
+                ++misses;
+                return Optional.empty();
+            }
+            ++hits;
+            ++entry.frequency;
+            return Optional.ofNullable(entry.value);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Associates the value with the key using the default time to live
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        put(key, value, defaultTtl);
+    }
+
+    /**
+     * Associates the value with the key
+     *
+     * @param key the key
+     * @param value the value
+     * @param ttl the time to live, null means no expiration
+     */
+    public void put(K key, V value, Duration ttl) {
+        requireNonNull(key, "key cannot be null");
+        lock.lock();
+        try {
+            final long now = clock.getAsLong();
+            final long expiresAt = ( ttl == null ) ? Long.MAX_VALUE : saturatedAdd(now, ttl.toNanos());
+
+            if( entries.put(key, new Entry<>(value, expiresAt)) == null ) {
+                while( entries.size() > maxSize ) {
+                    evict(now, key);
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry associated with the key
+     *
+     * @param key the key
+     * @return the removed value, if any
+     */
+    public Optional<V> invalidate(K key) {
+        requireNonNull(key, "key cannot be null");
+        lock.lock();
+        try {
+            return Optional.ofNullable(entries.remove(key)).map( e -> e.value );
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the entries. Statistics are preserved
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats( hits, misses, evictions, expirations, entries.size() );
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isExpired( Entry<V> entry, long now ) {
+        return entry.expiresAt != Long.MAX_VALUE && now - entry.expiresAt >= 0;
+    }
+
+    /**
+     * Removes one entry different from the one just inserted. Expired entries are preferred.
+     */
+    private void evict( long now, K justInserted ) {
+        K victim = null;
+        long victimFrequency = Long.MAX_VALUE;
+
+        for( Iterator<Map.Entry<K, Entry<V>>> i = entries.entrySet().iterator(); i.hasNext(); ) {
+            var e = i.next();
+            if( e.getKey().equals(justInserted) ) {
+                continue;
+            }
+            if( isExpired(e.getValue(), now) ) {
+                i.remove();
+                ++expirations;
+                return;
+            }
+            if( evictionPolicy == EvictionPolicy.LRU ) {
+                // iteration follows access order, the first one is the least recently used
+                victim = e.getKey();
+                break;
+            }
+            if( e.getValue().frequency < victimFrequency ) {
+                victim = e.getKey();
+                victimFrequency = e.getValue().frequency;
+            }
+        }
+
+        if( victim != null ) {
+            entries.remove(victim);
+            ++evictions;
+        }
+    }
+
+    private static long saturatedAdd( long a, long b ) {
+        long r = a + b;
+        return ( ((a ^ r) & (b ^ r)) < 0 ) ? Long.MAX_VALUE - 1 : r;
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.bsc.langgraph4j.cache;
+
+/**
+ * MurmurHash3 x64 128 bit, a fast non cryptographic hash used to compute the cache keys
+ */
+final class Murmur3 {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private Murmur3() {}
+
+    private static long getLong( byte[] data, int offset ) {
+        long result = 0;
+        for( int i = 7; i >= 0; --i ) {
+            result = ( result << 8 ) | ( data[offset + i] & 0xffL );
+        }
+        return result;
+    }
+
+    private static long fmix( long k ) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * Returns the 128 bit hash of the data as hexadecimal string
+     *
+     * @param data the data
+     * @param seed the seed
+     * @return the hash, 32 hexadecimal digits
+     */
+    static String hash128( byte[] data, long seed ) {
+        long h1 = seed;
+        long h2 = seed;
+        final int blocks = data.length / 16;
+
+        for( int i = 0; i < blocks; ++i ) {
+            long k1 = getLong( data, i * 16 );
+            long k2 = getLong( data, i * 16 + 8 );
+
+            k1 *= C1; k1 = Long.rotateLeft( k1, 31 ); k1 *= C2; h1 ^= k1;
+            h1 = Long.rotateLeft( h1, 27 ); h1 += h2; h1 = h1 * 5 + 0x52dce729;
+
+            k2 *= C2; k2 = Long.rotateLeft( k2, 33 ); k2 *= C1; h2 ^= k2;
+            h2 = Long.rotateLeft( h2, 31 ); h2 += h1; h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        // tail
+        long k1 = 0;
+        long k2 = 0;
+        final int offset = blocks * 16;
+        final int remaining = data.length - offset;
+        for( int i = remaining - 1; i >= 8; --i ) {
+            k2 ^= ( data[offset + i] & 0xffL ) << ( ( i - 8 ) * 8 );
+        }
+        if( remaining > 8 ) {
+            k2 *= C2; k2 = Long.rotateLeft( k2, 33 ); k2 *= C1; h2 ^= k2;
+        }
+        for( int i = Math.min( remaining, 8 ) - 1; i >= 0; --i ) {
+            k1 ^= ( data[offset + i] & 0xffL ) << ( i * 8 );
+        }
+        if( remaining > 0 ) {
+            k1 *= C1; k1 = Long.rotateLeft( k1, 31 ); k1 *= C2; h1 ^= k1;
+        }
+
+        // finalization
+        h1 ^= data.length;
+        h2 ^= data.length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix( h1 );
+        h2 = fmix( h2 );
+        h1 += h2;
+        h2 += h1;
+
+        return String.format( "%016x%016x", h1, h2 );
+    }
+}
@@ -0,0 +1,33 @@
+package org.bsc.langgraph4j.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Store of the cached results of the nodes (see {@link CachePolicy})
+ */
+public interface NodeCache {
+
+    /**
+     * Returns the cached update of a node, if present and not expired
+     *
+     * @param nodeId the node id
+     * @param key the cache key computed from the node input state
+     * @return the cached update
+     * @throws Exception if the store cannot be read
+     */
+    Optional<Map<String,Object>> get( String nodeId, String key ) throws Exception;
+
+    /**
+     * Stores the update of a node
+     *
+     * @param nodeId the node id
+     * @param key the cache key computed from the node input state
+     * @param update the update returned by the node
+     * @param ttl the time to live, null means no expiration
+     * @throws Exception if the store cannot be written
+     */
+    void put( String nodeId, String key, Map<String,Object> update, Duration ttl ) throws Exception;
+
+}
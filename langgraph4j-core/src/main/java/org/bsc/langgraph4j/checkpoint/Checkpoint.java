@@ -6,6 +6,7 @@ import org.bsc.langgraph4j.state.Channel;
 import java.util.*;
 
 import static java.lang.String.format;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -16,6 +17,10 @@ import static java.util.Objects.requireNonNull;
  *
  * The checkpoint is serializable and can be persisted and restored.
  *
+ * A checkpoint stored by a saver holds the version of each channel of the state: the version changes only when the
+ * value of the channel differs from the one of the parent checkpoint, so that the savers can persist only the changed
+ * channels (see {@link #changedChannels(Checkpoint)}).
+ *
  * @see AgentState
  */
 public class Checkpoint {
@@ -24,6 +29,7 @@ public class Checkpoint {
     private Map<String,Object> state = null;
     private String nodeId = null ;
     private String nextNodeId = null;
+    private final Map<String,Long> channelVersions;
 
     public String getId() { return id; }
 
@@ -39,6 +45,16 @@ public class Checkpoint {
         return nextNodeId;
     }
 
+    /**
+     * Returns the version of each channel of the state. The versions are assigned when the checkpoint is stored,
+     * and are comparable only with the ones of the parent checkpoint
+     *
+     * @return an unmodifiable map of the channel versions, by channel, empty if the checkpoint is not versioned
+     */
+    public Map<String, Long> getChannelVersions() {
+        return channelVersions;
+    }
+
     /**
      * create a copy of given checkpoint with a new id
      * @param checkpoint value from which copy is created
@@ -49,16 +65,90 @@ public class Checkpoint {
         return new Checkpoint( UUID.randomUUID().toString(),
                                 checkpoint.state,
                                 checkpoint.nodeId,
-                                checkpoint.nextNodeId);
+                                checkpoint.nextNodeId,
+                                checkpoint.channelVersions );
     }
 
-    private Checkpoint( String id, Map<String,Object> state, String nodeId, String nextNodeId ) {
+    private Checkpoint( String id, Map<String,Object> state, String nodeId, String nextNodeId, Map<String,Long> channelVersions ) {
 
         this.id = requireNonNull( id, "id cannot be null" );
         this.state =  requireNonNull( state, "state cannot be null" );
         this.nodeId = requireNonNull( nodeId, "nodeId cannot be null" );
         this.nextNodeId =  requireNonNull( nextNodeId, "Checkpoint.nextNodeId cannot be null" );
+        this.channelVersions = requireNonNull( channelVersions, "channelVersions cannot be null" );
+
+    }
+
+    /**
+     * Creates a copy of this checkpoint versioned against its parent: a channel keeps the version of the parent if
+     * its value is equal to the parent one, otherwise its version is incremented. The values of the unchanged channels
+     * are shared with the parent, so that consecutive checkpoints don't hold copies of the same values.
+     *
+     * @param parent the previous checkpoint of the thread, null if this is the first one
+     * @return the versioned checkpoint, with the same id
+     */
+    public Checkpoint versionedFrom( Checkpoint parent ) {
+        final var sharedState = new HashMap<String,Object>( state.size() );
+        final var versions = new HashMap<String,Long>( state.size() );
+        for( var entry : state.entrySet() ) {
+            final var key = entry.getKey();
+            final long parentVersion = ( parent != null ) ? parent.channelVersions.getOrDefault( key, 0L ) : 0L;
+            if( parent != null && parent.state.containsKey( key ) && sameValue( parent.state.get( key ), entry.getValue() ) ) {
+                sharedState.put( key, parent.state.get( key ) );
+                versions.put( key, parentVersion );
+            }
+            else {
+                sharedState.put( key, entry.getValue() );
+                versions.put( key, parentVersion + 1 );
+            }
+        }
+        return new Checkpoint( id, unmodifiableMap( sharedState ), nodeId, nextNodeId, unmodifiableMap( versions ) );
+    }
+
+    /**
+     * Returns the channels changed since the parent checkpoint, that applied to the parent state give the state of
+     * this checkpoint. The channel versions are compared if both checkpoints are versioned, otherwise the values.
+     *
+     * @param parent the parent checkpoint
+     * @return the changed channels, or empty if a channel of the parent has been removed, so that the
+     *         checkpoint must be stored in full
+     */
+    public Optional<Map<String,Object>> changedChannels( Checkpoint parent ) {
+        requireNonNull( parent, "parent cannot be null" );
+        if( !state.keySet().containsAll( parent.state.keySet() ) ) {
+            return Optional.empty();
+        }
+        final var versioned = !channelVersions.isEmpty() && !parent.channelVersions.isEmpty();
+        final var changes = new HashMap<String,Object>();
+        for( var entry : state.entrySet() ) {
+            final var key = entry.getKey();
+            final var unchanged = versioned ?
+                    Objects.equals( channelVersions.get( key ), parent.channelVersions.get( key ) ) :
+                    sameValue( parent.state.get( key ), entry.getValue() );
+            if( !unchanged || !parent.state.containsKey( key ) ) {
+                changes.put( key, entry.getValue() );
+            }
+        }
+        return Optional.of( changes );
+    }
+
+    /**
+     * Applies the changed channels of a checkpoint to the state of its parent
+     *
+     * @param parentState the state of the parent checkpoint
+     * @param changes the channels changed since the parent checkpoint
+     * @return the state of the checkpoint
+     */
+    public static Map<String,Object> applyChanges( Map<String,Object> parentState, Map<String,Object> changes ) {
+        requireNonNull( parentState, "parentState cannot be null" );
+        requireNonNull( changes, "changes cannot be null" );
+        final var result = new HashMap<String,Object>( parentState );
+        result.putAll( changes );
+        return unmodifiableMap( result );
+    }
 
+    private static boolean sameValue( Object parentValue, Object value ) {
+        return parentValue == value || Objects.equals( parentValue, value );
     }
 
     public static Builder builder() {
@@ -96,7 +186,8 @@ public class Checkpoint {
             return new Checkpoint(  id,
                                     state,
                                     nodeId,
-                                    nextNodeId );
+                                    nextNodeId,
+                                    Map.of() );
         }
     }
 
@@ -105,7 +196,8 @@ public class Checkpoint {
         return new Checkpoint( this.id,
                 AgentState.updateState( this.state, values, channels ),
                 this.nodeId,
-                this.nextNodeId );
+                this.nextNodeId,
+                Map.of() );
     }
 
     @Override
@@ -26,21 +26,45 @@ import static java.lang.String.format;
  *     The file is named "thread-<i>threadId</i>.saver" if the RunnableConfig has a
  *     threadId, or "thread-$default.saver" if it doesn't.
  * </p>
+ * <p>
+ *     A checkpoint is stored as the channels changed since the previous one, except for a full snapshot every
+ *     {@code fullSnapshotInterval} checkpoints. Files written in the previous format, with a full state for each
+ *     checkpoint, are still read. Their node id and next node id are read in the order they have been written,
+ *     while the previous versions swapped them on read.
+ * </p>
  *
  */
 public class FileSystemSaver extends MemorySaver {
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(FileSystemSaver.class);
     public static final String EXTENSION = ".saver";
+    // written in place of the number of checkpoints, that prefixes the files of the previous format
+    private static final int INCREMENTAL_FORMAT = -1;
 
     private final Path targetFolder;
-    private final Serializer<Checkpoint> serializer;
+    private final CheckPointSerializer serializer;
+    private final int fullSnapshotInterval;
 
-    @SuppressWarnings("unchecked")
     public FileSystemSaver(Path targetFolder, StateSerializer<? extends AgentState> stateSerializer) {
+        this( targetFolder, stateSerializer, DEFAULT_FULL_SNAPSHOT_INTERVAL );
+    }
+
+    /**
+     * Creates a saver storing the checkpoints in the given folder
+     *
+     * @param targetFolder the folder of the checkpoint files
+     * @param stateSerializer the serializer of the state
+     * @param fullSnapshotInterval the number of checkpoints after which a checkpoint is stored in full, 1 to always store the full state
+     */
+    @SuppressWarnings("unchecked")
+    public FileSystemSaver(Path targetFolder, StateSerializer<? extends AgentState> stateSerializer, int fullSnapshotInterval) {
 
         Objects.requireNonNull(stateSerializer, "stateSerializer cannot be null");
+        if (fullSnapshotInterval < 1) {
+            throw new IllegalArgumentException("fullSnapshotInterval must be greater than 0!");
+        }
         this.targetFolder = Objects.requireNonNull(targetFolder, "targetFolder cannot be null");
         this.serializer = new CheckPointSerializer((StateSerializer<AgentState>) stateSerializer);
+        this.fullSnapshotInterval = fullSnapshotInterval;
 
         File targetFolderAsFile = targetFolder.toFile();
 
@@ -74,9 +98,15 @@ public class FileSystemSaver extends MemorySaver {
         Objects.requireNonNull(outFile, "outFile cannot be null");
         try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(outFile.toPath()))) {
 
+            oos.writeInt(INCREMENTAL_FORMAT);
             oos.writeInt(checkpoints.size());
-            for (Checkpoint checkpoint : checkpoints) {
-                serializer.write(checkpoint, oos);
+            // from the oldest checkpoint, so that the changes are read after their parent
+            Checkpoint parent = null;
+            int position = 0;
+            for (var i = checkpoints.descendingIterator(); i.hasNext(); ++position) {
+                var checkpoint = i.next();
+                serializer.writeChanges(checkpoint, changesToPersist(checkpoint, parent, position, fullSnapshotInterval).orElse(null), oos);
+                parent = checkpoint;
             }
         }
     }
@@ -87,8 +117,25 @@ public class FileSystemSaver extends MemorySaver {
 
         try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(file.toPath()))) {
             int size = ois.readInt();
+            if (size != INCREMENTAL_FORMAT) {
+                // previous format: full states, from the newest checkpoint
+                var checkpoints = new ArrayList<Checkpoint>(size);
+                for (int i = 0; i < size; i++) {
+                    checkpoints.add(serializer.read(ois));
+                }
+                Checkpoint parent = null;
+                for (int i = size - 1; i >= 0; --i) {
+                    parent = checkpoints.get(i).versionedFrom(parent);
+                    result.addFirst(parent);
+                }
+                return;
+            }
+            size = ois.readInt();
+            Checkpoint parent = null;
             for (int i = 0; i < size; i++) {
-                result.add(serializer.read(ois));
+                var checkpoint = serializer.readChanges(parent, ois);
+                result.addFirst(checkpoint);
+                parent = checkpoint;
             }
         }
     }
@@ -190,10 +237,51 @@ record CheckPointSerializer(
     public Checkpoint read(ObjectInput in) throws IOException, ClassNotFoundException {
         return Checkpoint.builder()
                 .id(Serializer.readUTF(in))
-                .nextNodeId(readNullableUTF(in).orElse(null))
                 .nodeId(readNullableUTF(in).orElse(null))
+                .nextNodeId(readNullableUTF(in).orElse(null))
                 .state(stateSerializer.read(in))
                 .build();
     }
 
+    /**
+     * Writes a checkpoint as the channels changed since its parent
+     *
+     * @param object the checkpoint
+     * @param changes the channels changed since the parent checkpoint, null to write the full state
+     * @param out the output
+     * @throws IOException if an I/O error occurs
+     */
+    void writeChanges(Checkpoint object, Map<String, Object> changes, ObjectOutput out) throws IOException {
+        Serializer.writeUTF(object.getId(), out);
+        writeNullableUTF(object.getNodeId(), out);
+        writeNullableUTF(object.getNextNodeId(), out);
+        out.writeBoolean(changes != null);
+        stateSerializer.writeData((changes != null) ? changes : object.getState(), out);
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #writeChanges(Checkpoint, Map, ObjectOutput)}, applying its changes to the parent
+     *
+     * @param parent the parent checkpoint, null if it is the first one
+     * @param in the input
+     * @return the checkpoint with its full state, versioned against the parent
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if the class of a value cannot be found
+     */
+    Checkpoint readChanges(Checkpoint parent, ObjectInput in) throws IOException, ClassNotFoundException {
+        var builder = Checkpoint.builder()
+                .id(Serializer.readUTF(in))
+                .nodeId(readNullableUTF(in).orElse(null))
+                .nextNodeId(readNullableUTF(in).orElse(null));
+        var isChanges = in.readBoolean();
+        var data = stateSerializer.readData(in);
+        if (isChanges) {
+            if (parent == null) {
+                throw new IllegalStateException("checkpoint changes without a parent checkpoint!");
+            }
+            data = Checkpoint.applyChanges(parent.getState(), data);
+        }
+        return builder.state(data).build().versionedFrom(parent);
+    }
+
 }
\ No newline at end of file
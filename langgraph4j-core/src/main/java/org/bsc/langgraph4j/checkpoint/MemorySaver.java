@@ -1,6 +1,7 @@
 package org.bsc.langgraph4j.checkpoint;
 
 import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.jfr.SaverLockWaitEvent;
 import org.bsc.langgraph4j.utils.TryFunction;
 
 import java.util.*;
@@ -10,7 +11,20 @@ import java.util.stream.IntStream;
 import static java.lang.String.format;
 import static java.util.Optional.ofNullable;
 
+/**
+ * A CheckpointSaver that keeps the Checkpoints in memory.
+ *
+ * <p>
+ *     Each stored checkpoint is versioned against the previous one of the thread (see {@link Checkpoint#versionedFrom(Checkpoint)}),
+ *     sharing the values of the unchanged channels, so that a long history doesn't hold a copy of the whole state for each step.
+ *     The subclasses persisting the checkpoints can store only the changed channels (see {@link #changesToPersist(Checkpoint, Checkpoint, int, int)}).
+ * </p>
+ */
 public class MemorySaver implements BaseCheckpointSaver {
+    /**
+     * default number of checkpoints after which a persisted checkpoint is stored in full, instead of as changed channels
+     */
+    public static final int DEFAULT_FULL_SNAPSHOT_INTERVAL = 10;
 
     final Map<String, LinkedList<Checkpoint>> _checkpointsByThread = new HashMap<>();
     private final ReentrantLock _lock = new ReentrantLock();
@@ -30,7 +44,7 @@ public class MemorySaver implements BaseCheckpointSaver {
 
     protected final <T> T loadOrInitCheckpoints(RunnableConfig config,
                                                 TryFunction<LinkedList<Checkpoint>, T, Exception> transformer) throws Exception {
-        _lock.lock();
+        lock( config );
         try {
             var threadId = config.threadId().orElse(THREAD_ID_DEFAULT);
             return transformer.tryApply( loadedCheckpoints( config, _checkpointsByThread.computeIfAbsent(threadId, k -> new LinkedList<>()) ) );
@@ -40,6 +54,39 @@ public class MemorySaver implements BaseCheckpointSaver {
         }
     }
 
+    private void lock( RunnableConfig config ) {
+        if( _lock.tryLock() ) {
+            return;
+        }
+        // contended lock: track the wait
+        final var event = new SaverLockWaitEvent();
+        event.begin();
+        _lock.lock();
+        event.end();
+        if( event.shouldCommit() ) {
+            event.saver = getClass();
+            event.threadId = config.threadId().orElse(THREAD_ID_DEFAULT);
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the channels to persist for a checkpoint: only the ones changed since its parent, except for
+     * a periodic full snapshot that bounds the number of changes to apply to restore a state
+     *
+     * @param checkpoint the checkpoint to persist
+     * @param parent the parent checkpoint, null if it is the first one of the thread
+     * @param position the position of the checkpoint in the thread, starting from 0 for the oldest one
+     * @param fullSnapshotInterval the number of checkpoints after which a checkpoint is stored in full
+     * @return the changed channels, or empty if the checkpoint must be stored in full
+     */
+    protected static Optional<Map<String,Object>> changesToPersist( Checkpoint checkpoint, Checkpoint parent, int position, int fullSnapshotInterval ) {
+        if( parent == null || fullSnapshotInterval <= 1 || position % fullSnapshotInterval == 0 ) {
+            return Optional.empty();
+        }
+        return checkpoint.changedChannels( parent );
+    }
+
     final Optional<Checkpoint> getLast( LinkedList<Checkpoint> checkpoints, RunnableConfig config ) {
         return (checkpoints.isEmpty() ) ? Optional.empty() : ofNullable(checkpoints.peek());
     }
@@ -87,13 +134,20 @@ public class MemorySaver implements BaseCheckpointSaver {
                         .filter(i -> checkpoints.get(i).getId().equals(checkPointId))
                         .findFirst()
                         .orElseThrow(() -> (new NoSuchElementException(format("Checkpoint with id %s not found!", checkPointId))));
-                checkpoints.set(index, checkpoint );
-                updatedCheckpoint( config, checkpoints, checkpoint);
+                var parent = ( index + 1 < checkpoints.size() ) ? checkpoints.get(index + 1) : null;
+                var versionedCheckpoint = checkpoint.versionedFrom( parent );
+                checkpoints.set(index, versionedCheckpoint );
+                // the newer checkpoints are versioned again against the replaced one
+                for( int i = index - 1; i >= 0; --i ) {
+                    checkpoints.set( i, checkpoints.get(i).versionedFrom( checkpoints.get(i + 1) ) );
+                }
+                updatedCheckpoint( config, checkpoints, versionedCheckpoint);
                 return config;
             }
 
-            checkpoints.push( checkpoint ); // Add Checkpoint
-            insertedCheckpoint( config, checkpoints, checkpoint);
+            var versionedCheckpoint = checkpoint.versionedFrom( checkpoints.peek() );
+            checkpoints.push( versionedCheckpoint ); // Add Checkpoint
+            insertedCheckpoint( config, checkpoints, versionedCheckpoint);
 
             return RunnableConfig.builder(config)
                     .checkPointId(checkpoint.getId())
@@ -0,0 +1,175 @@
+package org.bsc.langgraph4j.checkpoint.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative long values with a fixed memory footprint.
+ * <p>
+ * Like an HDR histogram, values are counted in log-linear buckets: each power of two range is split
+ * in {@value #SUB_BUCKETS} linear sub buckets, so a recorded value is reported with a relative error
+ * below 1/{@value #SUB_BUCKETS} (about 3%) over the whole long range. Values lower than {@value #SUB_BUCKETS}
+ * are counted exactly. Negative values are recorded as zero.
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Point in time view of a histogram
+     *
+     * @param count the number of recorded values
+     * @param min the minimum recorded value
+     * @param max the maximum recorded value
+     * @param mean the mean of the recorded values
+     * @param p50 the median
+     * @param p90 the 90th percentile
+     * @param p99 the 99th percentile
+     * @param p999 the 99.9th percentile
+     */
+    public record Snapshot( long count, long min, long max, double mean, long p50, long p90, long p99, long p999 ) {
+
+        static final Snapshot EMPTY = new Snapshot( 0, 0, 0, 0.0, 0, 0, 0, 0 );
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray( BUCKETS );
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator( Math::min, Long.MAX_VALUE );
+    private final LongAccumulator max = new LongAccumulator( Math::max, Long.MIN_VALUE );
+
+    static int indexOf( long value ) {
+        if( value < SUB_BUCKETS ) {
+            return (int)value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros( value );
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int)(value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueAt( int index ) {
+        if( index < SUB_BUCKETS ) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lowest = (SUB_BUCKETS + subBucket) << shift;
+        return lowest + ((1L << shift) - 1);
+    }
+
+    /**
+     * Records a value
+     *
+     * @param value the value to record
+     */
+    public void record( long value ) {
+        final long v = Math.max( 0L, value );
+        counts.incrementAndGet( indexOf(v) );
+        sum.add( v );
+        min.accumulate( v );
+        max.accumulate( v );
+    }
+
+    /**
+     * Returns the number of recorded values
+     *
+     * @return the count
+     */
+    public long count() {
+        long result = 0;
+        for( int i = 0; i < BUCKETS; ++i ) {
+            result += counts.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values falls
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the value at the percentile, or 0 if nothing has been recorded
+     */
+    public long valueAtPercentile( double percentile ) {
+        var buckets = copyCounts();
+        long total = 0;
+        for( long c : buckets ) {
+            total += c;
+        }
+        return valueAtPercentile( buckets, total, percentile );
+    }
+
+    /**
+     * Takes a snapshot of the recorded values
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        var buckets = copyCounts();
+        long total = 0;
+        for( long c : buckets ) {
+            total += c;
+        }
+        if( total == 0 ) {
+            return Snapshot.EMPTY;
+        }
+        return new Snapshot( total,
+                min.get(),
+                max.get(),
+                (double)sum.sum() / total,
+                valueAtPercentile( buckets, total, 50.0 ),
+                valueAtPercentile( buckets, total, 90.0 ),
+                valueAtPercentile( buckets, total, 99.0 ),
+                valueAtPercentile( buckets, total, 99.9 ) );
+    }
+
+    /**
+     * Clears all the recorded values
+     */
+    public void reset() {
+        for( int i = 0; i < BUCKETS; ++i ) {
+            counts.set( i, 0 );
+        }
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+
+    private long[] copyCounts() {
+        var result = new long[BUCKETS];
+        for( int i = 0; i < BUCKETS; ++i ) {
+            result[i] = counts.get(i);
+        }
+        return result;
+    }
+
+    private long valueAtPercentile( long[] buckets, long total, double percentile ) {
+        if( percentile < 0.0 || percentile > 100.0 ) {
+            throw new IllegalArgumentException( "percentile must be between 0 and 100" );
+        }
+        if( total == 0 ) {
+            return 0;
+        }
+        final long rank = Math.max( 1L, (long)Math.ceil( (percentile / 100.0) * total ) );
+        long accumulated = 0;
+        for( int i = 0; i < buckets.length; ++i ) {
+            accumulated += buckets[i];
+            if( accumulated >= rank ) {
+                return Math.min( highestValueAt(i), max.get() );
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public String toString() {
+        var s = snapshot();
+        return "Histogram{count=" + s.count() +
+                ", min=" + s.min() +
+                ", p50=" + s.p50() +
+                ", p99=" + s.p99() +
+                ", max=" + s.max() + '}';
+    }
+}
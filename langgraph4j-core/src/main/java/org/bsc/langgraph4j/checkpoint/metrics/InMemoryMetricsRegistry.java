@@ -0,0 +1,89 @@
+package org.bsc.langgraph4j.checkpoint.metrics;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Simple in-process {@link MetricsSink} that keeps a {@link Histogram} for each metric.
+ * <p>
+ * Durations are recorded in nanoseconds. It is intended for tests, benchmarks and
+ * applications that don't use a metrics library.
+ *
+ * <pre>
+ * var registry = new InMemoryMetricsRegistry();
+ * var saver = InstrumentedCheckpointSaver.builder()
+ *                  .delegate( new MemorySaver() )
+ *                  .sink( registry )
+ *                  .build();
+ * ...
+ * registry.histogram( InstrumentedCheckpointSaver.LATENCY, "operation", "put", "saver", "MemorySaver" )
+ *          .map( Histogram::snapshot )
+ *          .ifPresent( s -&gt; log.info( "put p99: {}ns", s.p99() ) );
+ * </pre>
+ */
+public class InMemoryMetricsRegistry implements MetricsSink {
+
+    private final Map<MetricId,Histogram> histograms = new ConcurrentHashMap<>();
+
+    private Histogram histogramFor( MetricId id ) {
+        return histograms.computeIfAbsent( requireNonNull( id, "id cannot be null" ), k -> new Histogram() );
+    }
+
+    @Override
+    public void recordDuration( MetricId id, long durationNanos ) {
+        histogramFor( id ).record( durationNanos );
+    }
+
+    @Override
+    public void recordAmount( MetricId id, long amount ) {
+        histogramFor( id ).record( amount );
+    }
+
+    /**
+     * Returns the histogram of a metric
+     *
+     * @param id the metric id
+     * @return the histogram, empty if nothing has been recorded for the metric
+     */
+    public Optional<Histogram> histogram( MetricId id ) {
+        return ofNullable( histograms.get( requireNonNull( id, "id cannot be null" ) ) );
+    }
+
+    /**
+     * Returns the histogram of a metric
+     *
+     * @param name the metric name
+     * @param keyValues the tag keys and values, alternated
+     * @return the histogram, empty if nothing has been recorded for the metric
+     */
+    public Optional<Histogram> histogram( String name, String... keyValues ) {
+        return histogram( MetricId.of( name, keyValues ) );
+    }
+
+    /**
+     * Takes a snapshot of all the metrics, sorted by name
+     *
+     * @return the snapshots by metric id
+     */
+    public Map<MetricId,Histogram.Snapshot> snapshot() {
+        var result = new LinkedHashMap<MetricId,Histogram.Snapshot>();
+        histograms.entrySet().stream()
+                .sorted( Map.Entry.comparingByKey( Comparator.comparing(MetricId::toString) ) )
+                .forEach( e -> result.put( e.getKey(), e.getValue().snapshot() ) );
+        return result;
+    }
+
+    /**
+     * Removes all the metrics
+     */
+    public void clear() {
+        histograms.clear();
+    }
+
+}
@@ -0,0 +1,276 @@
+package org.bsc.langgraph4j.checkpoint.metrics;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.bsc.langgraph4j.checkpoint.Checkpoint;
+import org.bsc.langgraph4j.serializer.StateSerializer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decorator of a {@link BaseCheckpointSaver} that measures its operations and publishes them to a {@link MetricsSink}.
+ * <p>
+ * It works with any saver implementation and records:
+ * <ul>
+ *     <li>{@value #LATENCY}: the latency of each operation, tagged by {@code operation} (put, get, list, release) and {@code outcome} (success, error)</li>
+ *     <li>{@value #CHECKPOINT_SIZE}: the serialized size in bytes of each stored checkpoint state, if a state serializer is configured</li>
+ *     <li>{@value #CHANNEL_SIZE}: the serialized size in bytes of each channel (state key) of a stored checkpoint, tagged by {@code channel}, if enabled</li>
+ *     <li>{@value #HISTORY_DEPTH}: the number of checkpoints of the thread after each stored checkpoint, if enabled (disabled by default)</li>
+ * </ul>
+ * All the metrics are also tagged by {@code saver}, the simple class name of the decorated saver, plus the common tags given to the builder.
+ *
+ * <pre>
+ * var saver = InstrumentedCheckpointSaver.builder()
+ *                  .delegate( new MemorySaver() )
+ *                  .sink( new MicrometerMetricsSink( meterRegistry ) )
+ *                  .stateSerializer( workflow.getStateSerializer() )
+ *                  .channelSizes( true )
+ *                  .build();
+ *
+ * var app = workflow.compile( CompileConfig.builder().checkpointSaver( saver ).build() );
+ * </pre>
+ * Size accounting serializes the checkpoint state once more (and each channel apart when channel sizes are enabled),
+ * so it has a cost comparable to the checkpoint serialization itself. The history depth of a thread is taken by listing
+ * its checkpoints through the decorated saver the first time the thread is seen, then it is tracked by counting the
+ * stored checkpoints, so it doesn't account the checkpoints stored bypassing this saver.
+ */
+public class InstrumentedCheckpointSaver implements BaseCheckpointSaver {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(InstrumentedCheckpointSaver.class);
+
+    public static final String LATENCY = "langgraph4j.checkpoint.saver.latency";
+    public static final String CHECKPOINT_SIZE = "langgraph4j.checkpoint.size";
+    public static final String CHANNEL_SIZE = "langgraph4j.checkpoint.channel.size";
+    public static final String HISTORY_DEPTH = "langgraph4j.checkpoint.history.depth";
+
+    // the threads whose history depth is tracked, the least recently used ones are listed again once evicted
+    static final int MAX_TRACKED_THREADS = 10_000;
+
+    public static class Builder {
+        private BaseCheckpointSaver delegate;
+        private MetricsSink sink;
+        private StateSerializer<?> stateSerializer;
+        private boolean channelSizes = false;
+        private boolean historyDepth = false;
+        private final Map<String,String> tags = new TreeMap<>();
+
+        /**
+         * Sets the saver to instrument
+         *
+         * @param delegate the decorated saver
+         * @return the builder
+         */
+        public Builder delegate( BaseCheckpointSaver delegate ) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * Sets the destination of the measurements
+         *
+         * @param sink the metrics sink
+         * @return the builder
+         */
+        public Builder sink( MetricsSink sink ) {
+            this.sink = sink;
+            return this;
+        }
+
+        /**
+         * Sets the serializer used to measure the checkpoint size. Without it, sizes are not recorded
+         *
+         * @param stateSerializer the state serializer
+         * @return the builder
+         */
+        public Builder stateSerializer( StateSerializer<?> stateSerializer ) {
+            this.stateSerializer = stateSerializer;
+            return this;
+        }
+
+        /**
+         * Enables the size accounting of each channel. It requires a state serializer
+         *
+         * @param channelSizes true to record the size of each channel
+         * @return the builder
+         */
+        public Builder channelSizes( boolean channelSizes ) {
+            this.channelSizes = channelSizes;
+            return this;
+        }
+
+        /**
+         * Enables the thread history depth metric, disabled by default
+         *
+         * @param historyDepth true to record the thread history depth
+         * @return the builder
+         */
+        public Builder historyDepth( boolean historyDepth ) {
+            this.historyDepth = historyDepth;
+            return this;
+        }
+
+        /**
+         * Adds a tag to all the recorded metrics
+         *
+         * @param key the tag key
+         * @param value the tag value
+         * @return the builder
+         */
+        public Builder tag( String key, String value ) {
+            tags.put( requireNonNull(key, "key cannot be null"), requireNonNull(value, "value cannot be null") );
+            return this;
+        }
+
+        public InstrumentedCheckpointSaver build() {
+            requireNonNull( delegate, "delegate cannot be null" );
+            requireNonNull( sink, "sink cannot be null" );
+            if( channelSizes && stateSerializer == null ) {
+                throw new IllegalStateException( "channel sizes require a state serializer" );
+            }
+            return new InstrumentedCheckpointSaver( this );
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final BaseCheckpointSaver delegate;
+    private final MetricsSink sink;
+    private final StateSerializer<?> stateSerializer;
+    private final boolean channelSizes;
+    private final boolean historyDepth;
+    private final Map<String,String> tags;
+    private final MetricId checkpointSizeId;
+    private final MetricId historyDepthId;
+    // guarded by itself
+    private final Map<String,Integer> historyDepths = new LinkedHashMap<>( 16, 0.75f, true ) {
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<String,Integer> eldest ) {
+            return size() > MAX_TRACKED_THREADS;
+        }
+    };
+
+    private InstrumentedCheckpointSaver( Builder builder ) {
+        this.delegate = builder.delegate;
+        this.sink = builder.sink;
+        this.stateSerializer = builder.stateSerializer;
+        this.channelSizes = builder.channelSizes;
+        this.historyDepth = builder.historyDepth;
+        var tags = new TreeMap<>( builder.tags );
+        tags.put( "saver", delegate.getClass().getSimpleName() );
+        this.tags = Collections.unmodifiableMap( tags );
+        this.checkpointSizeId = new MetricId( CHECKPOINT_SIZE, this.tags );
+        this.historyDepthId = new MetricId( HISTORY_DEPTH, this.tags );
+    }
+
+    /**
+     * Returns the decorated saver
+     *
+     * @return the decorated saver
+     */
+    public BaseCheckpointSaver delegate() {
+        return delegate;
+    }
+
+    private MetricId latencyId( String operation, String outcome ) {
+        return new MetricId( LATENCY, tags ).withTag( "operation", operation ).withTag( "outcome", outcome );
+    }
+
+    private <T> T timed( String operation, Callable<T> call ) throws Exception {
+        final long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            var result = call.call();
+            outcome = "success";
+            return result;
+        }
+        finally {
+            sink.recordDuration( latencyId( operation, outcome ), System.nanoTime() - start );
+        }
+    }
+
+    private <T> T timedUnchecked( String operation, Callable<T> call ) {
+        try {
+            return timed( operation, call );
+        }
+        catch( RuntimeException ex ) {
+            throw ex;
+        }
+        catch( Exception ex ) {
+            throw new RuntimeException( ex );
+        }
+    }
+
+    @Override
+    public Collection<Checkpoint> list( RunnableConfig config ) {
+        return timedUnchecked( "list", () -> delegate.list( config ) );
+    }
+
+    @Override
+    public Optional<Checkpoint> get( RunnableConfig config ) {
+        return timedUnchecked( "get", () -> delegate.get( config ) );
+    }
+
+    @Override
+    public RunnableConfig put( RunnableConfig config, Checkpoint checkpoint ) throws Exception {
+        var result = timed( "put", () -> delegate.put( config, checkpoint ) );
+        recordSizes( checkpoint );
+        if( historyDepth ) {
+            sink.recordAmount( historyDepthId, historyDepth( config ) );
+        }
+        return result;
+    }
+
+    /**
+     * Updates the history depth of the thread of a stored checkpoint
+     *
+     * @param config the config of the stored checkpoint
+     * @return the number of checkpoints of the thread
+     */
+    private int historyDepth( RunnableConfig config ) {
+        final var threadId = config.threadId().orElse( THREAD_ID_DEFAULT );
+        // a checkpoint stored with a checkpoint id replaces that checkpoint
+        final var increment = config.checkPointId().isPresent() ? 0 : 1;
+        synchronized( historyDepths ) {
+            return historyDepths.compute( threadId, ( key, depth ) ->
+                    ( depth == null ) ? delegate.list( config ).size() : depth + increment );
+        }
+    }
+
+    @Override
+    public Tag release( RunnableConfig config ) throws Exception {
+        var result = timed( "release", () -> delegate.release( config ) );
+        synchronized( historyDepths ) {
+            historyDepths.remove( config.threadId().orElse( THREAD_ID_DEFAULT ) );
+        }
+        return result;
+    }
+
+    private void recordSizes( Checkpoint checkpoint ) {
+        if( stateSerializer == null ) {
+            return;
+        }
+        var state = checkpoint.getState();
+        try {
+            sink.recordAmount( checkpointSizeId, stateSerializer.dataToBytes( state ).length );
+            if( channelSizes ) {
+                for( var entry : state.entrySet() ) {
+                    var bytes = stateSerializer.dataToBytes( Collections.singletonMap( entry.getKey(), entry.getValue() ) );
+                    sink.recordAmount( new MetricId( CHANNEL_SIZE, tags ).withTag( "channel", entry.getKey() ), bytes.length );
+                }
+            }
+        }
+        catch( Exception ex ) {
+            log.debug( "cannot measure size of checkpoint '{}'", checkpoint.getId(), ex );
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.bsc.langgraph4j.checkpoint.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Identifies a metric through its name and its tags
+ *
+ * @param name the metric name
+ * @param tags the metric tags, sorted by key
+ */
+public record MetricId( String name, Map<String,String> tags ) {
+
+    public MetricId {
+        requireNonNull( name, "name cannot be null" );
+        requireNonNull( tags, "tags cannot be null" );
+        tags = Collections.unmodifiableMap( new TreeMap<>(tags) );
+    }
+
+    /**
+     * Creates a metric id from a name and a sequence of tag key/value pairs
+     *
+     * @param name the metric name
+     * @param keyValues the tag keys and values, alternated
+     * @return the metric id
+     * @throws IllegalArgumentException if the key/value pairs are unbalanced
+     */
+    public static MetricId of( String name, String... keyValues ) {
+        requireNonNull( keyValues, "keyValues cannot be null" );
+        if( keyValues.length % 2 != 0 ) {
+            throw new IllegalArgumentException( "keyValues must contain key/value pairs" );
+        }
+        var tags = new TreeMap<String,String>();
+        for( int i = 0; i < keyValues.length; i += 2 ) {
+            tags.put( requireNonNull(keyValues[i], "tag key cannot be null"),
+                    requireNonNull(keyValues[i+1], "tag value cannot be null") );
+        }
+        return new MetricId( name, tags );
+    }
+
+    /**
+     * Returns a copy of this id with an additional tag
+     *
+     * @param key the tag key
+     * @param value the tag value
+     * @return the new metric id
+     */
+    public MetricId withTag( String key, String value ) {
+        var result = new TreeMap<>( tags );
+        result.put( requireNonNull(key, "key cannot be null"), requireNonNull(value, "value cannot be null") );
+        return new MetricId( name, result );
+    }
+
+    @Override
+    public String toString() {
+        return tags.isEmpty() ? name : name + tags;
+    }
+}
@@ -0,0 +1,30 @@
+package org.bsc.langgraph4j.checkpoint.metrics;
+
+/**
+ * Destination of the measurements taken by an {@link InstrumentedCheckpointSaver}.
+ * <p>
+ * Implementations are invoked synchronously on the thread that uses the saver, possibly from many threads
+ * concurrently, so they must be thread safe and return quickly.
+ *
+ * @see InMemoryMetricsRegistry
+ * @see MicrometerMetricsSink
+ */
+public interface MetricsSink {
+
+    /**
+     * Records the duration of an operation
+     *
+     * @param id the metric id
+     * @param durationNanos the duration in nanoseconds
+     */
+    void recordDuration( MetricId id, long durationNanos );
+
+    /**
+     * Records an amount, such as a size in bytes or a count
+     *
+     * @param id the metric id
+     * @param amount the measured amount
+     */
+    void recordAmount( MetricId id, long amount );
+
+}
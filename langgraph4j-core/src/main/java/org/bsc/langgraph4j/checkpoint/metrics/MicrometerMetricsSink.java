@@ -0,0 +1,56 @@
+package org.bsc.langgraph4j.checkpoint.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link MetricsSink} that publishes the measurements to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Durations are published as {@link Timer}s and amounts as {@link DistributionSummary}s, both with a
+ * percentile histogram so that percentiles can be aggregated by the monitoring system.
+ * Micrometer is an optional dependency: it must be provided by the application.
+ */
+public class MicrometerMetricsSink implements MetricsSink {
+
+    private final MeterRegistry registry;
+    private final Map<MetricId,Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MetricId,DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public MicrometerMetricsSink( MeterRegistry registry ) {
+        this.registry = requireNonNull( registry, "registry cannot be null" );
+    }
+
+    private static List<Tag> tagsOf( MetricId id ) {
+        return id.tags().entrySet().stream()
+                .map( e -> Tag.of( e.getKey(), e.getValue() ) )
+                .toList();
+    }
+
+    @Override
+    public void recordDuration( MetricId id, long durationNanos ) {
+        timers.computeIfAbsent( id, k -> Timer.builder( k.name() )
+                        .tags( tagsOf(k) )
+                        .publishPercentileHistogram()
+                        .register( registry ) )
+                .record( durationNanos, TimeUnit.NANOSECONDS );
+    }
+
+    @Override
+    public void recordAmount( MetricId id, long amount ) {
+        summaries.computeIfAbsent( id, k -> DistributionSummary.builder( k.name() )
+                        .tags( tagsOf(k) )
+                        .publishPercentileHistogram()
+                        .register( registry ) )
+                .record( amount );
+    }
+
+}
@@ -0,0 +1,192 @@
+package org.bsc.langgraph4j.hedge;
+
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.state.AgentState;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Execution policy of a slow node, declared adding the node to the graph.
+ * <p>
+ * When the node doesn't complete within the hedge delay (the soft deadline) a duplicate execution is launched,
+ * up to {@link #maxHedges()} times: the first execution that completes wins and the others are cancelled, interrupting
+ * their threads. The node must be idempotent. If a timeout is set, the node fails with a
+ * {@link java.util.concurrent.TimeoutException} when no execution completes within it, once its executions are interrupted.
+ * An execution that doesn't react to the interruption keeps running until it completes, and its result is discarded.
+ * The executions run on the policy executor, within the span of the node.
+ *
+ * <pre>
+ * var policy = HedgePolicy.builder()
+ *                 .hedgeDelay( Duration.ofSeconds(2) )
+ *                 .maxHedges( 1 )
+ *                 .timeout( Duration.ofSeconds(30) )
+ *                 .build();
+ *
+ * workflow.addNode( "retrieve", node_async( this::retrieve ), policy );
+ * </pre>
+ */
+public class HedgePolicy {
+
+    public static class Builder {
+        private Duration hedgeDelay;
+        private int maxHedges = 1;
+        private Duration timeout;
+        private Executor executor;
+
+        /**
+         * Sets the time after which a hedged execution is launched, if no execution has completed
+         *
+         * @param hedgeDelay the soft deadline of the node
+         * @return this builder
+         */
+        public Builder hedgeDelay( Duration hedgeDelay ) {
+            requireNonNull( hedgeDelay, "hedgeDelay cannot be null" );
+            if( hedgeDelay.isNegative() || hedgeDelay.isZero() ) {
+                throw new IllegalArgumentException("hedgeDelay must be positive!");
+            }
+            this.hedgeDelay = hedgeDelay;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of hedged executions, each launched a hedge delay after the previous one. Default is 1
+         *
+         * @param maxHedges the maximum number of hedged executions, 0 to only bound the node by the timeout
+         * @return this builder
+         */
+        public Builder maxHedges( int maxHedges ) {
+            if( maxHedges < 0 ) {
+                throw new IllegalArgumentException("maxHedges cannot be negative!");
+            }
+            this.maxHedges = maxHedges;
+            return this;
+        }
+
+        /**
+         * Sets the time after which the node fails, if no execution has completed. If not set the node has no timeout
+         *
+         * @param timeout the hard deadline of the node
+         * @return this builder
+         */
+        public Builder timeout( Duration timeout ) {
+            if( timeout != null && ( timeout.isNegative() || timeout.isZero() ) ) {
+                throw new IllegalArgumentException("timeout must be positive!");
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Executor} running the executions of the node. If not set, a cached pool of daemon threads
+         * shared by the policies is used, so that a blocked execution never delays its hedges
+         *
+         * @param executor the executor running the executions
+         * @return this builder
+         */
+        public Builder executor( Executor executor ) {
+            this.executor = requireNonNull( executor, "executor cannot be null" );
+            return this;
+        }
+
+        public HedgePolicy build() {
+            if( hedgeDelay == null && ( maxHedges > 0 || timeout == null ) ) {
+                throw new IllegalStateException("hedgeDelay must be set!");
+            }
+            return new HedgePolicy( this );
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static final class DefaultExecutorHolder {
+        static final AtomicInteger threadCount = new AtomicInteger();
+        static final Executor INSTANCE = Executors.newCachedThreadPool( task -> {
+            var thread = new Thread( task, format( "langgraph4j-hedge-%d", threadCount.incrementAndGet() ) );
+            thread.setDaemon( true );
+            return thread;
+        });
+    }
+
+    private final Duration hedgeDelay;
+    private final int maxHedges;
+    private final Duration timeout;
+    private final Executor executor;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private HedgePolicy( Builder builder ) {
+        this.hedgeDelay = builder.hedgeDelay;
+        this.maxHedges = ( builder.hedgeDelay != null ) ? builder.maxHedges : 0;
+        this.timeout = builder.timeout;
+        this.executor = ( builder.executor != null ) ? builder.executor : DefaultExecutorHolder.INSTANCE;
+    }
+
+    public Optional<Duration> hedgeDelay() {
+        return Optional.ofNullable( hedgeDelay );
+    }
+
+    public int maxHedges() {
+        return maxHedges;
+    }
+
+    public Optional<Duration> timeout() {
+        return Optional.ofNullable( timeout );
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Applies the policy to a node action. It allows to combine the policy with other node wrappers,
+     * e.g. a {@link org.bsc.langgraph4j.cache.CachePolicy}
+     *
+     * @param nodeId the node id
+     * @param action the node action
+     * @param <State> the type of the state
+     * @return the node action executed according to the policy
+     */
+    public <State extends AgentState> AsyncNodeActionWithConfig<State> wrap( String nodeId, AsyncNodeActionWithConfig<State> action ) {
+        return new HedgedNodeAction<>( nodeId, action, this );
+    }
+
+    /**
+     * Returns a snapshot of the counters of the executions of the nodes sharing the policy
+     *
+     * @return the hedge stats
+     */
+    public HedgeStats stats() {
+        return new HedgeStats( executions.sum(), hedges.sum(), hedgeWins.sum(), timeouts.sum() );
+    }
+
+    /**
+     * Updates the counters of the policy
+     *
+     * @param hedgesLaunched the number of hedged executions launched by the node execution
+     * @param hedgeWon true if the node execution has been completed by a hedged execution
+     * @param timedOut true if the node execution failed for timeout
+     */
+    void record( int hedgesLaunched, boolean hedgeWon, boolean timedOut ) {
+        executions.increment();
+        hedges.add( hedgesLaunched );
+        if( hedgeWon ) {
+            hedgeWins.increment();
+        }
+        if( timedOut ) {
+            timeouts.increment();
+        }
+    }
+}
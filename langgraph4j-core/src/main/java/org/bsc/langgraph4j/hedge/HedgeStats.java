@@ -0,0 +1,12 @@
+package org.bsc.langgraph4j.hedge;
+
+/**
+ * Snapshot of the counters of a {@link HedgePolicy}
+ *
+ * @param executions the number of node executions
+ * @param hedges the number of hedged executions launched
+ * @param hedgeWins the number of node executions completed by a hedged execution
+ * @param timeouts the number of node executions failed for timeout
+ */
+public record HedgeStats( long executions, long hedges, long hedgeWins, long timeouts ) {
+}
@@ -0,0 +1,234 @@
+package org.bsc.langgraph4j.hedge;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.internal.node.NodeActionWrapper;
+import org.bsc.langgraph4j.lifecycle.ResourceAccounting;
+import org.bsc.langgraph4j.state.AgentState;
+import org.bsc.langgraph4j.tracing.TraceSpan;
+import org.bsc.langgraph4j.tracing.Tracing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+/**
+ * Node action executed according to a {@link HedgePolicy}
+ *
+ * @param nodeId the node id
+ * @param action the wrapped action
+ * @param policy the hedge policy
+ * @param <State> the type of the state
+ */
+record HedgedNodeAction<State extends AgentState>(
+        String nodeId,
+        AsyncNodeActionWithConfig<State> action,
+        HedgePolicy policy ) implements NodeActionWrapper<State> {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(HedgedNodeAction.class);
+
+    HedgedNodeAction {
+        requireNonNull( nodeId, "nodeId cannot be null" );
+        requireNonNull( action, "action cannot be null" );
+        requireNonNull( policy, "policy cannot be null" );
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> apply(State state, RunnableConfig config) {
+        return new Execution<>( this, state, config ).start();
+    }
+
+    /**
+     * A node execution, made of the primary execution and of its hedges
+     */
+    static final class Execution<State extends AgentState> {
+        private final HedgedNodeAction<State> node;
+        private final State state;
+        private final RunnableConfig config;
+        // the executions run within the span and the resource accounting of the node
+        private final TraceSpan span = Tracing.current();
+        private final ResourceAccounting.Accumulator accumulator = ResourceAccounting.current();
+        private final CompletableFuture<Map<String,Object>> result = new CompletableFuture<>();
+
+        // guarded by this
+        private final List<Attempt> attempts = new ArrayList<>();
+        private int running;
+        private int winner = -1;
+
+        Execution( HedgedNodeAction<State> node, State state, RunnableConfig config ) {
+            this.node = node;
+            this.state = state;
+            this.config = config;
+        }
+
+        CompletableFuture<Map<String,Object>> start() {
+            final var policy = node.policy();
+            policy.timeout().ifPresent( timeout ->
+                CompletableFuture.delayedExecutor( timeout.toNanos(), TimeUnit.NANOSECONDS, policy.executor() )
+                        .execute( () -> timeout( timeout ) ) );
+            // the node completes once the losers are cancelled and the counters are updated
+            final var completion = result.whenComplete( ( value, error ) -> finish( error ) );
+
+            launch( 0 );
+            scheduleHedge( 1 );
+            return completion;
+        }
+
+        /**
+         * Interrupts the running executions, then fails the node
+         */
+        private void timeout( Duration timeout ) {
+            synchronized( this ) {
+                if( result.isDone() ) {
+                    return;
+                }
+                attempts.forEach( Attempt::cancel );
+            }
+            result.completeExceptionally( new TimeoutException( format( "node '%s' didn't complete within %s", node.nodeId(), timeout ) ) );
+        }
+
+        private void scheduleHedge( int index ) {
+            final var policy = node.policy();
+            if( index > policy.maxHedges() || result.isDone() ) {
+                return;
+            }
+            final var delay = policy.hedgeDelay().orElseThrow();
+            CompletableFuture.delayedExecutor( delay.toNanos(), TimeUnit.NANOSECONDS, policy.executor() ).execute( () -> {
+                if( result.isDone() ) {
+                    return;
+                }
+                log.debug( "node '{}' didn't complete within {}, launch hedged execution #{}", node.nodeId(), delay, index );
+                launch( index );
+                scheduleHedge( index + 1 );
+            });
+        }
+
+        private void launch( int index ) {
+            final var attempt = new Attempt( index );
+            synchronized( this ) {
+                if( result.isDone() ) {
+                    return;
+                }
+                attempts.add( attempt );
+                ++running;
+            }
+            try {
+                node.policy().executor().execute( attempt );
+            }
+            catch( RejectedExecutionException ex ) {
+                completed( attempt, null, ex );
+            }
+        }
+
+        private void completed( Attempt attempt, Map<String,Object> value, Throwable error ) {
+            final boolean last;
+            final boolean won;
+            synchronized( this ) {
+                last = --running == 0;
+                if( error != null && attempt.cancelled ) {
+                    // the failure of a cancelled execution, e.g. interrupted on timeout, doesn't complete the node
+                    return;
+                }
+                won = error == null && winner < 0;
+                if( won ) {
+                    winner = attempt.index;
+                }
+            }
+            if( won ) {
+                result.complete( value );
+            }
+            else if( error == null ) {
+                return;
+            }
+            else if( last ) {
+                // hedging bounds the latency, it doesn't retry failures
+                result.completeExceptionally( ( error instanceof CompletionException && error.getCause() != null ) ? error.getCause() : error );
+            }
+            else {
+                log.debug( "execution #{} of node '{}' failed, waiting for the others", attempt.index, node.nodeId(), error );
+            }
+        }
+
+        /**
+         * Cancels the executions that didn't win and updates the policy counters
+         */
+        private void finish( Throwable error ) {
+            final int hedges;
+            final boolean hedgeWon;
+            synchronized( this ) {
+                attempts.forEach( Attempt::cancel );
+                hedges = attempts.size() - 1;
+                hedgeWon = error == null && winner > 0;
+            }
+            node.policy().record( hedges, hedgeWon, error instanceof TimeoutException );
+        }
+
+        /**
+         * A single execution of the node action
+         */
+        final class Attempt implements Runnable {
+            final int index;
+            // guarded by the execution
+            private Thread thread;
+            private CompletableFuture<Map<String,Object>> future;
+            private boolean cancelled;
+
+            Attempt( int index ) {
+                this.index = index;
+            }
+
+            @Override
+            public void run() {
+                synchronized( Execution.this ) {
+                    if( cancelled ) {
+                        --running;
+                        return;
+                    }
+                    thread = Thread.currentThread();
+                }
+                CompletableFuture<Map<String,Object>> future;
+                try {
+                    future = Tracing.withSpan( span, () -> ( accumulator != null ) ?
+                            ResourceAccounting.measure( accumulator, () -> node.action().apply( state, config ) ) :
+                            node.action().apply( state, config ) );
+                }
+                catch( Throwable ex ) {
+                    future = failedFuture( ex );
+                }
+                finally {
+                    synchronized( Execution.this ) {
+                        thread = null;
+                    }
+                    // clears an interruption of the cancelled execution, the pool thread is going to be reused
+                    Thread.interrupted();
+                }
+                synchronized( Execution.this ) {
+                    this.future = future;
+                    if( cancelled ) {
+                        future.cancel( true );
+                    }
+                }
+                future.whenComplete( ( value, error ) -> completed( this, value, error ) );
+            }
+
+            // must be called holding the execution lock
+            void cancel() {
+                if( future != null && future.isDone() ) {
+                    return;
+                }
+                cancelled = true;
+                if( thread != null ) {
+                    thread.interrupt();
+                }
+                if( future != null ) {
+                    future.cancel( true );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.bsc.langgraph4j.internal.batch;
+
+import org.bsc.async.AsyncGenerator;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.NodeOutput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.batch.BatchConfig;
+import org.bsc.langgraph4j.batch.BatchGenerator;
+import org.bsc.langgraph4j.batch.BatchReport;
+import org.bsc.langgraph4j.batch.BatchResult;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.bsc.langgraph4j.state.AgentState;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs a graph on many independent inputs, backing the batch API of {@link org.bsc.langgraph4j.CompiledGraph}
+ *
+ * @param <State> the type of the state of the graph
+ */
+public class GraphBatch<State extends AgentState> {
+
+    private final BiFunction<GraphInput, RunnableConfig, Optional<NodeOutput<State>>> run;
+    private final boolean checkpointed;
+
+    /**
+     * @param run runs the graph on an input, returning its final output
+     * @param checkpointed true if the graph has a checkpoint saver, thus each run needs its own thread
+     */
+    public GraphBatch( BiFunction<GraphInput, RunnableConfig, Optional<NodeOutput<State>>> run, boolean checkpointed ) {
+        this.run = requireNonNull( run, "run cannot be null" );
+        this.checkpointed = checkpointed;
+    }
+
+    /**
+     * Launches the runs, matching the inputs with the configurations by position
+     *
+     * @throws IllegalArgumentException if the number of configurations doesn't match the number of inputs, or if
+     *                                  the graph is checkpointed and some runs share the same thread id
+     */
+    public AsyncGenerator<BatchResult<State>> runAsync( List<GraphInput> inputs, List<RunnableConfig> configs, BatchConfig batchConfig ) {
+        requireNonNull( inputs, "inputs cannot be null" );
+        requireNonNull( configs, "configs cannot be null" );
+        requireNonNull( batchConfig, "batchConfig cannot be null" );
+        if( inputs.size() != configs.size() ) {
+            throw new IllegalArgumentException( format( "the number of configs (%d) doesn't match the number of inputs (%d)!",
+                    configs.size(), inputs.size() ) );
+        }
+        final var runInputs = List.copyOf( inputs );
+        final var runConfigs = List.copyOf( configs );
+        if( checkpointed ) {
+            // the runs sharing a thread would overwrite each other checkpoints
+            final var threadIds = new HashSet<String>();
+            for( var config : runConfigs ) {
+                final var threadId = config.threadId().orElse( BaseCheckpointSaver.THREAD_ID_DEFAULT );
+                if( !threadIds.add( threadId ) ) {
+                    throw new IllegalArgumentException( format( "thread id '%s' is shared by many runs of the batch!", threadId ) );
+                }
+            }
+        }
+
+        return new AsyncGenerator.WithResult<>( new BatchGenerator<State>( runInputs.size(),
+                index -> run.apply( runInputs.get(index), runConfigs.get(index) ),
+                batchConfig ).start() );
+    }
+
+    /**
+     * Launches the runs sharing the same configuration
+     */
+    public AsyncGenerator<BatchResult<State>> runAsync( List<GraphInput> inputs, RunnableConfig config, BatchConfig batchConfig ) {
+        requireNonNull( inputs, "inputs cannot be null" );
+        requireNonNull( config, "config cannot be null" );
+        return runAsync( inputs, configs( inputs.size(), config ), batchConfig );
+    }
+
+    /**
+     * Launches the runs and waits for all of them
+     *
+     * @return the report of the batch
+     */
+    @SuppressWarnings("unchecked")
+    public BatchReport<State> run( List<GraphInput> inputs, List<RunnableConfig> configs, BatchConfig batchConfig ) {
+        var generator = runAsync( inputs, configs, batchConfig );
+        generator.stream().forEach( result -> {} );
+        return (BatchReport<State>) AsyncGenerator.resultValue( generator )
+                .orElseThrow( () -> new IllegalStateException("batch completed without report!") );
+    }
+
+    /**
+     * Launches the runs sharing the same configuration and waits for all of them
+     *
+     * @return the report of the batch
+     */
+    public BatchReport<State> run( List<GraphInput> inputs, RunnableConfig config, BatchConfig batchConfig ) {
+        requireNonNull( inputs, "inputs cannot be null" );
+        requireNonNull( config, "config cannot be null" );
+        return run( inputs, configs( inputs.size(), config ), batchConfig );
+    }
+
+    /**
+     * Returns the configurations of the runs of a batch sharing the same configuration
+     */
+    List<RunnableConfig> configs( int size, RunnableConfig config ) {
+        if( !checkpointed ) {
+            return Collections.nCopies( size, config );
+        }
+        final var threadId = config.threadId().orElse( BaseCheckpointSaver.THREAD_ID_DEFAULT );
+        return IntStream.range( 0, size )
+                .mapToObj( index -> RunnableConfig.builder( config )
+                        .threadId( format( "%s-%d", threadId, index ) )
+                        // a checkpoint belongs to the thread of the shared configuration
+                        .checkPointId( null )
+                        .build() )
+                .toList();
+    }
+}
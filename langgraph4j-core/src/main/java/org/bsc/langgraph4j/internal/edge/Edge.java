@@ -49,6 +49,24 @@ public record Edge<State extends AgentState>(String sourceId, List<EdgeValue<Sta
                 );
     }
 
+    /**
+     * Returns the ids of all the nodes this edge can route to, including the ones declared by conditional mappings
+     *
+     * @return the target node ids
+     */
+    public Set<String> targetIds() {
+        var result = new LinkedHashSet<String>();
+        for( var v : targets ) {
+            if( v.id() != null ) {
+                result.add( v.id() );
+            }
+            else if( v.value() != null ) {
+                result.addAll( v.value().mappings().values() );
+            }
+        }
+        return result;
+    }
+
     public Edge<State> withSourceAndTargetIdsUpdated(Node<State> node,
                                                      Function<String,String> newSourceId,
                                                      Function<String,EdgeValue<State>> newTarget ) {
@@ -60,6 +78,33 @@ public record Edge<State extends AgentState>(String sourceId, List<EdgeValue<Sta
 
     }
 
+    /**
+     * Returns a copy of this edge where each target id can be replaced by several targets, i.e. by parallel branches.
+     * A conditional target can route to a single target only.
+     *
+     * @param newSourceId maps the source id
+     * @param newTargets maps a target id to its new targets
+     * @return the updated edge
+     * @throws GraphStateException if a conditional target would route to parallel branches
+     */
+    public Edge<State> withSourceAndTargetsUpdated( Function<String,String> newSourceId,
+                                                    Function<String,List<EdgeValue<State>>> newTargets ) throws GraphStateException {
+        var result = new ArrayList<EdgeValue<State>>();
+        for( var target : targets ) {
+            if( target.id() != null ) {
+                result.addAll( newTargets.apply( target.id() ) );
+                continue;
+            }
+            for( var mappedId : target.value().mappings().values() ) {
+                if( newTargets.apply( mappedId ).size() != 1 ) {
+                    throw new GraphStateException( format( "conditional edge from '%s' cannot route to the parallel branches of '%s'!", sourceId, mappedId ) );
+                }
+            }
+            result.add( target.withTargetIdsUpdated( id -> newTargets.apply( id ).get(0) ) );
+        }
+        return new Edge<>( newSourceId.apply(sourceId), List.copyOf(result) );
+    }
+
     public void validate( StateGraph.Nodes<State> nodes ) throws GraphStateException {
         Objects.requireNonNull(nodes, "nodes cannot be null");
 
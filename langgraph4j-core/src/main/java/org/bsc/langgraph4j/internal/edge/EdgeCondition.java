@@ -13,13 +13,27 @@ import static java.lang.String.format;
  * @param <S> the type of the state associated with the edge
  * @param action The action to be performed asynchronously when the edge condition is met.
  * @param mappings A map of string key-value pairs representing additional mappings for the edge condition.
+ * @param send The dispatch of the nodes with their own input, if the edge sends nodes instead of routing to a single one.
  */
-public record EdgeCondition<S extends AgentState>(AsyncCommandAction<S> action, Map<String, String> mappings ) {
+public record EdgeCondition<S extends AgentState>(AsyncCommandAction<S> action, Map<String, String> mappings, SendCondition<S> send ) {
+
+    public EdgeCondition( AsyncCommandAction<S> action, Map<String, String> mappings ) {
+        this( action, mappings, null );
+    }
+
+    /**
+     * Checks if the edge dispatches nodes with their own input
+     *
+     * @return true if the edge sends nodes, false if it routes to a single one
+     */
+    public boolean isSend() {
+        return send != null;
+    }
 
     @Override
     public String toString() {
         return format( "EdgeCondition[ %s, mapping=%s ]",
-                action!=null ? "action" : "null",
+                isSend() ? "send" : ( action!=null ? "action" : "null" ),
                 mappings);
     }
 
@@ -34,7 +34,7 @@ public record EdgeValue<State extends AgentState>(String id, EdgeCondition<State
                             return ( v.id() != null ) ? v.id() : e.getValue();
                         }));
 
-        return new EdgeValue<>(null, new EdgeCondition<>( value.action(), newMappings));
+        return new EdgeValue<>(null, new EdgeCondition<>( value.action(), newMappings, value.send()));
 
     }
 
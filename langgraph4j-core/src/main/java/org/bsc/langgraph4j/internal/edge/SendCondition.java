@@ -0,0 +1,24 @@
+package org.bsc.langgraph4j.internal.edge;
+
+import org.bsc.langgraph4j.action.AsyncSendAction;
+import org.bsc.langgraph4j.state.AgentState;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents the dispatch of an edge that sends nodes with their own input.
+ *
+ * @param <S> the type of the state associated with the edge
+ * @param action the action that evaluates the nodes to dispatch
+ * @param maxConcurrency the maximum number of dispatched nodes running at the same time
+ */
+public record SendCondition<S extends AgentState>(AsyncSendAction<S> action, int maxConcurrency ) {
+
+    public SendCondition {
+        requireNonNull( action, "action cannot be null" );
+        if( maxConcurrency <= 0 ) {
+            throw new IllegalArgumentException( "maxConcurrency must be > 0!" );
+        }
+    }
+
+}
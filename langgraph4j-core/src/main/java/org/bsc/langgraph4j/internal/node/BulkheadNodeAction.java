@@ -0,0 +1,48 @@
+package org.bsc.langgraph4j.internal.node;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.bulkhead.Bulkhead;
+import org.bsc.langgraph4j.lifecycle.ResourceAccounting;
+import org.bsc.langgraph4j.state.AgentState;
+import org.bsc.langgraph4j.tracing.Tracing;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Node action running the wrapped action through a {@link Bulkhead}, shared by all the runs of the graph.
+ * <p>
+ * When the action is queued it starts on the bulkhead executor, within the span and the resource accounting of the node.
+ *
+ * @param action the wrapped action
+ * @param bulkhead the bulkhead limiting the executions of the action
+ * @param <State> the type of the state
+ */
+public record BulkheadNodeAction<State extends AgentState>(
+        AsyncNodeActionWithConfig<State> action,
+        Bulkhead bulkhead ) implements NodeActionWrapper<State> {
+
+    public BulkheadNodeAction {
+        requireNonNull( action, "action cannot be null" );
+        requireNonNull( bulkhead, "bulkhead cannot be null" );
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> apply(State state, RunnableConfig config) {
+        final var caller = Thread.currentThread();
+        final var span = Tracing.current();
+        final var accumulator = ResourceAccounting.current();
+
+        return bulkhead.execute( () -> {
+            if( Thread.currentThread() == caller ) {
+                return action.apply( state, config );
+            }
+            return Tracing.withSpan( span, () -> ( accumulator != null ) ?
+                    ResourceAccounting.measure( accumulator, () -> action.apply( state, config ) ) :
+                    action.apply( state, config ) );
+        });
+    }
+}
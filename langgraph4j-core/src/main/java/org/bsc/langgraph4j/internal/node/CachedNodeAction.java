@@ -0,0 +1,79 @@
+package org.bsc.langgraph4j.internal.node;
+
+import org.bsc.async.AsyncGenerator;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.cache.CachePolicy;
+import org.bsc.langgraph4j.serializer.StateSerializer;
+import org.bsc.langgraph4j.state.AgentState;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * Node action returning the cached update of the wrapped action when it runs on the same values of the state keys
+ * forming the cache key (see {@link CachePolicy}).
+ * <p>
+ * A failure of the cache store doesn't fail the node: the action is executed as if the update was not cached.
+ *
+ * @param nodeId the node id
+ * @param action the wrapped action
+ * @param cachePolicy the caching policy
+ * @param serializer the state serializer used to compute the cache key
+ * @param <State> the type of the state
+ */
+public record CachedNodeAction<State extends AgentState>(
+        String nodeId,
+        AsyncNodeActionWithConfig<State> action,
+        CachePolicy cachePolicy,
+        StateSerializer<State> serializer ) implements NodeActionWrapper<State> {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(CachedNodeAction.class);
+
+    public CachedNodeAction {
+        requireNonNull( nodeId, "nodeId cannot be null" );
+        requireNonNull( action, "action cannot be null" );
+        requireNonNull( cachePolicy, "cachePolicy cannot be null" );
+        requireNonNull( serializer, "serializer cannot be null" );
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> apply(State state, RunnableConfig config) {
+        final String key;
+        try {
+            key = cachePolicy.keyOf( state.data(), serializer );
+        }
+        catch( Exception ex ) {
+            log.warn( "cannot compute the cache key of node '{}', it is not cached", nodeId, ex );
+            return action.apply( state, config );
+        }
+
+        Optional<Map<String,Object>> cached;
+        try {
+            cached = cachePolicy.store().get( nodeId, key );
+        }
+        catch( Exception ex ) {
+            log.warn( "cannot read the cache of node '{}'", nodeId, ex );
+            cached = Optional.empty();
+        }
+        if( cached.isPresent() ) {
+            log.trace( "node cache hit: {}", nodeId );
+            return completedFuture( cached.get() );
+        }
+
+        return action.apply( state, config ).thenApply( update -> {
+            if( update.values().stream().noneMatch( value -> value instanceof AsyncGenerator ) ) {
+                try {
+                    cachePolicy.store().put( nodeId, key, update, cachePolicy.ttl().orElse( null ) );
+                }
+                catch( Exception ex ) {
+                    log.warn( "cannot write the cache of node '{}'", nodeId, ex );
+                }
+            }
+            return update;
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package org.bsc.langgraph4j.internal.node;
+
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.state.AgentState;
+
+/**
+ * Node action decorating another node action, e.g. to cache, hedge or schedule its executions.
+ * <p>
+ * The graph looks through the wrappers for the capabilities of the wrapped action, such as
+ * {@link org.bsc.langgraph4j.action.InterruptableAction} or the resume of a subgraph.
+ *
+ * @param <State> the type of the state
+ */
+public interface NodeActionWrapper<State extends AgentState> extends AsyncNodeActionWithConfig<State> {
+
+    /**
+     * @return the wrapped action
+     */
+    AsyncNodeActionWithConfig<State> action();
+
+    /**
+     * Returns the innermost action of a node, removing all its wrappers
+     *
+     * @param action the node action
+     * @param <State> the type of the state
+     * @return the wrapped action, or the given one if it is not a wrapper
+     */
+    static <State extends AgentState> AsyncNodeActionWithConfig<State> unwrap( AsyncNodeActionWithConfig<State> action ) {
+        var result = action;
+        while( result instanceof NodeActionWrapper<State> wrapper ) {
+            result = wrapper.action();
+        }
+        return result;
+    }
+}
@@ -4,14 +4,20 @@ import org.bsc.async.AsyncGenerator;
 import org.bsc.langgraph4j.NodeOutput;
 import org.bsc.langgraph4j.RunnableConfig;
 import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleEvent;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleListener;
+import org.bsc.langgraph4j.lifecycle.ResourceAccounting;
 import org.bsc.langgraph4j.state.AgentState;
 import org.bsc.langgraph4j.state.Channel;
+import org.bsc.langgraph4j.tracing.TraceSpan;
+import org.bsc.langgraph4j.tracing.Tracing;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.lang.String.format;
@@ -25,78 +31,156 @@ public class ParallelNode<State extends AgentState> extends Node<State> {
         return format( "%s(%s)", PARALLEL_PREFIX, requireNonNull(nodeId, "nodeId cannot be null!"));
     }
 
+    private static <State extends AgentState> CompletableFuture<Map<String, Object>> evalGenerator(AsyncGenerator<NodeOutput<State>> generator,
+                                                                                                 Map<String, Object> initPartialState,
+                                                                                                 Map<String, Channel<?>> channels) {
+        return generator.collectAsync(new ArrayList<>(), ArrayList::add)
+                .thenApply(list -> {
+                    Map<String, Object> result = initPartialState;
+                    for (var output : list) {
+                        result = AgentState.updateState(result, output.state().data(), channels);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Evaluates a node action in the calling thread, collecting the outputs of the generator it may return
+     *
+     * @param action the node action
+     * @param state the state the action is applied to
+     * @param config the runnable config
+     * @param channels the state channels used to merge the generator outputs
+     * @return the state update of the action
+     */
+    @SuppressWarnings("unchecked")
+    public static <State extends AgentState> CompletableFuture<Map<String, Object>> evalNodeAction(AsyncNodeActionWithConfig<State> action,
+                                                                                                 State state,
+                                                                                                 RunnableConfig config,
+                                                                                                 Map<String, Channel<?>> channels) {
+
+        return action.apply(state, config).thenCompose(partialState ->
+                partialState.entrySet().stream()
+                        .filter(e -> e.getValue() instanceof AsyncGenerator)
+                        .findFirst()
+                        .map(generatorEntry -> {
+
+                            var partialStateWithoutGenerator = partialState.entrySet().stream()
+                                    .filter(e -> !Objects.equals(e.getKey(), generatorEntry.getKey()))
+                                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                            return evalGenerator((AsyncGenerator<NodeOutput<State>>) generatorEntry.getValue(), partialStateWithoutGenerator, channels);
+
+                        })
+                        .orElse(completedFuture(partialState))
+        );
+    }
+
     record AsyncParallelNodeAction<State extends AgentState>(
             String nodeId,
+            List<String> branchIds,
             List<AsyncNodeActionWithConfig<State>> actions,
-            Map<String, Channel<?>> channels ) implements AsyncNodeActionWithConfig<State> {
-
-        private CompletableFuture<Map<String, Object>> evalGenerator(AsyncGenerator<NodeOutput<State>> generator, Map<String, Object> initPartialState) {
-            return generator.collectAsync(new ArrayList<>(), ArrayList::add)
-                    .thenApply(list -> {
-                        Map<String, Object> result = initPartialState;
-                        for (var output : list) {
-                            result = AgentState.updateState(result, output.state().data(), channels);
-                        }
-                        return result;
-                    });
-        }
-
-        @SuppressWarnings("unchecked")
-        private CompletableFuture<Map<String, Object>> evalNodeActionSync(AsyncNodeActionWithConfig<State> action, State state, RunnableConfig config) {
-
-            return action.apply(state, config).thenCompose(partialState ->
-                    partialState.entrySet().stream()
-                            .filter(e -> e.getValue() instanceof AsyncGenerator)
-                            .findFirst()
-                            .map(generatorEntry -> {
-
-                                var partialStateWithoutGenerator = partialState.entrySet().stream()
-                                        .filter(e -> !Objects.equals(e.getKey(), generatorEntry.getKey()))
-                                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                                return evalGenerator((AsyncGenerator<NodeOutput<State>>) generatorEntry.getValue(), partialStateWithoutGenerator);
-
-                            })
-                            .orElse(completedFuture(partialState))
-            );
-        }
+            Map<String, Channel<?>> channels,
+            GraphLifecycleListener lifecycleListener ) implements AsyncNodeActionWithConfig<State> {
 
         private CompletableFuture<Map<String, Object>> evalNodeActionAsync(AsyncNodeActionWithConfig<State> action,
                                                                            State state,
                                                                            RunnableConfig config,
-                                                                           Executor executor) {
-            return CompletableFuture.supplyAsync(() -> evalNodeActionSync(action, state, config).join(), executor);
+                                                                           Executor executor,
+                                                                           TraceSpan span ) {
+            // the branches running on the executor are accounted to the parallel node, if resource accounting is enabled
+            final var accumulator = ResourceAccounting.current();
+            if( accumulator != null ) {
+                return CompletableFuture.supplyAsync(() -> ResourceAccounting.measure( accumulator,
+                                                            () -> Tracing.withSpan( span, () -> evalNodeAction(action, state, config, channels).join() ) ), executor);
+            }
+            return CompletableFuture.supplyAsync(() -> Tracing.withSpan( span, () -> evalNodeAction(action, state, config, channels).join() ), executor);
+
+        }
 
+        /**
+         * Notifies the completion of a branch, if a lifecycle listener is registered
+         */
+        private CompletableFuture<Map<String, Object>> notifyBranch( String branchId,
+                                                                     RunnableConfig config,
+                                                                     Supplier<CompletableFuture<Map<String, Object>>> branch ) {
+            if( lifecycleListener == null ) {
+                return branch.get();
+            }
+            final long start = System.nanoTime();
+            return branch.get().whenComplete( ( result, error ) ->
+                    lifecycleListener.onParallelBranch( new GraphLifecycleEvent.ParallelBranch( nodeId, branchId, config, start, System.nanoTime() - start, error ) ) );
         }
 
         @Override
         public CompletableFuture<Map<String, Object>> apply(State state, RunnableConfig config) {
 
-            var evalNodeAction = config.metadata( nodeId )
+            var executor = config.metadata( nodeId )
                     .filter( value -> value instanceof Executor)
-                    .map( Executor.class::cast)
-                    .map( executor -> (Function<AsyncNodeActionWithConfig<State>, CompletableFuture<Map<String, Object>>>) action -> evalNodeActionAsync(action, state, config, executor))
-                    .orElseGet( () -> (Function<AsyncNodeActionWithConfig<State>, CompletableFuture<Map<String, Object>>>) action -> evalNodeActionSync(action, state, config));
+                    .map( Executor.class::cast);
+
+            final long start = ( lifecycleListener != null ) ? System.nanoTime() : 0L;
+            if( lifecycleListener != null ) {
+                lifecycleListener.onParallelFanOut( new GraphLifecycleEvent.ParallelFanOut( nodeId, actions.size(), config, start ) );
+            }
+
+            // each branch is traced as child of the parallel node span, if tracing is enabled
+            final var parentSpan = Tracing.current();
 
             @SuppressWarnings("unchecked")
-            final CompletableFuture<Map<String, Object>>[] actionsArray = actions.stream()
-                    .map(evalNodeAction)
+            final CompletableFuture<Map<String, Object>>[] actionsArray = IntStream.range( 0, actions.size() )
+                    .mapToObj( index -> {
+                        final var action = actions.get(index);
+                        final var branchId = branchIds.get(index);
+                        final var span = ( parentSpan != null ) ?
+                                parentSpan.child( Tracing.PARALLEL_BRANCH_SPAN ).setAttribute( Tracing.BRANCH_ID, branchId ) :
+                                null;
+                        return Tracing.endOnCompletion( span, notifyBranch( branchId, config, () -> executor
+                                .map( e -> evalNodeActionAsync(action, state, config, e, span) )
+                                .orElseGet( () -> Tracing.withSpan( span, () -> evalNodeAction(action, state, config, channels) ) ) ) );
+                    })
                     .toArray( CompletableFuture[]::new);
 
-            return CompletableFuture.allOf(actionsArray).thenApply(v ->
-                    Stream.of(actionsArray)
+            return CompletableFuture.allOf(actionsArray).thenApply(v -> {
+                    var joined = Stream.of(actionsArray)
                             .map(CompletableFuture::join)
                             .reduce( state.data(),
                                     (result, actionResult) ->
                                              AgentState.updateState(result, actionResult, channels)
-                                    /* , (f1, f2) -> AgentState.updateState( f1, f2, channels) )  */ )
-            );
+                                    /* , (f1, f2) -> AgentState.updateState( f1, f2, channels) )  */ );
+                    if( lifecycleListener != null ) {
+                        lifecycleListener.onParallelJoin( new GraphLifecycleEvent.ParallelJoin( nodeId, actions.size(), config, start, System.nanoTime() - start ) );
+                    }
+                    return joined;
+            });
 
         }
     }
 
+    /**
+     * Creates a parallel node whose branches are identified by the target node ids
+     *
+     * @param id the id of the node the parallel branches start from
+     * @param actions the branch actions by target node id, in evaluation order
+     * @param channels the state channels used to join the branch results
+     */
+    public ParallelNode(String id, Map<String, AsyncNodeActionWithConfig<State>> actions, Map<String, Channel<?>> channels ) {
+        this( id, List.copyOf(actions.keySet()), List.copyOf(actions.values()), channels );
+    }
+
+    /**
+     * Creates a parallel node whose branches are identified by their position
+     *
+     * @param id the id of the node the parallel branches start from
+     * @param actions the branch actions, in evaluation order
+     * @param channels the state channels used to join the branch results
+     */
     public ParallelNode(String id, List<AsyncNodeActionWithConfig<State>> actions, Map<String, Channel<?>> channels ) {
+        this( id, IntStream.range( 0, actions.size() ).mapToObj( String::valueOf ).toList(), actions, channels );
+    }
+
+    private ParallelNode(String id, List<String> branchIds, List<AsyncNodeActionWithConfig<State>> actions, Map<String, Channel<?>> channels ) {
         super(  formatNodeId(id),
-                (config ) -> new AsyncParallelNodeAction<>(formatNodeId(id), actions, channels ));
+                (config ) -> new AsyncParallelNodeAction<>(formatNodeId(id), branchIds, actions, channels, config.lifecycleListener().orElse(null) ));
     }
 
     @Override
@@ -0,0 +1,49 @@
+package org.bsc.langgraph4j.internal.node;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.lifecycle.ResourceAccounting;
+import org.bsc.langgraph4j.scheduler.RunScheduler;
+import org.bsc.langgraph4j.state.AgentState;
+import org.bsc.langgraph4j.tracing.Tracing;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Node action running the wrapped action as a step scheduled by a {@link RunScheduler}, shared by all the runs of the graph.
+ * <p>
+ * When the step is queued it starts on the scheduler executor, within the span and the resource accounting of the node.
+ * Subgraph nodes are not scheduled, their nodes are scheduled by the subgraph.
+ *
+ * @param action the wrapped action
+ * @param scheduler the scheduler of the steps
+ * @param <State> the type of the state
+ */
+public record ScheduledNodeAction<State extends AgentState>(
+        AsyncNodeActionWithConfig<State> action,
+        RunScheduler scheduler ) implements NodeActionWrapper<State> {
+
+    public ScheduledNodeAction {
+        requireNonNull( action, "action cannot be null" );
+        requireNonNull( scheduler, "scheduler cannot be null" );
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> apply(State state, RunnableConfig config) {
+        final var caller = Thread.currentThread();
+        final var span = Tracing.current();
+        final var accumulator = ResourceAccounting.current();
+
+        return scheduler.schedule( config, () -> {
+            if( Thread.currentThread() == caller ) {
+                return action.apply( state, config );
+            }
+            return Tracing.withSpan( span, () -> ( accumulator != null ) ?
+                    ResourceAccounting.measure( accumulator, () -> action.apply( state, config ) ) :
+                    action.apply( state, config ) );
+        });
+    }
+}
@@ -0,0 +1,328 @@
+package org.bsc.langgraph4j.internal.node;
+
+import org.bsc.async.AsyncGenerator;
+import org.bsc.langgraph4j.NodeOutput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.action.Send;
+import org.bsc.langgraph4j.internal.edge.SendCondition;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleEvent;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleListener;
+import org.bsc.langgraph4j.lifecycle.ResourceAccounting;
+import org.bsc.langgraph4j.state.AgentState;
+import org.bsc.langgraph4j.state.AgentStateFactory;
+import org.bsc.langgraph4j.state.Channel;
+import org.bsc.langgraph4j.tracing.TraceSpan;
+import org.bsc.langgraph4j.tracing.Tracing;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Node that runs the nodes dispatched by a send edge (see {@link Send}).
+ * <p>
+ * The dispatched nodes run on the executor of the parallel node of the source, or on the common {@link ForkJoinPool},
+ * with at most {@link SendCondition#maxConcurrency()} of them running at the same time.
+ * The node returns a generator that streams the output of each dispatched node as it completes, and whose result is
+ * the combination, through the channel reducers and in the order of the sends, of the updates of all the dispatched nodes.
+ */
+public class SendNode<State extends AgentState> extends Node<State> {
+    private static final String SEND_PREFIX = "__SEND__";
+
+    public static String formatNodeId( String nodeId ) {
+        return format( "%s(%s)", SEND_PREFIX, requireNonNull(nodeId, "nodeId cannot be null!"));
+    }
+
+    /**
+     * Stores the progress of a dispatch, i.e. the state updated with the results of the completed nodes
+     */
+    @FunctionalInterface
+    public interface ProgressCheckpoint {
+        void put( RunnableConfig config, Map<String,Object> state ) throws Exception;
+    }
+
+    record AsyncSendNodeAction<State extends AgentState>(
+            String nodeId,
+            String sourceId,
+            SendCondition<State> send,
+            Map<String, AsyncNodeActionWithConfig<State>> actions,
+            Map<String, Channel<?>> channels,
+            AgentStateFactory<State> stateFactory,
+            ProgressCheckpoint progressCheckpoint,
+            GraphLifecycleListener lifecycleListener ) implements AsyncNodeActionWithConfig<State> {
+
+        @Override
+        public CompletableFuture<Map<String, Object>> apply(State state, RunnableConfig config) {
+            return send.action().apply( state, config ).thenApply( sends -> {
+                for( var s : sends ) {
+                    if( !actions.containsKey( s.node() ) ) {
+                        throw new IllegalArgumentException( format( "node '%s' cannot be dispatched by the send edge from '%s'!", s.node(), sourceId ) );
+                    }
+                }
+                final var executor = config.metadata( ParallelNode.formatNodeId( sourceId ) )
+                        .filter( value -> value instanceof Executor )
+                        .map( Executor.class::cast )
+                        .orElseGet( ForkJoinPool::commonPool );
+
+                return Map.of( nodeId, new Dispatch<>( this, List.copyOf( sends ), state, config, executor ).start() );
+            });
+        }
+    }
+
+    /**
+     * The execution of the dispatched nodes, streaming their outputs as they complete
+     */
+    static final class Dispatch<State extends AgentState> implements AsyncGenerator<NodeOutput<State>> {
+        private final AsyncSendNodeAction<State> action;
+        private final List<Send> sends;
+        private final State state;
+        private final RunnableConfig config;
+        private final Executor executor;
+        // each branch is traced as child of the send node span, if tracing is enabled
+        private final TraceSpan parentSpan = Tracing.current();
+        // the dispatched nodes are accounted to the send node, if resource accounting is enabled
+        private final ResourceAccounting.Accumulator accumulator = ResourceAccounting.current();
+        private final long start = System.nanoTime();
+
+        private final BlockingQueue<Data<NodeOutput<State>>> queue = new LinkedBlockingQueue<>();
+        private Data<NodeOutput<State>> last;
+
+        // guarded by this
+        private final List<Map<String,Object>> results;
+        private Map<String,Object> progressState;
+        private int nextIndex;
+        private int completed;
+        private int emitted;
+        private boolean failed;
+        // the launches requested while a thread is launching, see launchNext()
+        private int launchRequests;
+        private boolean launching;
+
+        // guarded by progressLock, the progress checkpoints are written in order outside the dispatch lock
+        private final Object progressLock = new Object();
+        private int writtenProgress;
+        private boolean progressFailed;
+
+        Dispatch( AsyncSendNodeAction<State> action, List<Send> sends, State state, RunnableConfig config, Executor executor ) {
+            this.action = action;
+            this.sends = sends;
+            this.state = state;
+            this.config = config;
+            this.executor = executor;
+            this.results = new ArrayList<>( Collections.nCopies( sends.size(), null ) );
+            this.progressState = state.data();
+        }
+
+        Dispatch<State> start() {
+            if( action.lifecycleListener() != null ) {
+                action.lifecycleListener().onParallelFanOut( new GraphLifecycleEvent.ParallelFanOut( action.nodeId(), sends.size(), config, start ) );
+            }
+            if( sends.isEmpty() ) {
+                join();
+                return this;
+            }
+            for( int i = 0, count = Math.min( action.send().maxConcurrency(), sends.size() ); i < count; ++i ) {
+                launchNext();
+            }
+            return this;
+        }
+
+        /**
+         * Launches the next dispatched node, if any. A node completing synchronously requests the next launch to the
+         * thread already launching, so that the launches are iterated instead of nested
+         */
+        private void launchNext() {
+            synchronized( this ) {
+                ++launchRequests;
+                if( launching ) {
+                    return;
+                }
+                launching = true;
+            }
+            while( true ) {
+                final int index;
+                synchronized( this ) {
+                    if( launchRequests == 0 ) {
+                        launching = false;
+                        return;
+                    }
+                    --launchRequests;
+                    if( failed || nextIndex >= sends.size() ) {
+                        continue;
+                    }
+                    index = nextIndex++;
+                }
+                launch( index );
+            }
+        }
+
+        private void launch( int index ) {
+            final var send = sends.get( index );
+            final var branchId = format( "%s#%d", send.node(), index );
+            final var span = ( parentSpan != null ) ?
+                    parentSpan.child( Tracing.PARALLEL_BRANCH_SPAN ).setAttribute( Tracing.BRANCH_ID, branchId ) :
+                    null;
+            final long branchStart = System.nanoTime();
+
+            // the dispatched node runs on the current state with the values of its input
+            final var branchData = new HashMap<>( state.data() );
+            branchData.putAll( send.input() );
+            final var branchState = action.stateFactory().apply( branchData );
+
+            final var nodeAction = action.actions().get( send.node() );
+            final Supplier<Map<String,Object>> branch = () -> Tracing.withSpan( span, () ->
+                    ParallelNode.evalNodeAction( nodeAction, branchState, config, action.channels() ).join() );
+            final CompletableFuture<Map<String,Object>> future = ( accumulator != null ) ?
+                    CompletableFuture.supplyAsync( () -> ResourceAccounting.measure( accumulator, branch::get ), executor ) :
+                    CompletableFuture.supplyAsync( branch, executor );
+            Tracing.endOnCompletion( span, future )
+                    .whenComplete( ( result, error ) -> {
+                        if( action.lifecycleListener() != null ) {
+                            action.lifecycleListener().onParallelBranch( new GraphLifecycleEvent.ParallelBranch( action.nodeId(), branchId, config,
+                                    branchStart, System.nanoTime() - branchStart, error ) );
+                        }
+                        if( error != null ) {
+                            fail( error );
+                        }
+                        else {
+                            complete( index, send, branchState, result );
+                        }
+                    });
+        }
+
+        private void complete( int index, Send send, State branchState, Map<String,Object> result ) {
+            final int progress;
+            final Map<String,Object> progressSnapshot;
+            synchronized( this ) {
+                if( failed ) {
+                    return;
+                }
+                results.set( index, result );
+                progress = ++completed;
+                // the checkpoint of the last completed dispatch is the one of the send node, stored by the graph
+                progressSnapshot = ( progress < sends.size() ) ?
+                        ( progressState = AgentState.updateState( progressState, result, action.channels() ) ) :
+                        null;
+            }
+            if( progressSnapshot != null && !writeProgress( progress, progressSnapshot ) ) {
+                return;
+            }
+            queue.add( Data.of( NodeOutput.of( send.node(),
+                    action.stateFactory().apply( AgentState.updateState( branchState.data(), result, action.channels() ) ) ) ) );
+
+            final boolean joining;
+            synchronized( this ) {
+                // the generator completes once the outputs of all the dispatched nodes are queued
+                joining = ++emitted == sends.size();
+            }
+            if( joining ) {
+                join();
+            }
+            else {
+                launchNext();
+            }
+        }
+
+        /**
+         * Stores the progress of the dispatch, after the previous one: each progress is the previous one updated with
+         * a further result
+         *
+         * @return false if the dispatch failed
+         */
+        private boolean writeProgress( int progress, Map<String,Object> progressState ) {
+            synchronized( progressLock ) {
+                try {
+                    while( writtenProgress < progress - 1 && !progressFailed ) {
+                        progressLock.wait();
+                    }
+                    if( progressFailed ) {
+                        return false;
+                    }
+                    action.progressCheckpoint().put( config, progressState );
+                    writtenProgress = progress;
+                    return true;
+                }
+                catch( Exception ex ) {
+                    if( ex instanceof InterruptedException ) {
+                        Thread.currentThread().interrupt();
+                    }
+                    progressFailed = true;
+                    fail( ex );
+                    return false;
+                }
+                finally {
+                    progressLock.notifyAll();
+                }
+            }
+        }
+
+        private void fail( Throwable error ) {
+            synchronized( this ) {
+                if( failed ) {
+                    return;
+                }
+                failed = true;
+            }
+            queue.add( Data.error( error ) );
+        }
+
+        /**
+         * Combines the updates of the dispatched nodes in the order of the sends, and completes the generator with them
+         */
+        private void join() {
+            Map<String,Object> joined = Map.of();
+            for( var result : results ) {
+                joined = AgentState.updateState( joined, result, action.channels() );
+            }
+            if( action.lifecycleListener() != null ) {
+                action.lifecycleListener().onParallelJoin( new GraphLifecycleEvent.ParallelJoin( action.nodeId(), sends.size(), config, start, System.nanoTime() - start ) );
+            }
+            queue.add( Data.done( joined ) );
+        }
+
+        @Override
+        public Data<NodeOutput<State>> next() {
+            if( last != null && ( last.isDone() || last.isError() ) ) {
+                return last;
+            }
+            try {
+                last = queue.take();
+            }
+            catch( InterruptedException ex ) {
+                Thread.currentThread().interrupt();
+                last = Data.error( ex );
+            }
+            return last;
+        }
+    }
+
+    /**
+     * Creates the node that runs the nodes dispatched by a send edge
+     *
+     * @param sourceId the id of the source of the send edge
+     * @param send the dispatch of the send edge
+     * @param actions the actions of the nodes that can be dispatched, by node id
+     * @param channels the state channels used to combine the results
+     * @param stateFactory the factory of the state of the dispatched nodes
+     * @param progressCheckpoint stores the progress of the dispatch after each completed node
+     */
+    public SendNode( String sourceId,
+                     SendCondition<State> send,
+                     Map<String, AsyncNodeActionWithConfig<State>> actions,
+                     Map<String, Channel<?>> channels,
+                     AgentStateFactory<State> stateFactory,
+                     ProgressCheckpoint progressCheckpoint ) {
+        super( formatNodeId(sourceId),
+                (config) -> new AsyncSendNodeAction<>( formatNodeId(sourceId), sourceId, send, Map.copyOf(actions), channels,
+                        stateFactory, progressCheckpoint, config.lifecycleListener().orElse(null) ) );
+    }
+
+}
@@ -4,6 +4,7 @@ import org.bsc.langgraph4j.CompiledGraph;
 import org.bsc.langgraph4j.StateGraph;
 import org.bsc.langgraph4j.SubGraphNode;
 import org.bsc.langgraph4j.state.AgentState;
+import org.bsc.langgraph4j.subgraph.SubGraphStateMapping;
 
 import java.util.Objects;
 
@@ -12,9 +13,14 @@ public class SubCompiledGraphNode<State extends AgentState> extends Node<State>
     private final CompiledGraph<State> subGraph;
 
     public SubCompiledGraphNode(String id, CompiledGraph<State> subGraph ) {
+        this( id, subGraph, SubGraphStateMapping.ALL );
+    }
+
+    public SubCompiledGraphNode(String id, CompiledGraph<State> subGraph, SubGraphStateMapping stateMapping ) {
         super(  Objects.requireNonNull(id, "id cannot be null"),
-                (config ) -> new SubCompiledGraphNodeAction<>(id, config, subGraph ) );
+                (config ) -> new SubCompiledGraphNodeAction<>(id, config, subGraph, stateMapping ) );
         this.subGraph = Objects.requireNonNull(subGraph, "subGraph cannot be null");
+        Objects.requireNonNull(stateMapping, "stateMapping cannot be null");
     }
 
     public StateGraph<State> subGraph() {
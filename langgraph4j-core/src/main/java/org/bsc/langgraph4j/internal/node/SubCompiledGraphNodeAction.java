@@ -1,9 +1,11 @@
 package org.bsc.langgraph4j.internal.node;
 
+import org.bsc.async.AsyncGenerator;
 import org.bsc.langgraph4j.*;
 import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
 import org.bsc.langgraph4j.state.AgentState;
 import org.bsc.langgraph4j.subgraph.SubGraphOutput;
+import org.bsc.langgraph4j.subgraph.SubGraphStateMapping;
 import org.bsc.langgraph4j.utils.TypeRef;
 
 import java.util.Map;
@@ -11,6 +13,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
 
 /**
  * Represents an action to perform a subgraph on a given state with a specific configuration.
@@ -18,17 +21,30 @@ import static java.lang.String.format;
  * <p>This record encapsulates the behavior required to execute a compiled graph using a provided state.
  * It implements the {@link AsyncNodeActionWithConfig} interface, ensuring that the execution is handled asynchronously with the ability to configure settings.</p>
  *
+ * <p>Only the keys declared by the {@link SubGraphStateMapping} flow into the subgraph and back to the parent,
+ * so the subgraph checkpoints contain just its own channels.</p>
+ *
  * @param <State> The type of state the subgraph operates on, which must extend {@link AgentState}.
  * @param subGraph sub graph instance
+ * @param stateMapping the keys flowing in and out the subgraph
  * @see CompiledGraph
  * @see AsyncNodeActionWithConfig
  */
 public record SubCompiledGraphNodeAction<State extends AgentState>(
         String nodeId,
         CompileConfig parentCompileConfig,
-        CompiledGraph<State> subGraph
+        CompiledGraph<State> subGraph,
+        SubGraphStateMapping stateMapping
 ) implements AsyncNodeActionWithConfig<State> {
 
+    public SubCompiledGraphNodeAction {
+        requireNonNull( stateMapping, "stateMapping cannot be null");
+    }
+
+    public SubCompiledGraphNodeAction( String nodeId, CompileConfig parentCompileConfig, CompiledGraph<State> subGraph ) {
+        this( nodeId, parentCompileConfig, subGraph, SubGraphStateMapping.ALL );
+    }
+
     public String subGraphId() {
         return  format("subgraph_%s", nodeId);
     }
@@ -75,15 +91,23 @@ public record SubCompiledGraphNodeAction<State extends AgentState>(
 
         try {
 
-            var input =  GraphInput.args(state.data());
+            final var subGraphInput = stateMapping.projectInput( state.data() );
+
+            var input =  GraphInput.args(subGraphInput);
             if( resumeSubgraph ) {
-                subGraphRunnableConfig = subGraph.updateState(subGraphRunnableConfig, state.data());
+                if( !subGraphInput.isEmpty() ) {
+                    subGraphRunnableConfig = subGraph.updateState(subGraphRunnableConfig, subGraphInput);
+                }
                 input = GraphInput.resume();
             }
 
             var generator = subGraph.stream(input, subGraphRunnableConfig)
                     .map( n -> SubGraphOutput.of( n, nodeId) );
 
+            if( stateMapping.output().isPresent() ) {
+                generator = projectOutput( generator );
+            }
+
             future.complete( Map.of(format("%s_%s",subGraphId(), UUID.randomUUID()), generator));
 
         } catch (Exception e) {
@@ -93,4 +117,24 @@ public record SubCompiledGraphNodeAction<State extends AgentState>(
 
         return future;
     }
-}
\ No newline at end of file
+
+    /**
+     * Wraps the subgraph generator projecting its final state (i.e. the generator result) on the parent output keys
+     */
+    @SuppressWarnings("unchecked")
+    private <T> AsyncGenerator<T> projectOutput( AsyncGenerator<T> generator ) {
+        final var withResult = new AsyncGenerator.WithResult<>( generator );
+
+        return () -> {
+            final var data = withResult.next();
+
+            if( data.isDone() ) {
+                var result = withResult.resultValue().orElse(null);
+                if( result instanceof Map<?,?> subGraphState ) {
+                    return AsyncGenerator.Data.done( stateMapping.projectOutput( (Map<String,Object>) subGraphState ) );
+                }
+            }
+            return data;
+        };
+    }
+}
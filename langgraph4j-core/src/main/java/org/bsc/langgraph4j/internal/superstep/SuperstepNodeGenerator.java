@@ -0,0 +1,369 @@
+package org.bsc.langgraph4j.internal.superstep;
+
+import org.bsc.async.AsyncGenerator;
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.NodeOutput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.action.InterruptableAction;
+import org.bsc.langgraph4j.action.InterruptionMetadata;
+import org.bsc.langgraph4j.checkpoint.Checkpoint;
+import org.bsc.langgraph4j.internal.node.SubCompiledGraphNodeAction;
+import org.bsc.langgraph4j.lifecycle.ResourceAccounting;
+import org.bsc.langgraph4j.state.AgentState;
+import org.bsc.langgraph4j.tracing.Tracing;
+import org.bsc.langgraph4j.utils.TryFunction;
+import org.bsc.langgraph4j.utils.TrySupplier;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.internal.node.NodeActionWrapper.unwrap;
+
+/**
+ * Async Generator executing the graph in supersteps (see {@link CompiledGraph.ExecutionMode#SUPERSTEP}).
+ * <p>
+ * At each superstep the active nodes run concurrently on the superstep executor, each one on its own copy of the state.
+ * At the barrier their updates are merged into the state through the channel reducers, in the order the nodes have been
+ * triggered, so the result doesn't depend on the completion order; then the outgoing edges of the executed nodes are
+ * evaluated on the merged state to trigger the nodes of the next superstep.
+ * <p>
+ * An output is returned for each executed node, with the merged state of the superstep, and a checkpoint is stored for
+ * each superstep: its node id and next node id are the ids of the executed and triggered nodes, separated by
+ * {@value #NODE_IDS_SEPARATOR}, that therefore cannot be used in the node ids. Embedded generators (e.g. compiled subgraphs)
+ * are consumed within the superstep.
+ * <p>
+ * If a compiled subgraph is interrupted, the run is interrupted with the subgraph interruption and the superstep is not
+ * committed: the updates of its nodes are discarded and no checkpoint is stored. On resume the superstep runs again,
+ * the interrupted subgraphs resuming from their own checkpoints, as in the sequential execution.
+ * <p>
+ * A resume from the checkpoint of a superstep doesn't raise again the interruptions before the triggered nodes, as the
+ * sequential execution does. Therefore, after an interruption after a node, the triggered nodes run on resume even if
+ * they are configured to interrupt before. With {@link CompileConfig#interruptBeforeEdge()} instead, the run is
+ * interrupted before evaluating the edges of the superstep: on resume they are evaluated on the (eventually updated)
+ * state and checkpointed, then the interruptions before the triggered nodes are raised.
+ *
+ * @param <State> the type of the state of the graph
+ * @param <Output> the type of the output
+ */
+public class SuperstepNodeGenerator<State extends AgentState, Output extends NodeOutput<State>> extends CompiledGraph<State>.AsyncNodeGenerator<Output> {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(SuperstepNodeGenerator.class);
+
+    public static final String NODE_IDS_SEPARATOR = ",";
+
+    record NodeResult<S extends AgentState>( Map<String,Object> update, InterruptionMetadata<S> interruption ) {}
+
+    record NodeTask<S extends AgentState>( String nodeId, long start, ResourceAccounting.Accumulator accumulator, CompletableFuture<NodeResult<S>> result ) {}
+
+    // the nodes triggered for the next superstep, in trigger order
+    private Set<String> activeNodeIds = new LinkedHashSet<>();
+    // the outputs of the last superstep not yet returned
+    private final Deque<Output> pendingOutputs = new ArrayDeque<>();
+    private InterruptionMetadata<State> pendingInterruption;
+    // the nodes of the superstep interrupted before evaluating their edges, see CompileConfig#interruptBeforeEdge()
+    private Set<String> interruptedNodeIds;
+    // the subgraph nodes to resume in the first superstep after a resume
+    private final Set<String> resumeSubgraphNodeIds = new HashSet<>();
+    private boolean resumed;
+    private boolean completed;
+    private final CompiledGraph<State> graph;
+
+    public SuperstepNodeGenerator( CompiledGraph<State> graph, GraphInput input, RunnableConfig config ) {
+        graph.super( input, config );
+        this.graph = graph;
+        if( !START.equals( currentNodeId() ) ) {
+            // resume from the checkpoint of a superstep
+            if( INTERRUPT_AFTER.equals( pendingNodeId() ) ) {
+                interruptedNodeIds = parseNodeIds( takeResumeFrom().orElseThrow() );
+            }
+            else {
+                activeNodeIds = parseNodeIds( pendingNodeId() );
+                resumed = true;
+                // a single subgraph is resumed through the configuration of the run, as in the sequential execution
+                activeNodeIds.stream()
+                        .filter( nodeId -> unwrap( nodeAction( nodeId ) ) instanceof SubCompiledGraphNodeAction<?> subgraph &&
+                                            this.config.metadata( subgraph.resumeSubGraphId() ).isEmpty() )
+                        .forEach( resumeSubgraphNodeIds::add );
+            }
+        }
+    }
+
+    /**
+     * Joins the node ids, END is kept only if there isn't any other node
+     */
+    public static String formatNodeIds( Collection<String> nodeIds ) {
+        var result = nodeIds.stream()
+                .filter( nodeId -> !END.equals(nodeId) )
+                .collect( Collectors.joining( NODE_IDS_SEPARATOR ) );
+        return result.isEmpty() ? END : result;
+    }
+
+    public static Set<String> parseNodeIds( String nodeIds ) {
+        var result = new LinkedHashSet<String>();
+        if( nodeIds != null ) {
+            result.addAll( Arrays.asList( nodeIds.split( NODE_IDS_SEPARATOR ) ) );
+        }
+        return result;
+    }
+
+    private Executor superstepExecutor() {
+        return config.metadata( RunnableConfig.SUPERSTEP_EXECUTOR_METADATA_KEY )
+                .filter( value -> value instanceof Executor )
+                .map( Executor.class::cast )
+                .orElseGet( ForkJoinPool::commonPool );
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<NodeResult<State>> collectEmbedGenerator( Map<String,Object> partialState ) {
+        return partialState.entrySet().stream()
+                .filter( e -> e.getValue() instanceof AsyncGenerator )
+                .findFirst()
+                .map( generatorEntry -> {
+                    final var partialStateWithoutGenerator = partialState.entrySet().stream()
+                            .filter( e -> !Objects.equals( e.getKey(), generatorEntry.getKey() ) )
+                            .collect( Collectors.toMap( Map.Entry::getKey, Map.Entry::getValue ) );
+                    final var generator = new AsyncGenerator.WithResult<>( (AsyncGenerator<NodeOutput<State>>) generatorEntry.getValue() );
+                    return generator.collectAsync( new ArrayList<NodeOutput<State>>(), ArrayList::add )
+                            .thenApply( outputs -> {
+                                final var resultValue = generator.resultValue().orElse( null );
+                                // as in the sequential engine, the interruption of the generator interrupts the run
+                                if( resultValue instanceof InterruptionMetadata<?> interruption ) {
+                                    return new NodeResult<>( Map.of(), (InterruptionMetadata<State>) interruption );
+                                }
+                                // as in the sequential engine, a map returned by the generator is the update of the node
+                                if( resultValue instanceof Map<?,?> update ) {
+                                    return new NodeResult<State>( AgentState.updateState( partialStateWithoutGenerator, (Map<String,Object>) update, graph.stateGraph.getChannels() ), null );
+                                }
+                                Map<String,Object> result = partialStateWithoutGenerator;
+                                for( var output : outputs ) {
+                                    result = AgentState.updateState( result, output.state().data(), graph.stateGraph.getChannels() );
+                                }
+                                return new NodeResult<State>( result, null );
+                            });
+                })
+                .orElseGet( () -> completedFuture( new NodeResult<>( partialState, null ) ) );
+    }
+
+    /**
+     * Submits the execution of a node to the superstep executor, traced as child of the run span
+     */
+    private NodeTask<State> submitNode( String nodeId, AsyncNodeActionWithConfig<State> action, Executor executor ) throws Exception {
+        final var nodeState = cloneState( currentState, nodeId, config );
+        // an interrupted subgraph resumes from its own checkpoint
+        final var nodeConfig = ( resumeSubgraphNodeIds.remove( nodeId ) && unwrap( action ) instanceof SubCompiledGraphNodeAction<State> subgraph ) ?
+                RunnableConfig.builder( config ).addMetadata( subgraph.resumeSubGraphId(), true ).build() :
+                config;
+        final var nodeSpan = ( runSpan != null ) ?
+                runSpan.child( Tracing.NODE_SPAN ).setAttribute( Tracing.NODE_ID, nodeId ) :
+                null;
+        final var accumulator = resourceAccounting() ? new ResourceAccounting.Accumulator() : null;
+        // the executor thread isn't blocked waiting for an asynchronous action or an embedded generator
+        final TrySupplier<CompletableFuture<NodeResult<State>>,Exception> evaluation = () -> Tracing.withSpan( nodeSpan, () ->
+                applyAction( nodeId, action, nodeState, nodeConfig ).thenCompose( this::collectEmbedGenerator ) );
+        final long start = System.nanoTime();
+        final var result = CompletableFuture.supplyAsync( () -> {
+            try {
+                return ( accumulator == null ) ? evaluation.tryGet() : ResourceAccounting.measure( accumulator, evaluation );
+            }
+            catch( Exception ex ) {
+                throw ( ex instanceof CompletionException completion ) ? completion : new CompletionException( ex );
+            }
+        }, executor ).thenCompose( Function.identity() );
+        return new NodeTask<>( nodeId, start, accumulator, Tracing.endOnCompletion( nodeSpan, result ) );
+    }
+
+    /**
+     * Runs the active nodes, then merges their updates at the barrier, once all of them are completed
+     *
+     * @return the first output of the superstep, the others are queued, or the interruption of a subgraph
+     */
+    private CompletableFuture<Data<Output>> superstep( List<String> stepNodeIds ) throws Exception {
+        final var executor = superstepExecutor();
+
+        final var tasks = new ArrayList<NodeTask<State>>( stepNodeIds.size() );
+        for( var nodeId : stepNodeIds ) {
+            tasks.add( submitNode( nodeId, nodeAction( nodeId ), executor ) );
+        }
+        return CompletableFuture.allOf( tasks.stream().map( NodeTask::result ).toArray( CompletableFuture[]::new ) )
+                .thenApply( TryFunction.Try( ignored -> Tracing.withSpan( runSpan, () -> barrier( stepNodeIds, tasks ) ) ) );
+    }
+
+    /**
+     * Merges the updates of the nodes of a superstep and triggers the nodes of the next superstep
+     *
+     * @return the first output of the superstep, the others are queued, or the interruption of a subgraph
+     */
+    @SuppressWarnings("unchecked")
+    private Data<Output> barrier( List<String> stepNodeIds, List<NodeTask<State>> tasks ) throws Exception {
+        final var stepId = formatNodeIds( stepNodeIds );
+
+        for( var task : tasks ) {
+            if( task.accumulator() != null ) {
+                notifyNodeResourceUsage( task.nodeId(), task.start(), task.accumulator().usage() );
+            }
+        }
+
+        // the superstep is not committed, it runs again on resume
+        final var subgraphInterruption = tasks.stream()
+                .map( task -> task.result().join().interruption() )
+                .filter( Objects::nonNull )
+                .findFirst();
+        if( subgraphInterruption.isPresent() ) {
+            return interruption( subgraphInterruption.get() );
+        }
+
+        // BARRIER: the updates are applied in trigger order
+        for( var task : tasks ) {
+            currentState = mergeState( task.nodeId(), task.result().join().update() );
+        }
+
+        final boolean interruptBeforeEdge = graph.compileConfig.interruptBeforeEdge() &&
+                stepNodeIds.stream().anyMatch( graph.compileConfig.interruptsAfter()::contains );
+
+        setCurrentNodeId( stepId );
+        final Optional<Checkpoint> cp;
+        if( interruptBeforeEdge ) {
+            // the edges are evaluated on resume
+            activeNodeIds = new LinkedHashSet<>();
+            cp = addCheckpoint( config, stepId, currentState, INTERRUPT_AFTER );
+        }
+        else {
+            activeNodeIds = triggerNextNodes( stepNodeIds );
+            cp = addCheckpoint( config, stepId, currentState, formatNodeIds( activeNodeIds ) );
+        }
+
+        final var state = cloneState( currentState, stepId, config );
+        if( cp.isPresent() && config.streamMode() == CompiledGraph.StreamMode.SNAPSHOTS ) {
+            pendingOutputs.add( buildStateSnapshot( cp.get() ) );
+        }
+        else {
+            for( var nodeId : stepNodeIds ) {
+                pendingOutputs.add( (Output) NodeOutput.of( nodeId, state ) );
+            }
+        }
+
+        stepNodeIds.stream()
+                .filter( graph.compileConfig.interruptsAfter()::contains )
+                .findFirst()
+                .ifPresent( nodeId -> pendingInterruption = InterruptionMetadata.builder( nodeId, state ).build() );
+
+        return Data.of( pendingOutputs.poll() );
+    }
+
+    /**
+     * Evaluates the outgoing edges of the nodes of a superstep on the current state
+     *
+     * @return the nodes triggered for the next superstep
+     */
+    private Set<String> triggerNextNodes( List<String> stepNodeIds ) throws Exception {
+        final var triggered = new LinkedHashSet<String>();
+        for( var nodeId : stepNodeIds ) {
+            currentState = triggerNodes( nodeId, currentState, config, triggered );
+        }
+        return triggered;
+    }
+
+    @Override
+    protected Data<Output> nextData() {
+        try {
+            if( !pendingOutputs.isEmpty() ) {
+                return Data.of( pendingOutputs.poll() );
+            }
+
+            if( pendingInterruption != null ) {
+                final var metadata = pendingInterruption;
+                pendingInterruption = null;
+                return interruption( metadata );
+            }
+
+            if( completed ) {
+                return releaseThread()
+                        .map(Data::<Output>done)
+                        .orElseGet( () -> Data.done(currentState) );
+            }
+
+            if( START.equals( currentNodeId() ) ) {
+                activeNodeIds = new LinkedHashSet<>();
+                currentState = triggerNodes( START, currentState, config, activeNodeIds );
+
+                var cp = addCheckpoint( config, START, currentState, formatNodeIds( activeNodeIds ) );
+
+                var output = ( cp.isPresent() && config.streamMode() == CompiledGraph.StreamMode.SNAPSHOTS ) ?
+                        buildStateSnapshot( cp.get() ) :
+                        buildNodeOutput( START );
+
+                setCurrentNodeId( null );
+
+                return Data.of( output );
+            }
+
+            if( interruptedNodeIds != null ) {
+                final var stepNodeIds = List.copyOf( interruptedNodeIds );
+                interruptedNodeIds = null;
+                activeNodeIds = triggerNextNodes( stepNodeIds );
+                // a resume from an interruption before the triggered nodes starts from this checkpoint
+                addCheckpoint( config, formatNodeIds( stepNodeIds ), currentState, formatNodeIds( activeNodeIds ) );
+            }
+
+            activeNodeIds.remove( END );
+            if( activeNodeIds.isEmpty() ) {
+                completed = true;
+                return Data.of( buildNodeOutput( END ) );
+            }
+
+            // GUARD: CHECK MAX ITERATION REACHED
+            if( ++iteration > maxIterations() ) {
+                return Data.error( new IllegalStateException( format("Maximum number of iterations (%d) reached!", maxIterations())) );
+            }
+
+            final var stepNodeIds = List.copyOf( activeNodeIds );
+
+            // the interruptions before the nodes have been already raised on resume
+            if( !resumed ) {
+                var interruptBefore = stepNodeIds.stream()
+                        .filter( graph.compileConfig.interruptsBefore()::contains )
+                        .findFirst();
+                if( interruptBefore.isPresent() ) {
+                    return interruption( InterruptionMetadata.builder( interruptBefore.get(), cloneState( currentState, interruptBefore.get(), config ) ).build() );
+                }
+            }
+            resumed = false;
+
+            for( var nodeId : stepNodeIds ) {
+                var action = nodeAction( nodeId );
+
+                if( action == null ) {
+                    throw CompiledGraph.RunnableErrors.missingNode.exception( nodeId );
+                }
+
+                if( unwrap( action ) instanceof InterruptableAction<?> interruptable ) {
+                    @SuppressWarnings("unchecked")
+                    final var interruption = (InterruptableAction<State>) interruptable;
+                    final var interruptMetadata = interruption.interrupt( nodeId, cloneState( currentState, nodeId, config ) );
+                    if( interruptMetadata.isPresent() ) {
+                        return interruption( interruptMetadata.get() );
+                    }
+                }
+            }
+
+            // as for a sequential step, the output is returned once the superstep is completed
+            return superstep( stepNodeIds ).get();
+        }
+        catch( Exception e ) {
+            log.error( e.getMessage(), e );
+            notifyRunEnd( e );
+            return Data.error(e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A JDBC operation performed by a database backed checkpoint saver
+ */
+@Name("langgraph4j.CheckpointJdbc")
+@Label("Checkpoint JDBC")
+@Category({"LangGraph4j", "Checkpoint"})
+@Description("A JDBC operation performed by a database backed checkpoint saver")
+@StackTrace(false)
+public final class CheckpointJdbcEvent extends Event {
+    @Label("Saver")
+    public Class<?> saver;
+
+    @Label("Thread Id")
+    @Description("the graph thread id, as set in the runnable config")
+    public String threadId;
+
+    @Label("Operation")
+    @Description("load, insert, update or release")
+    public String operation;
+}
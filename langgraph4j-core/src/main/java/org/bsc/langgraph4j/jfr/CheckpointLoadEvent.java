@@ -0,0 +1,31 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The load of a checkpoint from the configured saver
+ */
+@Name("langgraph4j.CheckpointLoad")
+@Label("Checkpoint Load")
+@Category({"LangGraph4j", "Checkpoint"})
+@Description("The load of a checkpoint from the configured saver")
+@StackTrace(false)
+public final class CheckpointLoadEvent extends Event {
+    @Label("Saver")
+    public Class<?> saver;
+
+    @Label("Thread Id")
+    @Description("the graph thread id, as set in the runnable config")
+    public String threadId;
+
+    @Label("Checkpoint Id")
+    public String checkpointId;
+
+    @Label("Found")
+    public boolean found;
+
+    @Label("State Size")
+    @Description("the serialized size of the checkpoint state")
+    @DataAmount
+    public long stateSize;
+}
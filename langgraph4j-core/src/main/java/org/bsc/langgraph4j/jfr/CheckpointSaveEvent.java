@@ -0,0 +1,31 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The storage of a checkpoint in the configured saver
+ */
+@Name("langgraph4j.CheckpointSave")
+@Label("Checkpoint Save")
+@Category({"LangGraph4j", "Checkpoint"})
+@Description("The storage of a checkpoint in the configured saver")
+@StackTrace(false)
+public final class CheckpointSaveEvent extends Event {
+    @Label("Saver")
+    public Class<?> saver;
+
+    @Label("Thread Id")
+    @Description("the graph thread id, as set in the runnable config")
+    public String threadId;
+
+    @Label("Node Id")
+    public String nodeId;
+
+    @Label("Checkpoint Id")
+    public String checkpointId;
+
+    @Label("State Size")
+    @Description("the serialized size of the checkpoint state")
+    @DataAmount
+    public long stateSize;
+}
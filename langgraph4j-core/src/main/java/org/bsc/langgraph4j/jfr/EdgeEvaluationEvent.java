@@ -0,0 +1,23 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The evaluation of the outgoing edge of a node
+ */
+@Name("langgraph4j.EdgeEvaluation")
+@Label("Edge Evaluation")
+@Category({"LangGraph4j", "Graph"})
+@Description("The evaluation of the outgoing edge of a node")
+@StackTrace(false)
+public final class EdgeEvaluationEvent extends Event {
+    @Label("Source Id")
+    public String sourceId;
+
+    @Label("Target Id")
+    public String targetId;
+
+    @Label("Thread Id")
+    @Description("the graph thread id, as set in the runnable config")
+    public String threadId;
+}
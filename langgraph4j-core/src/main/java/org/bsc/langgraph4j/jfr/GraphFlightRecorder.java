@@ -0,0 +1,67 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.Configuration;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Utilities to record the LangGraph4j Java Flight Recorder events.
+ * <p>
+ * The {@code langgraph4j.jfc} settings profile shipped in this package enables all the LangGraph4j events
+ * with thresholds suitable for a continuous recording in production.
+ *
+ * <pre>
+ * try( var recording = new Recording( GraphFlightRecorder.settings("default") ) ) {
+ *     recording.start();
+ *     ...
+ * }
+ * </pre>
+ */
+public final class GraphFlightRecorder {
+
+    /**
+     * The classpath location of the LangGraph4j settings profile
+     */
+    public static final String SETTINGS_RESOURCE = "/org/bsc/langgraph4j/jfr/langgraph4j.jfc";
+
+    private GraphFlightRecorder() {}
+
+    /**
+     * Loads the LangGraph4j settings profile
+     *
+     * @return the JFR configuration
+     * @throws IOException if the profile cannot be read
+     * @throws ParseException if the profile is not valid
+     */
+    public static Configuration configuration() throws IOException, ParseException {
+        var stream = GraphFlightRecorder.class.getResourceAsStream(SETTINGS_RESOURCE);
+        if( stream == null ) {
+            throw new IOException( "resource not found: " + SETTINGS_RESOURCE );
+        }
+        try( var reader = new InputStreamReader(stream, StandardCharsets.UTF_8) ) {
+            return Configuration.create(reader);
+        }
+    }
+
+    /**
+     * Merges a predefined JDK configuration (e.g. {@code default} or {@code profile}) with the LangGraph4j settings
+     *
+     * @param jdkConfigurationName the name of the JDK configuration
+     * @return the merged settings, usable to create a {@link jdk.jfr.Recording}
+     * @throws IOException if a configuration cannot be read
+     * @throws ParseException if a configuration is not valid
+     */
+    public static Map<String,String> settings( String jdkConfigurationName ) throws IOException, ParseException {
+        requireNonNull( jdkConfigurationName, "jdkConfigurationName cannot be null" );
+        var result = new HashMap<>( Configuration.getConfiguration(jdkConfigurationName).getSettings() );
+        result.putAll( configuration().getSettings() );
+        return result;
+    }
+}
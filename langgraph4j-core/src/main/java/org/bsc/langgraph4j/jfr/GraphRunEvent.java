@@ -0,0 +1,21 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A graph run, from its start (or resume) until it completes, is interrupted or fails
+ */
+@Name("langgraph4j.GraphRun")
+@Label("Graph Run")
+@Category({"LangGraph4j", "Graph"})
+@Description("A graph run, from its start (or resume) until it completes, is interrupted or fails")
+@StackTrace(false)
+public final class GraphRunEvent extends Event {
+    @Label("Thread Id")
+    @Description("the graph thread id, as set in the runnable config")
+    public String threadId;
+
+    @Label("Outcome")
+    @Description("completed, interrupted or failed")
+    public String outcome;
+}
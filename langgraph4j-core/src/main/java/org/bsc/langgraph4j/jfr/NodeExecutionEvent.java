@@ -0,0 +1,23 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The execution of a node action
+ */
+@Name("langgraph4j.NodeExecution")
+@Label("Node Execution")
+@Category({"LangGraph4j", "Graph"})
+@Description("The execution of a node action")
+@StackTrace(false)
+public final class NodeExecutionEvent extends Event {
+    @Label("Node Id")
+    public String nodeId;
+
+    @Label("Thread Id")
+    @Description("the graph thread id, as set in the runnable config")
+    public String threadId;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,20 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The time spent by a thread waiting for the lock of a checkpoint saver
+ */
+@Name("langgraph4j.SaverLockWait")
+@Label("Saver Lock Wait")
+@Category({"LangGraph4j", "Checkpoint"})
+@Description("The time spent by a thread waiting for the lock of a checkpoint saver")
+@StackTrace(false)
+public final class SaverLockWaitEvent extends Event {
+    @Label("Saver")
+    public Class<?> saver;
+
+    @Label("Thread Id")
+    @Description("the graph thread id, as set in the runnable config")
+    public String threadId;
+}
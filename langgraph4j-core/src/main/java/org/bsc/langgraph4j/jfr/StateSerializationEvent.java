@@ -0,0 +1,27 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The clone of the state through the state serializer
+ */
+@Name("langgraph4j.StateSerialization")
+@Label("State Serialization")
+@Category({"LangGraph4j", "State"})
+@Description("The clone of the state through the state serializer")
+@StackTrace(false)
+public final class StateSerializationEvent extends Event {
+    @Label("Node Id")
+    public String nodeId;
+
+    @Label("Thread Id")
+    @Description("the graph thread id, as set in the runnable config")
+    public String threadId;
+
+    @Label("Serializer")
+    public Class<?> serializer;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+}
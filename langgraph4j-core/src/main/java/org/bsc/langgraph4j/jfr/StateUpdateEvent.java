@@ -0,0 +1,23 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The merge of a node partial state into the current state through the channels
+ */
+@Name("langgraph4j.StateUpdate")
+@Label("State Update")
+@Category({"LangGraph4j", "State"})
+@Description("The merge of a node partial state into the current state through the channels")
+@StackTrace(false)
+public final class StateUpdateEvent extends Event {
+    @Label("Node Id")
+    public String nodeId;
+
+    @Label("Thread Id")
+    @Description("the graph thread id, as set in the runnable config")
+    public String threadId;
+
+    @Label("Updated Keys")
+    public int updatedKeys;
+}
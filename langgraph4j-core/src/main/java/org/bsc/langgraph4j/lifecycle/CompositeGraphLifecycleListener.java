@@ -0,0 +1,105 @@
+package org.bsc.langgraph4j.lifecycle;
+
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleEvent.*;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Notifies a list of listeners in order, logging and ignoring their failures
+ */
+final class CompositeGraphLifecycleListener implements GraphLifecycleListener {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(CompositeGraphLifecycleListener.class);
+
+    private final GraphLifecycleListener[] listeners;
+
+    CompositeGraphLifecycleListener( List<GraphLifecycleListener> listeners ) {
+        this.listeners = listeners.toArray( new GraphLifecycleListener[0] );
+    }
+
+    private <E extends GraphLifecycleEvent> void notify( E event, BiConsumer<GraphLifecycleListener,E> method ) {
+        for( var listener : listeners ) {
+            try {
+                method.accept( listener, event );
+            }
+            catch( Throwable ex ) {
+                log.warn( "lifecycle listener '{}' failed on event {}", listener.getClass().getName(), event.getClass().getSimpleName(), ex );
+            }
+        }
+    }
+
+    @Override
+    public void onGraphStart(GraphStart event) {
+        notify( event, GraphLifecycleListener::onGraphStart );
+    }
+
+    @Override
+    public void onGraphEnd(GraphEnd event) {
+        notify( event, GraphLifecycleListener::onGraphEnd );
+    }
+
+    @Override
+    public void onNodeStart(NodeStart event) {
+        notify( event, GraphLifecycleListener::onNodeStart );
+    }
+
+    @Override
+    public void onNodeEnd(NodeEnd event) {
+        notify( event, GraphLifecycleListener::onNodeEnd );
+    }
+
+    @Override
+    public void onNodeError(NodeError event) {
+        notify( event, GraphLifecycleListener::onNodeError );
+    }
+
+    @Override
+    public void onStateUpdate(StateUpdate event) {
+        notify( event, GraphLifecycleListener::onStateUpdate );
+    }
+
+    @Override
+    public void onEdgeRouting(EdgeRouting event) {
+        notify( event, GraphLifecycleListener::onEdgeRouting );
+    }
+
+    @Override
+    public void onCheckpointPut(CheckpointPut event) {
+        notify( event, GraphLifecycleListener::onCheckpointPut );
+    }
+
+    @Override
+    public void onStateSerialization(StateSerialization event) {
+        notify( event, GraphLifecycleListener::onStateSerialization );
+    }
+
+    @Override
+    public void onParallelFanOut(ParallelFanOut event) {
+        notify( event, GraphLifecycleListener::onParallelFanOut );
+    }
+
+    @Override
+    public void onParallelBranch(ParallelBranch event) {
+        notify( event, GraphLifecycleListener::onParallelBranch );
+    }
+
+    @Override
+    public void onParallelJoin(ParallelJoin event) {
+        notify( event, GraphLifecycleListener::onParallelJoin );
+    }
+
+    @Override
+    public void onInterruption(Interruption event) {
+        notify( event, GraphLifecycleListener::onInterruption );
+    }
+
+    @Override
+    public void onNodeResourceUsage(NodeResourceUsage event) {
+        notify( event, GraphLifecycleListener::onNodeResourceUsage );
+    }
+
+    @Override
+    public void onRunResourceUsage(RunResourceUsage event) {
+        notify( event, GraphLifecycleListener::onRunResourceUsage );
+    }
+}
@@ -0,0 +1,118 @@
+package org.bsc.langgraph4j.lifecycle;
+
+import org.bsc.langgraph4j.RunnableConfig;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Structured events notified to a {@link GraphLifecycleListener} during the graph execution.
+ * <p>
+ * All the timestamps are taken by {@link System#nanoTime()} when the observed operation begins,
+ * so they can be compared only to each other within the same JVM. Durations are in nanoseconds.
+ */
+public sealed interface GraphLifecycleEvent {
+
+    /**
+     * the configuration of the run that produced the event
+     *
+     * @return the runnable config
+     */
+    RunnableConfig config();
+
+    /**
+     * the {@link System#nanoTime()} value taken when the observed operation begins
+     *
+     * @return the timestamp in nanoseconds
+     */
+    long timestamp();
+
+    /**
+     * A graph run (either a new execution or a resume) is started
+     */
+    record GraphStart( RunnableConfig config, long timestamp ) implements GraphLifecycleEvent {}
+
+    /**
+     * A graph run is ended, either completed, interrupted or failed
+     */
+    record GraphEnd( RunnableConfig config, long timestamp, long durationNanos, Throwable error ) implements GraphLifecycleEvent {
+        public Optional<Throwable> errorIfAny() {
+            return ofNullable(error);
+        }
+    }
+
+    /**
+     * A node action is going to be invoked
+     */
+    record NodeStart( String nodeId, RunnableConfig config, long timestamp ) implements GraphLifecycleEvent {}
+
+    /**
+     * A node action has completed. The duration covers only the action, state merge and routing are notified apart
+     */
+    record NodeEnd( String nodeId, RunnableConfig config, long timestamp, long durationNanos ) implements GraphLifecycleEvent {}
+
+    /**
+     * A node action has failed
+     */
+    record NodeError( String nodeId, RunnableConfig config, long timestamp, long durationNanos, Throwable error ) implements GraphLifecycleEvent {}
+
+    /**
+     * The partial state returned by a node has been merged into the current state through the channels.
+     * The given state is the live merged state: it must not be modified and it is valid only during the notification
+     */
+    record StateUpdate( String nodeId, RunnableConfig config, long timestamp, long durationNanos, Map<String,Object> state ) implements GraphLifecycleEvent {}
+
+    /**
+     * The outgoing edge of a node has been evaluated
+     */
+    record EdgeRouting( String sourceId, String targetId, RunnableConfig config, long timestamp, long durationNanos ) implements GraphLifecycleEvent {}
+
+    /**
+     * A checkpoint has been stored in the configured saver
+     */
+    record CheckpointPut( String nodeId, String checkpointId, RunnableConfig config, long timestamp, long durationNanos ) implements GraphLifecycleEvent {}
+
+    /**
+     * The state has been cloned through the state serializer
+     */
+    record StateSerialization( String nodeId, RunnableConfig config, long timestamp, long durationNanos ) implements GraphLifecycleEvent {}
+
+    /**
+     * A parallel node is going to run its branches
+     */
+    record ParallelFanOut( String nodeId, int branches, RunnableConfig config, long timestamp ) implements GraphLifecycleEvent {}
+
+    /**
+     * A branch of a parallel node has completed, either successfully or not. The branch id is the id of its target node
+     */
+    record ParallelBranch( String nodeId, String branchId, RunnableConfig config, long timestamp, long durationNanos, Throwable error ) implements GraphLifecycleEvent {
+        public Optional<Throwable> errorIfAny() {
+            return ofNullable(error);
+        }
+    }
+
+    /**
+     * All the branches of a parallel node have completed and their results have been joined
+     */
+    record ParallelJoin( String nodeId, int branches, RunnableConfig config, long timestamp, long durationNanos ) implements GraphLifecycleEvent {}
+
+    /**
+     * The graph execution has been interrupted
+     */
+    record Interruption( String nodeId, RunnableConfig config, long timestamp ) implements GraphLifecycleEvent {}
+
+    /**
+     * The CPU time and allocated bytes of a node execution, notified only if resource accounting is enabled.
+     * The timestamp is the one of the node start
+     */
+    record NodeResourceUsage( String nodeId, RunnableConfig config, long timestamp, ResourceUsage usage ) implements GraphLifecycleEvent {}
+
+    /**
+     * The CPU time and allocated bytes of a graph run, in total and by node, notified just before the {@link GraphEnd}
+     * event only if resource accounting is enabled. The timestamp is the one of the run start
+     */
+    record RunResourceUsage( RunnableConfig config, long timestamp, ResourceUsage usage, Map<String,ResourceUsage> usageByNode ) implements GraphLifecycleEvent {}
+
+}
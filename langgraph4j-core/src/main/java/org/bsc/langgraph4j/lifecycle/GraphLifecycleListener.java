@@ -0,0 +1,60 @@
+package org.bsc.langgraph4j.lifecycle;
+
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleEvent.*;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Listener notified about the graph execution lifecycle. It is registered on
+ * {@link org.bsc.langgraph4j.CompileConfig.Builder#lifecycleListener(GraphLifecycleListener)}.
+ * <p>
+ * All the methods have an empty default implementation, so only the events of interest need to be overridden.
+ * Listeners are invoked synchronously on the thread running the graph, thus they should return quickly.
+ * An exception thrown by a listener is logged and doesn't affect the graph execution.
+ * When no listener is registered the graph doesn't take any timestamp nor build any event.
+ */
+public interface GraphLifecycleListener {
+
+    default void onGraphStart( GraphStart event ) {}
+
+    default void onGraphEnd( GraphEnd event ) {}
+
+    default void onNodeStart( NodeStart event ) {}
+
+    default void onNodeEnd( NodeEnd event ) {}
+
+    default void onNodeError( NodeError event ) {}
+
+    default void onStateUpdate( StateUpdate event ) {}
+
+    default void onEdgeRouting( EdgeRouting event ) {}
+
+    default void onCheckpointPut( CheckpointPut event ) {}
+
+    default void onStateSerialization( StateSerialization event ) {}
+
+    default void onParallelFanOut( ParallelFanOut event ) {}
+
+    default void onParallelBranch( ParallelBranch event ) {}
+
+    default void onParallelJoin( ParallelJoin event ) {}
+
+    default void onInterruption( Interruption event ) {}
+
+    default void onNodeResourceUsage( NodeResourceUsage event ) {}
+
+    default void onRunResourceUsage( RunResourceUsage event ) {}
+
+    /**
+     * Combines the given listeners in a single one that notifies them in order, isolating their failures
+     *
+     * @param listeners the listeners to combine
+     * @return the composite listener
+     */
+    static GraphLifecycleListener compose( List<GraphLifecycleListener> listeners ) {
+        requireNonNull( listeners, "listeners cannot be null" );
+        return new CompositeGraphLifecycleListener( listeners );
+    }
+}
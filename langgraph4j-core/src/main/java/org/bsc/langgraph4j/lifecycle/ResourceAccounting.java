@@ -0,0 +1,136 @@
+package org.bsc.langgraph4j.lifecycle;
+
+import org.bsc.langgraph4j.utils.TrySupplier;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Accounts the thread CPU time and the allocated bytes of the graph nodes through the JVM {@code ThreadMXBean}.
+ * <p>
+ * It is enabled by {@link org.bsc.langgraph4j.CompileConfig.Builder#resourceAccounting(boolean)}: the work done by a node
+ * on the graph thread (state clone, action, state merge, routing and checkpoint) is measured into an {@link Accumulator},
+ * that is propagated to the branches of parallel nodes running on an executor. Node actions that continue their work on
+ * their own executors can propagate the accounting wrapping them through {@link #wrap(Executor)}.
+ * Work done on threads that are not reached by the propagation (e.g. the I/O threads of an HTTP client) is not accounted.
+ */
+public final class ResourceAccounting {
+
+    private static final java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean allocationBean =
+            ( threadBean instanceof com.sun.management.ThreadMXBean bean ) ? bean : null;
+
+    private static final ThreadLocal<Accumulator> current = new ThreadLocal<>();
+
+    private ResourceAccounting() {}
+
+    /**
+     * Collects the resource usage measured from many threads
+     */
+    public static final class Accumulator {
+        private final LongAdder cpuTimeNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        /**
+         * Returns the resource usage collected so far
+         *
+         * @return the resource usage
+         */
+        public ResourceUsage usage() {
+            return new ResourceUsage( cpuTimeNanos.sum(), allocatedBytes.sum() );
+        }
+    }
+
+    private static boolean isCpuTimeSupported() {
+        return threadBean.isCurrentThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled();
+    }
+
+    private static boolean isAllocationSupported() {
+        return allocationBean != null && allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Checks whether the JVM supports the measure of thread CPU time and allocated bytes
+     *
+     * @return true if both the measures are supported and enabled
+     */
+    public static boolean isSupported() {
+        return isCpuTimeSupported() && isAllocationSupported();
+    }
+
+    private static long cpuTime() {
+        return isCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : 0L;
+    }
+
+    private static long allocatedBytes() {
+        return isAllocationSupported() ? allocationBean.getCurrentThreadAllocatedBytes() : 0L;
+    }
+
+    /**
+     * Returns the accumulator the current thread is measuring into, if any
+     *
+     * @return the current accumulator or null
+     */
+    public static Accumulator current() {
+        return current.get();
+    }
+
+    /**
+     * Runs an action on the current thread measuring its resource usage into the given accumulator.
+     * If the current thread is already measuring into the same accumulator, the action is just run.
+     *
+     * @param accumulator the accumulator
+     * @param action the action to measure
+     * @return the action result
+     * @param <T> the result type
+     * @param <Ex> the action exception type
+     * @throws Ex if the action fails
+     */
+    public static <T, Ex extends Throwable> T measure( Accumulator accumulator, TrySupplier<T,Ex> action ) throws Ex {
+        requireNonNull( accumulator, "accumulator cannot be null" );
+        requireNonNull( action, "action cannot be null" );
+
+        final var previous = current.get();
+        if( previous == accumulator ) {
+            return action.tryGet();
+        }
+        current.set( accumulator );
+        final long cpuStart = cpuTime();
+        final long bytesStart = allocatedBytes();
+        try {
+            return action.tryGet();
+        }
+        finally {
+            accumulator.cpuTimeNanos.add( cpuTime() - cpuStart );
+            accumulator.allocatedBytes.add( allocatedBytes() - bytesStart );
+            if( previous == null ) {
+                current.remove();
+            }
+            else {
+                current.set( previous );
+            }
+        }
+    }
+
+    /**
+     * Wraps an executor so that each submitted task is accounted to the accumulator that is current when the task is submitted
+     *
+     * @param executor the executor to wrap
+     * @return the wrapped executor
+     */
+    public static Executor wrap( Executor executor ) {
+        requireNonNull( executor, "executor cannot be null" );
+        return task -> {
+            final var accumulator = current.get();
+            if( accumulator == null ) {
+                executor.execute( task );
+            }
+            else {
+                executor.execute( () -> measure( accumulator, () -> { task.run(); return null; } ) );
+            }
+        };
+    }
+}
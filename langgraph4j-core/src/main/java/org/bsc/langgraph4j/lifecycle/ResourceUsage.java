@@ -0,0 +1,23 @@
+package org.bsc.langgraph4j.lifecycle;
+
+/**
+ * CPU time and heap allocation consumed by a node or by a whole graph run
+ *
+ * @param cpuTimeNanos the thread CPU time in nanoseconds
+ * @param allocatedBytes the allocated heap bytes
+ * @see ResourceAccounting
+ */
+public record ResourceUsage( long cpuTimeNanos, long allocatedBytes ) {
+
+    public static final ResourceUsage ZERO = new ResourceUsage( 0L, 0L );
+
+    /**
+     * Sums two usages
+     *
+     * @param other the usage to add
+     * @return the total usage
+     */
+    public ResourceUsage plus( ResourceUsage other ) {
+        return new ResourceUsage( cpuTimeNanos + other.cpuTimeNanos, allocatedBytes + other.allocatedBytes );
+    }
+}
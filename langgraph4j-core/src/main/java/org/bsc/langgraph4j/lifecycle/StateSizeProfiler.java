@@ -0,0 +1,199 @@
+package org.bsc.langgraph4j.lifecycle;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleEvent.*;
+import org.bsc.langgraph4j.serializer.StateSerializer;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+import static org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver.THREAD_ID_DEFAULT;
+
+/**
+ * Listener that profiles the size of each state channel at every step of the graph execution.
+ * <p>
+ * After each state update, every channel (state key) is serialized apart through the given {@link StateSerializer}
+ * to measure its size in bytes, and its elements are counted (collection and map size, array length, 1 for a
+ * single value). The growth from the previous step of the same thread is reported too.
+ * The measured size includes the small constant overhead of serializing a single entry map.
+ *
+ * <pre>
+ * var profiler = new StateSizeProfiler( workflow.getStateSerializer(), profile -&gt;
+ *          log.info( "step {} node {} total {} bytes, largest {}", profile.step(), profile.nodeId(),
+ *                  profile.totalBytes(), profile.largest().orElse(null) ) );
+ *
+ * var app = workflow.compile( CompileConfig.builder().lifecycleListener( profiler ).build() );
+ * </pre>
+ * Profiling serializes the whole state at every step, so it is intended for development and troubleshooting.
+ * Runs are tracked by thread id, so concurrent runs should use different thread ids.
+ */
+public class StateSizeProfiler implements GraphLifecycleListener {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(StateSizeProfiler.class);
+
+    /**
+     * The size of a channel at a given step
+     *
+     * @param channel the channel name (state key)
+     * @param bytes the serialized size in bytes
+     * @param elements the number of elements
+     * @param bytesDelta the size growth from the previous step
+     * @param elementsDelta the elements growth from the previous step
+     */
+    public record ChannelSize( String channel, long bytes, int elements, long bytesDelta, int elementsDelta ) {}
+
+    /**
+     * The size of the state channels after a node update
+     *
+     * @param nodeId the node that updated the state
+     * @param step the step of the run, starting from 1
+     * @param config the configuration of the run
+     * @param channels the channel sizes, sorted by channel name
+     */
+    public record StateSizeProfile( String nodeId, int step, RunnableConfig config, Map<String,ChannelSize> channels ) {
+
+        /**
+         * Returns the sum of the channel sizes
+         *
+         * @return the total size in bytes
+         */
+        public long totalBytes() {
+            return channels.values().stream().mapToLong(ChannelSize::bytes).sum();
+        }
+
+        /**
+         * Returns the sum of the channel size growths
+         *
+         * @return the total growth in bytes
+         */
+        public long totalBytesDelta() {
+            return channels.values().stream().mapToLong(ChannelSize::bytesDelta).sum();
+        }
+
+        /**
+         * Returns the largest channel
+         *
+         * @return the largest channel, empty if the state is empty
+         */
+        public Optional<ChannelSize> largest() {
+            return channels.values().stream().max(Comparator.comparingLong(ChannelSize::bytes));
+        }
+    }
+
+    private static class RunProfile {
+        int step;
+        Map<String,ChannelSize> last = Map.of();
+    }
+
+    private final StateSerializer<?> stateSerializer;
+    private final Consumer<StateSizeProfile> reporter;
+    private final Map<String,RunProfile> runs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a profiler that logs the profiles at debug level
+     *
+     * @param stateSerializer the serializer used to measure the channels
+     */
+    public StateSizeProfiler( StateSerializer<?> stateSerializer ) {
+        this( stateSerializer, profile -> log.debug( "state size at step {} after node '{}': {} bytes (+{}) {}",
+                                            profile.step(), profile.nodeId(), profile.totalBytes(), profile.totalBytesDelta(), profile.channels().values() ) );
+    }
+
+    /**
+     * Creates a profiler
+     *
+     * @param stateSerializer the serializer used to measure the channels
+     * @param reporter the consumer of the profiles
+     */
+    public StateSizeProfiler( StateSerializer<?> stateSerializer, Consumer<StateSizeProfile> reporter ) {
+        this.stateSerializer = requireNonNull( stateSerializer, "stateSerializer cannot be null" );
+        this.reporter = requireNonNull( reporter, "reporter cannot be null" );
+    }
+
+    private static String threadIdOf( RunnableConfig config ) {
+        return config.threadId().orElse(THREAD_ID_DEFAULT);
+    }
+
+    static int elementsOf( Object value ) {
+        if( value == null ) {
+            return 0;
+        }
+        if( value instanceof Collection<?> collection ) {
+            return collection.size();
+        }
+        if( value instanceof Map<?,?> map ) {
+            return map.size();
+        }
+        if( value.getClass().isArray() ) {
+            return Array.getLength( value );
+        }
+        return 1;
+    }
+
+    /**
+     * Measures the channels of a state
+     *
+     * @param state the state to measure
+     * @param previous the channel sizes of the previous step
+     * @return the channel sizes, sorted by channel name
+     */
+    public Map<String,ChannelSize> measure( Map<String,Object> state, Map<String,ChannelSize> previous ) {
+        requireNonNull( state, "state cannot be null" );
+        requireNonNull( previous, "previous cannot be null" );
+
+        var result = new LinkedHashMap<String,ChannelSize>();
+        state.entrySet().stream()
+                .sorted( Map.Entry.comparingByKey() )
+                .forEach( entry -> {
+                    long bytes;
+                    try {
+                        bytes = stateSerializer.dataToBytes( Collections.singletonMap( entry.getKey(), entry.getValue() ) ).length;
+                    }
+                    catch( Exception ex ) {
+                        log.debug( "cannot serialize channel '{}'", entry.getKey(), ex );
+                        return;
+                    }
+                    int elements = elementsOf( entry.getValue() );
+                    var prev = previous.get( entry.getKey() );
+                    result.put( entry.getKey(), new ChannelSize( entry.getKey(),
+                            bytes,
+                            elements,
+                            ( prev == null ) ? bytes : bytes - prev.bytes(),
+                            ( prev == null ) ? elements : elements - prev.elements() ) );
+                });
+        return Collections.unmodifiableMap( result );
+    }
+
+    @Override
+    public void onGraphStart( GraphStart event ) {
+        runs.put( threadIdOf( event.config() ), new RunProfile() );
+    }
+
+    @Override
+    public void onGraphEnd( GraphEnd event ) {
+        runs.remove( threadIdOf( event.config() ) );
+    }
+
+    @Override
+    public void onStateUpdate( StateUpdate event ) {
+        if( event.state() == null ) {
+            return;
+        }
+        var run = runs.computeIfAbsent( threadIdOf( event.config() ), k -> new RunProfile() );
+        final StateSizeProfile profile;
+        synchronized ( run ) {
+            var channels = measure( event.state(), run.last );
+            run.last = channels;
+            profile = new StateSizeProfile( event.nodeId(), ++run.step, event.config(), channels );
+        }
+        reporter.accept( profile );
+    }
+
+}
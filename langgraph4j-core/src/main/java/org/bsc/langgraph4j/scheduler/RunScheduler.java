@@ -0,0 +1,375 @@
+package org.bsc.langgraph4j.scheduler;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+/**
+ * Schedules the steps (node executions) of all the runs of the graphs sharing it, bounding the number of steps
+ * in flight and sharing them fairly among the tenants.
+ * <p>
+ * The tenant of a run is the one set by {@link RunnableConfig.Builder#tenant(String)}, otherwise its thread id.
+ * When no slot is free the steps are queued without holding a thread: the step with the highest priority
+ * (see {@link RunnableConfig.Builder#priority(int)}) starts first, and steps of the same priority are started according to
+ * start-time fair queuing, so that each backlogged tenant gets a share of the slots proportional to its weight.
+ * A tenant running many runs at once cannot starve the others.
+ * <p>
+ * A node holding a slot must not wait synchronously for another run scheduled by the same scheduler,
+ * e.g. invoking a graph compiled with it, otherwise the runs may deadlock.
+ *
+ * <pre>
+ * var scheduler = RunScheduler.builder()
+ *                 .maxInFlight( 8 )
+ *                 .weight( "premium", 3 )
+ *                 .build();
+ *
+ * var app = workflow.compile( CompileConfig.builder()
+ *                 .scheduler( scheduler )
+ *                 .build() );
+ *
+ * app.invoke( input, RunnableConfig.builder()
+ *                 .threadId( "conversation-1" )
+ *                 .tenant( "premium" )
+ *                 .build() );
+ * </pre>
+ */
+public class RunScheduler {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(RunScheduler.class);
+
+    public static class Builder {
+        private String name = "scheduler";
+        private int maxInFlight = Runtime.getRuntime().availableProcessors();
+        private int defaultWeight = 1;
+        private final Map<String,Integer> weights = new HashMap<>();
+        private Executor executor;
+
+        public Builder name( String name ) {
+            this.name = requireNonNull( name, "name cannot be null" );
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of steps running at the same time. Default is the number of available processors
+         *
+         * @param maxInFlight the maximum number of steps in flight
+         * @return this builder
+         */
+        public Builder maxInFlight( int maxInFlight ) {
+            if( maxInFlight < 1 ) {
+                throw new IllegalArgumentException("maxInFlight must be greater than 0!");
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the weight of a tenant. The stats of the tenants with a weight are kept also while they are idle
+         *
+         * @param tenant the tenant
+         * @param weight the share of the slots of the tenant, relative to the other tenants
+         * @return this builder
+         */
+        public Builder weight( String tenant, int weight ) {
+            requireNonNull( tenant, "tenant cannot be null" );
+            if( weight < 1 ) {
+                throw new IllegalArgumentException("weight must be greater than 0!");
+            }
+            weights.put( tenant, weight );
+            return this;
+        }
+
+        /**
+         * Sets the weight of the tenants without an explicit weight. Default is 1
+         *
+         * @param defaultWeight the default weight
+         * @return this builder
+         */
+        public Builder defaultWeight( int defaultWeight ) {
+            if( defaultWeight < 1 ) {
+                throw new IllegalArgumentException("defaultWeight must be greater than 0!");
+            }
+            this.defaultWeight = defaultWeight;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Executor} starting the queued steps. If not set, the common {@link ForkJoinPool} is used.
+         * Steps that get a slot immediately run on the calling thread
+         *
+         * @param executor the executor starting the queued steps
+         * @return this builder
+         */
+        public Builder executor( Executor executor ) {
+            this.executor = requireNonNull( executor, "executor cannot be null" );
+            return this;
+        }
+
+        public RunScheduler build() {
+            return new RunScheduler( this );
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the tenant a run is accounted to
+     *
+     * @param config the config of the run
+     * @return the tenant of the run, otherwise its thread id, otherwise the default thread id
+     */
+    public static String tenantOf( RunnableConfig config ) {
+        requireNonNull( config, "config cannot be null" );
+        return config.tenant()
+                .or( config::threadId )
+                .orElse( BaseCheckpointSaver.THREAD_ID_DEFAULT );
+    }
+
+    /**
+     * Fair queuing state and counters of a tenant
+     */
+    private static final class Tenant {
+        final String name;
+        final double cost;
+        final boolean configured;
+        double lastFinish;
+        int queued;
+        int running;
+        long started;
+        long completed;
+        long totalQueueNanos;
+        long maxQueueNanos;
+
+        Tenant( String name, int weight, boolean configured ) {
+            this.name = name;
+            this.cost = 1.0 / weight;
+            this.configured = configured;
+        }
+
+        boolean isIdle() {
+            return queued == 0 && running == 0;
+        }
+
+        TenantStats stats() {
+            return new TenantStats( name,
+                    queued,
+                    running,
+                    started,
+                    completed,
+                    Duration.ofNanos( started == 0 ? 0 : totalQueueNanos / started ),
+                    Duration.ofNanos( maxQueueNanos ) );
+        }
+    }
+
+    private record Step( Tenant tenant,
+                         int priority,
+                         double startTag,
+                         long sequence,
+                         long enqueuedAt,
+                         Runnable start,
+                         Consumer<Throwable> fail ) {}
+
+    private final String name;
+    private final int maxInFlight;
+    private final int defaultWeight;
+    private final Map<String,Integer> weights;
+    private final Executor executor;
+
+    // guarded by this
+    private final Map<String,Tenant> tenants = new LinkedHashMap<>();
+    private final PriorityQueue<Step> queue = new PriorityQueue<>( ( a, b ) -> {
+        if( a.priority() != b.priority() ) {
+            return Integer.compare( b.priority(), a.priority() );
+        }
+        if( a.startTag() != b.startTag() ) {
+            return Double.compare( a.startTag(), b.startTag() );
+        }
+        return Long.compare( a.sequence(), b.sequence() );
+    });
+    private double virtualTime;
+    private long sequence;
+    private int inFlight;
+    private long started;
+    private long completed;
+    private long totalQueueNanos;
+    private long maxQueueNanos;
+
+    private RunScheduler( Builder builder ) {
+        this.name = builder.name;
+        this.maxInFlight = builder.maxInFlight;
+        this.defaultWeight = builder.defaultWeight;
+        this.weights = Map.copyOf( builder.weights );
+        this.executor = ( builder.executor != null ) ? builder.executor : ForkJoinPool.commonPool();
+        this.weights.forEach( ( tenant, weight ) -> tenants.put( tenant, new Tenant( tenant, weight, true ) ) );
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Runs a step of a run as soon as it gets a slot. The slot is held until the future returned by the step completes
+     *
+     * @param config the config of the run, giving the tenant and the priority of the step
+     * @param step supplies the asynchronous computation of the step
+     * @param <T> the type of the result
+     * @return a future completed with the result of the step
+     */
+    public <T> CompletableFuture<T> schedule( RunnableConfig config, Supplier<? extends CompletionStage<T>> step ) {
+        return schedule( tenantOf( config ), config.priority(), step );
+    }
+
+    /**
+     * Runs a step as soon as it gets a slot. The slot is held until the future returned by the step completes
+     *
+     * @param tenant the tenant the step is accounted to
+     * @param priority the priority of the step, steps with a higher priority start first
+     * @param step supplies the asynchronous computation of the step
+     * @param <T> the type of the result
+     * @return a future completed with the result of the step
+     */
+    public <T> CompletableFuture<T> schedule( String tenant, int priority, Supplier<? extends CompletionStage<T>> step ) {
+        requireNonNull( tenant, "tenant cannot be null" );
+        requireNonNull( step, "step cannot be null" );
+
+        final Tenant owner;
+        synchronized( this ) {
+            owner = tenants.computeIfAbsent( tenant, key -> new Tenant( key, defaultWeight, false ) );
+            // start-time fair queuing: a tenant is charged 1/weight of virtual time for each step
+            final var startTag = Math.max( virtualTime, owner.lastFinish );
+            owner.lastFinish = startTag + owner.cost;
+
+            if( !queue.isEmpty() || inFlight >= maxInFlight ) {
+                final var result = new CompletableFuture<T>();
+                ++owner.queued;
+                queue.add( new Step( owner, priority, startTag, sequence++, System.nanoTime(),
+                        () -> run( owner, step ).whenComplete( ( value, error ) -> {
+                            if( error != null ) {
+                                result.completeExceptionally( error );
+                            }
+                            else {
+                                result.complete( value );
+                            }
+                        }),
+                        result::completeExceptionally ) );
+                return result;
+            }
+            virtualTime = startTag;
+            acquire( owner, 0 );
+        }
+        return run( owner, step );
+    }
+
+    /**
+     * Returns a snapshot of the counters of the scheduler. The stats of a tenant without an explicit weight
+     * are discarded as soon as it has no step queued or running
+     *
+     * @return the scheduler stats
+     */
+    public synchronized SchedulerStats stats() {
+        final var tenantStats = new LinkedHashMap<String,TenantStats>();
+        tenants.values().forEach( tenant -> tenantStats.put( tenant.name, tenant.stats() ) );
+        return new SchedulerStats( name,
+                inFlight,
+                queue.size(),
+                started,
+                completed,
+                Duration.ofNanos( started == 0 ? 0 : totalQueueNanos / started ),
+                Duration.ofNanos( maxQueueNanos ),
+                Map.copyOf( tenantStats ) );
+    }
+
+    private <T> CompletableFuture<T> run( Tenant tenant, Supplier<? extends CompletionStage<T>> step ) {
+        CompletableFuture<T> future;
+        try {
+            future = step.get().toCompletableFuture();
+        }
+        catch( Throwable ex ) {
+            future = failedFuture( ex );
+        }
+        return future.whenComplete( ( value, error ) -> release( tenant ) );
+    }
+
+    // must be called holding the lock
+    private void acquire( Tenant tenant, long queueNanos ) {
+        ++inFlight;
+        ++started;
+        ++tenant.running;
+        ++tenant.started;
+        totalQueueNanos += queueNanos;
+        maxQueueNanos = Math.max( maxQueueNanos, queueNanos );
+        tenant.totalQueueNanos += queueNanos;
+        tenant.maxQueueNanos = Math.max( tenant.maxQueueNanos, queueNanos );
+    }
+
+    private void release( Tenant tenant ) {
+        synchronized( this ) {
+            --inFlight;
+            ++completed;
+            --tenant.running;
+            ++tenant.completed;
+            evictIfIdle( tenant );
+        }
+        drain();
+    }
+
+    // must be called holding the lock. An idle tenant is at most one step ahead of the virtual time,
+    // so forgetting its finish tag doesn't affect the fairness
+    private void evictIfIdle( Tenant tenant ) {
+        if( !tenant.configured && tenant.isIdle() ) {
+            tenants.remove( tenant.name );
+        }
+    }
+
+    /**
+     * Starts the queued steps that can get a slot
+     */
+    private void drain() {
+        final var now = System.nanoTime();
+        final List<Step> ready = new ArrayList<>();
+        synchronized( this ) {
+            while( !queue.isEmpty() && inFlight < maxInFlight ) {
+                var step = queue.poll();
+                virtualTime = Math.max( virtualTime, step.startTag() );
+                --step.tenant().queued;
+                acquire( step.tenant(), now - step.enqueuedAt() );
+                ready.add( step );
+            }
+        }
+        for( var step : ready ) {
+            try {
+                executor.execute( step.start() );
+            }
+            catch( RejectedExecutionException ex ) {
+                log.warn( "scheduler '{}' cannot start a queued step of tenant '{}'", name, step.tenant().name, ex );
+                step.fail().accept( ex );
+                release( step.tenant() );
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format( "RunScheduler{ name=%s, maxInFlight=%d, defaultWeight=%d, weights=%s }",
+                name, maxInFlight, defaultWeight, weights );
+    }
+}
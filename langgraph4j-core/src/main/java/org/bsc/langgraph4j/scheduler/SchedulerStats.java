@@ -0,0 +1,26 @@
+package org.bsc.langgraph4j.scheduler;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Snapshot of the counters of a {@link RunScheduler}
+ *
+ * @param name the name of the scheduler
+ * @param inFlight the number of steps currently running
+ * @param queueDepth the number of steps waiting for a slot
+ * @param started the number of steps started
+ * @param completed the number of steps completed, successfully or not
+ * @param averageQueueTime the average time a step waited for a slot
+ * @param maxQueueTime the maximum time a step waited for a slot
+ * @param tenants the stats of the tenants, by tenant
+ */
+public record SchedulerStats( String name,
+                              int inFlight,
+                              int queueDepth,
+                              long started,
+                              long completed,
+                              Duration averageQueueTime,
+                              Duration maxQueueTime,
+                              Map<String, TenantStats> tenants ) {
+}
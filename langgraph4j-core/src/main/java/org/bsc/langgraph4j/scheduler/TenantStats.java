@@ -0,0 +1,23 @@
+package org.bsc.langgraph4j.scheduler;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the counters of a tenant of a {@link RunScheduler}
+ *
+ * @param tenant the tenant
+ * @param queued the number of steps of the tenant waiting for a slot
+ * @param running the number of steps of the tenant currently running
+ * @param started the number of steps of the tenant started
+ * @param completed the number of steps of the tenant completed, successfully or not
+ * @param averageQueueTime the average time a step of the tenant waited for a slot
+ * @param maxQueueTime the maximum time a step of the tenant waited for a slot
+ */
+public record TenantStats( String tenant,
+                           int queued,
+                           int running,
+                           long started,
+                           long completed,
+                           Duration averageQueueTime,
+                           Duration maxQueueTime ) {
+}
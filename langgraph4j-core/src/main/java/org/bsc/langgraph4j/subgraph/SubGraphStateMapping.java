@@ -0,0 +1,165 @@
+package org.bsc.langgraph4j.subgraph;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Declares which state keys flow from the parent graph into a subgraph and back.
+ * <p>
+ * Input mappings associate a parent key to the subgraph key that receives its value,
+ * output mappings associate a subgraph key to the parent key that receives its value.
+ * If no input (or output) mapping is declared the whole state flows in (or out), as happens without a mapping.
+ *
+ * <pre>
+ * var mapping = SubGraphStateMapping.builder()
+ *                  .input( "messages" )
+ *                  .input( "query", "question" ) // parent 'query' -> subgraph 'question'
+ *                  .output( "answer", "research_result" ) // subgraph 'answer' -> parent 'research_result'
+ *                  .build();
+ *
+ * workflow.addNode( "research", researchSubGraph, mapping );
+ * </pre>
+ */
+public final class SubGraphStateMapping {
+
+    /**
+     * Mapping that doesn't restrict the state flowing in and out the subgraph
+     */
+    public static final SubGraphStateMapping ALL = new SubGraphStateMapping( null, null );
+
+    public static class Builder {
+        private Map<String,String> input;
+        private Map<String,String> output;
+
+        /**
+         * Passes the value of the parent key to the subgraph key with the same name
+         *
+         * @param key the state key
+         * @return the builder
+         */
+        public Builder input( String key ) {
+            return input( key, key );
+        }
+
+        /**
+         * Passes the value of the parent key to the given subgraph key
+         *
+         * @param parentKey the parent state key
+         * @param subGraphKey the subgraph state key
+         * @return the builder
+         */
+        public Builder input( String parentKey, String subGraphKey ) {
+            if( input == null ) {
+                input = new LinkedHashMap<>();
+            }
+            input.put( requireNonNull(parentKey, "parentKey cannot be null"),
+                    requireNonNull(subGraphKey, "subGraphKey cannot be null") );
+            return this;
+        }
+
+        /**
+         * Returns the value of the subgraph key to the parent key with the same name
+         *
+         * @param key the state key
+         * @return the builder
+         */
+        public Builder output( String key ) {
+            return output( key, key );
+        }
+
+        /**
+         * Returns the value of the subgraph key to the given parent key
+         *
+         * @param subGraphKey the subgraph state key
+         * @param parentKey the parent state key
+         * @return the builder
+         */
+        public Builder output( String subGraphKey, String parentKey ) {
+            if( output == null ) {
+                output = new LinkedHashMap<>();
+            }
+            output.put( requireNonNull(subGraphKey, "subGraphKey cannot be null"),
+                    requireNonNull(parentKey, "parentKey cannot be null") );
+            return this;
+        }
+
+        public SubGraphStateMapping build() {
+            return new SubGraphStateMapping( input, output );
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final Map<String,String> input;
+    private final Map<String,String> output;
+
+    private SubGraphStateMapping( Map<String,String> input, Map<String,String> output ) {
+        this.input = ( input == null ) ? null : Collections.unmodifiableMap( new LinkedHashMap<>(input) );
+        this.output = ( output == null ) ? null : Collections.unmodifiableMap( new LinkedHashMap<>(output) );
+    }
+
+    /**
+     * Returns the input mappings (parent key to subgraph key)
+     *
+     * @return the input mappings, empty if the whole state flows in
+     */
+    public Optional<Map<String,String>> input() {
+        return Optional.ofNullable(input);
+    }
+
+    /**
+     * Returns the output mappings (subgraph key to parent key)
+     *
+     * @return the output mappings, empty if the whole state flows out
+     */
+    public Optional<Map<String,String>> output() {
+        return Optional.ofNullable(output);
+    }
+
+    /**
+     * Projects the parent state on the subgraph input keys
+     *
+     * @param parentState the parent state
+     * @return the subgraph input
+     */
+    public Map<String,Object> projectInput( Map<String,Object> parentState ) {
+        return project( parentState, input );
+    }
+
+    /**
+     * Projects the subgraph state on the parent output keys
+     *
+     * @param subGraphState the subgraph state
+     * @return the update for the parent state
+     */
+    public Map<String,Object> projectOutput( Map<String,Object> subGraphState ) {
+        return project( subGraphState, output );
+    }
+
+    private static Map<String,Object> project( Map<String,Object> state, Map<String,String> mapping ) {
+        requireNonNull( state, "state cannot be null" );
+        if( mapping == null ) {
+            return state;
+        }
+        var result = new HashMap<String,Object>( mapping.size() );
+        for( var entry : mapping.entrySet() ) {
+            var value = state.get( entry.getKey() );
+            if( value != null ) {
+                result.put( entry.getValue(), value );
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SubGraphStateMapping{input=" + input + ", output=" + output + '}';
+    }
+}
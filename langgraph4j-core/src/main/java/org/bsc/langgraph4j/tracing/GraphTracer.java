@@ -0,0 +1,21 @@
+package org.bsc.langgraph4j.tracing;
+
+/**
+ * Creates the root spans of the graph runs. It is registered through
+ * {@link org.bsc.langgraph4j.CompileConfig.Builder#tracer(GraphTracer)}.
+ *
+ * @see Tracing
+ * @see InMemoryTracer
+ * @see OpenTelemetryTracer
+ */
+public interface GraphTracer {
+
+    /**
+     * Starts a span without a parent span. Implementations backed by a tracing system should link it
+     * to the context that is current in that system, if any.
+     *
+     * @param name the span name
+     * @return the started span
+     */
+    TraceSpan startSpan( String name );
+}
@@ -0,0 +1,150 @@
+package org.bsc.langgraph4j.tracing;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link GraphTracer} that keeps the ended spans in memory, useful to inspect the traces in tests.
+ */
+public class InMemoryTracer implements GraphTracer {
+
+    /**
+     * An ended span
+     *
+     * @param traceId the id of the trace the span belongs to
+     * @param spanId the span id
+     * @param parentSpanId the parent span id, null for root spans
+     * @param name the span name
+     * @param startNanos the {@link System#nanoTime()} value taken when the span was started
+     * @param endNanos the {@link System#nanoTime()} value taken when the span was ended
+     * @param attributes the span attributes
+     * @param error the recorded error, if any
+     */
+    public record SpanData( String traceId,
+                            String spanId,
+                            String parentSpanId,
+                            String name,
+                            long startNanos,
+                            long endNanos,
+                            Map<String,Object> attributes,
+                            Throwable error ) {
+
+        public long durationNanos() {
+            return endNanos - startNanos;
+        }
+
+        public Optional<Object> attribute( String key ) {
+            return Optional.ofNullable( attributes.get(key) );
+        }
+
+        public Optional<Throwable> errorIfAny() {
+            return Optional.ofNullable( error );
+        }
+    }
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Queue<SpanData> spans = new ConcurrentLinkedQueue<>();
+
+    private class Span implements TraceSpan {
+        final String traceId;
+        final String spanId;
+        final String parentSpanId;
+        final String name;
+        final long startNanos = System.nanoTime();
+        final Map<String,Object> attributes = new ConcurrentHashMap<>();
+        final AtomicBoolean ended = new AtomicBoolean();
+        volatile Throwable error;
+
+        Span( String traceId, String parentSpanId, String name ) {
+            this.traceId = traceId;
+            this.spanId = format( "%016x", ids.incrementAndGet() );
+            this.parentSpanId = parentSpanId;
+            this.name = requireNonNull( name, "name cannot be null" );
+        }
+
+        @Override
+        public TraceSpan child( String name ) {
+            return new Span( traceId, spanId, name );
+        }
+
+        @Override
+        public TraceSpan setAttribute( String key, String value ) {
+            if( value != null ) {
+                attributes.put( key, value );
+            }
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute( String key, long value ) {
+            attributes.put( key, value );
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute( String key, boolean value ) {
+            attributes.put( key, value );
+            return this;
+        }
+
+        @Override
+        public void recordError( Throwable error ) {
+            this.error = error;
+        }
+
+        @Override
+        public void end() {
+            if( ended.compareAndSet( false, true ) ) {
+                spans.add( new SpanData( traceId, spanId, parentSpanId, name, startNanos, System.nanoTime(),
+                        Map.copyOf( attributes ), error ) );
+            }
+        }
+    }
+
+    @Override
+    public TraceSpan startSpan( String name ) {
+        return new Span( UUID.randomUUID().toString(), null, name );
+    }
+
+    /**
+     * Returns the ended spans, in order of end
+     *
+     * @return the ended spans
+     */
+    public List<SpanData> spans() {
+        return List.copyOf( spans );
+    }
+
+    /**
+     * Returns the ended spans with the given name, in order of end
+     *
+     * @param name the span name
+     * @return the ended spans with the given name
+     */
+    public List<SpanData> spans( String name ) {
+        return spans.stream().filter( span -> span.name().equals(name) ).toList();
+    }
+
+    /**
+     * Returns the ended children of the given span, in order of end
+     *
+     * @param parent the parent span
+     * @return the ended children spans
+     */
+    public List<SpanData> children( SpanData parent ) {
+        return spans.stream().filter( span -> parent.spanId().equals( span.parentSpanId() ) ).toList();
+    }
+
+    /**
+     * Removes all the ended spans
+     */
+    public void clear() {
+        spans.clear();
+    }
+}
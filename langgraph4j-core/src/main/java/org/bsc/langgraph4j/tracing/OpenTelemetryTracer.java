@@ -0,0 +1,82 @@
+package org.bsc.langgraph4j.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link GraphTracer} that exports the spans through an OpenTelemetry {@link Tracer}.
+ * <p>
+ * Root spans are children of the OpenTelemetry current context, so a graph run joins the trace of the request
+ * that started it; spans made current by {@link Tracing} are also current in the OpenTelemetry context, so the
+ * instrumented clients used by the nodes propagate the trace to the called services.
+ * OpenTelemetry is an optional dependency: it must be provided by the application.
+ */
+public class OpenTelemetryTracer implements GraphTracer {
+
+    private final Tracer tracer;
+
+    public OpenTelemetryTracer( Tracer tracer ) {
+        this.tracer = requireNonNull( tracer, "tracer cannot be null" );
+    }
+
+    private class OpenTelemetrySpan implements TraceSpan {
+        final Span span;
+
+        OpenTelemetrySpan( Span span ) {
+            this.span = span;
+        }
+
+        @Override
+        public TraceSpan child( String name ) {
+            return new OpenTelemetrySpan( tracer.spanBuilder( name )
+                    .setParent( Context.current().with( span ) )
+                    .startSpan() );
+        }
+
+        @Override
+        public TraceSpan setAttribute( String key, String value ) {
+            span.setAttribute( key, value );
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute( String key, long value ) {
+            span.setAttribute( key, value );
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute( String key, boolean value ) {
+            span.setAttribute( key, value );
+            return this;
+        }
+
+        @Override
+        public void recordError( Throwable error ) {
+            span.recordException( error );
+            span.setStatus( StatusCode.ERROR );
+        }
+
+        @Override
+        public void end() {
+            span.end();
+        }
+
+        @Override
+        public Scope makeCurrent() {
+            final var scope = span.makeCurrent();
+            return scope::close;
+        }
+    }
+
+    @Override
+    public TraceSpan startSpan( String name ) {
+        return new OpenTelemetrySpan( tracer.spanBuilder( name )
+                .setParent( Context.current() )
+                .startSpan() );
+    }
+}
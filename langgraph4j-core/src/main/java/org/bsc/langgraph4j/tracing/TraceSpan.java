@@ -0,0 +1,77 @@
+package org.bsc.langgraph4j.tracing;
+
+/**
+ * A traced operation, created by a {@link GraphTracer} or as child of another span.
+ * <p>
+ * Implementations must be thread safe: a span can be ended on a thread different from the one that started it.
+ */
+public interface TraceSpan {
+
+    /**
+     * Scope of a span made current in the underlying tracing system
+     */
+    interface Scope extends AutoCloseable {
+
+        Scope NOOP = () -> {};
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Starts a child span of this span
+     *
+     * @param name the span name
+     * @return the started child span
+     */
+    TraceSpan child( String name );
+
+    /**
+     * Sets a string attribute
+     *
+     * @param key the attribute key
+     * @param value the attribute value
+     * @return this span
+     */
+    TraceSpan setAttribute( String key, String value );
+
+    /**
+     * Sets a numeric attribute
+     *
+     * @param key the attribute key
+     * @param value the attribute value
+     * @return this span
+     */
+    TraceSpan setAttribute( String key, long value );
+
+    /**
+     * Sets a boolean attribute
+     *
+     * @param key the attribute key
+     * @param value the attribute value
+     * @return this span
+     */
+    TraceSpan setAttribute( String key, boolean value );
+
+    /**
+     * Marks the span as failed
+     *
+     * @param error the error
+     */
+    void recordError( Throwable error );
+
+    /**
+     * Ends the span. Further calls are ignored
+     */
+    void end();
+
+    /**
+     * Makes this span current in the underlying tracing system, so that its instrumented libraries
+     * (e.g. HTTP clients) can propagate the trace context to other services
+     *
+     * @return the scope to close to restore the previous context
+     */
+    default Scope makeCurrent() {
+        return Scope.NOOP;
+    }
+}
@@ -0,0 +1,162 @@
+package org.bsc.langgraph4j.tracing;
+
+import org.bsc.langgraph4j.utils.TrySupplier;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps the span that is current on each thread and provides the helpers to trace operations as its children.
+ * <p>
+ * A compiled graph with a {@link GraphTracer} (or run while a span is current, e.g. as subgraph) creates
+ * a span for the run and makes it current while the graph steps are evaluated; each node is traced by a child
+ * span, that is current while the node action runs. The current span is propagated to the branches of parallel
+ * nodes; node actions that continue their work on their own executors can propagate it wrapping them
+ * through {@link #wrap(Executor)}.
+ * <p>
+ * All the helpers do nothing if no span is current, so instrumented code has no cost when tracing is disabled.
+ */
+public final class Tracing {
+
+    public static final String RUN_SPAN = "langgraph4j.run";
+    public static final String NODE_SPAN = "langgraph4j.node";
+    public static final String PARALLEL_BRANCH_SPAN = "langgraph4j.parallel.branch";
+    public static final String CHECKPOINT_SPAN = "langgraph4j.checkpoint";
+    public static final String TOOL_SPAN = "langgraph4j.tool";
+    public static final String MODEL_SPAN = "langgraph4j.model";
+
+    public static final String THREAD_ID = "langgraph4j.thread_id";
+    public static final String NODE_ID = "langgraph4j.node_id";
+    public static final String BRANCH_ID = "langgraph4j.branch_id";
+    public static final String CHECKPOINT_ID = "langgraph4j.checkpoint_id";
+    public static final String CHECKPOINT_OPERATION = "langgraph4j.checkpoint.operation";
+    public static final String TOOL_NAME = "langgraph4j.tool.name";
+    public static final String INTERRUPTED = "langgraph4j.interrupted";
+
+    private static final ThreadLocal<TraceSpan> current = new ThreadLocal<>();
+
+    private Tracing() {}
+
+    /**
+     * Returns the span that is current on this thread, if any
+     *
+     * @return the current span or null
+     */
+    public static TraceSpan current() {
+        return current.get();
+    }
+
+    /**
+     * Starts a child of the current span
+     *
+     * @param name the span name
+     * @return the started span, or null if no span is current
+     */
+    public static TraceSpan startSpan( String name ) {
+        final var parent = current.get();
+        return ( parent != null ) ? parent.child( name ) : null;
+    }
+
+    /**
+     * Runs an action with the given span as current span
+     *
+     * @param span the span, if null the action is just run
+     * @param action the action to run
+     * @return the action result
+     * @param <T> the result type
+     * @param <Ex> the action exception type
+     * @throws Ex if the action fails
+     */
+    public static <T, Ex extends Throwable> T withSpan( TraceSpan span, TrySupplier<T,Ex> action ) throws Ex {
+        requireNonNull( action, "action cannot be null" );
+        if( span == null ) {
+            return action.tryGet();
+        }
+        final var previous = current.get();
+        current.set( span );
+        try( var scope = span.makeCurrent() ) {
+            return action.tryGet();
+        }
+        finally {
+            if( previous == null ) {
+                current.remove();
+            }
+            else {
+                current.set( previous );
+            }
+        }
+    }
+
+    /**
+     * Traces an action as a child of the current span, recording its failure.
+     * If no span is current, the action is just run.
+     *
+     * @param name the span name
+     * @param attributes sets the span attributes
+     * @param action the action to trace
+     * @return the action result
+     * @param <T> the result type
+     * @param <Ex> the action exception type
+     * @throws Ex if the action fails
+     */
+    public static <T, Ex extends Throwable> T trace( String name, Consumer<TraceSpan> attributes, TrySupplier<T,Ex> action ) throws Ex {
+        final var span = startSpan( name );
+        if( span == null ) {
+            return action.tryGet();
+        }
+        attributes.accept( span );
+        try {
+            return withSpan( span, action );
+        }
+        catch( Throwable ex ) {
+            span.recordError( ex );
+            throw ex;
+        }
+        finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Ends the given span when the future completes, recording its failure
+     *
+     * @param span the span, if null the future is returned as is
+     * @param future the future of the traced operation
+     * @return a future completed as the given one after the span is ended
+     * @param <T> the result type
+     */
+    public static <T> CompletableFuture<T> endOnCompletion( TraceSpan span, CompletableFuture<T> future ) {
+        requireNonNull( future, "future cannot be null" );
+        if( span == null ) {
+            return future;
+        }
+        return future.whenComplete( ( result, error ) -> {
+            if( error != null ) {
+                span.recordError( error );
+            }
+            span.end();
+        });
+    }
+
+    /**
+     * Wraps an executor so that each submitted task runs with the span that is current when the task is submitted
+     *
+     * @param executor the executor to wrap
+     * @return the wrapped executor
+     */
+    public static Executor wrap( Executor executor ) {
+        requireNonNull( executor, "executor cannot be null" );
+        return task -> {
+            final var span = current.get();
+            if( span == null ) {
+                executor.execute( task );
+            }
+            else {
+                executor.execute( () -> withSpan( span, () -> { task.run(); return null; } ) );
+            }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package org.bsc.langgraph4j;
+
+import org.bsc.langgraph4j.checkpoint.Checkpoint;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesState;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.bsc.langgraph4j.state.StateSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckpointDurabilityTest {
+
+    /**
+     * Saver tracking the threads writing the checkpoints, optionally slow or failing
+     */
+    static class TrackingSaver extends MemorySaver {
+        final List<String> writers = Collections.synchronizedList( new ArrayList<>() );
+        final long delay;
+        final boolean fail;
+
+        TrackingSaver( long delay, boolean fail ) {
+            this.delay = delay;
+            this.fail = fail;
+        }
+
+        @Override
+        protected void insertedCheckpoint(RunnableConfig config, LinkedList<Checkpoint> checkpoints, Checkpoint checkpoint) throws Exception {
+            writers.add( Thread.currentThread().getName() );
+            Thread.sleep( delay );
+            if( fail ) {
+                throw new IllegalStateException( "write failed" );
+            }
+        }
+    }
+
+    static CompiledGraph<MessagesState<String>> app( TrackingSaver saver, CompiledGraph.Durability durability, String... interruptsBefore ) throws Exception {
+        return new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> Map.of( "messages", "A" ) ) )
+                .addNode("B", node_async( state -> Map.of( "messages", "B" ) ) )
+                .addNode("C", node_async( state -> Map.of( "messages", "C" ) ) )
+                .addEdge(START, "A")
+                .addEdge("A", "B")
+                .addEdge("B", "C")
+                .addEdge("C", END)
+                .compile( CompileConfig.builder()
+                        .checkpointSaver( saver )
+                        .interruptBefore( interruptsBefore )
+                        .durability( durability )
+                        .build() );
+    }
+
+    static List<String> history( CompiledGraph<MessagesState<String>> app, RunnableConfig config ) {
+        return app.getStateHistory( config ).stream()
+                .map( StateSnapshot::node )
+                .toList();
+    }
+
+    @Test
+    public void writeOnEachStepByDefault() throws Exception {
+        var saver = new TrackingSaver( 0, false );
+        var app = app( saver, CompileConfig.builder().build().durability() );
+        var config = RunnableConfig.builder().threadId( "sync" ).build();
+
+        app.invoke( GraphInput.args( Map.of() ), config );
+
+        assertEquals( List.of( "C", "B", "A", START ), history( app, config ) );
+        assertTrue( saver.writers.stream().allMatch( Thread.currentThread().getName()::equals ) );
+    }
+
+    @Test
+    public void writeInBackgroundInOrder() throws Exception {
+        var saver = new TrackingSaver( 20, false );
+        var app = app( saver, CompiledGraph.Durability.ASYNC );
+        var config = RunnableConfig.builder().threadId( "async" ).build();
+
+        var result = app.invoke( GraphInput.args( Map.of() ), config );
+        assertEquals( List.of( "A", "B", "C" ), result.orElseThrow().messages() );
+
+        // the run completes once all its checkpoints are written
+        assertEquals( 4, saver.writers.size() );
+        assertEquals( List.of( "C", "B", "A", START ), history( app, config ) );
+        assertTrue( saver.writers.stream().noneMatch( Thread.currentThread().getName()::equals ) );
+    }
+
+    @Test
+    public void writeOnlyOnExit() throws Exception {
+        var saver = new TrackingSaver( 0, false );
+        var app = app( saver, CompiledGraph.Durability.EXIT, "C" );
+        var config = RunnableConfig.builder().threadId( "exit" ).build();
+
+        app.invoke( GraphInput.args( Map.of() ), config );
+        // only the checkpoint of the interruption is written
+        assertEquals( List.of( "B" ), history( app, config ) );
+
+        var result = app.invoke( GraphInput.resume(), config );
+        assertEquals( List.of( "A", "B", "C" ), result.orElseThrow().messages() );
+        assertEquals( List.of( "C", "B" ), history( app, config ) );
+    }
+
+    @Test
+    public void reportFailedWritesOnExit() throws Exception {
+        var saver = new TrackingSaver( 0, true );
+        var app = app( saver, CompiledGraph.Durability.ASYNC );
+        var config = RunnableConfig.builder().threadId( "failure" ).build();
+
+        var exception = assertThrows( Exception.class, () -> app.invoke( GraphInput.args( Map.of() ), config ) );
+        Throwable cause = exception;
+        while( cause.getCause() != null ) {
+            cause = cause.getCause();
+        }
+        assertInstanceOf( IllegalStateException.class, cause );
+        assertEquals( "write failed", cause.getMessage() );
+    }
+
+    /**
+     * Consumes the first outputs of a run and abandons it
+     */
+    static String consume( CompiledGraph<MessagesState<String>> app, RunnableConfig config, int outputs ) {
+        var iterator = app.stream( GraphInput.args( Map.of() ), config ).iterator();
+        String node = null;
+        for( int i = 0; i < outputs; ++i ) {
+            node = iterator.next().node();
+        }
+        return node;
+    }
+
+    @Test
+    public void readPendingCheckpoint() throws Exception {
+        var saver = new TrackingSaver( 0, false );
+        var app = app( saver, CompiledGraph.Durability.EXIT );
+        var config = RunnableConfig.builder().threadId( "pending" ).build();
+
+        assertEquals( "A", consume( app, config, 2 ) );
+        // the checkpoint kept until the exit of the run, already past the last output, is written before reading the saver
+        assertEquals( List.of( "B" ), history( app, config ) );
+    }
+
+    @Test
+    public void writeCheckpointsOfAbandonedRun() throws Exception {
+        var saver = new TrackingSaver( 0, false );
+        var app = app( saver, CompiledGraph.Durability.EXIT );
+        var config = RunnableConfig.builder().threadId( "abandoned" ).build();
+
+        assertEquals( "A", consume( app, config, 2 ) );
+
+        // the generator is no longer reachable, its pending checkpoint is written once it is collected
+        var deadline = System.currentTimeMillis() + 10_000;
+        while( saver.list( config ).isEmpty() && System.currentTimeMillis() < deadline ) {
+            System.gc();
+            Thread.sleep( 50 );
+        }
+        assertEquals( List.of( "B" ), saver.list( config ).stream().map( Checkpoint::getNodeId ).toList() );
+    }
+}
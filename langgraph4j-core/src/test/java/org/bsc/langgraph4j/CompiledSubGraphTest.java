@@ -3,6 +3,7 @@ package org.bsc.langgraph4j;
 import org.bsc.async.AsyncGenerator;
 import org.bsc.langgraph4j.action.AsyncNodeAction;
 import org.bsc.langgraph4j.action.InterruptionMetadata;
+import org.bsc.langgraph4j.bulkhead.Bulkhead;
 import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
 import org.bsc.langgraph4j.checkpoint.MemorySaver;
 import org.bsc.langgraph4j.exception.SubGraphInterruptionException;
@@ -10,10 +11,12 @@ import org.bsc.langgraph4j.prebuilt.MessagesState;
 import org.bsc.langgraph4j.serializer.std.ObjectStreamStateSerializer;
 import org.bsc.langgraph4j.state.AgentState;
 import org.bsc.langgraph4j.subgraph.SubGraphOutput;
+import org.bsc.langgraph4j.subgraph.SubGraphStateMapping;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static java.lang.String.format;
 import static org.bsc.langgraph4j.StateGraph.END;
@@ -176,14 +179,26 @@ public class CompiledSubGraphTest {
 
     @Test
     public void testCompileSubGraphWithInterruptionSharingSaver() throws Exception {
-
         var saver = new MemorySaver();
 
-        var stateSerializer = new ObjectStreamStateSerializer<>(MyState::new);
+        compileSubGraphWithInterruptionSharingSaver( saver, CompileConfig.builder()
+                .checkpointSaver(saver)
+                .build() );
+    }
 
-        var compileConfig = CompileConfig.builder()
+    @Test
+    public void testCompileSubGraphWithInterruptionAndBulkhead() throws Exception {
+        var saver = new MemorySaver();
+
+        compileSubGraphWithInterruptionSharingSaver( saver, CompileConfig.builder()
                 .checkpointSaver(saver)
-                .build();
+                .bulkhead("NODE3", Bulkhead.builder().maxConcurrency(1).build())
+                .build() );
+    }
+
+    private void compileSubGraphWithInterruptionSharingSaver( BaseCheckpointSaver saver, CompileConfig compileConfig ) throws Exception {
+
+        var stateSerializer = new ObjectStreamStateSerializer<>(MyState::new);
 
         var subGraph = subGraph(saver); // create subgraph
 
@@ -363,4 +378,56 @@ public class CompiledSubGraphTest {
                 .reduce((a, b) -> b);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCompiledSubGraphWithStateMapping() throws Exception {
+
+        var saver = new MemorySaver();
+
+        var subGraph = new StateGraph<>(MyState.SCHEMA, MyState::new)
+                .addNode("research", node_async( state -> Map.of(
+                        "messages", "[research]",
+                        "answer", format("answer to %s", state.value("question").orElse("?")))))
+                .addEdge(START, "research")
+                .addEdge("research", END)
+                .compile( CompileConfig.builder().checkpointSaver(saver).build() );
+
+        var mapping = SubGraphStateMapping.builder()
+                .input("query", "question")
+                .output("answer", "result")
+                .build();
+
+        var parentGraph = new StateGraph<>(MyState.SCHEMA, MyState::new)
+                .addNode("NODE1", node_async( state -> Map.of(
+                        "messages", "[NODE1]",
+                        "query", "langgraph4j",
+                        "secret", "do not share" )))
+                .addNode("NODE2", subGraph, mapping)
+                .addNode("NODE3", _makeNode("NODE3"))
+                .addEdge(START, "NODE1")
+                .addEdge("NODE1", "NODE2")
+                .addEdge("NODE2", "NODE3")
+                .addEdge("NODE3", END)
+                .compile( CompileConfig.builder().checkpointSaver(saver).build() );
+
+        var runnableConfig = RunnableConfig.builder().threadId("mapping").build();
+
+        var state = parentGraph.invoke( GraphInput.args(Map.of()), runnableConfig ).orElseThrow();
+
+        assertEquals( List.of("[NODE1]", "[NODE3]"), state.messages() );
+        assertEquals( "answer to langgraph4j", state.value("result").orElseThrow() );
+        assertTrue( state.value("question").isEmpty() );
+        assertTrue( state.value("answer").isEmpty() );
+
+        // subgraph checkpoints contain only the subgraph own channels
+        var subGraphConfig = RunnableConfig.builder().threadId("mapping_subgraph_NODE2").build();
+        var subGraphCheckpoints = saver.list( subGraphConfig );
+        assertFalse( subGraphCheckpoints.isEmpty() );
+        for( var checkpoint : subGraphCheckpoints ) {
+            assertTrue( Set.of("messages", "question", "answer").containsAll( checkpoint.getState().keySet() ),
+                    () -> format("unexpected keys %s", checkpoint.getState().keySet()) );
+        }
+        var lastSubGraphState = subGraphCheckpoints.stream().findFirst().orElseThrow().getState();
+        assertEquals( List.of("[research]"), lastSubGraphState.get("messages") );
+    }
+}
@@ -0,0 +1,37 @@
+package org.bsc.langgraph4j;
+
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.action.InterruptableAction;
+import org.bsc.langgraph4j.action.InterruptionMetadata;
+import org.bsc.langgraph4j.prebuilt.MessagesState;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * Node action interrupting the graph until the "approved" message is in the state, counting its executions
+ */
+public class InterruptingAction implements AsyncNodeActionWithConfig<MessagesState<String>>, InterruptableAction<MessagesState<String>> {
+
+    public static final String APPROVED = "approved";
+
+    public final AtomicInteger executions = new AtomicInteger();
+
+    @Override
+    public CompletableFuture<Map<String, Object>> apply(MessagesState<String> state, RunnableConfig config) {
+        executions.incrementAndGet();
+        return completedFuture( Map.of( "messages", "executed" ) );
+    }
+
+    @Override
+    public Optional<InterruptionMetadata<MessagesState<String>>> interrupt(String nodeId, MessagesState<String> state) {
+        if( state.messages().contains( APPROVED ) ) {
+            return Optional.empty();
+        }
+        return Optional.of( InterruptionMetadata.builder( nodeId, state ).build() );
+    }
+}
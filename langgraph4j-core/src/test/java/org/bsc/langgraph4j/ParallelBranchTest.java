@@ -0,0 +1,197 @@
+package org.bsc.langgraph4j;
+
+import org.bsc.langgraph4j.action.AsyncNodeAction;
+import org.bsc.langgraph4j.action.Command;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesState;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncCommandAction.command_async;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelBranchTest {
+
+    static AsyncNodeAction<MessagesState<String>> append( String id ) {
+        return node_async( state -> Map.of( "messages", id ) );
+    }
+
+    @Test
+    public void runBranchesOfSeveralNodes() throws Exception {
+        var barrier = new CyclicBarrier( 2 );
+
+        // A → ( R1 → R2 → conditional(R3|J) ), ( S1 → J ) ; R3 → J
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", append("A"))
+                .addNode("R1", append("R1"))
+                .addNode("R2", node_async( state -> {
+                    // the branches run concurrently
+                    barrier.await( 5, TimeUnit.SECONDS );
+                    return Map.of( "messages", "R2" );
+                }))
+                .addNode("R3", append("R3"))
+                .addNode("S1", node_async( state -> {
+                    barrier.await( 5, TimeUnit.SECONDS );
+                    return Map.of( "messages", "S1" );
+                }))
+                .addNode("J", append("J"))
+                .addEdge(START, "A")
+                .addEdge("A", "R1")
+                .addEdge("A", "S1")
+                .addEdge("R1", "R2")
+                .addConditionalEdges("R2",
+                        command_async( (state, config) -> new Command( "next", Map.of( "messages", "R2->R3" ) ) ),
+                        Map.of( "next", "R3", "join", "J" ) )
+                .addEdge("R3", "J")
+                .addEdge("S1", "J")
+                .addEdge("J", END)
+                .compile();
+
+        var executor = Executors.newFixedThreadPool( 2 );
+        try {
+            var config = RunnableConfig.builder()
+                    .addParallelNodeExecutor( "A", executor )
+                    .build();
+
+            var result = app.invoke( GraphInput.args(Map.of()), config );
+            assertTrue( result.isPresent() );
+
+            // each branch is merged as a whole, in the order of the edges, including the updates of its edges
+            assertIterableEquals( List.of( "A", "R1", "R2", "R2->R3", "R3", "S1", "J" ), result.get().messages() );
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void joinAtNearestCommonNode() throws Exception {
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", append("A"))
+                .addNode("B1", append("B1"))
+                .addNode("B2", append("B2"))
+                .addNode("C1", append("C1"))
+                .addNode("J", append("J"))
+                .addNode("K", append("K"))
+                .addEdge(START, "A")
+                .addEdge("A", "B1")
+                .addEdge("A", "C1")
+                .addEdge("B1", "B2")
+                .addEdge("B2", "J")
+                .addEdge("C1", "J")
+                .addEdge("J", "K")
+                .addEdge("K", END)
+                .compile();
+
+        var nodes = app.stream( GraphInput.args(Map.of()), RunnableConfig.builder().build() )
+                .stream()
+                .map( NodeOutput::node )
+                .toList();
+
+        // J and K run once, after the join
+        assertEquals( 1, nodes.stream().filter( "J"::equals ).count() );
+        assertEquals( 1, nodes.stream().filter( "K"::equals ).count() );
+
+        var result = app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() );
+        assertTrue( result.isPresent() );
+        assertIterableEquals( List.of( "A", "B1", "B2", "C1", "J", "K" ), result.get().messages() );
+    }
+
+    @Test
+    public void subgraphWithParallelStartAndEnd() throws Exception {
+        var subGraph = new MessagesStateGraph<String>()
+                .addNode("X", append("X"))
+                .addNode("Y", append("Y"))
+                .addNode("Z", append("Z"))
+                .addEdge(START, "X")
+                .addEdge(START, "Y")
+                .addEdge("X", "Z")
+                .addEdge("Y", "Z")
+                .addEdge("Z", END);
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", append("A"))
+                .addNode("sub", subGraph)
+                .addNode("P1", append("P1"))
+                .addNode("P2", append("P2"))
+                .addNode("Q", append("Q"))
+                .addNode("R", append("R"))
+                .addEdge(START, "A")
+                .addEdge("A", "sub")
+                .addEdge("sub", "P1")
+                .addEdge("sub", "Q")
+                .addEdge("P1", "P2")
+                .addEdge("P2", "R")
+                .addEdge("Q", "R")
+                .addEdge("R", END)
+                .compile();
+
+        var result = app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() );
+        assertTrue( result.isPresent() );
+        assertIterableEquals( List.of( "A", "X", "Y", "Z", "P1", "P2", "Q", "R" ), result.get().messages() );
+    }
+
+    @Test
+    public void rejectInterruptionsWithinBranches() throws Exception {
+        var workflow = new MessagesStateGraph<String>()
+                .addNode("A", append("A"))
+                .addNode("B1", append("B1"))
+                .addNode("B2", append("B2"))
+                .addNode("C1", append("C1"))
+                .addNode("J", append("J"))
+                .addEdge(START, "A")
+                .addEdge("A", "B1")
+                .addEdge("A", "C1")
+                .addEdge("B1", "B2")
+                .addEdge("B2", "J")
+                .addEdge("C1", "J")
+                .addEdge("J", END);
+
+        var saver = new MemorySaver();
+
+        // the nodes following the first one of a branch run within the parallel node, so they cannot be interrupted
+        var exception = assertThrows( GraphStateException.class, () -> workflow.compile( CompileConfig.builder()
+                .checkpointSaver( saver )
+                .interruptBefore( "B2" )
+                .build() ) );
+        assertEquals( "node 'B2' cannot be interrupted, it follows the first node of the parallel branch from 'A'!", exception.getMessage() );
+
+        assertThrows( GraphStateException.class, () -> workflow.compile( CompileConfig.builder()
+                .checkpointSaver( saver )
+                .interruptAfter( "B2" )
+                .build() ) );
+
+        var interruptable = new MessagesStateGraph<String>()
+                .addNode("A", append("A"))
+                .addNode("B1", append("B1"))
+                .addNode("B2", new InterruptingAction())
+                .addNode("C1", append("C1"))
+                .addNode("J", append("J"))
+                .addEdge(START, "A")
+                .addEdge("A", "B1")
+                .addEdge("A", "C1")
+                .addEdge("B1", "B2")
+                .addEdge("B2", "J")
+                .addEdge("C1", "J")
+                .addEdge("J", END);
+
+        exception = assertThrows( GraphStateException.class, () -> interruptable.compile() );
+        assertEquals( "node 'B2' cannot be interrupted, it follows the first node of the parallel branch from 'A'!", exception.getMessage() );
+
+        // the interruptions outside the branch paths are allowed
+        workflow.compile( CompileConfig.builder()
+                .checkpointSaver( saver )
+                .interruptBefore( "J" )
+                .interruptAfter( "A" )
+                .build() );
+    }
+}
@@ -0,0 +1,215 @@
+package org.bsc.langgraph4j;
+
+import org.bsc.langgraph4j.action.Send;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.internal.node.SendNode;
+import org.bsc.langgraph4j.prebuilt.MessagesState;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.bsc.langgraph4j.action.AsyncSendAction.send_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SendTest {
+
+    static final List<String> ITEMS = List.of( "a", "b", "c", "d", "e", "f" );
+
+    /**
+     * split → send(worker × items) → reduce
+     * the workers complete in reverse order
+     */
+    static StateGraph<MessagesState<String>> workflow( int maxConcurrency ) throws Exception {
+        return new MessagesStateGraph<String>()
+                .addNode("split", node_async( state -> Map.of("messages", "split") ) )
+                .addNode("worker", node_async( state -> {
+                    var item = state.<String>value("item").orElseThrow();
+                    Thread.sleep( 10L * ( ITEMS.size() - ITEMS.indexOf(item) ) );
+                    return Map.of("messages", "done:" + item );
+                }))
+                .addNode("reduce", node_async( state -> Map.of("messages", "reduce") ) )
+                .addEdge(START, "split")
+                .addSendEdges("split",
+                        send_async( (state, config) -> ITEMS.stream()
+                                .map( item -> new Send( "worker", Map.of( "item", item ) ) )
+                                .toList() ),
+                        List.of("worker"),
+                        maxConcurrency )
+                .addEdge("worker", "reduce")
+                .addEdge("reduce", END);
+    }
+
+    static List<String> expectedMessages() {
+        var messages = new java.util.ArrayList<String>();
+        messages.add( "split" );
+        ITEMS.forEach( item -> messages.add( "done:" + item ) );
+        messages.add( "reduce" );
+        return messages;
+    }
+
+    @Test
+    public void mapReduceInSendOrder() throws Exception {
+        var app = workflow( ITEMS.size() ).compile();
+
+        var outputs = app.stream( GraphInput.args(Map.of()), RunnableConfig.builder().build() )
+                .stream()
+                .toList();
+
+        // the output of each dispatched node is streamed, with its own input
+        var workers = outputs.stream().filter( output -> output.node().equals("worker") ).toList();
+        assertEquals( ITEMS.size(), workers.size() );
+        for( var worker : workers ) {
+            var item = worker.state().<String>value("item").orElseThrow();
+            assertEquals( "done:" + item, worker.state().lastMessage().orElseThrow() );
+        }
+
+        // the results are reduced in the order of the sends, not of completion
+        var result = outputs.get( outputs.size() - 1 ).state();
+        assertIterableEquals( expectedMessages(), result.messages() );
+    }
+
+    @Test
+    public void boundConcurrency() throws Exception {
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("split", node_async( state -> Map.of() ) )
+                .addNode("worker", node_async( state -> {
+                    maxRunning.accumulateAndGet( running.incrementAndGet(), Math::max );
+                    Thread.sleep( 20 );
+                    running.decrementAndGet();
+                    return Map.of("messages", state.<String>value("item").orElseThrow() );
+                }))
+                .addEdge(START, "split")
+                .addSendEdges("split",
+                        send_async( (state, config) -> ITEMS.stream()
+                                .map( item -> new Send( "worker", Map.of( "item", item ) ) )
+                                .toList() ),
+                        List.of("worker"),
+                        2 )
+                .addEdge("worker", END)
+                .compile();
+
+        var executor = Executors.newFixedThreadPool( ITEMS.size() );
+        try {
+            var config = RunnableConfig.builder()
+                    .addParallelNodeExecutor( "split", executor )
+                    .build();
+            var result = app.invoke( GraphInput.args(Map.of()), config );
+            assertTrue( result.isPresent() );
+            assertIterableEquals( ITEMS, result.get().messages() );
+            assertEquals( 2, maxRunning.get() );
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void dispatchManyNodesOnCallerThread() throws Exception {
+        var sends = 10_000;
+        var executions = new AtomicInteger();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("split", node_async( state -> Map.of() ) )
+                .addNode("worker", node_async( state -> {
+                    executions.incrementAndGet();
+                    return Map.of();
+                }))
+                .addEdge(START, "split")
+                .addSendEdges("split",
+                        send_async( (state, config) -> IntStream.range( 0, sends )
+                                .mapToObj( i -> new Send( "worker", Map.of() ) )
+                                .toList() ),
+                        List.of("worker"),
+                        1 )
+                .addEdge("worker", END)
+                .compile();
+
+        // each dispatched node completes synchronously, the next one is launched without nesting the calls
+        var config = RunnableConfig.builder()
+                .addParallelNodeExecutor( "split", Runnable::run )
+                .build();
+        assertTrue( app.invoke( GraphInput.args(Map.of()), config ).isPresent() );
+        assertEquals( sends, executions.get() );
+    }
+
+    @Test
+    public void checkpointPartialProgress() throws Exception {
+        var app = workflow( 2 ).compile( CompileConfig.builder()
+                .checkpointSaver( new MemorySaver() )
+                .build() );
+
+        var config = RunnableConfig.builder().threadId( "T1" ).build();
+        var result = app.invoke( GraphInput.args(Map.of()), config );
+        assertTrue( result.isPresent() );
+
+        // a checkpoint is stored after each completed node but the last, that is joined into the send node one
+        var sendNodeId = SendNode.formatNodeId( "split" );
+        var progress = app.getStateHistory( config ).stream()
+                .filter( snapshot -> Objects.equals( snapshot.node(), sendNodeId ) && Objects.equals( snapshot.next(), sendNodeId ) )
+                .toList();
+        assertEquals( ITEMS.size() - 1, progress.size() );
+        var sizes = progress.stream().map( snapshot -> snapshot.state().messages().size() ).sorted().toList();
+        for( int i = 0; i < sizes.size(); ++i ) {
+            assertEquals( i + 2, sizes.get(i) );
+        }
+
+        var state = app.getState( config );
+        assertIterableEquals( expectedMessages(), state.state().messages() );
+    }
+
+    @Test
+    public void mapReduceInSupersteps() throws Exception {
+        var app = workflow( 3 ).compile( CompileConfig.builder()
+                .executionMode( CompiledGraph.ExecutionMode.SUPERSTEP )
+                .build() );
+
+        var result = app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() );
+        assertTrue( result.isPresent() );
+        assertIterableEquals( expectedMessages(), result.get().messages() );
+    }
+
+    @Test
+    public void validateSendEdges() throws Exception {
+        var graph = new MessagesStateGraph<String>()
+                .addNode("split", node_async( state -> Map.of() ) )
+                .addNode("w1", node_async( state -> Map.of() ) )
+                .addNode("w2", node_async( state -> Map.of() ) )
+                .addEdge(START, "split")
+                .addSendEdges("split",
+                        send_async( (state, config) -> List.of( new Send( "w3", Map.of() ) ) ),
+                        List.of("w1", "w2") )
+                .addEdge("w1", END);
+
+        assertThrows( GraphStateException.class, () -> graph.addSendEdges("split",
+                send_async( (state, config) -> List.of() ), List.of("w1") ) );
+        assertThrows( GraphStateException.class, () -> graph.addSendEdges("w1",
+                send_async( (state, config) -> List.of() ), List.of(END) ) );
+
+        // the dispatched nodes must join into the same node
+        assertThrows( GraphStateException.class, graph::compile );
+
+        graph.addEdge("w2", END);
+        var app = graph.compile();
+
+        // a node not declared by the edge cannot be dispatched
+        var exception = assertThrows( Exception.class, () -> app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() ) );
+        Throwable cause = exception;
+        while( cause != null && !(cause instanceof IllegalArgumentException) ) {
+            cause = cause.getCause();
+        }
+        assertNotNull( cause );
+    }
+
+}
@@ -448,7 +448,8 @@ public class StateGraphTest {
                 Map.of("next", "A2")));
         assertEquals("conditional edge from 'A' already exist!", exception.getMessage());
 
-        var noConditionalEdgeOnBranch = new StateGraph<>(State.SCHEMA, State::new)
+        // the branches can have conditional edges
+        var conditionalEdgeOnBranch = new StateGraph<>(State.SCHEMA, State::new)
                 .addNode("A", makeNode("A"))
                 .addNode("A1", makeNode("A1"))
                 .addNode("A2", makeNode("A2"))
@@ -467,8 +468,9 @@ public class StateGraphTest {
                 .addEdge(START, "A")
                 .addEdge("C", END);
 
-        exception = assertThrows(GraphStateException.class, noConditionalEdgeOnBranch::compile);
-        assertEquals("parallel node doesn't support conditional branch, but on [A] a conditional branch on [A3] have been found!", exception.getMessage());
+        var result = conditionalEdgeOnBranch.compile().invoke(Map.of());
+        assertTrue(result.isPresent());
+        assertIterableEquals(List.of("A", "A1", "A2", "A3", "B", "C"), result.get().messages());
 
         var noDuplicateTarget = new StateGraph<>(State.SCHEMA, State::new)
                 .addNode("A", makeNode("A"))
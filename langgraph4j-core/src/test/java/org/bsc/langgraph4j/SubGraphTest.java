@@ -2,6 +2,8 @@ package org.bsc.langgraph4j;
 
 import org.bsc.langgraph4j.action.AsyncNodeAction;
 import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.internal.edge.Edge;
+import org.bsc.langgraph4j.internal.edge.EdgeValue;
 import org.bsc.langgraph4j.prebuilt.MessagesState;
 import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
 import org.junit.jupiter.api.BeforeAll;
@@ -576,4 +578,131 @@ public class SubGraphTest {
 
     }
 
+
+    /**
+     * Builds a parent graph made of a chain of sequential subgraphs, each one a chain of nodes
+     */
+    private MessagesStateGraph<String> _makeSequentialSubgraphs( int subgraphCount, int nodesPerSubgraph ) throws Exception {
+        var workflowParent = new MessagesStateGraph<String>();
+        var previous = START;
+        for( int i = 0; i < subgraphCount; ++i ) {
+            var workflowChild = new MessagesStateGraph<String>();
+            var previousChild = START;
+            for( int j = 0; j < nodesPerSubgraph; ++j ) {
+                var childId = "N" + j;
+                workflowChild.addNode( childId, _makeNode(childId) )
+                            .addEdge( previousChild, childId );
+                previousChild = childId;
+            }
+            workflowChild.addEdge( previousChild, END );
+
+            var id = "S" + i;
+            workflowParent.addNode( id, workflowChild )
+                        .addEdge( previous, id );
+            previous = id;
+        }
+        workflowParent.addEdge( previous, END );
+        return workflowParent;
+    }
+
+    @Test
+    public void testCompileLargeGraphWithSubgraphs() throws Exception {
+        final int subgraphCount = 100;
+        final int nodesPerSubgraph = 10;
+
+        // 100 sequential (not nested) subgraphs
+        var workflowParent = _makeSequentialSubgraphs( subgraphCount, nodesPerSubgraph );
+
+        var processed = ProcessedNodesEdgesAndConfig.process( workflowParent, CompileConfig.builder().build() );
+        assertEquals( subgraphCount * nodesPerSubgraph, processed.nodes().elements.size() );
+        assertEquals( subgraphCount * nodesPerSubgraph + 1, processed.edges().elements.size() );
+        assertTrue( processed.nodes().anyMatchById( SubGraphNode.formatId( "S50", "N5") ) );
+        assertEquals( SubGraphNode.formatId( "S1", "N0"),
+                processed.edges().edgeBySourceId( SubGraphNode.formatId( "S0", "N9") ).orElseThrow().target().id() );
+
+        // the compile time vs the number of subgraphs is measured by GraphCompileBenchmark.compileWithSubgraphs
+
+        var app = workflowParent.compile();
+        app.setMaxIterations( subgraphCount * nodesPerSubgraph * 2 );
+        var result = app.stream( GraphInput.args(Map.of()), RunnableConfig.builder().build() )
+                        .stream()
+                        .map(NodeOutput::node)
+                        .toList();
+        assertEquals( subgraphCount * nodesPerSubgraph + 2, result.size() );
+        assertEquals( SubGraphNode.formatId( "S99", "N9"), result.get( result.size() - 2 ) );
+    }
+
+    @Test
+    public void testEdgesIndex() throws Exception {
+        var edges = new StateGraph.Edges<MessagesState<String>>();
+        edges.elements.add( new Edge<>( "A", new EdgeValue<>("B") ) );
+        edges.elements.add( new Edge<>( "B", new EdgeValue<>("C") ) );
+        edges.elements.add( new Edge<>( "C", new EdgeValue<>("B") ) );
+
+        assertEquals( List.of("A","C"), edges.edgesByTargetId("B").stream().map(Edge::sourceId).toList() );
+        assertEquals( 1, edges.elements.indexOf( new Edge<>("B") ) );
+
+        edges.replace( new Edge<>( "A", new EdgeValue<>("C") ) );
+        assertEquals( List.of("C"), edges.edgesByTargetId("B").stream().map(Edge::sourceId).toList() );
+        assertEquals( List.of("A","B"), edges.edgesByTargetId("C").stream().map(Edge::sourceId).toList() );
+        assertEquals( "A", edges.elements.get(0).sourceId() );
+
+        var iterator = edges.elements.iterator();
+        iterator.next();
+        iterator.remove();
+        assertFalse( edges.edgeBySourceId("A").isPresent() );
+        assertEquals( List.of("B"), edges.edgesByTargetId("C").stream().map(Edge::sourceId).toList() );
+        assertEquals( 2, edges.elements.size() );
+
+        // positional access skips the removed edges
+        edges.elements.add( new Edge<>( "D", new EdgeValue<>("A") ) );
+        edges.elements.remove( new Edge<>("C") );
+        assertEquals( List.of("B","D"), edges.elements.stream().map(Edge::sourceId).toList() );
+        assertEquals( "D", edges.elements.get(1).sourceId() );
+        assertEquals( 1, edges.elements.indexOf( new Edge<>("D") ) );
+        assertEquals( -1, edges.elements.indexOf( new Edge<>("C") ) );
+        assertThrows( IndexOutOfBoundsException.class, () -> edges.elements.get(2) );
+        assertEquals( "B", edges.elements.set( 0, new Edge<>( "B", new EdgeValue<>("D") ) ).sourceId() );
+        assertEquals( List.of("B"), edges.edgesByTargetId("D").stream().map(Edge::sourceId).toList() );
+
+        // as a list, the edges can have the same source id: the lookups return the first one
+        assertTrue( edges.elements.add( new Edge<>( "B", new EdgeValue<>("A") ) ) );
+        assertEquals( 3, edges.elements.size() );
+        assertEquals( "D", edges.edgeBySourceId("B").orElseThrow().target().id() );
+        assertEquals( 0, edges.elements.indexOf( new Edge<>("B") ) );
+        assertEquals( 2, edges.elements.lastIndexOf( new Edge<>("B") ) );
+        assertEquals( List.of("D","B"), edges.edgesByTargetId("A").stream().map(Edge::sourceId).toList() );
+        edges.elements.remove( new Edge<>("B") );
+        assertEquals( "A", edges.edgeBySourceId("B").orElseThrow().target().id() );
+
+        // an iteration goes on after a compaction by a positional access
+        edges.elements.add( new Edge<>( "E", new EdgeValue<>("A") ) );
+        var sourceIds = new ArrayList<String>();
+        iterator = edges.elements.iterator();
+        while( iterator.hasNext() ) {
+            var edge = iterator.next();
+            sourceIds.add( edge.sourceId() );
+            if( edge.sourceId().equals("D") ) {
+                iterator.remove();
+                assertEquals( "B", edges.elements.get(0).sourceId() );
+            }
+        }
+        assertEquals( List.of("D","B","E"), sourceIds );
+        assertEquals( List.of("B","E"), edges.elements.stream().map(Edge::sourceId).toList() );
+    }
+
+    @Test
+    public void testRejectDuplicateConditionalEdges() throws Exception {
+        var workflow = new MessagesStateGraph<String>()
+                .addNode("A", _makeNode("A"))
+                .addNode("B", _makeNode("B"))
+                .addEdge(START, "A")
+                .addConditionalEdges("A", edge_async( state -> "B" ), Map.of( "B", "B" ) );
+
+        // the graph rejects the duplicates, not the edge list
+        var exception = assertThrows( GraphStateException.class,
+                () -> workflow.addConditionalEdges("A", edge_async( state -> END ), Map.of( END, END ) ) );
+        assertEquals( "conditional edge from 'A' already exist!", exception.getMessage() );
+    }
+
 }
@@ -0,0 +1,327 @@
+package org.bsc.langgraph4j;
+
+import org.bsc.async.AsyncGenerator;
+import org.bsc.langgraph4j.action.AsyncNodeAction;
+import org.bsc.langgraph4j.action.InterruptionMetadata;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesState;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.bsc.langgraph4j.state.StateSnapshot;
+import org.bsc.langgraph4j.utils.EdgeMappings;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncEdgeAction.edge_async;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SuperstepTest {
+
+    static AsyncNodeAction<MessagesState<String>> append( String id ) {
+        return node_async( state -> Map.of( "messages", id ) );
+    }
+
+    static AsyncNodeAction<MessagesState<String>> appendAfter( String id, long millis ) {
+        return node_async( state -> {
+            Thread.sleep( millis );
+            return Map.of( "messages", id );
+        });
+    }
+
+    /**
+     * A → (B1 → B2), C ; B2 → conditional(D|END) ; C → D
+     * the branches have different lengths and a conditional edge
+     */
+    static StateGraph<MessagesState<String>> workflow() throws Exception {
+        return new MessagesStateGraph<String>()
+                .addNode("A", append("A"))
+                .addNode("B1", appendAfter("B1", 100))
+                .addNode("B2", append("B2"))
+                .addNode("C", append("C"))
+                .addNode("D", append("D"))
+                .addEdge(START, "A")
+                .addEdge("A", "B1")
+                .addEdge("A", "C")
+                .addEdge("B1", "B2")
+                .addConditionalEdges("B2",
+                        edge_async( state -> state.messages().contains("C") ? "D" : END ),
+                        EdgeMappings.builder().to("D").toEND().build())
+                .addEdge("C", "D")
+                .addEdge("D", END);
+    }
+
+    static CompileConfig.Builder superstep() {
+        return CompileConfig.builder().executionMode( CompiledGraph.ExecutionMode.SUPERSTEP );
+    }
+
+    @Test
+    public void runBranchesInSupersteps() throws Exception {
+        // the sequential engine runs each branch on its own state, so B2 doesn't see C and routes to END
+        var sequential = workflow().compile().invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() );
+        assertTrue( sequential.isPresent() );
+        assertIterableEquals( List.of( "A", "B1", "B2", "C", "D" ), sequential.get().messages() );
+
+        var app = workflow().compile( superstep().build() );
+
+        var outputs = app.stream( GraphInput.args(Map.of()), RunnableConfig.builder().build() )
+                .stream()
+                .toList();
+
+        assertIterableEquals( List.of( START, "A", "B1", "C", "B2", "D", "D", END ),
+                outputs.stream().map( NodeOutput::node ).toList() );
+
+        // updates are merged in trigger order, even if B1 completes after C
+        // D is triggered twice, in different supersteps, but the messages channel drops duplicates
+        var result = outputs.get( outputs.size() - 1 ).state();
+        assertIterableEquals( List.of( "A", "B1", "C", "B2", "D" ), result.messages() );
+    }
+
+    @Test
+    public void runNodesOfSuperstepConcurrently() throws Exception {
+        var barrier = new CyclicBarrier( 3 );
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", append("A"))
+                .addNode("B", append("B"))
+                .addNode("C", append("C"))
+                .addNode("D", append("D"))
+                .addNode("E", append("E"))
+                .addEdge(START, "A")
+                .addEdge(START, "B")
+                .addEdge(START, "C")
+                .addEdge("A", "D")
+                .addEdge("B", "D")
+                .addEdge("C", "E")
+                .addEdge("D", END)
+                .addEdge("E", END)
+                .compile( superstep().build() );
+
+        // without concurrency the nodes would wait for each other on the barrier
+        var concurrentApp = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> { barrier.await( 5, TimeUnit.SECONDS ); return Map.of("messages", "A"); } ) )
+                .addNode("B", node_async( state -> { barrier.await( 5, TimeUnit.SECONDS ); return Map.of("messages", "B"); } ) )
+                .addNode("C", node_async( state -> { barrier.await( 5, TimeUnit.SECONDS ); return Map.of("messages", "C"); } ) )
+                .addEdge(START, "A")
+                .addEdge(START, "B")
+                .addEdge(START, "C")
+                .addEdge("A", END)
+                .addEdge("B", END)
+                .addEdge("C", END)
+                .compile( superstep().build() );
+
+        var executor = Executors.newFixedThreadPool( 3 );
+        try {
+            var config = RunnableConfig.builder().superstepExecutor( executor ).build();
+
+            var result = concurrentApp.invoke( GraphInput.args(Map.of()), config );
+            assertTrue( result.isPresent() );
+            assertIterableEquals( List.of( "A", "B", "C" ), result.get().messages() );
+
+            // D is triggered by A and B in the same superstep, so it runs once
+            result = app.invoke( GraphInput.args(Map.of()), config );
+            assertTrue( result.isPresent() );
+            assertIterableEquals( List.of( "A", "B", "C", "D", "E" ), result.get().messages() );
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void checkpointEachSuperstep() throws Exception {
+        var saver = new MemorySaver();
+
+        var app = workflow().compile( superstep()
+                .checkpointSaver( saver )
+                .build() );
+
+        var config = RunnableConfig.builder().threadId( "T1" ).build();
+
+        var result = app.invoke( GraphInput.args(Map.of()), config );
+        assertTrue( result.isPresent() );
+
+        // the history starts from the last checkpoint
+        var history = new ArrayList<>( app.getStateHistory( config ) );
+        Collections.reverse( history );
+
+        assertIterableEquals( List.of( START, "A", "B1,C", "B2,D", "D" ),
+                history.stream().map( StateSnapshot::node ).toList() );
+        assertIterableEquals( List.of( "A", "B1,C", "B2,D", "D", END ),
+                history.stream().map( StateSnapshot::next ).toList() );
+    }
+
+    @Test
+    public void interruptAndResume() throws Exception {
+        var saver = new MemorySaver();
+
+        var app = workflow().compile( superstep()
+                .checkpointSaver( saver )
+                .interruptBefore( "B2" )
+                .build() );
+
+        var config = RunnableConfig.builder().threadId( "T1" ).build();
+
+        var nodes = app.stream( GraphInput.args(Map.of()), config )
+                .stream()
+                .map( NodeOutput::node )
+                .toList();
+        assertIterableEquals( List.of( START, "A", "B1", "C" ), nodes );
+
+        var state = app.getState( config );
+        assertEquals( "B1,C", state.node() );
+        assertEquals( "B2,D", state.next() );
+
+        var outputs = app.stream( GraphInput.resume(), config )
+                .stream()
+                .toList();
+        assertIterableEquals( List.of( "B2", "D", "D", END ),
+                outputs.stream().map( NodeOutput::node ).toList() );
+        assertIterableEquals( List.of( "A", "B1", "C", "B2", "D" ),
+                outputs.get( outputs.size() - 1 ).state().messages() );
+    }
+
+    @Test
+    public void failOnNodeError() throws Exception {
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", append("A"))
+                .addNode("B", node_async( state -> { throw new IllegalStateException("boom"); } ) )
+                .addEdge(START, "A")
+                .addEdge(START, "B")
+                .addEdge("A", END)
+                .addEdge("B", END)
+                .compile( superstep().build() );
+
+        var exception = assertThrows( Exception.class, () -> app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() ) );
+
+        Throwable cause = exception;
+        while( cause != null && !(cause instanceof IllegalStateException) ) {
+            cause = cause.getCause();
+        }
+        assertNotNull( cause );
+        assertEquals( "boom", cause.getMessage() );
+    }
+
+    static List<String> stream( CompiledGraph<MessagesState<String>> app, GraphInput input, RunnableConfig config ) {
+        return app.stream( input, config )
+                .stream()
+                .map( NodeOutput::node )
+                .toList();
+    }
+
+    @Test
+    public void resumeAfterInterruptionAfterNode() throws Exception {
+        var app = workflow().compile( superstep()
+                .checkpointSaver( new MemorySaver() )
+                .interruptAfter( "A" )
+                .interruptBefore( "C" )
+                .build() );
+
+        var config = RunnableConfig.builder().threadId( "T1" ).build();
+
+        assertIterableEquals( List.of( START, "A" ), stream( app, GraphInput.args(Map.of()), config ) );
+        assertEquals( "B1,C", app.getState( config ).next() );
+
+        // as in the sequential execution, the resume doesn't raise the interruption before the triggered nodes
+        assertIterableEquals( List.of( "B1", "C", "B2", "D", "D", END ), stream( app, GraphInput.resume(), config ) );
+    }
+
+    @Test
+    public void interruptBeforeEdges() throws Exception {
+        var app = workflow().compile( superstep()
+                .checkpointSaver( new MemorySaver() )
+                .interruptAfter( "A" )
+                .interruptBefore( "C" )
+                .interruptBeforeEdge( true )
+                .build() );
+
+        var config = RunnableConfig.builder().threadId( "T1" ).build();
+
+        assertIterableEquals( List.of( START, "A" ), stream( app, GraphInput.args(Map.of()), config ) );
+        assertEquals( "A", app.getState( config ).node() );
+
+        // the edges are evaluated on resume, then the interruption before the triggered nodes is raised
+        assertIterableEquals( List.of(), stream( app, GraphInput.resume(), config ) );
+        var state = app.getState( config );
+        assertEquals( "A", state.node() );
+        assertEquals( "B1,C", state.next() );
+
+        assertIterableEquals( List.of( "B1", "C", "B2", "D", "D", END ), stream( app, GraphInput.resume(), config ) );
+    }
+
+    @Test
+    public void interruptAndResumeSubgraph() throws Exception {
+        var saver = new MemorySaver();
+
+        var subgraph = new MessagesStateGraph<String>()
+                .addNode("C1", append("C1"))
+                .addNode("C2", append("C2"))
+                .addEdge(START, "C1")
+                .addEdge("C1", "C2")
+                .addEdge("C2", END)
+                .compile( CompileConfig.builder()
+                        .checkpointSaver( saver )
+                        .interruptBefore( "C2" )
+                        .build() );
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", append("A"))
+                .addNode("sub", subgraph)
+                .addNode("X", append("X"))
+                .addNode("B", append("B"))
+                .addEdge(START, "A")
+                .addEdge("A", "sub")
+                .addEdge("A", "X")
+                .addEdge("sub", "B")
+                .addEdge("X", "B")
+                .addEdge("B", END)
+                .compile( superstep()
+                        .checkpointSaver( saver )
+                        .build() );
+
+        var config = RunnableConfig.builder().threadId( "T1" ).build();
+
+        var generator = app.stream( GraphInput.args(Map.of()), config );
+        assertIterableEquals( List.of( START, "A" ), generator.stream().map( NodeOutput::node ).toList() );
+
+        // the run is interrupted by the subgraph, the superstep is not committed and the update of X is discarded
+        var interruption = AsyncGenerator.resultValue( generator );
+        assertTrue( interruption.isPresent() );
+        assertInstanceOf( InterruptionMetadata.class, interruption.get() );
+        var state = app.getState( config );
+        assertEquals( "A", state.node() );
+        assertEquals( "sub,X", state.next() );
+        assertIterableEquals( List.of( "A" ), state.state().messages() );
+
+        var outputs = app.stream( GraphInput.resume(), config )
+                .stream()
+                .toList();
+        assertIterableEquals( List.of( "sub", "X", "B", END ),
+                outputs.stream().map( NodeOutput::node ).toList() );
+        assertIterableEquals( List.of( "A", "C1", "C2", "X", "B" ),
+                outputs.get( outputs.size() - 1 ).state().messages() );
+    }
+
+    @Test
+    public void rejectSeparatorInNodeIds() throws Exception {
+        var workflow = new MessagesStateGraph<String>()
+                .addNode("A,B", append("A"))
+                .addEdge(START, "A,B")
+                .addEdge("A,B", END);
+
+        // allowed in sequential execution
+        workflow.compile();
+
+        var exception = assertThrows( GraphStateException.class, () -> workflow.compile( superstep().build() ) );
+        assertEquals( "node id 'A,B' cannot contain ',' in superstep execution mode!", exception.getMessage() );
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.bsc.langgraph4j.agent;
+
+import org.bsc.langgraph4j.bulkhead.Bulkhead;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToolCallTaskTest {
+
+    @Test
+    public void interruptCallOnTimeout() throws Exception {
+        final var interrupted = new AtomicBoolean();
+        final var executor = Executors.newSingleThreadExecutor();
+        try {
+            var task = ToolCallTask.submit( () -> {
+                try {
+                    Thread.sleep( 10_000 );
+                    return "slow";
+                }
+                catch( InterruptedException ex ) {
+                    interrupted.set( true );
+                    return "interrupted";
+                }
+            }, executor, Duration.ofMillis(100) );
+
+            var exception = assertThrows( CompletionException.class, () -> task.result().join() );
+            assertInstanceOf( TimeoutException.class, exception.getCause() );
+
+            task.termination().get( 5, TimeUnit.SECONDS );
+            assertTrue( interrupted.get() );
+
+            // the interruption doesn't leak to the next call running on the same thread
+            var next = ToolCallTask.submit( () -> Thread.currentThread().isInterrupted(), executor, null );
+            assertFalse( next.result().get( 5, TimeUnit.SECONDS ) );
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void holdBulkheadPermitUntilTermination() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(2);
+        final var bulkhead = Bulkhead.builder().name("tool").maxConcurrency(1).build();
+        try {
+            // the call ignores the interruption
+            var task = ToolCallTask.submit( () -> {
+                while( true ) {
+                    try {
+                        if( release.await( 10, TimeUnit.SECONDS ) ) {
+                            return "released";
+                        }
+                    }
+                    catch( InterruptedException ignored ) {
+                        // keep running
+                    }
+                }
+            }, executor, Duration.ofMillis(100), bulkhead );
+
+            var exception = assertThrows( CompletionException.class, () -> task.result().join() );
+            assertInstanceOf( TimeoutException.class, exception.getCause() );
+
+            var next = ToolCallTask.submit( () -> "next", executor, null, bulkhead );
+            Thread.sleep( 100 );
+            assertFalse( next.result().isDone() );
+
+            release.countDown();
+            assertEquals( "next", next.result().get( 5, TimeUnit.SECONDS ) );
+            assertTrue( task.termination().isDone() );
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failOnRejectedExecution() {
+        var task = ToolCallTask.submit( () -> "never", command -> {
+            throw new RejectedExecutionException( "rejected" );
+        }, null );
+
+        var exception = assertThrows( CompletionException.class, () -> task.result().join() );
+        assertInstanceOf( RejectedExecutionException.class, exception.getCause() );
+        assertTrue( task.termination().isDone() );
+    }
+}
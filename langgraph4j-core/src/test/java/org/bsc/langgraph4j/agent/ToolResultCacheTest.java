@@ -0,0 +1,185 @@
+package org.bsc.langgraph4j.agent;
+
+import org.bsc.langgraph4j.cache.LocalCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToolResultCacheTest {
+
+    @Test
+    public void canonicalizeArguments() {
+
+        assertEquals( "{\"a\":1,\"b\":[true,null,\"x y\"]}",
+                ToolResultCache.canonicalJson( " { \"b\" : [ true, null, \"x y\" ],\n \"a\": 1 } " ) );
+        assertEquals( "{\"a\":{\"c\":-1.5e3,\"d\":\"\\\"\"}}",
+                ToolResultCache.canonicalJson( "{\"a\":{ \"d\":\"\\\"\", \"c\":-1.5e3 }}" ) );
+        assertEquals( "[]", ToolResultCache.canonicalJson( " [ ] " ) );
+        // not a json
+        assertEquals( "plain text", ToolResultCache.canonicalJson( " plain text " ) );
+        assertEquals( "{\"a\":", ToolResultCache.canonicalJson( "{\"a\":" ) );
+    }
+
+    @Test
+    public void cacheToolResults() {
+        final var clock = new AtomicLong();
+        final var calls = new AtomicInteger();
+
+        var cache = ToolResultCache.builder()
+                .defaultTtl( Duration.ofSeconds(10) )
+                .ttl( "weather", Duration.ofSeconds(1) )
+                .exclude( "sendEmail" )
+                .clock( clock::get )
+                .build();
+
+        var result = cache.computeIfAbsent( "search", "{\"q\":\"java\", \"page\":1}", () -> "result-" + calls.incrementAndGet() );
+        assertEquals( "result-1", result );
+        result = cache.computeIfAbsent( "search", "{ \"page\": 1, \"q\": \"java\" }", () -> "result-" + calls.incrementAndGet() );
+        assertEquals( "result-1", result );
+        result = cache.computeIfAbsent( "search", "{\"q\":\"kotlin\", \"page\":1}", () -> "result-" + calls.incrementAndGet() );
+        assertEquals( "result-2", result );
+
+        // opt-out
+        assertFalse( cache.isCacheable("sendEmail") );
+        cache.computeIfAbsent( "sendEmail", "{}", () -> "sent-" + calls.incrementAndGet() );
+        assertEquals( "sent-4", cache.computeIfAbsent( "sendEmail", "{}", () -> "sent-" + calls.incrementAndGet() ) );
+
+        // per tool ttl
+        cache.put( "weather", "{\"city\":\"Naples\"}", "sunny" );
+        clock.addAndGet( Duration.ofMillis(500).toNanos() );
+        assertEquals( Optional.of("sunny"), cache.get( "weather", "{\"city\":\"Naples\"}" ) );
+        clock.addAndGet( Duration.ofMillis(600).toNanos() );
+        assertTrue( cache.get( "weather", "{\"city\":\"Naples\"}" ).isEmpty() );
+        assertEquals( Optional.of("result-1"), cache.get( "search", "{\"q\":\"java\",\"page\":1}" ) );
+
+        // default ttl
+        clock.addAndGet( Duration.ofSeconds(10).toNanos() );
+        assertTrue( cache.get( "search", "{\"q\":\"java\",\"page\":1}" ).isEmpty() );
+
+        var stats = cache.stats();
+        assertEquals( 3, stats.hits() );
+        assertEquals( 4, stats.misses() );
+        assertEquals( 2, stats.expirations() );
+
+        var hitRates = cache.hitRateByTool();
+        assertEquals( 0.4, hitRates.get("search") );
+        assertEquals( 0.5, hitRates.get("weather") );
+        assertFalse( hitRates.containsKey("sendEmail") );
+    }
+
+    @Test
+    public void scopeToolResultsByCaller() {
+        final var calls = new AtomicInteger();
+
+        var cache = ToolResultCache.builder().build();
+
+        assertEquals( "orders-1", cache.computeIfAbsent( "user-1", "listOrders", "{}", () -> "orders-" + calls.incrementAndGet() ) );
+        assertEquals( "orders-2", cache.computeIfAbsent( "user-2", "listOrders", "{}", () -> "orders-" + calls.incrementAndGet() ) );
+        assertEquals( "orders-1", cache.computeIfAbsent( "user-1", "listOrders", "{}", () -> "orders-" + calls.incrementAndGet() ) );
+        // the shared entry is distinct from the scoped ones
+        assertTrue( cache.get( "listOrders", "{}" ).isEmpty() );
+        assertEquals( Optional.of("orders-2"), cache.get( "user-2", "listOrders", "{}" ) );
+        assertEquals( 2, calls.get() );
+    }
+
+    @Test
+    public void deduplicateCallsInFlight() {
+        final var calls = new AtomicInteger();
+        final var call = new CompletableFuture<String>();
+
+        var cache = ToolResultCache.builder()
+                .exclude( "sendEmail" )
+                .build();
+
+        var first = cache.computeIfAbsentAsync( "user-1", "search", "{\"q\":\"java\"}", () -> {
+            calls.incrementAndGet();
+            return call;
+        });
+        var second = cache.computeIfAbsentAsync( "user-1", "search", "{ \"q\": \"java\" }", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        // cancelling a caller doesn't cancel the call awaited by the others
+        var third = cache.computeIfAbsentAsync( "user-1", "search", "{\"q\":\"java\"}", CompletableFuture::new );
+        third.cancel( true );
+        // a different scope doesn't share the call
+        var other = cache.computeIfAbsentAsync( "user-2", "search", "{\"q\":\"java\"}", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture( "other" );
+        });
+        assertEquals( "other", other.join() );
+        assertEquals( 2, calls.get() );
+        assertFalse( first.isDone() );
+
+        call.complete( "result" );
+        assertEquals( "result", first.join() );
+        assertEquals( "result", second.join() );
+        assertFalse( call.isCancelled() );
+        assertEquals( Optional.of("result"), cache.get( "user-1", "search", "{\"q\":\"java\"}" ) );
+
+        // failures are shared by the callers in flight and not cached
+        var failure = new CompletableFuture<String>();
+        var failed = cache.computeIfAbsentAsync( null, "search", "{}", () -> failure );
+        var joined = cache.computeIfAbsentAsync( null, "search", "{}", CompletableFuture::new );
+        failure.completeExceptionally( new IllegalStateException( "tool failed" ) );
+        assertInstanceOf( IllegalStateException.class, assertThrows( CompletionException.class, failed::join ).getCause() );
+        assertInstanceOf( IllegalStateException.class, assertThrows( CompletionException.class, joined::join ).getCause() );
+        assertEquals( "retry", cache.computeIfAbsent( "search", "{}", () -> "retry" ) );
+
+        // tools excluded from caching are never deduplicated
+        cache.computeIfAbsentAsync( null, "sendEmail", "{}", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        cache.computeIfAbsentAsync( null, "sendEmail", "{}", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        assertEquals( 4, calls.get() );
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        var cache = LocalCache.<String,String>builder()
+                .maxSize(2)
+                .build();
+
+        cache.put( "a", "1" );
+        cache.put( "b", "2" );
+        assertTrue( cache.get("a").isPresent() );
+        cache.put( "c", "3" );
+
+        assertTrue( cache.get("b").isEmpty() );
+        assertTrue( cache.get("a").isPresent() );
+        assertTrue( cache.get("c").isPresent() );
+        assertEquals( 1, cache.stats().evictions() );
+        assertEquals( 2, cache.size() );
+    }
+
+    @Test
+    public void evictLeastFrequentlyUsed() {
+        var cache = LocalCache.<String,String>builder()
+                .maxSize(2)
+                .evictionPolicy( LocalCache.EvictionPolicy.LFU )
+                .build();
+
+        cache.put( "a", "1" );
+        cache.put( "b", "2" );
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        cache.put( "c", "3" );
+
+        assertTrue( cache.get("b").isEmpty() );
+        assertTrue( cache.get("a").isPresent() );
+        assertTrue( cache.get("c").isPresent() );
+        assertEquals( 1, cache.stats().evictions() );
+    }
+}
@@ -0,0 +1,188 @@
+package org.bsc.langgraph4j.batch;
+
+import org.bsc.async.AsyncGenerator;
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesState;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchTest {
+
+    static final int SIZE = 6;
+
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+
+    /**
+     * the greater the input, the faster the run: the runs complete in reverse order
+     */
+    CompiledGraph<MessagesState<String>> app( CompileConfig compileConfig ) throws Exception {
+        return new MessagesStateGraph<String>()
+                .addNode("work", node_async( state -> {
+                    maxRunning.accumulateAndGet( running.incrementAndGet(), Math::max );
+                    try {
+                        int value = state.<Integer>value("value").orElseThrow();
+                        if( value < 0 ) {
+                            throw new IllegalArgumentException( "negative value" );
+                        }
+                        Thread.sleep( 10L * ( SIZE - value ) );
+                        return Map.of( "messages", "done:" + value );
+                    }
+                    finally {
+                        running.decrementAndGet();
+                    }
+                }))
+                .addEdge(START, "work")
+                .addEdge("work", END)
+                .compile( compileConfig );
+    }
+
+    static List<GraphInput> inputs( int... values ) {
+        return IntStream.of( values ).mapToObj( value -> GraphInput.args( Map.of( "value", value ) ) ).toList();
+    }
+
+    @Test
+    public void orderedResults() throws Exception {
+        var report = app( CompileConfig.builder().build() ).batch( inputs( 0, 1, 2, 3, 4, 5 ),
+                RunnableConfig.builder().build(),
+                BatchConfig.builder().maxConcurrency( SIZE ).build() );
+
+        assertEquals( SIZE, report.succeeded() );
+        assertEquals( 0, report.failed() );
+        assertTrue( report.throughput() > 0 );
+        for( int i = 0; i < SIZE; ++i ) {
+            var result = report.results().get( i );
+            assertEquals( i, result.index() );
+            assertEquals( "done:" + i, result.state().flatMap( MessagesState::lastMessage ).orElseThrow() );
+        }
+    }
+
+    @Test
+    public void resultsAsCompleted() throws Exception {
+        var generator = app( CompileConfig.builder().build() ).batchAsync( inputs( 0, 1, 2, 3, 4, 5 ),
+                RunnableConfig.builder().build(),
+                BatchConfig.builder().maxConcurrency( SIZE ).order( BatchConfig.Order.AS_COMPLETED ).build() );
+
+        var indexes = generator.stream().map( BatchResult::index ).toList();
+
+        // the faster runs are delivered first
+        assertEquals( SIZE - 1, indexes.get( 0 ) );
+        assertEquals( 0, indexes.get( SIZE - 1 ) );
+
+        var report = AsyncGenerator.resultValue( generator ).map( BatchReport.class::cast ).orElseThrow();
+        assertEquals( SIZE, report.results().size() );
+    }
+
+    @Test
+    public void boundConcurrency() throws Exception {
+        var report = app( CompileConfig.builder().build() ).batch( inputs( 0, 1, 2, 3, 4, 5 ),
+                RunnableConfig.builder().build(),
+                BatchConfig.builder().maxConcurrency( 2 ).build() );
+
+        assertEquals( SIZE, report.succeeded() );
+        assertEquals( 2, maxRunning.get() );
+    }
+
+    @Test
+    public void failuresDontStopTheBatch() throws Exception {
+        var report = app( CompileConfig.builder().build() ).batch( inputs( 1, -1, 2 ),
+                RunnableConfig.builder().build(),
+                BatchConfig.builder().build() );
+
+        assertEquals( 2, report.succeeded() );
+        assertEquals( 1, report.failed() );
+        var failed = report.results().get( 1 );
+        assertFalse( failed.isSuccess() );
+        assertTrue( failed.state().isEmpty() );
+        assertNotNull( failed.error() );
+    }
+
+    @Test
+    public void runsWithOwnThreads() throws Exception {
+        var saver = new MemorySaver();
+        var app = app( CompileConfig.builder().checkpointSaver( saver ).build() );
+
+        var configs = IntStream.range( 0, 3 )
+                .mapToObj( i -> RunnableConfig.builder().threadId( "T" + i ).build() )
+                .toList();
+        var report = app.batch( inputs( 0, 1, 2 ), configs, BatchConfig.builder().build() );
+        assertEquals( 3, report.succeeded() );
+
+        for( int i = 0; i < 3; ++i ) {
+            assertEquals( List.of( "done:" + i ), app.getState( configs.get( i ) ).state().messages() );
+        }
+
+        assertThrows( IllegalArgumentException.class,
+                () -> app.batchAsync( inputs( 0, 1 ), configs, BatchConfig.builder().build() ) );
+    }
+
+    @Test
+    public void sharedConfigRunsWithOwnThreads() throws Exception {
+        var saver = new MemorySaver();
+        var app = app( CompileConfig.builder().checkpointSaver( saver ).build() );
+
+        var config = RunnableConfig.builder().threadId( "T" ).build();
+        var report = app.batch( inputs( 0, 1, 2 ), config, BatchConfig.builder().build() );
+        assertEquals( 3, report.succeeded() );
+
+        for( int i = 0; i < 3; ++i ) {
+            var runConfig = RunnableConfig.builder().threadId( "T-" + i ).build();
+            assertEquals( List.of( "done:" + i ), app.getState( runConfig ).state().messages() );
+        }
+        assertTrue( saver.list( config ).isEmpty() );
+
+        // the runs can't share the same thread
+        var configs = List.of( config, RunnableConfig.builder().threadId( "U" ).build(), config );
+        assertThrows( IllegalArgumentException.class,
+                () -> app.batchAsync( inputs( 0, 1, 2 ), configs, BatchConfig.builder().build() ) );
+    }
+
+    @Test
+    public void rejectedRunsFail() throws Exception {
+        var launched = new AtomicInteger();
+        var batchConfig = BatchConfig.builder()
+                .maxConcurrency( 2 )
+                // rejects every other run
+                .executor( task -> {
+                    if( launched.getAndIncrement() % 2 == 1 ) {
+                        throw new RejectedExecutionException( "rejected" );
+                    }
+                    new Thread( task ).start();
+                })
+                .build();
+
+        var report = app( CompileConfig.builder().build() ).batch( inputs( 0, 1, 2, 3 ),
+                RunnableConfig.builder().build(),
+                batchConfig );
+
+        assertEquals( 4, report.results().size() );
+        assertEquals( 2, report.succeeded() );
+        assertInstanceOf( RejectedExecutionException.class, report.results().get( 1 ).error() );
+        assertInstanceOf( RejectedExecutionException.class, report.results().get( 3 ).error() );
+    }
+
+    @Test
+    public void emptyBatch() throws Exception {
+        var report = app( CompileConfig.builder().build() ).batch( List.of(),
+                RunnableConfig.builder().build(),
+                BatchConfig.builder().build() );
+
+        assertTrue( report.results().isEmpty() );
+        assertEquals( 0, report.throughput(), 1 );
+    }
+}
@@ -0,0 +1,174 @@
+package org.bsc.langgraph4j.bulkhead;
+
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.GraphStateException;
+import org.bsc.langgraph4j.InterruptingAction;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.batch.BatchConfig;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadTest {
+
+    @Test
+    public void queueTasksWithoutThreads() {
+        var bulkhead = Bulkhead.builder().name("test").maxConcurrency( 2 ).build();
+
+        var gates = new ArrayList<CompletableFuture<String>>();
+        var results = new ArrayList<CompletableFuture<String>>();
+        for( int i = 0; i < 5; ++i ) {
+            var gate = new CompletableFuture<String>();
+            gates.add( gate );
+            results.add( bulkhead.execute( () -> gate ) );
+        }
+
+        var stats = bulkhead.stats();
+        assertEquals( 2, stats.active() );
+        assertEquals( 3, stats.queueDepth() );
+
+        for( int i = 0; i < gates.size(); ++i ) {
+            gates.get( i ).complete( "r" + i );
+        }
+        for( int i = 0; i < results.size(); ++i ) {
+            assertEquals( "r" + i, results.get( i ).join() );
+        }
+
+        stats = bulkhead.stats();
+        assertEquals( 0, stats.active() );
+        assertEquals( 0, stats.queueDepth() );
+        assertEquals( 5, stats.accepted() );
+        assertEquals( 5, stats.completed() );
+    }
+
+    @Test
+    public void rejectWhenQueueIsFull() {
+        var bulkhead = Bulkhead.builder().maxConcurrency( 1 ).maxQueueDepth( 1 ).build();
+
+        var gate = new CompletableFuture<String>();
+        var first = bulkhead.execute( () -> gate );
+        var second = bulkhead.execute( () -> completedFuture( "second" ) );
+        var third = bulkhead.execute( () -> completedFuture( "third" ) );
+
+        var exception = assertThrows( CompletionException.class, third::join );
+        assertInstanceOf( RejectedExecutionException.class, exception.getCause() );
+        assertEquals( 1, bulkhead.stats().rejected() );
+
+        gate.complete( "first" );
+        assertEquals( "first", first.join() );
+        assertEquals( "second", second.join() );
+    }
+
+    @Test
+    public void releaseOnFailure() {
+        var bulkhead = Bulkhead.builder().maxConcurrency( 1 ).build();
+
+        var failed = bulkhead.<String>execute( () -> { throw new IllegalStateException( "failure" ); } );
+        assertThrows( CompletionException.class, failed::join );
+
+        assertEquals( "next", bulkhead.execute( () -> completedFuture( "next" ) ).join() );
+        assertEquals( 0, bulkhead.stats().active() );
+    }
+
+    @Test
+    public void limitRate() {
+        var bulkhead = Bulkhead.builder().rateLimit( 2, Duration.ofMillis( 200 ) ).build();
+
+        var start = System.nanoTime();
+        var results = new ArrayList<CompletableFuture<Long>>();
+        for( int i = 0; i < 6; ++i ) {
+            results.add( bulkhead.execute( () -> completedFuture( System.nanoTime() - start ) ) );
+        }
+        var elapsed = results.stream().map( CompletableFuture::join ).toList();
+
+        // a burst of 2 tasks, then a task every 100ms
+        assertTrue( elapsed.get( 1 ) < Duration.ofMillis( 100 ).toNanos() );
+        assertTrue( elapsed.get( 5 ) >= Duration.ofMillis( 350 ).toNanos() );
+        assertTrue( bulkhead.stats().maxWait().toMillis() >= 350 );
+    }
+
+    @Test
+    public void limitNodeAcrossRuns() throws Exception {
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        var bulkhead = Bulkhead.builder().name("llm").maxConcurrency( 2 ).build();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("prepare", node_async( state -> Map.of( "messages", "prepare" ) ) )
+                .addNode("llm", node_async( state -> {
+                    maxRunning.accumulateAndGet( running.incrementAndGet(), Math::max );
+                    Thread.sleep( 20 );
+                    running.decrementAndGet();
+                    return Map.of( "messages", "llm" );
+                }))
+                .addEdge(START, "prepare")
+                .addEdge("prepare", "llm")
+                .addEdge("llm", END)
+                .compile( CompileConfig.builder().bulkhead( "llm", bulkhead ).build() );
+
+        var inputs = new ArrayList<GraphInput>();
+        for( int i = 0; i < 8; ++i ) {
+            inputs.add( GraphInput.args( Map.of() ) );
+        }
+        var report = app.batch( inputs, RunnableConfig.builder().build(), BatchConfig.builder().maxConcurrency( 8 ).build() );
+
+        assertEquals( 8, report.succeeded() );
+        report.results().forEach( result -> assertEquals( List.of( "prepare", "llm" ), result.state().orElseThrow().messages() ) );
+        assertEquals( 2, maxRunning.get() );
+        assertEquals( 8, bulkhead.stats().completed() );
+        assertTrue( bulkhead.stats().maxWait().toMillis() > 0 );
+    }
+
+    @Test
+    public void bulkheadOnMissingNode() throws Exception {
+        var graph = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> Map.of() ) )
+                .addEdge(START, "A")
+                .addEdge("A", END);
+
+        assertThrows( GraphStateException.class, () -> graph.compile( CompileConfig.builder()
+                .bulkhead( "B", Bulkhead.builder().build() )
+                .build() ) );
+    }
+
+    @Test
+    public void interruptNodeWithBulkhead() throws Exception {
+        var bulkhead = Bulkhead.builder().maxConcurrency( 1 ).build();
+        var approval = new InterruptingAction();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("approval", approval )
+                .addEdge(START, "approval")
+                .addEdge("approval", END)
+                .compile( CompileConfig.builder()
+                        .checkpointSaver( new MemorySaver() )
+                        .bulkhead( "approval", bulkhead )
+                        .build() );
+
+        var config = RunnableConfig.builder().threadId( "approval" ).build();
+        app.invoke( GraphInput.args( Map.of() ), config );
+        assertEquals( 0, approval.executions.get() );
+
+        var resumeConfig = app.updateState( config, Map.of( "messages", InterruptingAction.APPROVED ) );
+        app.invoke( GraphInput.resume(), resumeConfig );
+        assertEquals( 1, approval.executions.get() );
+        assertEquals( 1, bulkhead.stats().completed() );
+    }
+}
@@ -0,0 +1,230 @@
+package org.bsc.langgraph4j.cache;
+
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.InterruptingAction;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesState;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.bsc.langgraph4j.serializer.std.ObjectStreamStateSerializer;
+import org.bsc.langgraph4j.state.AgentState;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodeCacheTest {
+
+    static StateGraph<MessagesState<String>> workflow( AtomicInteger calls, CachePolicy cachePolicy ) throws Exception {
+        return new MessagesStateGraph<String>()
+                .addNode("expensive", node_async( state -> {
+                    calls.incrementAndGet();
+                    return Map.of( "messages", "result:" + state.<String>value("query").orElse("") );
+                }), cachePolicy )
+                .addEdge(START, "expensive")
+                .addEdge("expensive", END);
+    }
+
+    static String lastMessage( CompiledGraph<MessagesState<String>> app, String query ) throws Exception {
+        return app.invoke( GraphInput.args( Map.of( "query", query ) ), RunnableConfig.builder().build() )
+                .flatMap( MessagesState::lastMessage )
+                .orElseThrow();
+    }
+
+    @Test
+    public void runOncePerKey() throws Exception {
+        var calls = new AtomicInteger();
+        var store = new InMemoryNodeCache( 10 );
+        var app = workflow( calls, CachePolicy.builder().keys("query").store( store ).build() ).compile();
+
+        assertEquals( "result:a", lastMessage( app, "a" ) );
+        assertEquals( "result:a", lastMessage( app, "a" ) );
+        assertEquals( "result:b", lastMessage( app, "b" ) );
+        assertEquals( "result:a", lastMessage( app, "a" ) );
+
+        assertEquals( 2, calls.get() );
+        assertEquals( 2, store.stats().hits() );
+        assertEquals( 2, store.stats().size() );
+    }
+
+    @Test
+    public void onlyDeclaredKeysFormTheKey() throws Exception {
+        var calls = new AtomicInteger();
+        var app = workflow( calls, CachePolicy.builder().keys("query").build() ).compile();
+
+        app.invoke( GraphInput.args( Map.of( "query", "a", "other", 1 ) ), RunnableConfig.builder().build() );
+        app.invoke( GraphInput.args( Map.of( "query", "a", "other", 2 ) ), RunnableConfig.builder().build() );
+        assertEquals( 1, calls.get() );
+
+        // without declared keys the whole state forms the key
+        var allCalls = new AtomicInteger();
+        var all = workflow( allCalls, CachePolicy.builder().build() ).compile();
+
+        all.invoke( GraphInput.args( Map.of( "query", "a", "other", 1 ) ), RunnableConfig.builder().build() );
+        all.invoke( GraphInput.args( Map.of( "query", "a", "other", 2 ) ), RunnableConfig.builder().build() );
+        assertEquals( 2, allCalls.get() );
+    }
+
+    @Test
+    public void boundSize() throws Exception {
+        var calls = new AtomicInteger();
+        var store = new InMemoryNodeCache( 2 );
+        var app = workflow( calls, CachePolicy.builder().keys("query").store( store ).build() ).compile();
+
+        for( var query : new String[] { "a", "b", "c" } ) {
+            lastMessage( app, query );
+        }
+        assertEquals( 2, store.stats().size() );
+        assertEquals( 1, store.stats().evictions() );
+
+        // the least recently used entry has been evicted
+        lastMessage( app, "a" );
+        assertEquals( 4, calls.get() );
+    }
+
+    @Test
+    public void expireEntries() throws Exception {
+        var clock = new AtomicLong( 1_000 );
+        var store = new CheckpointSaverNodeCache( new MemorySaver(), "graph", 10, clock::get );
+
+        store.put( "node", "k1", Map.of( "value", 1 ), Duration.ofSeconds( 10 ) );
+        store.put( "node", "k2", Map.of( "value", 2 ), null );
+        assertEquals( Map.of( "value", 1 ), store.get( "node", "k1" ).orElseThrow() );
+
+        clock.addAndGet( 10_000 );
+        assertTrue( store.get( "node", "k1" ).isEmpty() );
+        assertEquals( Map.of( "value", 2 ), store.get( "node", "k2" ).orElseThrow() );
+        assertTrue( store.get( "other", "k2" ).isEmpty() );
+    }
+
+    @Test
+    public void shareResultsThroughCheckpointSaver() throws Exception {
+        var saver = new MemorySaver();
+        var calls = new AtomicInteger();
+
+        var policy = CachePolicy.builder()
+                .keys("query")
+                .ttl( Duration.ofMinutes( 1 ) )
+                .store( new CheckpointSaverNodeCache( saver, "graph", 10 ) )
+                .build();
+
+        assertEquals( "result:a", lastMessage( workflow( calls, policy ).compile(), "a" ) );
+
+        // another compiled graph reuses the stored result
+        var otherPolicy = CachePolicy.builder()
+                .keys("query")
+                .store( new CheckpointSaverNodeCache( saver, "graph", 10 ) )
+                .build();
+        assertEquals( "result:a", lastMessage( workflow( calls, otherPolicy ).compile(), "a" ) );
+        assertEquals( 1, calls.get() );
+    }
+
+    @Test
+    public void scopeEntriesByNamespace() throws Exception {
+        var saver = new MemorySaver();
+        var store = new CheckpointSaverNodeCache( saver, "graph", 10 );
+        var other = new CheckpointSaverNodeCache( saver, "other", 10 );
+
+        store.put( "node", "k1", Map.of( "value", 1 ), null );
+        assertEquals( Map.of( "value", 1 ), store.get( "node", "k1" ).orElseThrow() );
+        // a node with the same id of another graph doesn't see the entry
+        assertTrue( other.get( "node", "k1" ).isEmpty() );
+    }
+
+    @Test
+    public void evictConcurrently() throws Exception {
+        var store = new CheckpointSaverNodeCache( new MemorySaver(), "graph", 8 );
+
+        var writers = new ArrayList<CompletableFuture<Void>>();
+        for( int w = 0; w < 4; ++w ) {
+            final var writer = w;
+            writers.add( CompletableFuture.runAsync( () -> {
+                for( int i = 0; i < 50; ++i ) {
+                    var key = writer + "-" + i;
+                    try {
+                        store.put( "node", key, Map.of( "value", key ), null );
+                        store.get( "node", key );
+                    }
+                    catch( Exception ex ) {
+                        throw new IllegalStateException( ex );
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf( writers.toArray( CompletableFuture[]::new ) ).join();
+
+        var present = 0;
+        for( int w = 0; w < 4; ++w ) {
+            for( int i = 0; i < 50; ++i ) {
+                if( store.get( "node", w + "-" + i ).isPresent() ) {
+                    ++present;
+                }
+            }
+        }
+        assertTrue( present > 0 && present <= 8, "present: " + present );
+    }
+
+    @Test
+    public void canonicalKeyOfNestedValues() throws Exception {
+        var serializer = new ObjectStreamStateSerializer<>( AgentState::new );
+        var policy = CachePolicy.builder().build();
+
+        // same contents, different capacity and insertion order
+        var first = new HashMap<String,Object>( 4 );
+        var second = new HashMap<String,Object>( 64 );
+        for( int i = 0; i < 20; ++i ) {
+            first.put( "k" + i, new HashMap<>( Map.of( "a", i, "b", i + 1 ) ) );
+            second.put( "k" + ( 19 - i ), new HashMap<>( Map.of( "b", 20 - i, "a", 19 - i ) ) );
+        }
+        assertEquals( policy.keyOf( Map.of( "data", List.of( first ) ), serializer ),
+                policy.keyOf( Map.of( "data", List.of( second ) ), serializer ) );
+
+        second.put( "k0", Map.of( "a", 0 ) );
+        assertNotEquals( policy.keyOf( Map.of( "data", List.of( first ) ), serializer ),
+                policy.keyOf( Map.of( "data", List.of( second ) ), serializer ) );
+    }
+
+    @Test
+    public void interruptCachedNode() throws Exception {
+        var approval = new InterruptingAction();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("approval", approval, CachePolicy.builder().build() )
+                .addEdge(START, "approval")
+                .addEdge("approval", END)
+                .compile( CompileConfig.builder()
+                        .checkpointSaver( new MemorySaver() )
+                        .build() );
+
+        var config = RunnableConfig.builder().threadId( "approval" ).build();
+        app.invoke( GraphInput.args( Map.of() ), config );
+        assertEquals( 0, approval.executions.get() );
+
+        var resumeConfig = app.updateState( config, Map.of( "messages", InterruptingAction.APPROVED ) );
+        app.invoke( GraphInput.resume(), resumeConfig );
+        assertEquals( 1, approval.executions.get() );
+    }
+
+    @Test
+    public void murmur3Vectors() {
+        assertEquals( "cbd8a7b341bd9b025b1e906a48ae1d19",
+                Murmur3.hash128( "hello".getBytes( StandardCharsets.UTF_8 ), 0 ) );
+        assertEquals( "e34bbc7bbc071b6c7a433ca9c49a9347",
+                Murmur3.hash128( "The quick brown fox jumps over the lazy dog".getBytes( StandardCharsets.UTF_8 ), 0 ) );
+    }
+}
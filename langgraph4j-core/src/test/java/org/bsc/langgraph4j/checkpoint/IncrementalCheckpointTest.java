@@ -0,0 +1,221 @@
+package org.bsc.langgraph4j.checkpoint;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.bsc.langgraph4j.serializer.StateSerializer;
+import org.bsc.langgraph4j.state.AgentState;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalCheckpointTest {
+
+    final Path rootPath = Paths.get( "target", "checkpoint", "incremental" );
+
+    @SuppressWarnings("unchecked")
+    static StateSerializer<AgentState> serializer() {
+        return (StateSerializer<AgentState>) (StateSerializer<?>) new MessagesStateGraph<String>().getStateSerializer();
+    }
+
+    static Checkpoint checkpoint( String nodeId, Map<String,Object> state ) {
+        return Checkpoint.builder()
+                .nodeId( nodeId )
+                .nextNodeId( "next" )
+                .state( state )
+                .build();
+    }
+
+    /**
+     * Stores a history where the document is set once and the steps change at each checkpoint
+     */
+    static List<Checkpoint> storeHistory( BaseCheckpointSaver saver, RunnableConfig config, int steps ) throws Exception {
+        var document = "lorem ipsum ".repeat( 1_000 );
+        for( int i = 0; i < steps; ++i ) {
+            var state = new HashMap<String,Object>();
+            state.put( "document", new String( document ) );
+            state.put( "steps", i );
+            saver.put( config, checkpoint( "node" + i, state ) );
+        }
+        return new ArrayList<>( saver.list( config ) );
+    }
+
+    static void assertSameHistory( List<Checkpoint> expected, List<Checkpoint> actual ) {
+        assertEquals( expected.size(), actual.size() );
+        for( int i = 0; i < expected.size(); ++i ) {
+            assertEquals( expected.get( i ).getId(), actual.get( i ).getId() );
+            assertEquals( expected.get( i ).getNodeId(), actual.get( i ).getNodeId() );
+            assertEquals( expected.get( i ).getNextNodeId(), actual.get( i ).getNextNodeId() );
+            assertEquals( expected.get( i ).getState(), actual.get( i ).getState() );
+            assertEquals( expected.get( i ).getChannelVersions(), actual.get( i ).getChannelVersions() );
+        }
+    }
+
+    @Test
+    public void shareUnchangedChannels() throws Exception {
+        var saver = new MemorySaver();
+        var config = RunnableConfig.builder().threadId( "memory" ).build();
+
+        var history = storeHistory( saver, config, 3 );
+
+        // newest first
+        var last = history.get( 0 );
+        var first = history.get( 2 );
+        assertSame( first.getState().get( "document" ), last.getState().get( "document" ) );
+        assertEquals( Map.of( "document", 1L, "steps", 3L ), last.getChannelVersions() );
+        assertEquals( Map.of( "steps", 2 ), last.changedChannels( history.get( 1 ) ).orElseThrow() );
+
+        // a removed channel cannot be expressed as changes
+        var removed = checkpoint( "removed", Map.of( "steps", 3 ) ).versionedFrom( last );
+        assertTrue( removed.changedChannels( last ).isEmpty() );
+    }
+
+    @Test
+    public void persistOnlyChangedChannels() throws Exception {
+        var config = RunnableConfig.builder().threadId( "files" ).build();
+
+        var saver = new FileSystemSaver( rootPath.resolve( "files" ), serializer(), 3 );
+        saver.deleteFile( config );
+        var history = storeHistory( saver, config, 8 );
+
+        // oldest first, the document is stored by the full snapshots only
+        for( int position = 0; position < history.size(); ++position ) {
+            var checkpoint = history.get( history.size() - 1 - position );
+            var parent = ( position > 0 ) ? history.get( history.size() - position ) : null;
+            var changes = MemorySaver.changesToPersist( checkpoint, parent, position, 3 );
+            if( position % 3 == 0 ) {
+                assertTrue( changes.isEmpty() );
+            }
+            else {
+                assertEquals( Map.of( "steps", position ), changes.orElseThrow() );
+            }
+        }
+        assertTrue( MemorySaver.changesToPersist( history.get( 0 ), history.get( 1 ), 7, 1 ).isEmpty() );
+
+        var restored = new FileSystemSaver( rootPath.resolve( "files" ), serializer(), 3 );
+        assertSameHistory( history, new ArrayList<>( restored.list( config ) ) );
+    }
+
+    @Test
+    public void persistReplacedCheckpoint() throws Exception {
+        var config = RunnableConfig.builder().threadId( "replace" ).build();
+
+        var saver = new FileSystemSaver( rootPath.resolve( "replace" ), serializer() );
+        saver.deleteFile( config );
+        var history = storeHistory( saver, config, 4 );
+
+        var replaced = history.get( 2 );
+        var replacement = Checkpoint.copyOf( replaced ).updateState( Map.of( "document", "updated" ), Map.of() );
+        saver.put( RunnableConfig.builder( config ).checkPointId( replaced.getId() ).build(), replacement );
+
+        history = new ArrayList<>( saver.list( config ) );
+        assertEquals( "updated", history.get( 2 ).getState().get( "document" ) );
+        assertNotEquals( history.get( 2 ).getChannelVersions().get( "document" ), history.get( 1 ).getChannelVersions().get( "document" ) );
+
+        var restored = new FileSystemSaver( rootPath.resolve( "replace" ), serializer() );
+        assertSameHistory( history, new ArrayList<>( restored.list( config ) ) );
+    }
+
+    @Test
+    public void readPreviousFormat() throws Exception {
+        var config = RunnableConfig.builder().threadId( "previous" ).build();
+        var folder = rootPath.resolve( "previous" );
+        Files.createDirectories( folder );
+
+        var history = storeHistory( new MemorySaver(), config, 3 );
+        var serializer = new CheckPointSerializer( serializer() );
+        try( var out = new ObjectOutputStream( Files.newOutputStream( folder.resolve( "thread-previous.saver" ) ) ) ) {
+            out.writeInt( history.size() );
+            for( var checkpoint : history ) {
+                serializer.write( checkpoint, out );
+            }
+        }
+
+        var saver = new FileSystemSaver( folder, serializer() );
+        assertSameHistory( history, new ArrayList<>( saver.list( config ) ) );
+
+        // the next write converts the file
+        saver.put( config, checkpoint( "node3", Map.of( "document", "new", "steps", 3 ) ) );
+        var restored = new FileSystemSaver( folder, serializer() );
+        assertSameHistory( new ArrayList<>( saver.list( config ) ), new ArrayList<>( restored.list( config ) ) );
+    }
+
+    static void writeString( ObjectOutputStream out, String value ) throws IOException {
+        var bytes = value.getBytes( StandardCharsets.UTF_8 );
+        out.writeInt( bytes.length );
+        out.write( bytes );
+    }
+
+    @Test
+    public void readPreviousFormatNodeIds() throws Exception {
+        var config = RunnableConfig.builder().threadId( "legacy" ).build();
+        var folder = rootPath.resolve( "legacy" );
+        Files.createDirectories( folder );
+
+        // the layout of the files written before the incremental format: the number of checkpoints, then from the
+        // newest checkpoint its id, node id, next node id and state
+        try( var out = new ObjectOutputStream( Files.newOutputStream( folder.resolve( "thread-legacy.saver" ) ) ) ) {
+            out.writeInt( 2 );
+            for( var i = 1; i >= 0; --i ) {
+                writeString( out, "id" + i );
+                writeString( out, "node" + i );
+                writeString( out, "next" + i );
+                serializer().write( new AgentState( Map.of( "steps", i ) ), out );
+            }
+        }
+
+        var history = new ArrayList<>( new FileSystemSaver( folder, serializer() ).list( config ) );
+
+        // the previous reader returned the node id as next node id and vice versa
+        assertEquals( List.of( "id1", "id0" ), history.stream().map( Checkpoint::getId ).toList() );
+        assertEquals( List.of( "node1", "node0" ), history.stream().map( Checkpoint::getNodeId ).toList() );
+        assertEquals( List.of( "next1", "next0" ), history.stream().map( Checkpoint::getNextNodeId ).toList() );
+        assertEquals( List.of( Map.of( "steps", 1 ), Map.of( "steps", 0 ) ), history.stream().map( Checkpoint::getState ).toList() );
+    }
+
+    @Test
+    public void applyChangesAcrossReplacedCheckpoint() {
+        var first = checkpoint( "node0", Map.of( "document", "doc", "steps", 0 ) ).versionedFrom( null );
+        var second = checkpoint( "node1", Map.of( "document", "doc", "steps", 1, "note", "a" ) ).versionedFrom( first );
+        var third = checkpoint( "node2", Map.of( "document", "doc", "steps", 2, "note", "a" ) ).versionedFrom( second );
+
+        // the changes replayed from the full snapshot restore each state
+        var secondChanges = second.changedChannels( first ).orElseThrow();
+        var thirdChanges = third.changedChannels( second ).orElseThrow();
+        assertEquals( Map.of( "steps", 1, "note", "a" ), secondChanges );
+        assertEquals( Map.of( "steps", 2 ), thirdChanges );
+        assertEquals( third.getState(), Checkpoint.applyChanges( Checkpoint.applyChanges( first.getState(), secondChanges ), thirdChanges ) );
+
+        // the checkpoint in the middle is replaced: the changes of the next one don't restore its state anymore
+        var replaced = checkpoint( "node1", Map.of( "document", "updated", "steps", 1, "note", "b" ) ).versionedFrom( first );
+        assertNotEquals( third.getState(), Checkpoint.applyChanges( replaced.getState(), thirdChanges ) );
+
+        // unless it is versioned again against the replacement
+        var reversioned = third.versionedFrom( replaced );
+        var reversionedChanges = reversioned.changedChannels( replaced ).orElseThrow();
+        assertEquals( Map.of( "document", "doc", "steps", 2, "note", "a" ), reversionedChanges );
+        assertEquals( third.getState(), Checkpoint.applyChanges( replaced.getState(), reversionedChanges ) );
+
+        // the checkpoint in the middle is deleted: the next one is versioned against the previous one
+        var rechained = third.versionedFrom( first );
+        var rechainedChanges = rechained.changedChannels( first ).orElseThrow();
+        assertEquals( Map.of( "steps", 2, "note", "a" ), rechainedChanges );
+        assertEquals( third.getState(), Checkpoint.applyChanges( first.getState(), rechainedChanges ) );
+
+        // a replacement removing a channel cannot be followed by changes
+        var reduced = checkpoint( "node1", Map.of( "steps", 1 ) ).versionedFrom( first );
+        assertTrue( reduced.changedChannels( first ).isEmpty() );
+        var afterReduced = third.versionedFrom( reduced );
+        assertEquals( third.getState(), Checkpoint.applyChanges( reduced.getState(), afterReduced.changedChannels( reduced ).orElseThrow() ) );
+    }
+}
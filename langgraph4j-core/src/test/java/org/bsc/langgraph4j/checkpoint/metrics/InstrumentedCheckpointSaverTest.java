@@ -0,0 +1,240 @@
+package org.bsc.langgraph4j.checkpoint.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.bsc.langgraph4j.checkpoint.Checkpoint;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.checkpoint.VersionedMemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesState;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.bsc.langgraph4j.checkpoint.metrics.InstrumentedCheckpointSaver.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentedCheckpointSaverTest {
+
+    private StateGraph<MessagesState<String>> workflow() throws Exception {
+        return new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> Map.of("messages", "A") ) )
+                .addNode("B", node_async( state -> Map.of("messages", "B") ) )
+                .addNode("C", node_async( state -> Map.of("messages", "C") ) )
+                .addEdge(START, "A")
+                .addEdge("A", "B")
+                .addEdge("B", "C")
+                .addEdge("C", END);
+    }
+
+    @Test
+    public void recordSaverMetrics() throws Exception {
+        var workflow = workflow();
+        var registry = new InMemoryMetricsRegistry();
+
+        var saver = InstrumentedCheckpointSaver.builder()
+                .delegate( new MemorySaver() )
+                .sink( registry )
+                .stateSerializer( workflow.getStateSerializer() )
+                .channelSizes( true )
+                .historyDepth( true )
+                .tag( "app", "test" )
+                .build();
+
+        var app = workflow.compile( CompileConfig.builder()
+                .checkpointSaver( saver )
+                .build() );
+
+        var config = RunnableConfig.builder().threadId("T1").build();
+        var result = app.invoke( GraphInput.args(Map.of()), config );
+        assertTrue( result.isPresent() );
+        assertEquals( List.of("A", "B", "C"), result.get().messages() );
+
+        var puts = registry.histogram( LATENCY, "operation", "put", "outcome", "success", "saver", "MemorySaver", "app", "test" )
+                .orElseThrow()
+                .snapshot();
+        assertTrue( puts.count() > 0 );
+        assertTrue( puts.max() >= puts.p50() );
+
+        var sizes = registry.histogram( CHECKPOINT_SIZE, "saver", "MemorySaver", "app", "test" )
+                .orElseThrow()
+                .snapshot();
+        assertEquals( puts.count(), sizes.count() );
+        assertTrue( sizes.min() > 0 );
+
+        var messagesSize = registry.histogram( CHANNEL_SIZE, "channel", "messages", "saver", "MemorySaver", "app", "test" )
+                .orElseThrow()
+                .snapshot();
+        assertTrue( messagesSize.max() > messagesSize.min() );
+        assertTrue( messagesSize.max() <= sizes.max() );
+
+        var depth = registry.histogram( HISTORY_DEPTH, "saver", "MemorySaver", "app", "test" )
+                .orElseThrow()
+                .snapshot();
+        assertEquals( puts.count(), depth.count() );
+        assertEquals( puts.count(), depth.max() );
+
+        assertEquals( (int)puts.count(), app.getStateHistory( config ).size() );
+        assertTrue( registry.histogram( LATENCY, "operation", "list", "outcome", "success", "saver", "MemorySaver", "app", "test" ).isPresent() );
+
+        saver.release( config );
+        assertEquals( 1, registry.histogram( LATENCY, "operation", "release", "outcome", "success", "saver", "MemorySaver", "app", "test" )
+                .orElseThrow().count() );
+    }
+
+    @Test
+    public void recordFailures() throws Exception {
+        var registry = new InMemoryMetricsRegistry();
+
+        var saver = InstrumentedCheckpointSaver.builder()
+                .delegate( new VersionedMemorySaver() )
+                .sink( registry )
+                .build();
+
+        var config = RunnableConfig.builder().threadId("T1").checkPointId("missing").build();
+        assertThrows( Exception.class, () -> saver.put( config, checkpoint( Map.of() ) ) );
+
+        assertEquals( 1, registry.histogram( LATENCY, "operation", "put", "outcome", "error", "saver", "VersionedMemorySaver" )
+                .orElseThrow().count() );
+        assertTrue( registry.histogram( CHECKPOINT_SIZE, "saver", "VersionedMemorySaver" ).isEmpty() );
+        assertTrue( registry.histogram( HISTORY_DEPTH, "saver", "VersionedMemorySaver" ).isEmpty() );
+
+        assertThrows( IllegalStateException.class, () -> InstrumentedCheckpointSaver.builder()
+                .delegate( new MemorySaver() )
+                .sink( registry )
+                .channelSizes( true )
+                .build() );
+    }
+
+    /**
+     * Saver counting the listings of the checkpoints
+     */
+    static class ListingSaver implements BaseCheckpointSaver {
+        final MemorySaver saver = new MemorySaver();
+        int listings;
+
+        @Override
+        public Collection<Checkpoint> list( RunnableConfig config ) {
+            ++listings;
+            return saver.list( config );
+        }
+
+        @Override
+        public Optional<Checkpoint> get( RunnableConfig config ) {
+            return saver.get( config );
+        }
+
+        @Override
+        public RunnableConfig put( RunnableConfig config, Checkpoint checkpoint ) throws Exception {
+            return saver.put( config, checkpoint );
+        }
+
+        @Override
+        public Tag release( RunnableConfig config ) throws Exception {
+            return saver.release( config );
+        }
+    }
+
+    static Checkpoint checkpoint( Map<String,Object> state ) {
+        return Checkpoint.builder()
+                .state( state )
+                .nodeId( "A" )
+                .nextNodeId( "B" )
+                .build();
+    }
+
+    @Test
+    public void trackHistoryDepth() throws Exception {
+        var registry = new InMemoryMetricsRegistry();
+        var delegate = new ListingSaver();
+
+        var saver = InstrumentedCheckpointSaver.builder()
+                .delegate( delegate )
+                .sink( registry )
+                .historyDepth( true )
+                .build();
+
+        var config = RunnableConfig.builder().threadId("T1").build();
+        var last = config;
+        for( int i = 0; i < 5; ++i ) {
+            last = saver.put( config, checkpoint( Map.of() ) );
+        }
+        // a replaced checkpoint doesn't deepen the history
+        saver.put( last, checkpoint( Map.of( "replaced", true ) ) );
+
+        var depth = registry.histogram( HISTORY_DEPTH, "saver", "ListingSaver" ).orElseThrow().snapshot();
+        assertEquals( 6, depth.count() );
+        assertEquals( 1, depth.min() );
+        assertEquals( 5, depth.max() );
+        // the history is listed only the first time the thread is seen
+        assertEquals( 1, delegate.listings );
+        assertEquals( 5, delegate.saver.list( config ).size() );
+
+        // disabled by default
+        var defaultRegistry = new InMemoryMetricsRegistry();
+        InstrumentedCheckpointSaver.builder()
+                .delegate( new MemorySaver() )
+                .sink( defaultRegistry )
+                .build()
+                .put( config, checkpoint( Map.of() ) );
+        assertTrue( defaultRegistry.histogram( HISTORY_DEPTH, "saver", "MemorySaver" ).isEmpty() );
+    }
+
+    @Test
+    public void histogramPercentiles() {
+        var histogram = new Histogram();
+        for( long i = 1; i <= 10_000; ++i ) {
+            histogram.record( i * 1_000 );
+        }
+        var snapshot = histogram.snapshot();
+        assertEquals( 10_000, snapshot.count() );
+        assertEquals( 1_000, snapshot.min() );
+        assertEquals( 10_000_000, snapshot.max() );
+        assertEquals( 5_000_000, snapshot.p50(), 5_000_000 / Histogram.SUB_BUCKETS );
+        assertEquals( 9_900_000, snapshot.p99(), 9_900_000 / Histogram.SUB_BUCKETS );
+        assertEquals( 5_000_500.0, snapshot.mean(), 0.001 );
+
+        for( long v = 0; v < 100_000; v += 7 ) {
+            assertTrue( Histogram.highestValueAt( Histogram.indexOf(v) ) >= v );
+        }
+        assertEquals( Long.MAX_VALUE, Histogram.highestValueAt( Histogram.indexOf(Long.MAX_VALUE) ) );
+
+        histogram.reset();
+        assertEquals( 0, histogram.snapshot().count() );
+    }
+
+    @Test
+    public void publishToMicrometer() throws Exception {
+        var meterRegistry = new SimpleMeterRegistry();
+
+        var saver = InstrumentedCheckpointSaver.builder()
+                .delegate( new MemorySaver() )
+                .sink( new MicrometerMetricsSink( meterRegistry ) )
+                .historyDepth( true )
+                .build();
+
+        var app = workflow().compile( CompileConfig.builder()
+                .checkpointSaver( saver )
+                .build() );
+
+        app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() );
+
+        var timer = meterRegistry.find( LATENCY ).tags( "operation", "put", "saver", "MemorySaver" ).timer();
+        assertNotNull( timer );
+        assertTrue( timer.count() > 0 );
+
+        var depth = meterRegistry.find( HISTORY_DEPTH ).summary();
+        assertNotNull( depth );
+        assertEquals( timer.count(), depth.count() );
+    }
+}
@@ -0,0 +1,180 @@
+package org.bsc.langgraph4j.hedge;
+
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.InterruptingAction;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.action.NodeAction;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesState;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HedgePolicyTest {
+
+    static CompiledGraph<MessagesState<String>> app( NodeAction<MessagesState<String>> action, HedgePolicy policy ) throws Exception {
+        return new MessagesStateGraph<String>()
+                .addNode("slow", node_async( action ), policy )
+                .addNode("next", node_async( state -> Map.of( "messages", "next" ) ) )
+                .addEdge(START, "slow")
+                .addEdge("slow", "next")
+                .addEdge("next", END)
+                .compile();
+    }
+
+    static Throwable rootCause( Throwable exception ) {
+        Throwable cause = exception;
+        while( cause.getCause() != null ) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    @Test
+    public void firstExecutionWins() throws Exception {
+        var executions = new AtomicInteger();
+        var cancelled = new CountDownLatch( 1 );
+
+        var policy = HedgePolicy.builder()
+                .hedgeDelay( Duration.ofMillis( 50 ) )
+                .build();
+
+        var app = app( state -> {
+            if( executions.incrementAndGet() == 1 ) {
+                try {
+                    Thread.sleep( 5_000 );
+                }
+                catch( InterruptedException ex ) {
+                    cancelled.countDown();
+                    throw ex;
+                }
+                return Map.of( "messages", "primary" );
+            }
+            return Map.of( "messages", "hedge" );
+        }, policy );
+
+        var start = System.nanoTime();
+        var result = app.invoke( GraphInput.args( Map.of() ), RunnableConfig.builder().build() );
+        assertTrue( Duration.ofNanos( System.nanoTime() - start ).toMillis() < 2_000 );
+
+        assertEquals( "hedge", result.orElseThrow().messages().get( 0 ) );
+        assertEquals( "next", result.orElseThrow().lastMessage().orElseThrow() );
+
+        // the slow execution is cancelled
+        assertTrue( cancelled.await( 2, TimeUnit.SECONDS ) );
+        assertEquals( new HedgeStats( 1, 1, 1, 0 ), policy.stats() );
+    }
+
+    @Test
+    public void noHedgeForFastExecutions() throws Exception {
+        var executions = new AtomicInteger();
+
+        var policy = HedgePolicy.builder()
+                .hedgeDelay( Duration.ofSeconds( 1 ) )
+                .maxHedges( 2 )
+                .build();
+
+        var app = app( state -> {
+            executions.incrementAndGet();
+            return Map.of( "messages", "fast" );
+        }, policy );
+
+        for( int i = 0; i < 3; ++i ) {
+            app.invoke( GraphInput.args( Map.of() ), RunnableConfig.builder().build() );
+        }
+        assertEquals( 3, executions.get() );
+        assertEquals( new HedgeStats( 3, 0, 0, 0 ), policy.stats() );
+    }
+
+    @Test
+    public void failOnTimeout() throws Exception {
+        var policy = HedgePolicy.builder()
+                .timeout( Duration.ofMillis( 100 ) )
+                .maxHedges( 0 )
+                .build();
+
+        var interrupted = new CountDownLatch( 1 );
+
+        var app = app( state -> {
+            try {
+                Thread.sleep( 5_000 );
+            }
+            catch( InterruptedException ex ) {
+                interrupted.countDown();
+                throw ex;
+            }
+            return Map.of( "messages", "too late" );
+        }, policy );
+
+        var exception = assertThrows( Exception.class, () -> app.invoke( GraphInput.args( Map.of() ), RunnableConfig.builder().build() ) );
+        assertInstanceOf( TimeoutException.class, rootCause( exception ) );
+        assertEquals( 1, policy.stats().timeouts() );
+        // the timed out execution doesn't keep running
+        assertTrue( interrupted.await( 1, TimeUnit.SECONDS ) );
+    }
+
+    @Test
+    public void failuresAreNotRetried() throws Exception {
+        var executions = new AtomicInteger();
+
+        var policy = HedgePolicy.builder()
+                .hedgeDelay( Duration.ofSeconds( 1 ) )
+                .build();
+
+        var app = app( state -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException( "failure" );
+        }, policy );
+
+        var start = System.nanoTime();
+        var exception = assertThrows( Exception.class, () -> app.invoke( GraphInput.args( Map.of() ), RunnableConfig.builder().build() ) );
+        assertTrue( Duration.ofNanos( System.nanoTime() - start ).toMillis() < 1_000 );
+        assertInstanceOf( IllegalStateException.class, rootCause( exception ) );
+        assertEquals( 1, executions.get() );
+    }
+
+    @Test
+    public void validatePolicy() {
+        assertThrows( IllegalStateException.class, () -> HedgePolicy.builder().build() );
+        assertThrows( IllegalArgumentException.class, () -> HedgePolicy.builder().hedgeDelay( Duration.ZERO ) );
+        assertThrows( IllegalArgumentException.class, () -> HedgePolicy.builder().maxHedges( -1 ) );
+    }
+
+    @Test
+    public void interruptHedgedNode() throws Exception {
+        var policy = HedgePolicy.builder()
+                .hedgeDelay( Duration.ofSeconds( 1 ) )
+                .build();
+        var approval = new InterruptingAction();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("approval", approval, policy )
+                .addEdge(START, "approval")
+                .addEdge("approval", END)
+                .compile( CompileConfig.builder()
+                        .checkpointSaver( new MemorySaver() )
+                        .build() );
+
+        var config = RunnableConfig.builder().threadId( "approval" ).build();
+        app.invoke( GraphInput.args( Map.of() ), config );
+        assertEquals( 0, approval.executions.get() );
+
+        var resumeConfig = app.updateState( config, Map.of( "messages", InterruptingAction.APPROVED ) );
+        app.invoke( GraphInput.resume(), resumeConfig );
+        assertEquals( 1, approval.executions.get() );
+        assertEquals( 1, policy.stats().executions() );
+    }
+}
@@ -0,0 +1,98 @@
+package org.bsc.langgraph4j.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphFlightRecorderTest {
+
+    @Test
+    public void loadSettingsProfile() throws Exception {
+        var configuration = GraphFlightRecorder.configuration();
+
+        assertEquals( "LangGraph4j", configuration.getLabel() );
+        assertEquals( "true", configuration.getSettings().get("langgraph4j.NodeExecution#enabled") );
+        assertEquals( "10 ms", configuration.getSettings().get("langgraph4j.SaverLockWait#threshold") );
+
+        var settings = GraphFlightRecorder.settings("default");
+        assertEquals( "true", settings.get("langgraph4j.GraphRun#enabled") );
+        assertTrue( settings.keySet().stream().anyMatch( key -> key.startsWith("jdk.") ) );
+    }
+
+    @Test
+    public void recordGraphExecution() throws Exception {
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> Map.of("messages", "A") ) )
+                .addNode("B", node_async( state -> Map.of("messages", "B") ) )
+                .addEdge(START, "A")
+                .addEdge("A", "B")
+                .addEdge("B", END)
+                .compile( CompileConfig.builder().checkpointSaver( new MemorySaver() ).build() );
+
+        var file = Files.createTempFile( "langgraph4j", ".jfr" );
+        try( var recording = new Recording() ) {
+            for( var type : List.of( GraphRunEvent.class, NodeExecutionEvent.class, EdgeEvaluationEvent.class,
+                                    StateUpdateEvent.class, StateSerializationEvent.class,
+                                    CheckpointSaveEvent.class, CheckpointLoadEvent.class ) ) {
+                recording.enable( type ).withThreshold( Duration.ZERO );
+            }
+            recording.start();
+
+            var result = app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().threadId("jfr").build() );
+            assertEquals( List.of("A", "B"), result.orElseThrow().messages() );
+
+            recording.stop();
+            recording.dump( file );
+        }
+
+        try {
+            var events = RecordingFile.readAllEvents( file );
+
+            var runs = eventsOf( events, "langgraph4j.GraphRun" );
+            assertEquals( 1, runs.size() );
+            assertEquals( "completed", runs.get(0).getString("outcome") );
+            assertEquals( "jfr", runs.get(0).getString("threadId") );
+
+            assertEquals( List.of("A", "B"),
+                    eventsOf( events, "langgraph4j.NodeExecution" ).stream().map( e -> e.getString("nodeId") ).toList() );
+            assertEquals( 3, eventsOf( events, "langgraph4j.EdgeEvaluation" ).size() );
+            assertEquals( 2, eventsOf( events, "langgraph4j.StateUpdate" ).size() );
+            assertEquals( 1, eventsOf( events, "langgraph4j.CheckpointLoad" ).size() );
+
+            var saves = eventsOf( events, "langgraph4j.CheckpointSave" );
+            assertEquals( 3, saves.size() );
+            assertTrue( saves.stream().allMatch( e -> e.getLong("stateSize") > 0 ) );
+
+            var serializations = eventsOf( events, "langgraph4j.StateSerialization" );
+            assertFalse( serializations.isEmpty() );
+            assertTrue( serializations.stream().allMatch( e -> e.getLong("size") > 0 ) );
+            // the state size of a checkpoint is the one of the clone of its state
+            var sizes = serializations.stream().map( e -> e.getLong("size") ).toList();
+            assertTrue( saves.stream().allMatch( e -> sizes.contains( e.getLong("stateSize") ) ) );
+        }
+        finally {
+            Files.deleteIfExists( file );
+        }
+    }
+
+    private static List<RecordedEvent> eventsOf( List<RecordedEvent> events, String name ) {
+        return events.stream().filter( e -> e.getEventType().getName().equals(name) ).toList();
+    }
+}
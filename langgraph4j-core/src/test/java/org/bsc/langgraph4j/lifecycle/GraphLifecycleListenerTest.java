@@ -0,0 +1,173 @@
+package org.bsc.langgraph4j.lifecycle;
+
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.internal.node.ParallelNode;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleEvent.*;
+import org.bsc.langgraph4j.prebuilt.MessagesState;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncEdgeAction.edge_async;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphLifecycleListenerTest {
+
+    static class RecordingListener implements GraphLifecycleListener {
+        final List<GraphLifecycleEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override public void onGraphStart(GraphStart event) { events.add(event); }
+        @Override public void onGraphEnd(GraphEnd event) { events.add(event); }
+        @Override public void onNodeStart(NodeStart event) { events.add(event); }
+        @Override public void onNodeEnd(NodeEnd event) { events.add(event); }
+        @Override public void onNodeError(NodeError event) { events.add(event); }
+        @Override public void onStateUpdate(StateUpdate event) { events.add(event); }
+        @Override public void onEdgeRouting(EdgeRouting event) { events.add(event); }
+        @Override public void onCheckpointPut(CheckpointPut event) { events.add(event); }
+        @Override public void onStateSerialization(StateSerialization event) { events.add(event); }
+        @Override public void onParallelFanOut(ParallelFanOut event) { events.add(event); }
+        @Override public void onParallelBranch(ParallelBranch event) { events.add(event); }
+        @Override public void onParallelJoin(ParallelJoin event) { events.add(event); }
+        @Override public void onInterruption(Interruption event) { events.add(event); }
+
+        <T extends GraphLifecycleEvent> List<T> eventsOf( Class<T> type ) {
+            return events.stream().filter(type::isInstance).map(type::cast).toList();
+        }
+    }
+
+    private StateGraph<MessagesState<String>> workflow() throws Exception {
+        return new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> Map.of("messages", "A") ) )
+                .addNode("B1", node_async( state -> Map.of("messages", "B1") ) )
+                .addNode("B2", node_async( state -> Map.of("messages", "B2") ) )
+                .addNode("C", node_async( state -> Map.of("messages", "C") ) )
+                .addEdge(START, "A")
+                .addEdge("A", "B1")
+                .addEdge("A", "B2")
+                .addEdge("B1", "C")
+                .addEdge("B2", "C")
+                .addConditionalEdges("C", edge_async( state -> "end" ), Map.of("end", END));
+    }
+
+    @Test
+    public void notifyExecutionEvents() throws Exception {
+
+        var listener = new RecordingListener();
+        var failingListener = new GraphLifecycleListener() {
+            @Override
+            public void onNodeStart(NodeStart event) {
+                throw new IllegalStateException("listener failure must not affect the graph");
+            }
+        };
+
+        var app = workflow().compile( CompileConfig.builder()
+                .checkpointSaver( new MemorySaver() )
+                .lifecycleListener( failingListener )
+                .lifecycleListener( listener )
+                .build() );
+
+        var result = app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() );
+        assertTrue( result.isPresent() );
+        assertEquals( List.of("A", "B1", "B2", "C"), result.get().messages() );
+
+        var events = listener.events;
+        assertInstanceOf( GraphStart.class, events.get(0) );
+        assertInstanceOf( GraphEnd.class, events.get(events.size() - 1) );
+        assertTrue( listener.eventsOf(GraphEnd.class).get(0).errorIfAny().isEmpty() );
+
+        var parallelNodeId = ParallelNode.formatNodeId("A");
+        assertEquals( List.of("A", parallelNodeId, "C"),
+                listener.eventsOf(NodeStart.class).stream().map(NodeStart::nodeId).toList() );
+        assertEquals( List.of("A", parallelNodeId, "C"),
+                listener.eventsOf(NodeEnd.class).stream().map(NodeEnd::nodeId).toList() );
+        assertEquals( 3, listener.eventsOf(StateUpdate.class).size() );
+
+        assertEquals( List.of( START + "->A", "A->" + parallelNodeId, parallelNodeId + "->C", "C->" + END ),
+                listener.eventsOf(EdgeRouting.class).stream().map( e -> e.sourceId() + "->" + e.targetId() ).toList() );
+
+        var fanOut = listener.eventsOf(ParallelFanOut.class);
+        var join = listener.eventsOf(ParallelJoin.class);
+        assertEquals( 1, fanOut.size() );
+        assertEquals( 2, fanOut.get(0).branches() );
+        assertEquals( 1, join.size() );
+        assertTrue( join.get(0).timestamp() == fanOut.get(0).timestamp() );
+
+        var branches = listener.eventsOf(ParallelBranch.class);
+        assertEquals( List.of("B1", "B2"), branches.stream().map(ParallelBranch::branchId).sorted().toList() );
+        for( var branch : branches ) {
+            assertEquals( parallelNodeId, branch.nodeId() );
+            assertTrue( branch.errorIfAny().isEmpty() );
+            assertTrue( branch.timestamp() >= fanOut.get(0).timestamp() );
+            assertTrue( branch.timestamp() + branch.durationNanos() <= join.get(0).timestamp() + join.get(0).durationNanos() );
+        }
+
+        // START + 3 nodes
+        assertEquals( 4, listener.eventsOf(CheckpointPut.class).size() );
+        assertFalse( listener.eventsOf(StateSerialization.class).isEmpty() );
+
+        // timings are consistent
+        for( var e : listener.eventsOf(NodeEnd.class) ) {
+            assertTrue( e.durationNanos() >= 0 );
+            assertTrue( e.timestamp() >= events.get(0).timestamp() );
+        }
+        var nodeStart = listener.eventsOf(NodeStart.class).get(0);
+        var nodeEnd = listener.eventsOf(NodeEnd.class).get(0);
+        assertEquals( nodeStart.timestamp(), nodeEnd.timestamp() );
+    }
+
+    @Test
+    public void notifyNodeErrorAndInterruption() throws Exception {
+
+        var listener = new RecordingListener();
+
+        var failing = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> { throw new IllegalStateException("node failure"); } ) )
+                .addEdge(START, "A")
+                .addEdge("A", END)
+                .compile( CompileConfig.builder().lifecycleListener( listener ).build() );
+
+        assertThrows( Exception.class, () -> failing.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() ) );
+
+        var errors = listener.eventsOf(NodeError.class);
+        assertEquals( 1, errors.size() );
+        assertEquals( "A", errors.get(0).nodeId() );
+        assertEquals( 1, listener.eventsOf(GraphEnd.class).size() );
+        assertTrue( listener.eventsOf(GraphEnd.class).get(0).errorIfAny().isPresent() );
+
+        listener.events.clear();
+
+        var interrupted = workflow().compile( CompileConfig.builder()
+                .checkpointSaver( new MemorySaver() )
+                .interruptBefore( "C" )
+                .lifecycleListener( listener )
+                .build() );
+
+        interrupted.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().threadId("interruption").build() );
+
+        var interruptions = listener.eventsOf(Interruption.class);
+        assertEquals( 1, interruptions.size() );
+        assertEquals( 1, listener.eventsOf(GraphEnd.class).size() );
+        assertTrue( listener.eventsOf(GraphEnd.class).get(0).errorIfAny().isEmpty() );
+    }
+
+    @Test
+    public void noListenerRegistered() throws Exception {
+        var config = CompileConfig.builder().build();
+
+        assertTrue( config.lifecycleListener().isEmpty() );
+        assertTrue( config.lifecycleListeners().isEmpty() );
+
+        var result = workflow().compile( config ).invoke( Map.of() );
+        assertEquals( List.of("A", "B1", "B2", "C"), result.orElseThrow().messages() );
+    }
+}
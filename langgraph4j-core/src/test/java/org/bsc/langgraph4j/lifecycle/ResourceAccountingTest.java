@@ -0,0 +1,152 @@
+package org.bsc.langgraph4j.lifecycle;
+
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.internal.node.ParallelNode;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleEvent.*;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ResourceAccountingTest {
+
+    static final int MB = 1024 * 1024;
+
+    static volatile Object sink;
+
+    static void allocate( int bytes ) {
+        for( int i = 0; i < bytes / 1024; ++i ) {
+            sink = new byte[1024];
+        }
+    }
+
+    static void burnCpu( long nanos ) {
+        final long deadline = System.nanoTime() + nanos;
+        long x = 0;
+        while( System.nanoTime() < deadline ) {
+            x += System.identityHashCode( new Object() ) % 7;
+        }
+        sink = x;
+    }
+
+    @BeforeAll
+    public static void checkSupport() {
+        assumeTrue( ResourceAccounting.isSupported(), "thread cpu time and allocation accounting not supported" );
+    }
+
+    @Test
+    public void accountNodesAndParallelBranches() throws Exception {
+        var workflow = new MessagesStateGraph<String>()
+                .addNode("alloc", node_async( state -> { allocate( 8 * MB ); return Map.of("messages", "alloc"); } ) )
+                .addNode("cpu", node_async( state -> { burnCpu( 30_000_000L ); return Map.of("messages", "cpu"); } ) )
+                .addNode("B1", node_async( state -> { allocate( 4 * MB ); return Map.of("messages", "B1"); } ) )
+                .addNode("B2", node_async( state -> { allocate( 4 * MB ); return Map.of("messages", "B2"); } ) )
+                .addNode("idle", node_async( state -> Map.of("messages", "idle") ) )
+                .addEdge(START, "alloc")
+                .addEdge("alloc", "cpu")
+                .addEdge("cpu", "B1")
+                .addEdge("cpu", "B2")
+                .addEdge("B1", "idle")
+                .addEdge("B2", "idle")
+                .addEdge("idle", END);
+
+        var events = new CopyOnWriteArrayList<GraphLifecycleEvent>();
+        var listener = new GraphLifecycleListener() {
+            @Override public void onNodeResourceUsage(NodeResourceUsage event) { events.add(event); }
+            @Override public void onRunResourceUsage(RunResourceUsage event) { events.add(event); }
+            @Override public void onGraphEnd(GraphEnd event) { events.add(event); }
+        };
+
+        var app = workflow.compile( CompileConfig.builder()
+                .lifecycleListener( listener )
+                .resourceAccounting( true )
+                .build() );
+
+        var executor = Executors.newFixedThreadPool( 2 );
+        try {
+            var config = RunnableConfig.builder()
+                    .addParallelNodeExecutor( "cpu", executor )
+                    .build();
+            var result = app.invoke( GraphInput.args(Map.of()), config );
+            assertTrue( result.isPresent() );
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        var nodes = events.stream()
+                .filter(NodeResourceUsage.class::isInstance)
+                .map(NodeResourceUsage.class::cast)
+                .toList();
+        assertEquals( List.of("alloc", "cpu", ParallelNode.formatNodeId("cpu"), "idle"), nodes.stream().map(NodeResourceUsage::nodeId).toList() );
+
+        var byId = nodes.stream().collect( Collectors.toMap( NodeResourceUsage::nodeId, NodeResourceUsage::usage ) );
+        assertTrue( byId.get("alloc").allocatedBytes() >= 8 * MB );
+        // the cpu time is sampled, its resolution depends on the platform
+        assertTrue( byId.get("cpu").cpuTimeNanos() > 0 );
+        // both branches run on the executor and are accounted to the parallel node
+        assertTrue( byId.get(ParallelNode.formatNodeId("cpu")).allocatedBytes() >= 8 * MB );
+        assertTrue( byId.get("idle").allocatedBytes() < MB );
+
+        // the run usage is notified just before the graph end and sums the nodes
+        assertInstanceOf( GraphEnd.class, events.get( events.size() - 1 ) );
+        var run = assertInstanceOf( RunResourceUsage.class, events.get( events.size() - 2 ) );
+        assertEquals( byId, run.usageByNode() );
+        assertEquals( nodes.stream().map(NodeResourceUsage::usage).reduce(ResourceUsage.ZERO, ResourceUsage::plus), run.usage() );
+    }
+
+    @Test
+    public void disabledByDefault() throws Exception {
+        var events = new CopyOnWriteArrayList<GraphLifecycleEvent>();
+        var listener = new GraphLifecycleListener() {
+            @Override public void onNodeResourceUsage(NodeResourceUsage event) { events.add(event); }
+            @Override public void onRunResourceUsage(RunResourceUsage event) { events.add(event); }
+        };
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> Map.of("messages", "A") ) )
+                .addEdge(START, "A")
+                .addEdge("A", END)
+                .compile( CompileConfig.builder().lifecycleListener( listener ).build() );
+
+        app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() );
+        assertTrue( events.isEmpty() );
+    }
+
+    @Test
+    public void propagateToWrappedExecutor() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var wrapped = ResourceAccounting.wrap( executor );
+            var accumulator = new ResourceAccounting.Accumulator();
+
+            var future = ResourceAccounting.measure( accumulator,
+                    () -> CompletableFuture.runAsync( () -> allocate( 4 * MB ), wrapped ) );
+            future.join();
+            // the usage is collected when the task returns, after the future completion
+            executor.shutdown();
+            assertTrue( executor.awaitTermination( 5, TimeUnit.SECONDS ) );
+
+            assertTrue( accumulator.usage().allocatedBytes() >= 4 * MB );
+            assertNull( ResourceAccounting.current() );
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.bsc.langgraph4j.lifecycle;
+
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.lifecycle.StateSizeProfiler.StateSizeProfile;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StateSizeProfilerTest {
+
+    @Test
+    public void profileChannelGrowth() throws Exception {
+        var workflow = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> Map.of("messages", "A".repeat(100), "status", "a") ) )
+                .addNode("B", node_async( state -> Map.of("messages", "B".repeat(100)) ) )
+                .addNode("C", node_async( state -> Map.of("messages", "C".repeat(100), "status", "c") ) )
+                .addEdge(START, "A")
+                .addEdge("A", "B")
+                .addEdge("B", "C")
+                .addEdge("C", END);
+
+        var profiles = new CopyOnWriteArrayList<StateSizeProfile>();
+        var profiler = new StateSizeProfiler( workflow.getStateSerializer(), profiles::add );
+
+        var app = workflow.compile( CompileConfig.builder()
+                .lifecycleListener( profiler )
+                .build() );
+
+        var result = app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().threadId("T1").build() );
+        assertTrue( result.isPresent() );
+
+        assertEquals( List.of("A", "B", "C"), profiles.stream().map(StateSizeProfile::nodeId).toList() );
+        assertEquals( List.of(1, 2, 3), profiles.stream().map(StateSizeProfile::step).toList() );
+
+        for( int i = 0; i < profiles.size(); ++i ) {
+            var messages = profiles.get(i).channels().get("messages");
+            assertNotNull( messages );
+            assertEquals( i + 1, messages.elements() );
+            assertEquals( 1, messages.elementsDelta() );
+            assertTrue( messages.bytesDelta() >= 100 );
+            assertEquals( "messages", profiles.get(i).largest().orElseThrow().channel() );
+        }
+        var status = profiles.get(1).channels().get("status");
+        assertEquals( 0, status.bytesDelta() );
+        assertEquals( 1, status.elements() );
+
+        assertTrue( profiles.get(2).totalBytes() > profiles.get(0).totalBytes() );
+
+        // a new run restarts the steps
+        profiles.clear();
+        app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().threadId("T2").build() );
+        assertEquals( 1, profiles.get(0).step() );
+    }
+
+    @Test
+    public void countElements() {
+        assertEquals( 0, StateSizeProfiler.elementsOf( null ) );
+        assertEquals( 1, StateSizeProfiler.elementsOf( "value" ) );
+        assertEquals( 3, StateSizeProfiler.elementsOf( List.of(1, 2, 3) ) );
+        assertEquals( 2, StateSizeProfiler.elementsOf( Map.of("a", 1, "b", 2) ) );
+        assertEquals( 4, StateSizeProfiler.elementsOf( new int[4] ) );
+    }
+}
@@ -0,0 +1,173 @@
+package org.bsc.langgraph4j.scheduler;
+
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.InterruptingAction;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.batch.BatchConfig;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunSchedulerTest {
+
+    @Test
+    public void shareSlotsByWeight() {
+        var scheduler = RunScheduler.builder()
+                .maxInFlight( 1 )
+                .weight( "A", 2 )
+                .weight( "B", 1 )
+                .executor( Runnable::run )
+                .build();
+
+        var gate = new CompletableFuture<String>();
+        scheduler.schedule( "gate", 0, () -> gate );
+
+        var order = Collections.synchronizedList( new ArrayList<String>() );
+        var results = new ArrayList<CompletableFuture<String>>();
+        for( var tenant : List.of( "A", "B" ) ) {
+            for( int i = 0; i < 6; ++i ) {
+                results.add( scheduler.schedule( tenant, 0, () -> {
+                    order.add( tenant );
+                    return completedFuture( tenant );
+                }));
+            }
+        }
+        assertEquals( 12, scheduler.stats().queueDepth() );
+
+        gate.complete( "gate" );
+        results.forEach( CompletableFuture::join );
+
+        // while both tenants are backlogged, A gets twice the steps of B
+        assertEquals( List.of( "A", "B", "A", "A", "B", "A" ), order.subList( 0, 6 ) );
+
+        var stats = scheduler.stats();
+        assertEquals( 0, stats.inFlight() );
+        assertEquals( 13, stats.completed() );
+        assertEquals( 6, stats.tenants().get( "A" ).completed() );
+        assertEquals( 6, stats.tenants().get( "B" ).completed() );
+        // the idle tenants without a weight are discarded
+        assertFalse( stats.tenants().containsKey( "gate" ) );
+    }
+
+    @Test
+    public void startHigherPriorityFirst() {
+        var scheduler = RunScheduler.builder()
+                .maxInFlight( 1 )
+                .executor( Runnable::run )
+                .build();
+
+        var gate = new CompletableFuture<String>();
+        scheduler.schedule( "gate", 0, () -> gate );
+
+        var order = Collections.synchronizedList( new ArrayList<String>() );
+        var low = scheduler.schedule( "batch", -1, () -> completedFuture( order.add( "low" ) ) );
+        var normal = scheduler.schedule( "batch", 0, () -> completedFuture( order.add( "normal" ) ) );
+        var high = scheduler.schedule( "interactive", 10, () -> completedFuture( order.add( "high" ) ) );
+
+        gate.complete( "gate" );
+        CompletableFuture.allOf( low, normal, high ).join();
+
+        assertEquals( List.of( "high", "normal", "low" ), order );
+    }
+
+    @Test
+    public void releaseOnFailure() {
+        var scheduler = RunScheduler.builder().maxInFlight( 1 ).build();
+
+        var failed = scheduler.<String>schedule( "A", 0, () -> { throw new IllegalStateException( "failure" ); } );
+        assertTrue( failed.isCompletedExceptionally() );
+
+        assertEquals( "next", scheduler.schedule( "A", 0, () -> completedFuture( "next" ) ).join() );
+        assertEquals( 0, scheduler.stats().inFlight() );
+    }
+
+    @Test
+    public void resolveTenantOfRun() {
+        assertEquals( "acme", RunScheduler.tenantOf( RunnableConfig.builder().threadId( "t1" ).tenant( "acme" ).build() ) );
+        assertEquals( "t1", RunScheduler.tenantOf( RunnableConfig.builder().threadId( "t1" ).build() ) );
+        assertEquals( "$default", RunScheduler.tenantOf( RunnableConfig.builder().build() ) );
+
+        var config = RunnableConfig.builder( RunnableConfig.builder().priority( 5 ).build() ).build();
+        assertEquals( 5, config.priority() );
+        assertEquals( 0, RunnableConfig.builder().build().priority() );
+    }
+
+    @Test
+    public void limitStepsAcrossRuns() throws Exception {
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        var scheduler = RunScheduler.builder()
+                .maxInFlight( 2 )
+                .weight( "acme", 1 )
+                .build();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> {
+                    maxRunning.accumulateAndGet( running.incrementAndGet(), Math::max );
+                    Thread.sleep( 20 );
+                    running.decrementAndGet();
+                    return Map.of( "messages", "A" );
+                }))
+                .addNode("B", node_async( state -> Map.of( "messages", "B" ) ) )
+                .addEdge(START, "A")
+                .addEdge("A", "B")
+                .addEdge("B", END)
+                .compile( CompileConfig.builder().scheduler( scheduler ).build() );
+
+        var inputs = new ArrayList<GraphInput>();
+        for( int i = 0; i < 6; ++i ) {
+            inputs.add( GraphInput.args( Map.of() ) );
+        }
+        var report = app.batch( inputs,
+                RunnableConfig.builder().tenant( "acme" ).build(),
+                BatchConfig.builder().maxConcurrency( 6 ).build() );
+
+        assertEquals( 6, report.succeeded() );
+        report.results().forEach( result -> assertEquals( List.of( "A", "B" ), result.state().orElseThrow().messages() ) );
+        assertEquals( 2, maxRunning.get() );
+
+        var stats = scheduler.stats().tenants().get( "acme" );
+        assertEquals( 12, stats.completed() );
+        assertTrue( stats.maxQueueTime().toMillis() > 0 );
+    }
+
+    @Test
+    public void interruptScheduledNode() throws Exception {
+        var scheduler = RunScheduler.builder().maxInFlight( 1 ).build();
+        var approval = new InterruptingAction();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("approval", approval )
+                .addEdge(START, "approval")
+                .addEdge("approval", END)
+                .compile( CompileConfig.builder()
+                        .checkpointSaver( new MemorySaver() )
+                        .scheduler( scheduler )
+                        .build() );
+
+        var config = RunnableConfig.builder().threadId( "approval" ).build();
+        app.invoke( GraphInput.args( Map.of() ), config );
+        assertEquals( 0, approval.executions.get() );
+
+        var resumeConfig = app.updateState( config, Map.of( "messages", InterruptingAction.APPROVED ) );
+        var result = app.invoke( GraphInput.resume(), resumeConfig );
+        assertEquals( 1, approval.executions.get() );
+        assertEquals( List.of( InterruptingAction.APPROVED, "executed" ), result.orElseThrow().messages() );
+        assertEquals( 1, scheduler.stats().completed() );
+    }
+}
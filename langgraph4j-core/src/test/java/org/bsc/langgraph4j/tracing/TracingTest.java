@@ -0,0 +1,252 @@
+package org.bsc.langgraph4j.tracing;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.internal.node.ParallelNode;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TracingTest {
+
+    static InMemoryTracer.SpanData single( List<InMemoryTracer.SpanData> spans ) {
+        assertEquals( 1, spans.size(), () -> "expected a single span: " + spans );
+        return spans.get(0);
+    }
+
+    static Map<String,Object> traceTool( String name ) {
+        return Tracing.trace( Tracing.TOOL_SPAN, span -> span.setAttribute( Tracing.TOOL_NAME, name ), () -> Map.of("messages", name) );
+    }
+
+    @Test
+    public void traceRunNodesAndCheckpoints() throws Exception {
+        var tracer = new InMemoryTracer();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> traceTool("A") ) )
+                .addNode("B1", node_async( state -> traceTool("B1") ) )
+                .addNode("B2", node_async( state -> traceTool("B2") ) )
+                .addNode("C", node_async( state -> Map.of("messages", "C") ) )
+                .addEdge(START, "A")
+                .addEdge("A", "B1")
+                .addEdge("A", "B2")
+                .addEdge("B1", "C")
+                .addEdge("B2", "C")
+                .addEdge("C", END)
+                .compile( CompileConfig.builder()
+                        .checkpointSaver( new MemorySaver() )
+                        .tracer( tracer )
+                        .build() );
+
+        var executor = Executors.newFixedThreadPool( 2 );
+        try {
+            var config = RunnableConfig.builder()
+                    .threadId( "T1" )
+                    .addParallelNodeExecutor( "A", executor )
+                    .build();
+            var result = app.invoke( GraphInput.args(Map.of()), config );
+            assertTrue( result.isPresent() );
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        var run = single( tracer.spans( Tracing.RUN_SPAN ) );
+        assertNull( run.parentSpanId() );
+        assertEquals( "T1", run.attribute( Tracing.THREAD_ID ).orElse(null) );
+        assertTrue( run.errorIfAny().isEmpty() );
+
+        // all spans belong to the same trace
+        assertTrue( tracer.spans().stream().allMatch( span -> span.traceId().equals( run.traceId() ) ) );
+
+        var nodes = tracer.spans( Tracing.NODE_SPAN );
+        assertEquals( List.of( "A", ParallelNode.formatNodeId("A"), "C" ),
+                nodes.stream().map( span -> span.attribute( Tracing.NODE_ID ).orElseThrow() ).toList() );
+        assertTrue( nodes.stream().allMatch( span -> run.spanId().equals( span.parentSpanId() ) ) );
+
+        var nodeA = nodes.get(0);
+        var toolA = single( tracer.children( nodeA ).stream().filter( span -> span.name().equals(Tracing.TOOL_SPAN) ).toList() );
+        assertEquals( "A", toolA.attribute( Tracing.TOOL_NAME ).orElse(null) );
+
+        // the branches run on the executor as children of the parallel node span, and the tools as children of the branches
+        var parallel = nodes.get(1);
+        var branches = tracer.children( parallel ).stream().filter( span -> span.name().equals(Tracing.PARALLEL_BRANCH_SPAN) ).toList();
+        assertEquals( 2, branches.size() );
+        for( var branch : branches ) {
+            var branchId = branch.attribute( Tracing.BRANCH_ID ).orElseThrow();
+            var tool = single( tracer.children( branch ) );
+            assertEquals( Tracing.TOOL_SPAN, tool.name() );
+            assertEquals( branchId, tool.attribute( Tracing.TOOL_NAME ).orElse(null) );
+        }
+
+        // a checkpoint is looked up at start and stored for the start and after each node, within the run
+        var checkpoints = tracer.spans( Tracing.CHECKPOINT_SPAN );
+        var runAndNodes = new HashSet<String>( List.of( run.spanId() ) );
+        nodes.forEach( span -> runAndNodes.add( span.spanId() ) );
+        assertTrue( checkpoints.stream().allMatch( span -> runAndNodes.contains( span.parentSpanId() ) ) );
+        var puts = checkpoints.stream()
+                .filter( span -> "put".equals( span.attribute( Tracing.CHECKPOINT_OPERATION ).orElse(null) ) )
+                .toList();
+        assertEquals( nodes.size() + 1, puts.size() );
+        assertTrue( puts.stream().allMatch( span -> span.attribute( Tracing.CHECKPOINT_ID ).isPresent() ) );
+
+        // nodes end before the run
+        assertTrue( nodes.stream().allMatch( span -> span.endNanos() <= run.endNanos() ) );
+    }
+
+    @Test
+    public void traceSubgraphUnderNodeSpan() throws Exception {
+        var tracer = new InMemoryTracer();
+
+        var subGraph = new MessagesStateGraph<String>()
+                .addNode("S1", node_async( state -> Map.of("messages", "S1") ) )
+                .addEdge(START, "S1")
+                .addEdge("S1", END)
+                .compile();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> Map.of("messages", "A") ) )
+                .addNode("sub", subGraph )
+                .addEdge(START, "A")
+                .addEdge("A", "sub")
+                .addEdge("sub", END)
+                .compile( CompileConfig.builder().tracer( tracer ).build() );
+
+        var result = app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() );
+        assertTrue( result.isPresent() );
+
+        var runs = tracer.spans( Tracing.RUN_SPAN );
+        assertEquals( 2, runs.size() );
+        var root = runs.stream().filter( span -> span.parentSpanId() == null ).findFirst().orElseThrow();
+        var nested = runs.stream().filter( span -> span.parentSpanId() != null ).findFirst().orElseThrow();
+
+        var subNode = tracer.spans( Tracing.NODE_SPAN ).stream()
+                .filter( span -> "sub".equals( span.attribute( Tracing.NODE_ID ).orElse(null) ) )
+                .findFirst().orElseThrow();
+        assertEquals( root.spanId(), subNode.parentSpanId() );
+        assertEquals( subNode.spanId(), nested.parentSpanId() );
+
+        var s1 = single( tracer.children( nested ) );
+        assertEquals( "S1", s1.attribute( Tracing.NODE_ID ).orElse(null) );
+        assertEquals( root.traceId(), s1.traceId() );
+    }
+
+    @Test
+    public void recordNodeError() throws Exception {
+        var tracer = new InMemoryTracer();
+
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> { throw new IllegalStateException("boom"); } ) )
+                .addEdge(START, "A")
+                .addEdge("A", END)
+                .compile( CompileConfig.builder().tracer( tracer ).build() );
+
+        assertThrows( Exception.class, () -> app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() ) );
+
+        var node = single( tracer.spans( Tracing.NODE_SPAN ) );
+        assertTrue( node.errorIfAny().isPresent() );
+        var run = single( tracer.spans( Tracing.RUN_SPAN ) );
+        assertTrue( run.errorIfAny().isPresent() );
+        assertNull( Tracing.current() );
+    }
+
+    @Test
+    public void disabledWithoutTracer() throws Exception {
+        var app = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> {
+                    assertNull( Tracing.current() );
+                    return traceTool("A");
+                }))
+                .addEdge(START, "A")
+                .addEdge("A", END)
+                .compile();
+
+        assertTrue( app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() ).isPresent() );
+    }
+
+    @Test
+    public void propagateToWrappedExecutor() throws Exception {
+        var tracer = new InMemoryTracer();
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var wrapped = Tracing.wrap( executor );
+            var root = tracer.startSpan( "root" );
+
+            var future = Tracing.withSpan( root, () ->
+                    CompletableFuture.supplyAsync( () -> traceTool("async"), wrapped ) );
+            future.join();
+            root.end();
+
+            var rootData = single( tracer.spans( "root" ) );
+            var tool = single( tracer.spans( Tracing.TOOL_SPAN ) );
+            assertEquals( rootData.spanId(), tool.parentSpanId() );
+            assertNull( Tracing.current() );
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void exportToOpenTelemetry() throws Exception {
+        var exporter = InMemorySpanExporter.create();
+        var provider = SdkTracerProvider.builder()
+                .addSpanProcessor( SimpleSpanProcessor.create( exporter ) )
+                .build();
+        try {
+            var otelTracer = provider.get( "langgraph4j-test" );
+
+            var app = new MessagesStateGraph<String>()
+                    .addNode("A", node_async( state -> Map.of("messages", "A") ) )
+                    .addNode("B", node_async( state -> { throw new IllegalStateException("boom"); } ) )
+                    .addEdge(START, "A")
+                    .addEdge("A", "B")
+                    .addEdge("B", END)
+                    .compile( CompileConfig.builder().tracer( new OpenTelemetryTracer( otelTracer ) ).build() );
+
+            // the run joins the trace of the current OpenTelemetry context
+            var request = otelTracer.spanBuilder( "request" ).startSpan();
+            try( var scope = request.makeCurrent() ) {
+                assertThrows( Exception.class, () -> app.invoke( GraphInput.args(Map.of()), RunnableConfig.builder().build() ) );
+            }
+            finally {
+                request.end();
+            }
+
+            var spans = exporter.getFinishedSpanItems();
+            var run = spans.stream().filter( span -> span.getName().equals(Tracing.RUN_SPAN) ).findFirst().orElseThrow();
+            assertEquals( request.getSpanContext().getSpanId(), run.getParentSpanId() );
+            assertEquals( request.getSpanContext().getTraceId(), run.getTraceId() );
+            assertEquals( StatusCode.ERROR, run.getStatus().getStatusCode() );
+
+            var nodes = spans.stream().filter( span -> span.getName().equals(Tracing.NODE_SPAN) ).toList();
+            assertEquals( 2, nodes.size() );
+            assertTrue( nodes.stream().allMatch( span -> span.getParentSpanId().equals( run.getSpanId() ) ) );
+            var failed = nodes.stream().filter( span -> span.getStatus().getStatusCode() == StatusCode.ERROR ).toList();
+            assertEquals( 1, failed.size() );
+            assertEquals( "B", failed.get(0).getAttributes().asMap().entrySet().stream()
+                    .filter( e -> e.getKey().getKey().equals(Tracing.NODE_ID) )
+                    .map( e -> e.getValue() )
+                    .findFirst().orElseThrow() );
+        }
+        finally {
+            provider.close();
+        }
+    }
+}
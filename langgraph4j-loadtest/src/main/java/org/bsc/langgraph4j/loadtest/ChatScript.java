@@ -0,0 +1,242 @@
+package org.bsc.langgraph4j.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Deterministic script followed by the fake chat models.
+ * <p>
+ * The script is a sequence of turns: the model replies to a request with the turn whose index is the number of
+ * assistant messages already in the conversation, so that an agent executor walks through the tool calls
+ * of the script and ends with its final answer. The last turn must be an answer.
+ * <p>
+ * Each reply is delayed by the configured latency (time to first token) plus the time to generate its tokens
+ * at the configured token rate. Tokens are the whitespace separated words of the reply text.
+ *
+ * <pre>
+ * var script = ChatScript.builder()
+ *                  .latency( Duration.ofMillis(50) )
+ *                  .tokensPerSecond( 200 )
+ *                  .toolCalls( ChatScript.ToolCall.echo( "weather in Napoli" ) )
+ *                  .answer( "It's sunny in Napoli" )
+ *                  .build();
+ * </pre>
+ */
+public final class ChatScript {
+
+    /**
+     * Name of the tool that the harness registers in the agent executors
+     */
+    public static final String ECHO_TOOL = "echo";
+
+    /**
+     * A tool call requested by the model
+     *
+     * @param name the tool name
+     * @param arguments the tool arguments in JSON format
+     */
+    public record ToolCall( String name, String arguments ) {
+        public ToolCall {
+            requireNonNull( name, "name cannot be null" );
+            requireNonNull( arguments, "arguments cannot be null" );
+        }
+
+        /**
+         * Creates a call of the {@value #ECHO_TOOL} tool
+         *
+         * @param input the input echoed by the tool
+         * @return the tool call
+         */
+        public static ToolCall echo( String input ) {
+            return new ToolCall( ECHO_TOOL, "{\"input\":\"" + input.replace("\"", "\\\"") + "\"}" );
+        }
+    }
+
+    /**
+     * A model reply: either tool calls or a final answer
+     *
+     * @param text the reply text
+     * @param toolCalls the requested tool calls, empty for a final answer
+     */
+    public record Turn( String text, List<ToolCall> toolCalls ) {
+        public Turn {
+            requireNonNull( text, "text cannot be null" );
+            toolCalls = List.copyOf( requireNonNull( toolCalls, "toolCalls cannot be null" ) );
+        }
+
+        public boolean isAnswer() {
+            return toolCalls.isEmpty();
+        }
+
+        /**
+         * Splits the reply text in tokens
+         *
+         * @return the tokens, each but the first one with its leading space
+         */
+        public List<String> tokens() {
+            var words = text.split( " " );
+            var result = new ArrayList<String>( words.length );
+            for( int i = 0; i < words.length; ++i ) {
+                result.add( i == 0 ? words[i] : " " + words[i] );
+            }
+            return result;
+        }
+    }
+
+    public static class Builder {
+        private Duration latency = Duration.ZERO;
+        private double tokensPerSecond = 0;
+        private final List<Turn> turns = new ArrayList<>();
+
+        /**
+         * Sets the time to first token
+         *
+         * @param latency the latency
+         * @return the builder
+         */
+        public Builder latency( Duration latency ) {
+            this.latency = requireNonNull( latency, "latency cannot be null" );
+            return this;
+        }
+
+        /**
+         * Sets the token generation rate, 0 (the default) means that tokens are generated without delay
+         *
+         * @param tokensPerSecond the token rate
+         * @return the builder
+         */
+        public Builder tokensPerSecond( double tokensPerSecond ) {
+            if( tokensPerSecond < 0 ) {
+                throw new IllegalArgumentException( "tokensPerSecond cannot be negative" );
+            }
+            this.tokensPerSecond = tokensPerSecond;
+            return this;
+        }
+
+        /**
+         * Adds a turn requesting the given tool calls
+         *
+         * @param toolCalls the tool calls
+         * @return the builder
+         */
+        public Builder toolCalls( ToolCall... toolCalls ) {
+            if( toolCalls.length == 0 ) {
+                throw new IllegalArgumentException( "toolCalls cannot be empty" );
+            }
+            turns.add( new Turn( "", Arrays.asList(toolCalls) ) );
+            return this;
+        }
+
+        /**
+         * Adds a final answer turn
+         *
+         * @param text the answer
+         * @return the builder
+         */
+        public Builder answer( String text ) {
+            turns.add( new Turn( text, List.of() ) );
+            return this;
+        }
+
+        public ChatScript build() {
+            if( turns.isEmpty() || !turns.get( turns.size() - 1 ).isAnswer() ) {
+                throw new IllegalStateException( "the last turn of the script must be an answer" );
+            }
+            return new ChatScript( this );
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a script made of the given number of turns with a single echo tool call each, followed by an answer
+     *
+     * @param toolTurns the number of tool call turns
+     * @param answerTokens the number of tokens of the answer
+     * @param latency the time to first token
+     * @param tokensPerSecond the token rate
+     * @return the script
+     */
+    public static ChatScript of( int toolTurns, int answerTokens, Duration latency, double tokensPerSecond ) {
+        var builder = builder().latency( latency ).tokensPerSecond( tokensPerSecond );
+        for( int i = 0; i < toolTurns; ++i ) {
+            builder.toolCalls( ToolCall.echo( "request " + i ) );
+        }
+        var answer = new StringBuilder( "answer" );
+        for( int i = 1; i < answerTokens; ++i ) {
+            answer.append( " token" ).append( i );
+        }
+        return builder.answer( answer.toString() ).build();
+    }
+
+    private final long latencyNanos;
+    private final long nanosPerToken;
+    private final List<Turn> turns;
+
+    private ChatScript( Builder builder ) {
+        this.latencyNanos = builder.latency.toNanos();
+        this.nanosPerToken = ( builder.tokensPerSecond == 0 ) ? 0 : (long)( 1_000_000_000L / builder.tokensPerSecond );
+        this.turns = List.copyOf( builder.turns );
+    }
+
+    public List<Turn> turns() {
+        return turns;
+    }
+
+    /**
+     * Returns the turn replying to a conversation
+     *
+     * @param assistantMessages the number of assistant messages already in the conversation
+     * @return the turn
+     */
+    public Turn turn( int assistantMessages ) {
+        return turns.get( Math.min( Math.max( 0, assistantMessages ), turns.size() - 1 ) );
+    }
+
+    /**
+     * Waits for the time to first token
+     */
+    public void awaitFirstToken() {
+        pause( latencyNanos );
+    }
+
+    /**
+     * Waits for the generation of a token
+     */
+    public void awaitToken() {
+        pause( nanosPerToken );
+    }
+
+    /**
+     * Waits for a whole reply: time to first token plus the generation of all its tokens
+     *
+     * @param turn the reply
+     */
+    public void awaitReply( Turn turn ) {
+        pause( latencyNanos + nanosPerToken * Math.max( 1, turn.tokens().size() ) );
+    }
+
+    private static void pause( long nanos ) {
+        if( nanos <= 0 ) {
+            return;
+        }
+        final long deadline = System.nanoTime() + nanos;
+        long remaining = nanos;
+        while( remaining > 0 ) {
+            LockSupport.parkNanos( remaining );
+            if( Thread.interrupted() ) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+}
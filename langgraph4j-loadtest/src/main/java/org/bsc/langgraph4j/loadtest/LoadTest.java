@@ -0,0 +1,256 @@
+package org.bsc.langgraph4j.loadtest;
+
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.metrics.Histogram;
+import org.bsc.langgraph4j.streaming.StreamingOutput;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Drives a compiled graph from many concurrent threads and measures its throughput, latency and allocation.
+ * <p>
+ * Each thread runs the graph {@code runsPerThread} times, streaming its outputs with a distinct thread id
+ * per run. A step is a node output (streaming chunks are not counted as steps), its latency is the time
+ * elapsed since the previous output of the same run. Warmup runs are executed by all the threads before the
+ * measurement starts.
+ * <p>
+ * The allocated bytes are the sum of the bytes allocated by the JVM threads alive at the end of the measurement,
+ * so they include the model and tool executor threads; they are reported as 0 if the JVM doesn't support
+ * thread allocation accounting.
+ *
+ * <pre>
+ * var report = LoadTest.builder()
+ *                  .name( "lc4j-agent" )
+ *                  .graph( app )
+ *                  .input( run -&gt; Map.of( "messages", UserMessage.from( "question " + run ) ) )
+ *                  .threads( 8 )
+ *                  .runsPerThread( 100 )
+ *                  .build()
+ *                  .run();
+ * </pre>
+ */
+public final class LoadTest {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(LoadTest.class);
+
+    public static class Builder {
+        private String name = "loadtest";
+        private CompiledGraph<?> graph;
+        private IntFunction<Map<String,Object>> input;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int runsPerThread = 100;
+        private int warmupRunsPerThread = 10;
+
+        public Builder name( String name ) {
+            this.name = requireNonNull( name, "name cannot be null" );
+            return this;
+        }
+
+        public Builder graph( CompiledGraph<?> graph ) {
+            this.graph = graph;
+            return this;
+        }
+
+        /**
+         * Sets the factory of the graph input
+         *
+         * @param input the function that given the run number returns the graph input
+         * @return the builder
+         */
+        public Builder input( IntFunction<Map<String,Object>> input ) {
+            this.input = input;
+            return this;
+        }
+
+        public Builder threads( int threads ) {
+            if( threads < 1 ) {
+                throw new IllegalArgumentException( "threads must be greater than 0" );
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder runsPerThread( int runsPerThread ) {
+            if( runsPerThread < 1 ) {
+                throw new IllegalArgumentException( "runsPerThread must be greater than 0" );
+            }
+            this.runsPerThread = runsPerThread;
+            return this;
+        }
+
+        public Builder warmupRunsPerThread( int warmupRunsPerThread ) {
+            if( warmupRunsPerThread < 0 ) {
+                throw new IllegalArgumentException( "warmupRunsPerThread cannot be negative" );
+            }
+            this.warmupRunsPerThread = warmupRunsPerThread;
+            return this;
+        }
+
+        public LoadTest build() {
+            requireNonNull( graph, "graph cannot be null" );
+            requireNonNull( input, "input cannot be null" );
+            return new LoadTest( this );
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final String name;
+    private final CompiledGraph<?> graph;
+    private final IntFunction<Map<String,Object>> input;
+    private final int threads;
+    private final int runsPerThread;
+    private final int warmupRunsPerThread;
+
+    private LoadTest( Builder builder ) {
+        this.name = builder.name;
+        this.graph = builder.graph;
+        this.input = builder.input;
+        this.threads = builder.threads;
+        this.runsPerThread = builder.runsPerThread;
+        this.warmupRunsPerThread = builder.warmupRunsPerThread;
+    }
+
+    private class Measurement {
+        final Histogram stepLatency = new Histogram();
+        final Histogram runLatency = new Histogram();
+        final LongAdder runs = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder steps = new LongAdder();
+
+        void run( String threadId, int run ) {
+            var config = RunnableConfig.builder().threadId( threadId ).build();
+            final long start = System.nanoTime();
+            long last = start;
+            try {
+                for( var output : graph.stream( GraphInput.args( input.apply(run) ), config ) ) {
+                    if( output instanceof StreamingOutput<?> ) {
+                        continue;
+                    }
+                    final long now = System.nanoTime();
+                    stepLatency.record( now - last );
+                    steps.increment();
+                    last = now;
+                }
+                runLatency.record( System.nanoTime() - start );
+                runs.increment();
+            }
+            catch( Exception ex ) {
+                log.debug( "run '{}' failed", threadId, ex );
+                errors.increment();
+            }
+        }
+    }
+
+    private void execute( ExecutorService executor, Measurement measurement, int runs, String phase ) throws InterruptedException, ExecutionException {
+        var futures = new ArrayList<Future<?>>( threads );
+        for( int t = 0; t < threads; ++t ) {
+            final int worker = t;
+            futures.add( executor.submit( () -> {
+                for( int run = 0; run < runs; ++run ) {
+                    measurement.run( name + "-" + phase + "-" + worker + "-" + run, worker * runs + run );
+                }
+            }));
+        }
+        for( var future : futures ) {
+            future.get();
+        }
+    }
+
+    private static Map<Long,Long> allocatedBytesByThread() {
+        if( !( ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean ) ||
+                !threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled() ) {
+            return Map.of();
+        }
+        var ids = threadBean.getAllThreadIds();
+        var bytes = threadBean.getThreadAllocatedBytes( ids );
+        var result = new HashMap<Long,Long>( ids.length );
+        for( int i = 0; i < ids.length; ++i ) {
+            if( bytes[i] >= 0 ) {
+                result.put( ids[i], bytes[i] );
+            }
+        }
+        return result;
+    }
+
+    private static long allocatedBytesSince( Map<Long,Long> before ) {
+        long result = 0;
+        for( var entry : allocatedBytesByThread().entrySet() ) {
+            result += entry.getValue() - before.getOrDefault( entry.getKey(), 0L );
+        }
+        return result;
+    }
+
+    private static long[] gcTotals() {
+        long count = 0, time = 0;
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        for( var bean : beans ) {
+            count += Math.max( 0, bean.getCollectionCount() );
+            time += Math.max( 0, bean.getCollectionTime() );
+        }
+        return new long[] { count, time };
+    }
+
+    /**
+     * Runs the warmup and then the measurement
+     *
+     * @return the measurement report
+     * @throws InterruptedException if the current thread is interrupted
+     * @throws ExecutionException if a worker fails unexpectedly
+     */
+    public LoadTestReport run() throws InterruptedException, ExecutionException {
+        // the same workers are used for warmup and measurement, and they must be alive when the allocation is taken
+        var executor = Executors.newFixedThreadPool( threads );
+        try {
+            if( warmupRunsPerThread > 0 ) {
+                execute( executor, new Measurement(), warmupRunsPerThread, "warmup" );
+            }
+            return measure( executor );
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LoadTestReport measure( ExecutorService executor ) throws InterruptedException, ExecutionException {
+        var measurement = new Measurement();
+        var allocatedBefore = allocatedBytesByThread();
+        var gcBefore = gcTotals();
+        final long start = System.nanoTime();
+
+        execute( executor, measurement, runsPerThread, "run" );
+
+        var elapsed = Duration.ofNanos( System.nanoTime() - start );
+        var allocated = allocatedBytesSince( allocatedBefore );
+        var gcAfter = gcTotals();
+
+        return new LoadTestReport( name,
+                threads,
+                measurement.runs.sum(),
+                measurement.errors.sum(),
+                measurement.steps.sum(),
+                elapsed,
+                measurement.stepLatency.snapshot(),
+                measurement.runLatency.snapshot(),
+                allocated,
+                gcAfter[0] - gcBefore[0],
+                Duration.ofMillis( gcAfter[1] - gcBefore[1] ) );
+    }
+}
@@ -0,0 +1,84 @@
+package org.bsc.langgraph4j.loadtest;
+
+import org.bsc.langgraph4j.checkpoint.metrics.Histogram;
+
+import java.time.Duration;
+
+import static java.lang.String.format;
+
+/**
+ * The outcome of a {@link LoadTest}
+ *
+ * @param name the load test name
+ * @param threads the number of concurrent threads
+ * @param runs the number of completed graph runs
+ * @param errors the number of failed graph runs
+ * @param steps the number of executed steps (node outputs, streaming chunks excluded)
+ * @param elapsed the wall clock time of the measurement
+ * @param stepLatency the step latency in nanoseconds
+ * @param runLatency the run latency in nanoseconds
+ * @param allocatedBytes the bytes allocated by all the JVM threads during the measurement
+ * @param gcCount the number of garbage collections during the measurement
+ * @param gcTime the time spent in garbage collections during the measurement
+ */
+public record LoadTestReport( String name,
+                              int threads,
+                              long runs,
+                              long errors,
+                              long steps,
+                              Duration elapsed,
+                              Histogram.Snapshot stepLatency,
+                              Histogram.Snapshot runLatency,
+                              long allocatedBytes,
+                              long gcCount,
+                              Duration gcTime ) {
+
+    private double seconds() {
+        return Math.max( 1L, elapsed.toNanos() ) / 1_000_000_000.0;
+    }
+
+    public double runsPerSecond() {
+        return runs / seconds();
+    }
+
+    public double stepsPerSecond() {
+        return steps / seconds();
+    }
+
+    /**
+     * Returns the allocation rate. It is meaningful only if the JVM supports thread allocation accounting
+     *
+     * @return the allocated megabytes per second
+     */
+    public double allocationRateMBps() {
+        return allocatedBytes / ( 1024.0 * 1024.0 ) / seconds();
+    }
+
+    public long allocatedBytesPerRun() {
+        return ( runs == 0 ) ? 0 : allocatedBytes / runs;
+    }
+
+    private static double millis( long nanos ) {
+        return nanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return format( """
+                %s (%d threads)
+                  runs:        %d (%d errors) in %d ms
+                  throughput:  %.1f runs/s, %.1f steps/s
+                  step:        p50 %.3f ms, p99 %.3f ms, max %.3f ms
+                  run:         p50 %.3f ms, p99 %.3f ms, max %.3f ms
+                  allocation:  %.1f MB/s, %d bytes/run
+                  gc:          %d collections, %d ms
+                """,
+                name, threads,
+                runs, errors, elapsed.toMillis(),
+                runsPerSecond(), stepsPerSecond(),
+                millis(stepLatency.p50()), millis(stepLatency.p99()), millis(stepLatency.max()),
+                millis(runLatency.p50()), millis(runLatency.p99()), millis(runLatency.max()),
+                allocationRateMBps(), allocatedBytesPerRun(),
+                gcCount, gcTime.toMillis() );
+    }
+}
@@ -0,0 +1,123 @@
+package org.bsc.langgraph4j.loadtest;
+
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.checkpoint.VersionedMemorySaver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.lang.String.format;
+
+/**
+ * Runs the load test scenarios from the command line and prints their reports.
+ * <p>
+ * Arguments are scenario ids ({@code lc4j-agent}, {@code lc4j-agent-ex}, {@code springai-agent}, {@code springai-agent-ex};
+ * all of them if none is given) and {@code key=value} options:
+ * <ul>
+ *     <li>{@code threads}: concurrent threads, default 8</li>
+ *     <li>{@code runs}: measured runs per thread, default 50</li>
+ *     <li>{@code warmup}: warmup runs per thread, default 10</li>
+ *     <li>{@code latency}: model time to first token in milliseconds, default 10</li>
+ *     <li>{@code tokens}: model tokens per second, 0 for no delay, default 500</li>
+ *     <li>{@code toolTurns}: tool call turns before the answer, default 2</li>
+ *     <li>{@code answerTokens}: tokens of the answer, default 20</li>
+ *     <li>{@code streaming}: use the streaming model, default false</li>
+ *     <li>{@code saver}: {@code none}, {@code memory} or {@code versioned}, default memory</li>
+ * </ul>
+ */
+public class LoadTestRunner {
+
+    enum SaverType {
+        none, memory, versioned;
+
+        BaseCheckpointSaver create() {
+            return switch( this ) {
+                case none -> null;
+                case memory -> new MemorySaver();
+                case versioned -> new VersionedMemorySaver();
+            };
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        var scenarios = new ArrayList<Scenario>();
+        var options = new HashMap<String,String>();
+
+        for( var arg : args ) {
+            int sep = arg.indexOf('=');
+            if( sep > 0 ) {
+                options.put( arg.substring( 0, sep ), arg.substring( sep + 1 ) );
+            }
+            else {
+                scenarios.add( Scenario.of( arg )
+                        .orElseThrow( () -> new IllegalArgumentException( format( "unknown scenario '%s'", arg ) ) ) );
+            }
+        }
+        if( scenarios.isEmpty() ) {
+            scenarios.addAll( Arrays.asList( Scenario.values() ) );
+        }
+
+        for( var report : run( scenarios, options ) ) {
+            System.out.println( report );
+        }
+    }
+
+    private static int intOption( Map<String,String> options, String key, int defaultValue ) {
+        return options.containsKey(key) ? Integer.parseInt( options.get(key) ) : defaultValue;
+    }
+
+    /**
+     * Runs the given scenarios
+     *
+     * @param scenarios the scenarios to run
+     * @param options the options, as described in the class documentation
+     * @return the reports, one per scenario
+     * @throws Exception if a scenario cannot be run
+     */
+    public static List<LoadTestReport> run( List<Scenario> scenarios, Map<String,String> options ) throws Exception {
+        var threads = intOption( options, "threads", 8 );
+        var runs = intOption( options, "runs", 50 );
+        var warmup = intOption( options, "warmup", 10 );
+        var streaming = Boolean.parseBoolean( options.getOrDefault( "streaming", "false" ) );
+        var saverType = SaverType.valueOf( options.getOrDefault( "saver", "memory" ) );
+
+        var script = ChatScript.of( intOption( options, "toolTurns", 2 ),
+                intOption( options, "answerTokens", 20 ),
+                Duration.ofMillis( intOption( options, "latency", 10 ) ),
+                Double.parseDouble( options.getOrDefault( "tokens", "500" ) ) );
+
+        ExecutorService modelExecutor = Executors.newCachedThreadPool( task -> {
+            var thread = new Thread( task, "fake-model" );
+            thread.setDaemon( true );
+            return thread;
+        });
+
+        try {
+            var reports = new ArrayList<LoadTestReport>( scenarios.size() );
+            for( var scenario : scenarios ) {
+                var graph = scenario.compile( script, streaming, modelExecutor, saverType.create() );
+
+                reports.add( LoadTest.builder()
+                        .name( format( "%s [streaming=%s, saver=%s]", scenario.id(), streaming, saverType ) )
+                        .graph( graph )
+                        .input( scenario::input )
+                        .threads( threads )
+                        .runsPerThread( runs )
+                        .warmupRunsPerThread( warmup )
+                        .build()
+                        .run() );
+            }
+            return reports;
+        }
+        finally {
+            modelExecutor.shutdownNow();
+        }
+    }
+}
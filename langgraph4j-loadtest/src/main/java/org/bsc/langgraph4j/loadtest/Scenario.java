@@ -0,0 +1,138 @@
+package org.bsc.langgraph4j.loadtest;
+
+import dev.langchain4j.data.message.UserMessage;
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.GraphStateException;
+import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.agentexecutor.AgentExecutor;
+import org.bsc.langgraph4j.agentexecutor.AgentExecutorEx;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.bsc.langgraph4j.loadtest.langchain4j.EchoTool;
+import org.bsc.langgraph4j.loadtest.springai.EchoToolCallback;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * The agent executors that can be load tested, each one wired to the fake chat model of its framework
+ */
+public enum Scenario {
+
+    LC4J_AGENT( "lc4j-agent" ) {
+        @Override
+        StateGraph<?> workflow( ChatScript script, boolean streaming, Executor modelExecutor ) throws GraphStateException {
+            var builder = AgentExecutor.builder().tool( EchoTool.SPECIFICATION, EchoTool.EXECUTOR );
+            if( streaming ) {
+                builder.chatModel( new org.bsc.langgraph4j.loadtest.langchain4j.FakeStreamingChatModel( script, modelExecutor ) );
+            }
+            else {
+                builder.chatModel( new org.bsc.langgraph4j.loadtest.langchain4j.FakeChatModel( script ) );
+            }
+            return builder.build();
+        }
+
+        @Override
+        public Map<String, Object> input( int run ) {
+            return Map.of( "messages", UserMessage.from( "question " + run ) );
+        }
+    },
+
+    LC4J_AGENT_EX( "lc4j-agent-ex" ) {
+        @Override
+        StateGraph<?> workflow( ChatScript script, boolean streaming, Executor modelExecutor ) throws GraphStateException {
+            var builder = AgentExecutorEx.builder().tool( EchoTool.SPECIFICATION, EchoTool.EXECUTOR );
+            if( streaming ) {
+                builder.chatModel( new org.bsc.langgraph4j.loadtest.langchain4j.FakeStreamingChatModel( script, modelExecutor ) );
+            }
+            else {
+                builder.chatModel( new org.bsc.langgraph4j.loadtest.langchain4j.FakeChatModel( script ) );
+            }
+            return builder.build();
+        }
+
+        @Override
+        public Map<String, Object> input( int run ) {
+            return LC4J_AGENT.input( run );
+        }
+    },
+
+    SPRINGAI_AGENT( "springai-agent" ) {
+        @Override
+        StateGraph<?> workflow( ChatScript script, boolean streaming, Executor modelExecutor ) throws GraphStateException {
+            return org.bsc.langgraph4j.spring.ai.agentexecutor.AgentExecutor.builder()
+                    .chatModel( new org.bsc.langgraph4j.loadtest.springai.FakeChatModel( script, modelExecutor ), streaming )
+                    .tool( new EchoToolCallback() )
+                    .build();
+        }
+
+        @Override
+        public Map<String, Object> input( int run ) {
+            return Map.of( "messages", new org.springframework.ai.chat.messages.UserMessage( "question " + run ) );
+        }
+    },
+
+    SPRINGAI_AGENT_EX( "springai-agent-ex" ) {
+        @Override
+        StateGraph<?> workflow( ChatScript script, boolean streaming, Executor modelExecutor ) throws GraphStateException {
+            return org.bsc.langgraph4j.spring.ai.agentexecutor.AgentExecutorEx.builder()
+                    .chatModel( new org.bsc.langgraph4j.loadtest.springai.FakeChatModel( script, modelExecutor ), streaming )
+                    .tool( new EchoToolCallback() )
+                    .build();
+        }
+
+        @Override
+        public Map<String, Object> input( int run ) {
+            return SPRINGAI_AGENT.input( run );
+        }
+    };
+
+    private final String id;
+
+    Scenario( String id ) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public static Optional<Scenario> of( String id ) {
+        for( var scenario : values() ) {
+            if( scenario.id.equals( id ) ) {
+                return Optional.of( scenario );
+            }
+        }
+        return Optional.empty();
+    }
+
+    abstract StateGraph<?> workflow( ChatScript script, boolean streaming, Executor modelExecutor ) throws GraphStateException;
+
+    /**
+     * Creates the input of a run
+     *
+     * @param run the run number
+     * @return the graph input
+     */
+    public abstract Map<String,Object> input( int run );
+
+    /**
+     * Compiles the agent executor graph wired to the fake chat model
+     *
+     * @param script the script of the fake chat model
+     * @param streaming true to use the streaming fake chat model
+     * @param modelExecutor the executor that emits the streaming tokens
+     * @param saver the checkpoint saver, null for none. The thread is released at the end of each run
+     * @return the compiled graph
+     * @throws GraphStateException if the graph cannot be compiled
+     */
+    public CompiledGraph<?> compile( ChatScript script, boolean streaming, Executor modelExecutor, BaseCheckpointSaver saver ) throws GraphStateException {
+        var config = CompileConfig.builder();
+        if( saver != null ) {
+            config.checkpointSaver( saver ).releaseThread( true );
+        }
+        return workflow( script, streaming, modelExecutor ).compile( config.build() );
+    }
+
+}
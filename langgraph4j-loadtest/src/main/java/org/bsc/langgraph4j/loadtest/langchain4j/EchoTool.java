@@ -0,0 +1,25 @@
+package org.bsc.langgraph4j.loadtest.langchain4j;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.model.chat.request.json.JsonObjectSchema;
+import dev.langchain4j.service.tool.ToolExecutor;
+import org.bsc.langgraph4j.loadtest.ChatScript;
+
+/**
+ * The {@value ChatScript#ECHO_TOOL} tool for the LangChain4j agent executors: it returns its arguments unchanged
+ */
+public final class EchoTool {
+
+    public static final ToolSpecification SPECIFICATION = ToolSpecification.builder()
+            .name( ChatScript.ECHO_TOOL )
+            .description( "returns its input" )
+            .parameters( JsonObjectSchema.builder()
+                    .addStringProperty( "input" )
+                    .required( "input" )
+                    .build() )
+            .build();
+
+    public static final ToolExecutor EXECUTOR = ( request, memoryId ) -> request.arguments();
+
+    private EchoTool() {}
+}
@@ -0,0 +1,64 @@
+package org.bsc.langgraph4j.loadtest.langchain4j;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.TokenUsage;
+import org.bsc.langgraph4j.loadtest.ChatScript;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * LangChain4j {@link ChatModel} that replies following a {@link ChatScript}, without any network call.
+ * The calling thread is blocked for the whole reply time, as it happens with a real synchronous model.
+ */
+public class FakeChatModel implements ChatModel {
+
+    private final ChatScript script;
+
+    public FakeChatModel( ChatScript script ) {
+        this.script = requireNonNull( script, "script cannot be null" );
+    }
+
+    static ChatScript.Turn turnOf( ChatScript script, List<ChatMessage> messages ) {
+        int assistantMessages = (int)messages.stream().filter( AiMessage.class::isInstance ).count();
+        return script.turn( assistantMessages );
+    }
+
+    static ChatResponse responseOf( ChatScript.Turn turn, int requestId ) {
+        var builder = ChatResponse.builder()
+                .tokenUsage( new TokenUsage( 0, turn.tokens().size() ) );
+        if( turn.isAnswer() ) {
+            return builder.aiMessage( AiMessage.from( turn.text() ) )
+                    .finishReason( FinishReason.STOP )
+                    .build();
+        }
+        int index = 0;
+        var requests = new ArrayList<ToolExecutionRequest>( turn.toolCalls().size() );
+        for( var call : turn.toolCalls() ) {
+            requests.add( ToolExecutionRequest.builder()
+                    .id( "call_" + requestId + "_" + (index++) )
+                    .name( call.name() )
+                    .arguments( call.arguments() )
+                    .build() );
+        }
+        return builder.aiMessage( AiMessage.from( requests ) )
+                .finishReason( FinishReason.TOOL_EXECUTION )
+                .build();
+    }
+
+    @Override
+    public ChatResponse doChat( ChatRequest chatRequest ) {
+        var turn = turnOf( script, chatRequest.messages() );
+        script.awaitReply( turn );
+        return responseOf( turn, chatRequest.messages().size() );
+    }
+
+}
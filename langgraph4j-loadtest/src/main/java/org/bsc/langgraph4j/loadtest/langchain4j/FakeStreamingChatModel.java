@@ -0,0 +1,50 @@
+package org.bsc.langgraph4j.loadtest.langchain4j;
+
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import org.bsc.langgraph4j.loadtest.ChatScript;
+
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.requireNonNull;
+import static org.bsc.langgraph4j.loadtest.langchain4j.FakeChatModel.responseOf;
+import static org.bsc.langgraph4j.loadtest.langchain4j.FakeChatModel.turnOf;
+
+/**
+ * LangChain4j {@link StreamingChatModel} that streams the replies of a {@link ChatScript}, token by token,
+ * from the given executor, without any network call.
+ */
+public class FakeStreamingChatModel implements StreamingChatModel {
+
+    private final ChatScript script;
+    private final Executor executor;
+
+    public FakeStreamingChatModel( ChatScript script, Executor executor ) {
+        this.script = requireNonNull( script, "script cannot be null" );
+        this.executor = requireNonNull( executor, "executor cannot be null" );
+    }
+
+    @Override
+    public void doChat( ChatRequest chatRequest, StreamingChatResponseHandler handler ) {
+        var turn = turnOf( script, chatRequest.messages() );
+        var requestId = chatRequest.messages().size();
+
+        executor.execute( () -> {
+            try {
+                script.awaitFirstToken();
+                if( turn.isAnswer() ) {
+                    for( var token : turn.tokens() ) {
+                        handler.onPartialResponse( token );
+                        script.awaitToken();
+                    }
+                }
+                handler.onCompleteResponse( responseOf( turn, requestId ) );
+            }
+            catch( Throwable ex ) {
+                handler.onError( ex );
+            }
+        });
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.bsc.langgraph4j.loadtest.springai;
+
+import org.bsc.langgraph4j.loadtest.ChatScript;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+/**
+ * The {@value ChatScript#ECHO_TOOL} tool for the Spring AI agent executors: it returns its input unchanged
+ */
+public class EchoToolCallback implements ToolCallback {
+
+    private static final ToolDefinition DEFINITION = ToolDefinition.builder()
+            .name( ChatScript.ECHO_TOOL )
+            .description( "returns its input" )
+            .inputSchema( """
+                    {
+                      "type": "object",
+                      "properties": { "input": { "type": "string" } },
+                      "required": [ "input" ]
+                    }
+                    """ )
+            .build();
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return DEFINITION;
+    }
+
+    @Override
+    public String call( String toolInput ) {
+        return toolInput;
+    }
+}
@@ -0,0 +1,92 @@
+package org.bsc.langgraph4j.loadtest.springai;
+
+import org.bsc.langgraph4j.loadtest.ChatScript;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Spring AI {@link ChatModel} that replies following a {@link ChatScript}, without any network call.
+ * <p>
+ * A synchronous call blocks the calling thread for the whole reply time, a streaming call emits the reply
+ * token by token from the given executor. Tool calls are emitted in the last chunk of the stream.
+ */
+public class FakeChatModel implements ChatModel {
+
+    private final ChatScript script;
+    private final Executor executor;
+
+    public FakeChatModel( ChatScript script, Executor executor ) {
+        this.script = requireNonNull( script, "script cannot be null" );
+        this.executor = requireNonNull( executor, "executor cannot be null" );
+    }
+
+    private ChatScript.Turn turnOf( Prompt prompt ) {
+        int assistantMessages = (int)prompt.getInstructions().stream().filter( AssistantMessage.class::isInstance ).count();
+        return script.turn( assistantMessages );
+    }
+
+    private static ChatResponse responseOf( String text, List<AssistantMessage.ToolCall> toolCalls, String finishReason ) {
+        var message = new AssistantMessage( text, Map.of(), toolCalls );
+        var metadata = ChatGenerationMetadata.builder().finishReason( finishReason ).build();
+        return new ChatResponse( List.of( new Generation( message, metadata ) ) );
+    }
+
+    private static ChatResponse responseOf( ChatScript.Turn turn, int requestId ) {
+        if( turn.isAnswer() ) {
+            return responseOf( turn.text(), List.of(), "STOP" );
+        }
+        var toolCalls = new ArrayList<AssistantMessage.ToolCall>( turn.toolCalls().size() );
+        int index = 0;
+        for( var call : turn.toolCalls() ) {
+            toolCalls.add( new AssistantMessage.ToolCall( "call_" + requestId + "_" + (index++), "function", call.name(), call.arguments() ) );
+        }
+        return responseOf( "", toolCalls, "TOOL_CALLS" );
+    }
+
+    @Override
+    public ChatResponse call( Prompt prompt ) {
+        var turn = turnOf( prompt );
+        script.awaitReply( turn );
+        return responseOf( turn, prompt.getInstructions().size() );
+    }
+
+    @Override
+    public Flux<ChatResponse> stream( Prompt prompt ) {
+        var turn = turnOf( prompt );
+        var requestId = prompt.getInstructions().size();
+
+        return Flux.create( sink -> executor.execute( () -> {
+            try {
+                script.awaitFirstToken();
+                if( turn.isAnswer() ) {
+                    var tokens = turn.tokens();
+                    for( int i = 0; i < tokens.size(); ++i ) {
+                        boolean last = ( i == tokens.size() - 1 );
+                        sink.next( responseOf( tokens.get(i), List.of(), last ? "STOP" : "" ) );
+                        script.awaitToken();
+                    }
+                }
+                else {
+                    sink.next( responseOf( turn, requestId ) );
+                }
+                sink.complete();
+            }
+            catch( Throwable ex ) {
+                sink.error( ex );
+            }
+        }));
+    }
+
+}
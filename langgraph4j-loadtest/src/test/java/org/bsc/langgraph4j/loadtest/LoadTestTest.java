@@ -0,0 +1,47 @@
+package org.bsc.langgraph4j.loadtest;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadTestTest {
+
+    private void runScenario( Scenario scenario, boolean streaming ) throws Exception {
+        var reports = LoadTestRunner.run( List.of( scenario ), Map.of(
+                "threads", "2",
+                "runs", "3",
+                "warmup", "1",
+                "latency", "1",
+                "tokens", "0",
+                "toolTurns", "2",
+                "answerTokens", "5",
+                "streaming", String.valueOf( streaming ) ) );
+
+        assertEquals( 1, reports.size() );
+        var report = reports.get(0);
+        System.out.println( report );
+
+        assertEquals( 0, report.errors() );
+        assertEquals( 6, report.runs() );
+        // at least the model is called three times and the tools twice for each run
+        assertTrue( report.steps() >= 6 * 5, "steps: " + report.steps() );
+        assertTrue( report.runLatency().p50() >= 3_000_000L, "each run waits at least 3 model latencies" );
+        assertTrue( report.stepLatency().p99() <= report.runLatency().max() );
+    }
+
+    @ParameterizedTest
+    @EnumSource(Scenario.class)
+    public void runWithChatModel( Scenario scenario ) throws Exception {
+        runScenario( scenario, false );
+    }
+
+    @ParameterizedTest
+    @EnumSource(Scenario.class)
+    public void runWithStreamingChatModel( Scenario scenario ) throws Exception {
+        runScenario( scenario, true );
+    }
+}
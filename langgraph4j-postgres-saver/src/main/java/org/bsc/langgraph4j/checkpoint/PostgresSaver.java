@@ -1,6 +1,7 @@
 package org.bsc.langgraph4j.checkpoint;
 
 import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.jfr.CheckpointJdbcEvent;
 import org.bsc.langgraph4j.serializer.StateSerializer;
 import org.bsc.langgraph4j.state.AgentState;
 import org.postgresql.ds.PGSimpleDataSource;
@@ -15,6 +16,15 @@ import java.util.*;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * A CheckpointSaver that stores Checkpoints in a Postgres database.
+ *
+ * <p>
+ *     A checkpoint is stored as the channels changed since its parent, referenced by {@code parent_checkpoint_id},
+ *     except for a full snapshot every {@code fullSnapshotInterval} checkpoints. The rows stored in full by the
+ *     previous versions are still read.
+ * </p>
+ */
 public class PostgresSaver extends MemorySaver {
     private static final Logger log = LoggerFactory.getLogger(PostgresSaver.class);
     /**
@@ -23,10 +33,12 @@ public class PostgresSaver extends MemorySaver {
     protected final DataSource datasource;
 
     private final StateSerializer<? extends AgentState> stateSerializer;
+    private final int fullSnapshotInterval;
 
     protected PostgresSaver( Builder builder ) throws SQLException {
         this.datasource = builder.datasource;
         this.stateSerializer =  builder.stateSerializer;
+        this.fullSnapshotInterval = builder.fullSnapshotInterval;
         initTable( builder.dropTablesFirst, builder.createTables);
     }
 
@@ -50,12 +62,12 @@ public class PostgresSaver extends MemorySaver {
         }
     }
 
-    private String encodeState( Map<String,Object> data ) throws IOException {
+    private String encodeState( Map<String,Object> data, boolean changes ) throws IOException {
         var binaryData = stateSerializer.dataToBytes(data);
         var base64Data = Base64.getEncoder().encodeToString(binaryData);
         return format("""
-                     {"binaryPayload": "%s"}
-                     """, base64Data);
+                     {"binaryPayload": "%s", "changes": %b}
+                     """, base64Data, changes);
     }
 
     private Map<String,Object> decodeState( byte[] binaryPayload, String contentType ) throws IOException, ClassNotFoundException {
@@ -124,11 +136,33 @@ public class PostgresSaver extends MemorySaver {
         }
     }
 
+    private void commitJdbcEvent( CheckpointJdbcEvent event, String operation, RunnableConfig config ) {
+        event.end();
+        if( event.shouldCommit() ) {
+            event.saver = getClass();
+            event.threadId = config.threadId().orElse( THREAD_ID_DEFAULT );
+            event.operation = operation;
+            event.commit();
+        }
+    }
+
     @Override
     protected LinkedList<Checkpoint> loadedCheckpoints(RunnableConfig config, LinkedList<Checkpoint> checkpoints) throws Exception {
 
         if( !checkpoints.isEmpty() ) return checkpoints;
 
+        final var event = new CheckpointJdbcEvent();
+        event.begin();
+        try {
+            return loadCheckpoints( config, checkpoints );
+        }
+        finally {
+            commitJdbcEvent( event, "load", config );
+        }
+    }
+
+    private LinkedList<Checkpoint> loadCheckpoints(RunnableConfig config, LinkedList<Checkpoint> checkpoints) throws Exception {
+
         var threadId = config.threadId().orElse( THREAD_ID_DEFAULT );
 
         var sqlCheckThread = """
@@ -147,7 +181,8 @@ public class PostgresSaver extends MemorySaver {
                         c.next_node_id,
                         c.state_data->>'binaryPayload' AS base64_data,
                         c.state_content_type,
-                        c.parent_checkpoint_id
+                        c.parent_checkpoint_id,
+                        c.state_data->>'changes' AS changes
                 FROM matched_thread t
                 JOIN LG4JCheckpoint c ON c.thread_id = t.thread_id
                 ORDER BY c.saved_at DESC
@@ -169,28 +204,88 @@ public class PostgresSaver extends MemorySaver {
             }
 
             log.trace( "Executing select checkpoints:\n---\n{}---", sqlQueryCheckpoints);
+            var rows = new ArrayList<CheckpointRow>();
             try( PreparedStatement ps = conn.prepareStatement(sqlQueryCheckpoints) ) {
                 ps.setString(1, threadId);
                 var rs = ps.executeQuery();
                 while( rs.next() ) {
-                    var checkpoint = Checkpoint.builder()
-                            .id( rs.getString(1) )
-                            .nodeId( rs.getString(2) )
-                            .nextNodeId( rs.getString(3) )
-                            .state( decodeState( rs.getBytes(4), rs.getString( 5) ) )
-                            .build();
-                    checkpoints.add( checkpoint );
+                    rows.add( new CheckpointRow( rs.getString(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            decodeState( rs.getBytes(4), rs.getString( 5) ),
+                            rs.getString(6),
+                            Boolean.parseBoolean( rs.getString(7) ) ) );
                 }
             }
 
+            var states = new HashMap<String, Map<String,Object>>();
+            var rowsById = new HashMap<String, CheckpointRow>();
+            rows.forEach( row -> rowsById.put( row.id(), row ) );
+            for( var row : rows ) {
+                checkpoints.add( Checkpoint.builder()
+                        .id( row.id() )
+                        .nodeId( row.nodeId() )
+                        .nextNodeId( row.nextNodeId() )
+                        .state( stateOf( row, rowsById, states ) )
+                        .build() );
+            }
+        }
+
+        // versioned from the oldest checkpoint
+        for( int i = checkpoints.size() - 1; i >= 0; --i ) {
+            var parent = ( i + 1 < checkpoints.size() ) ? checkpoints.get(i + 1) : null;
+            checkpoints.set( i, checkpoints.get(i).versionedFrom( parent ) );
         }
 
         return checkpoints;
     }
 
+    /**
+     * A stored checkpoint, whose data are either the full state or the channels changed since its parent
+     */
+    private record CheckpointRow( String id, String nodeId, String nextNodeId, Map<String,Object> data, String parentId, boolean changes ) {}
+
+    /**
+     * Restores the state of a stored checkpoint, applying its changes to the state of its parent
+     */
+    private Map<String,Object> stateOf( CheckpointRow row, Map<String, CheckpointRow> rowsById, Map<String, Map<String,Object>> states ) {
+        // the chain of the changes up to the nearest restored state or full snapshot
+        var chain = new ArrayDeque<CheckpointRow>();
+        var current = row;
+        while( current.changes() && !states.containsKey( current.id() ) ) {
+            chain.push( current );
+            final var parentId = current.parentId();
+            current = rowsById.get( parentId );
+            if( current == null ) {
+                throw new IllegalStateException( format("parent checkpoint '%s' of checkpoint '%s' not found", parentId, chain.peek().id()) );
+            }
+        }
+        var state = states.computeIfAbsent( current.id(), id -> rowsById.get(id).data() );
+        while( !chain.isEmpty() ) {
+            var changes = chain.pop();
+            state = Checkpoint.applyChanges( state, changes.data() );
+            states.put( changes.id(), state );
+        }
+        return state;
+    }
+
+    /**
+     * The stored data of a checkpoint: its parent and either the channels changed since it or the full state
+     */
+    private record CheckpointPayload( Checkpoint parent, String stateData ) {}
+
+    private CheckpointPayload payloadOf( LinkedList<Checkpoint> checkpoints, Checkpoint checkpoint ) throws IOException {
+        var index = checkpoints.indexOf( checkpoint );
+        var parent = ( index >= 0 && index + 1 < checkpoints.size() ) ? checkpoints.get( index + 1 ) : null;
+        var changes = changesToPersist( checkpoint, parent, checkpoints.size() - 1 - index, fullSnapshotInterval );
+        return new CheckpointPayload( parent, encodeState( changes.orElse( checkpoint.getState() ), changes.isPresent() ) );
+    }
+
     private void insertCheckpoint( Connection conn, RunnableConfig config, LinkedList<Checkpoint> checkpoints, Checkpoint checkpoint) throws Exception {
         var threadId = config.threadId().orElse( THREAD_ID_DEFAULT );
 
+        var payload = payloadOf( checkpoints, checkpoint );
+
         var upsertThreadSql = """
             WITH inserted AS (
                 INSERT INTO LG4JThread (thread_id, thread_name, is_released)
@@ -246,7 +341,7 @@ public class PostgresSaver extends MemorySaver {
                     UUID.fromString(checkpoint.getId()),
                     Types.OTHER);
             // parent_checkpoint_id
-            ps.setNull(++field, java.sql.Types.OTHER);
+            setParentId( ps, ++field, payload.parent() );
             // thread_id
             ps.setObject(++field,
                     requireNonNull(threadUUID, "threadUUID cannot be null"),
@@ -256,7 +351,7 @@ public class PostgresSaver extends MemorySaver {
             // next_node_id
             ps.setString(++field, checkpoint.getNextNodeId());
             // state_data
-            ps.setString(++field, encodeState(checkpoint.getState()));
+            ps.setString(++field, payload.stateData());
             // state_content_type
             ps.setString(++field, stateSerializer.contentType());
 
@@ -273,6 +368,17 @@ public class PostgresSaver extends MemorySaver {
 
     @Override
     protected void insertedCheckpoint( RunnableConfig config, LinkedList<Checkpoint> checkpoints, Checkpoint checkpoint) throws Exception {
+        final var event = new CheckpointJdbcEvent();
+        event.begin();
+        try {
+            insertCheckpointInTransaction( config, checkpoints, checkpoint );
+        }
+        finally {
+            commitJdbcEvent( event, "insert", config );
+        }
+    }
+
+    private void insertCheckpointInTransaction( RunnableConfig config, LinkedList<Checkpoint> checkpoints, Checkpoint checkpoint) throws Exception {
         var threadId = config.threadId().orElse( THREAD_ID_DEFAULT );
 
         Connection conn = null;
@@ -296,11 +402,32 @@ public class PostgresSaver extends MemorySaver {
     protected void updatedCheckpoint( RunnableConfig config,
                                       LinkedList<Checkpoint> checkpoints,
                                       Checkpoint checkpoint) throws Exception {
+        final var event = new CheckpointJdbcEvent();
+        event.begin();
+        try {
+            updateCheckpoint( config, checkpoints, checkpoint );
+        }
+        finally {
+            commitJdbcEvent( event, "update", config );
+        }
+    }
+
+    private void updateCheckpoint( RunnableConfig config,
+                                   LinkedList<Checkpoint> checkpoints,
+                                   Checkpoint checkpoint) throws Exception {
 
         final var threadId = config.threadId().orElse(THREAD_ID_DEFAULT);
 
-        var deletePreviousCheckpointSql = """
-                DELETE FROM LG4JCheckpoint
+        // the row is updated in place, so that it keeps its position (saved_at) in the thread
+        var updateCheckpointSql = """
+                UPDATE LG4JCheckpoint
+                SET
+                    checkpoint_id = ?,
+                    parent_checkpoint_id = ?,
+                    node_id = ?,
+                    next_node_id = ?,
+                    state_data = ?::jsonb,
+                    state_content_type = ?
                 WHERE checkpoint_id = ?;
                 """;
 
@@ -309,31 +436,41 @@ public class PostgresSaver extends MemorySaver {
         try( Connection ignored = conn = getConnection()  )  {
             conn.setAutoCommit(false); // Start transaction
 
+            var updated = 0;
             if( config.checkPointId().isPresent() ) {
+                var payload = payloadOf( checkpoints, checkpoint );
 
-                try (PreparedStatement ps = conn.prepareStatement(deletePreviousCheckpointSql)) {
+                try (PreparedStatement ps = conn.prepareStatement(updateCheckpointSql)) {
                     var field = 0;
-                    ps.setObject(++field,
-                            UUID.fromString(config.checkPointId().get()),
-                            Types.OTHER); // nullable
-                    log.trace( "Executing deleting previous checkpoint with id {} in thread {}:\n---\n{}---",
+                    ps.setObject(++field, UUID.fromString(checkpoint.getId()), Types.OTHER);
+                    setParentId( ps, ++field, payload.parent() );
+                    ps.setString(++field, checkpoint.getNodeId());
+                    ps.setString(++field, checkpoint.getNextNodeId());
+                    ps.setString(++field, payload.stateData());
+                    ps.setString(++field, stateSerializer.contentType());
+                    ps.setObject(++field, UUID.fromString(config.checkPointId().get()), Types.OTHER);
+                    log.trace( "Executing update checkpoint with id {} in thread {}:\n---\n{}---",
                                     config.checkPointId().get(),
                                     threadId,
-                                    deletePreviousCheckpointSql);
-                    ps.executeUpdate();
+                                    updateCheckpointSql);
+                    updated = ps.executeUpdate();
                 }
             }
 
-            insertCheckpoint( conn, config, checkpoints, checkpoint);
+            if( updated == 0 ) {
+                insertCheckpoint( conn, config, checkpoints, checkpoint);
+            }
+
+            rewriteChild( conn, checkpoints, checkpoint );
 
             conn.commit();
 
-            log.debug("Checkpoint with id {} for thread {} inserted successfully.",
+            log.debug("Checkpoint with id {} for thread {} updated successfully.",
                         checkpoint.getId(),
                         threadId);
 
         } catch (SQLException | IOException e) { // IOException from convertStateToJson
-            log.error("Error inserting checkpoint with id {} in thread {}",
+            log.error("Error updating checkpoint with id {} in thread {}",
                     checkpoint.getId(),
                     threadId,
                     e);
@@ -342,8 +479,55 @@ public class PostgresSaver extends MemorySaver {
         }
     }
 
+    private void setParentId( PreparedStatement ps, int field, Checkpoint parent ) throws SQLException {
+        if( parent != null ) {
+            ps.setObject(field, UUID.fromString(parent.getId()), Types.OTHER);
+        }
+        else {
+            ps.setNull(field, Types.OTHER);
+        }
+    }
+
+    /**
+     * Stores in full the checkpoint following a replaced one, since its changes refer to the replaced state
+     */
+    private void rewriteChild( Connection conn, LinkedList<Checkpoint> checkpoints, Checkpoint checkpoint ) throws Exception {
+        var index = checkpoints.indexOf( checkpoint );
+        if( index <= 0 ) {
+            return;
+        }
+        var child = checkpoints.get( index - 1 );
+
+        var rewriteCheckpointSql = """
+                UPDATE LG4JCheckpoint
+                SET
+                    parent_checkpoint_id = ?,
+                    state_data = ?::jsonb
+                WHERE checkpoint_id = ?;
+                """;
+        try (PreparedStatement ps = conn.prepareStatement(rewriteCheckpointSql)) {
+            var field = 0;
+            ps.setObject(++field, UUID.fromString(checkpoint.getId()), Types.OTHER);
+            ps.setString(++field, encodeState(child.getState(), false));
+            ps.setObject(++field, UUID.fromString(child.getId()), Types.OTHER);
+            log.trace( "Executing rewrite checkpoint:\n---\n{}---", rewriteCheckpointSql);
+            ps.executeUpdate();
+        }
+    }
+
     @Override
     protected void releasedCheckpoints( RunnableConfig config, LinkedList<Checkpoint> checkpoints, Tag releaseTag) throws Exception {
+        final var event = new CheckpointJdbcEvent();
+        event.begin();
+        try {
+            releaseThread( config );
+        }
+        finally {
+            commitJdbcEvent( event, "release", config );
+        }
+    }
+
+    private void releaseThread( RunnableConfig config ) throws Exception {
         var threadId = config.threadId().orElse( THREAD_ID_DEFAULT );
 
         var selectThreadSql = """
@@ -412,6 +596,7 @@ public class PostgresSaver extends MemorySaver {
         private String database;
         private boolean createTables;
         private boolean dropTablesFirst;
+        private int fullSnapshotInterval = DEFAULT_FULL_SNAPSHOT_INTERVAL;
         private DataSource datasource;
 
         public <State extends AgentState> Builder stateSerializer(StateSerializer<State> stateSerializer) {
@@ -454,6 +639,21 @@ public class PostgresSaver extends MemorySaver {
             return this;
         }
 
+        /**
+         * Sets the number of checkpoints after which a checkpoint is stored in full, instead of as the channels
+         * changed since its parent. Default is {@link MemorySaver#DEFAULT_FULL_SNAPSHOT_INTERVAL}
+         *
+         * @param fullSnapshotInterval the full snapshot interval, 1 to always store the full state
+         * @return this builder
+         */
+        public Builder fullSnapshotInterval(int fullSnapshotInterval) {
+            if( fullSnapshotInterval < 1 ) {
+                throw new IllegalArgumentException("fullSnapshotInterval must be greater than 0");
+            }
+            this.fullSnapshotInterval = fullSnapshotInterval;
+            return this;
+        }
+
         private String requireNotBlank( String value, String name ) {
             if( requireNonNull(value, format("'%s' cannot be null", name) ).isBlank() ) {
                 throw new IllegalArgumentException(format("'%s' cannot be blank", name));
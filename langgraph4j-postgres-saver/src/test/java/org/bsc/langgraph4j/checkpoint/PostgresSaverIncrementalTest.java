@@ -0,0 +1,165 @@
+package org.bsc.langgraph4j.checkpoint;
+
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.serializer.std.ObjectStreamStateSerializer;
+import org.bsc.langgraph4j.state.AgentState;
+import org.bsc.langgraph4j.state.StateSnapshot;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+public class PostgresSaverIncrementalTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>( "postgres:16-alpine" );
+
+    static PostgresSaver.Builder buildPostgresSaver() {
+        return PostgresSaver.builder()
+                .host( postgres.getHost() )
+                .port( postgres.getMappedPort( PostgreSQLContainer.POSTGRESQL_PORT ) )
+                .user( postgres.getUsername() )
+                .password( postgres.getPassword() )
+                .database( postgres.getDatabaseName() )
+                .fullSnapshotInterval( 3 )
+                .stateSerializer( new ObjectStreamStateSerializer<>( AgentState::new ) );
+    }
+
+    @BeforeAll
+    public static void createTables() throws Exception {
+        buildPostgresSaver().dropTablesFirst( true ).build();
+    }
+
+    /**
+     * Stores a history where the document is set once and the steps change at each checkpoint
+     */
+    static List<Checkpoint> storeHistory( BaseCheckpointSaver saver, RunnableConfig config, int steps ) throws Exception {
+        var document = "lorem ipsum ".repeat( 100 );
+        for( int i = 0; i < steps; ++i ) {
+            var state = new HashMap<String,Object>();
+            state.put( "document", document );
+            state.put( "steps", i );
+            saver.put( config, Checkpoint.builder()
+                    .nodeId( "node" + i )
+                    .nextNodeId( "node" + ( i + 1 ) )
+                    .state( state )
+                    .build() );
+        }
+        return new ArrayList<>( saver.list( config ) );
+    }
+
+    static void assertSameHistory( List<Checkpoint> expected, List<Checkpoint> actual ) {
+        assertEquals( expected.size(), actual.size() );
+        for( int i = 0; i < expected.size(); ++i ) {
+            assertEquals( expected.get( i ).getId(), actual.get( i ).getId() );
+            assertEquals( expected.get( i ).getNodeId(), actual.get( i ).getNodeId() );
+            assertEquals( expected.get( i ).getNextNodeId(), actual.get( i ).getNextNodeId() );
+            assertEquals( expected.get( i ).getState(), actual.get( i ).getState() );
+            assertEquals( expected.get( i ).getChannelVersions(), actual.get( i ).getChannelVersions() );
+        }
+    }
+
+    /**
+     * Returns whether the rows of a thread store the changes, from the oldest one
+     */
+    static List<Boolean> storedChanges( String threadId ) throws Exception {
+        var sql = """
+                SELECT c.state_data->>'changes'
+                FROM LG4JCheckpoint c
+                JOIN LG4JThread t ON c.thread_id = t.thread_id
+                WHERE t.thread_name = ? AND t.is_released = FALSE
+                ORDER BY c.saved_at
+                """;
+        var result = new ArrayList<Boolean>();
+        try( var conn = DriverManager.getConnection( postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword() );
+             var ps = conn.prepareStatement( sql ) ) {
+            ps.setString( 1, threadId );
+            try( var rs = ps.executeQuery() ) {
+                while( rs.next() ) {
+                    result.add( Boolean.parseBoolean( rs.getString( 1 ) ) );
+                }
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void loadChangesAndSnapshots() throws Exception {
+        var config = RunnableConfig.builder().threadId( "delta" ).build();
+
+        var history = storeHistory( buildPostgresSaver().build(), config, 8 );
+
+        // a full snapshot every 3 checkpoints
+        assertEquals( List.of( false, true, true, false, true, true, false, true ), storedChanges( "delta" ) );
+
+        var restored = buildPostgresSaver().build();
+        assertSameHistory( history, new ArrayList<>( restored.list( config ) ) );
+    }
+
+    @Test
+    public void replaceCheckpointInPlace() throws Exception {
+        var config = RunnableConfig.builder().threadId( "replace" ).build();
+
+        var saver = buildPostgresSaver().build();
+        var history = storeHistory( saver, config, 5 );
+
+        // newest first, replaces the second checkpoint
+        var replaced = history.get( 3 );
+        var replacement = Checkpoint.copyOf( replaced ).updateState( Map.of( "document", "updated" ), Map.of() );
+        saver.put( RunnableConfig.builder( config ).checkPointId( replaced.getId() ).build(), replacement );
+        history = new ArrayList<>( saver.list( config ) );
+        assertEquals( replacement.getId(), history.get( 3 ).getId() );
+
+        // the replaced row keeps its position, the following one is stored in full
+        assertEquals( List.of( false, true, false, false, true ), storedChanges( "replace" ) );
+
+        var restored = buildPostgresSaver().build();
+        assertSameHistory( history, new ArrayList<>( restored.list( config ) ) );
+    }
+
+    @Test
+    public void updateStateOfGraph() throws Exception {
+        var graph = new StateGraph<>( AgentState::new )
+                .addNode( "agent_1", node_async( state -> Map.of( "agent_1", "done" ) ) )
+                .addNode( "agent_2", node_async( state -> Map.of( "agent_2", "done" ) ) )
+                .addEdge( START, "agent_1" )
+                .addEdge( "agent_1", "agent_2" )
+                .addEdge( "agent_2", END );
+
+        var config = RunnableConfig.builder().threadId( "graph" ).build();
+        var workflow = graph.compile( CompileConfig.builder().checkpointSaver( buildPostgresSaver().build() ).build() );
+        workflow.invoke( Map.of( "input", "test" ), config );
+
+        var snapshot = workflow.getStateHistory( config ).stream()
+                .filter( s -> s.node().equals( "agent_1" ) )
+                .findFirst()
+                .orElseThrow();
+        workflow.updateState( snapshot.config(), Map.of( "update", "updated" ) );
+        var history = workflow.getStateHistory( config ).stream().map( StateSnapshot::toString ).toList();
+
+        var restored = graph.compile( CompileConfig.builder().checkpointSaver( buildPostgresSaver().build() ).build() );
+        var restoredHistory = restored.getStateHistory( config );
+        assertEquals( history, restoredHistory.stream().map( StateSnapshot::toString ).toList() );
+        assertEquals( List.of( "agent_2", "agent_1", START ), restoredHistory.stream().map( StateSnapshot::node ).toList() );
+        assertEquals( "updated", restoredHistory.stream()
+                .filter( s -> s.node().equals( "agent_1" ) )
+                .findFirst()
+                .flatMap( s -> s.state().<String>value( "update" ) )
+                .orElseThrow() );
+    }
+}
@@ -80,7 +80,7 @@ public interface AgentExecutor {
 
             final var chatService = requireNonNull(chatServiceFactory, "chatServiceFactory cannot be null!").apply(this);
 
-            final var toolService = new SpringAIToolService(tools());
+            final var toolService = toolService();
 
             return Agent.<Message,State>builder()
                     .stateSerializer(stateSerializer)
@@ -2,16 +2,20 @@ package org.bsc.langgraph4j.spring.ai.agentexecutor;
 
 import org.bsc.langgraph4j.GraphStateException;
 import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.agent.ToolResultCache;
 import org.bsc.langgraph4j.serializer.StateSerializer;
+import org.bsc.langgraph4j.spring.ai.tool.SpringAIToolService;
 import org.bsc.langgraph4j.state.AgentState;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.support.ToolCallbacks;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -25,6 +29,10 @@ public abstract class AgentExecutorBuilder<B extends AgentExecutorBuilder<B,Stat
     protected String systemMessage;
     protected boolean streaming = false;
     protected final List<ToolCallback> tools = new ArrayList<>();
+    protected Executor toolCallExecutor;
+    protected int maxConcurrentToolCalls = Integer.MAX_VALUE;
+    protected Duration toolTimeout;
+    protected ToolResultCache toolResultCache;
 
     public Optional<String> systemMessage() {
         return ofNullable(systemMessage);
@@ -95,6 +103,60 @@ public abstract class AgentExecutorBuilder<B extends AgentExecutorBuilder<B,Stat
         return result();
     }
 
+    /**
+     * Enables the concurrent execution of the tool calls requested in the same turn.
+     * The executor is owned by the caller, that is in charge of shutting it down
+     *
+     * @param executor the executor used to run tool calls
+     * @return the current instance of GraphBuilder for method chaining
+     */
+    public B toolCallExecutor(Executor executor) {
+        this.toolCallExecutor = requireNonNull(executor, "executor cannot be null!");
+        return result();
+    }
+
+    /**
+     * Sets the max number of tool calls running at the same time, when executed concurrently
+     *
+     * @param maxConcurrentToolCalls the max number of concurrent tool calls
+     * @return the current instance of GraphBuilder for method chaining
+     */
+    public B maxConcurrentToolCalls(int maxConcurrentToolCalls) {
+        this.maxConcurrentToolCalls = maxConcurrentToolCalls;
+        return result();
+    }
+
+    /**
+     * Sets the timeout applied to each tool call, when executed concurrently
+     *
+     * @param timeout the timeout
+     * @return the current instance of GraphBuilder for method chaining
+     */
+    public B toolTimeout(Duration timeout) {
+        this.toolTimeout = requireNonNull(timeout, "timeout cannot be null!");
+        return result();
+    }
+
+    /**
+     * Enables the caching of tool results
+     *
+     * @param cache the cache to use
+     * @return the current instance of GraphBuilder for method chaining
+     */
+    public B toolResultCache(ToolResultCache cache) {
+        this.toolResultCache = requireNonNull(cache, "cache cannot be null!");
+        return result();
+    }
+
+    protected SpringAIToolService toolService() {
+        return SpringAIToolService.builder()
+                .tools(tools)
+                .toolCallExecutor(toolCallExecutor)
+                .maxConcurrentToolCalls(maxConcurrentToolCalls)
+                .toolTimeout(toolTimeout)
+                .toolResultCache(toolResultCache)
+                .build();
+    }
 
     public abstract StateGraph<State> build( Function<AgentExecutorBuilder<?,?>, AgentExecutor.ChatService> chatServiceFactory ) throws GraphStateException;
 
@@ -130,7 +130,7 @@ public interface AgentExecutorEx {
             final var chatService = requireNonNull(chatServiceFactory, "chatServiceFactory cannot be null!").apply(this);
 
             // verify approval
-            final var toolService = new SpringAIToolService(tools());
+            final var toolService = toolService();
 
             return AgentEx.<Message, State, ToolCallback>builder()
                     .stateSerializer( stateSerializer )
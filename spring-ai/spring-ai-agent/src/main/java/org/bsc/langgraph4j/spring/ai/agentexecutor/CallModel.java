@@ -5,6 +5,7 @@ import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
 import org.bsc.langgraph4j.action.NodeActionWithConfig;
 import org.bsc.langgraph4j.prebuilt.MessagesState;
 import org.bsc.langgraph4j.spring.ai.generators.StreamingChatGenerator;
+import org.bsc.langgraph4j.tracing.Tracing;
 import org.bsc.langgraph4j.utils.TypeRef;
 import org.springframework.ai.chat.messages.Message;
 
@@ -44,6 +45,12 @@ class CallModel<State extends MessagesState<Message>> implements NodeActionWithC
         if (streaming && !config.isRunningInStudio() ) {
             var flux = chatService.streamingExecute(messages);
 
+            // the model span ends when the stream terminates
+            final var span = Tracing.startSpan( Tracing.MODEL_SPAN );
+            if( span != null ) {
+                flux = flux.doOnError( span::recordError ).doFinally( signal -> span.end() );
+            }
+
             var generator = StreamingChatGenerator.builder()
                     .startingNode("agent")
                     .startingState(state)
@@ -52,7 +59,7 @@ class CallModel<State extends MessagesState<Message>> implements NodeActionWithC
 
             return Map.of("messages", generator);
         } else {
-            var response = chatService.execute(messages);
+            var response = Tracing.trace( Tracing.MODEL_SPAN, span -> {}, () -> chatService.execute(messages) );
 
             var output = response.getResult().getOutput();
 
@@ -1,22 +1,168 @@
 package org.bsc.langgraph4j.spring.ai.tool;
 
+import org.bsc.langgraph4j.agent.ToolCallTask;
+import org.bsc.langgraph4j.agent.ToolResultCache;
+import org.bsc.langgraph4j.bulkhead.Bulkhead;
+import org.bsc.langgraph4j.tracing.Tracing;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.ToolResponseMessage;
 import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.tool.ToolCallback;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
 
 /**
  * Service class responsible for managing tools and their callbacks.
+ * <p>
+ * By default tool calls are executed sequentially on the calling thread. If an {@link Executor} is configured
+ * (see {@link Builder#toolCallExecutor(Executor)}) the tool calls are executed concurrently, at most
+ * {@link Builder#maxConcurrentToolCalls(int)} at a time, each bounded by an optional timeout that interrupts it.
+ * In concurrent mode a failing (or timed out) call doesn't affect the others and its error is
+ * reported as the tool response. The executor is owned by the caller, that is in charge of shutting it down.
  */
 public class SpringAIToolService {
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(SpringAIToolService.class);
+
+    /**
+     * Builder for {@link SpringAIToolService}
+     */
+    public static class Builder {
+        private final List<ToolCallback> tools = new ArrayList<>();
+        private Executor toolCallExecutor;
+        private int maxConcurrentToolCalls = Integer.MAX_VALUE;
+        private Duration defaultToolTimeout;
+        private final Map<String, Duration> toolTimeouts = new HashMap<>();
+        private ToolResultCache toolResultCache;
+        private final Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+        public Builder tool(ToolCallback tool) {
+            this.tools.add(Objects.requireNonNull(tool, "tool cannot be null"));
+            return this;
+        }
+
+        public Builder tools(List<ToolCallback> tools) {
+            this.tools.addAll(Objects.requireNonNull(tools, "tools cannot be null"));
+            return this;
+        }
+
+        /**
+         * Enables the concurrent execution of tool calls using the given executor
+         *
+         * @param executor the executor used to run tool calls
+         * @return the builder
+         */
+        public Builder toolCallExecutor(Executor executor) {
+            this.toolCallExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the max number of tool calls, belonging to the same request, running at the same time.
+         * A call holds its slot until it returns, also when it has timed out
+         *
+         * @param maxConcurrentToolCalls the max number of concurrent tool calls
+         * @return the builder
+         */
+        public Builder maxConcurrentToolCalls(int maxConcurrentToolCalls) {
+            if( maxConcurrentToolCalls < 1 ) {
+                throw new IllegalArgumentException("maxConcurrentToolCalls must be greater than 0!");
+            }
+            this.maxConcurrentToolCalls = maxConcurrentToolCalls;
+            return this;
+        }
+
+        /**
+         * Sets the timeout applied to every tool call, executed concurrently, that hasn't a specific one
+         *
+         * @param timeout the timeout
+         * @return the builder
+         */
+        public Builder toolTimeout(Duration timeout) {
+            this.defaultToolTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets the timeout applied to the calls of the given tool, when executed concurrently
+         *
+         * @param toolName the tool name
+         * @param timeout the timeout
+         * @return the builder
+         */
+        public Builder toolTimeout(String toolName, Duration timeout) {
+            this.toolTimeouts.put( Objects.requireNonNull(toolName, "toolName cannot be null"),
+                    Objects.requireNonNull(timeout, "timeout cannot be null") );
+            return this;
+        }
+
+        /**
+         * Enables the caching of tool results
+         *
+         * @param cache the cache to use
+         * @return the builder
+         */
+        public Builder toolResultCache(ToolResultCache cache) {
+            this.toolResultCache = cache;
+            return this;
+        }
+
+        /**
+         * Limits the concurrency and the rate of the calls of the given tool through a bulkhead.
+         * The same bulkhead can be shared by several tools, or tool services, calling the same resource
+         *
+         * @param toolName the tool name
+         * @param bulkhead the bulkhead
+         * @return the builder
+         */
+        public Builder toolBulkhead(String toolName, Bulkhead bulkhead) {
+            this.bulkheads.put( Objects.requireNonNull(toolName, "toolName cannot be null"),
+                    Objects.requireNonNull(bulkhead, "bulkhead cannot be null") );
+            return this;
+        }
+
+        public SpringAIToolService build() {
+            return new SpringAIToolService(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
 
     private final List<ToolCallback> agentFunctions;
+    private final Map<String, ToolCallback> agentFunctionsByName;
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final Duration defaultTimeout;
+    private final Map<String, Duration> timeouts;
+    private final ToolResultCache cache;
+    private final Map<String, Bulkhead> bulkheads;
 
     public SpringAIToolService(List<ToolCallback> agentFunctions ) {
-        this.agentFunctions = agentFunctions;
+        this( builder().tools(agentFunctions) );
+    }
+
+    private SpringAIToolService( Builder builder ) {
+        this.agentFunctions = List.copyOf(builder.tools);
+        this.agentFunctionsByName = new LinkedHashMap<>();
+        for( var tool : agentFunctions ) {
+            // keep the first declared tool, as the previous lookup did
+            agentFunctionsByName.putIfAbsent( tool.getToolDefinition().name(), tool );
+        }
+        this.executor = builder.toolCallExecutor;
+        this.maxConcurrency = builder.maxConcurrentToolCalls;
+        this.defaultTimeout = builder.defaultToolTimeout;
+        this.timeouts = Map.copyOf(builder.toolTimeouts);
+        this.cache = builder.toolResultCache;
+        this.bulkheads = Map.copyOf(builder.bulkheads);
     }
 
     /**
@@ -37,9 +183,16 @@ public class SpringAIToolService {
     public Optional<ToolCallback> agentFunction( String name ) {
         Objects.requireNonNull( name, "name cannot be null" );
 
-        return this.agentFunctions.stream()
-                .filter( tool -> Objects.equals(tool.getToolDefinition().name(), name ))
-                .findFirst();
+        return Optional.ofNullable( agentFunctionsByName.get(name) );
+    }
+
+    /**
+     * Checks if tool calls are executed concurrently
+     *
+     * @return true if an executor has been configured
+     */
+    public boolean isConcurrent() {
+        return executor != null;
     }
 
     public CompletableFuture<ToolResponseMessage> executeFunctions(List<AssistantMessage.ToolCall> toolCalls, Map<String,Object> toolContextMap) {
@@ -47,8 +200,9 @@ public class SpringAIToolService {
         CompletableFuture<ToolResponseMessage> result = new CompletableFuture<>();
 
         var toolContext =  new ToolContext( toolContextMap );
+        var scope = cacheScope( toolContextMap );
 
-        var responses = new ArrayList<ToolResponseMessage.ToolResponse>();
+        var callbacks = new ArrayList<ToolCallback>( toolCalls.size() );
 
         for( var toolCall : toolCalls ) {
 
@@ -61,8 +215,21 @@ public class SpringAIToolService {
                 return result;
             }
 
-            var functionResponse = functionCallback.get().call(toolCall.arguments(), toolContext );
-            var toolResponse = new ToolResponseMessage.ToolResponse(toolCall.id(), functionName, functionResponse);
+            callbacks.add( functionCallback.get() );
+        }
+
+        if( isConcurrent() ) {
+            return executeConcurrently( toolCalls, callbacks, toolContext, scope )
+                    .thenApply( ToolResponseMessage::new );
+        }
+
+        var responses = new ArrayList<ToolResponseMessage.ToolResponse>();
+
+        for( int i = 0 ; i < toolCalls.size() ; ++i ) {
+            var toolCall = toolCalls.get(i);
+
+            var functionResponse = call( toolCall, callbacks.get(i), toolContext, scope );
+            var toolResponse = new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), functionResponse);
 
             responses.add( toolResponse );
 
@@ -76,4 +243,169 @@ public class SpringAIToolService {
         return executeFunctions( toolCalls, Map.of() );
     }
 
+    /**
+     * The scope of the cached tool results: the results depending on the tool context are not shared among
+     * callers having a different one
+     */
+    private static Object cacheScope( Map<String,Object> toolContextMap ) {
+        return ( toolContextMap == null || toolContextMap.isEmpty() ) ? null :
+                Collections.unmodifiableMap( new HashMap<>( toolContextMap ) );
+    }
+
+    private String call( AssistantMessage.ToolCall toolCall, ToolCallback callback, ToolContext toolContext, Object scope ) {
+        return Tracing.trace( Tracing.TOOL_SPAN, span -> span.setAttribute( Tracing.TOOL_NAME, toolCall.name() ), () -> {
+            if( cache != null ) {
+                return cache.computeIfAbsent( scope, toolCall.name(), toolCall.arguments(),
+                        () -> callThroughBulkhead( toolCall, callback, toolContext ) );
+            }
+            return callThroughBulkhead( toolCall, callback, toolContext );
+        });
+    }
+
+    /**
+     * Calls the tool on the calling thread, through its bulkhead if any
+     */
+    private String callThroughBulkhead( AssistantMessage.ToolCall toolCall, ToolCallback callback, ToolContext toolContext ) {
+        final var bulkhead = bulkheads.get( toolCall.name() );
+        if( bulkhead == null ) {
+            return callback.call( toolCall.arguments(), toolContext );
+        }
+        try {
+            return bulkhead.execute( () -> CompletableFuture.completedFuture( callback.call( toolCall.arguments(), toolContext ) ) ).join();
+        }
+        catch( CompletionException ex ) {
+            if( ex.getCause() instanceof RuntimeException runtimeException ) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Runs the tool calls on the executor keeping at most {@code maxConcurrency} calls in flight.
+     * Each terminated call triggers the next pending one, so no thread is blocked waiting for a free slot.
+     * A timed out call holds its slot until it actually returns, while its response is delivered on timeout.
+     */
+    private CompletableFuture<List<ToolResponseMessage.ToolResponse>> executeConcurrently( List<AssistantMessage.ToolCall> toolCalls,
+                                                                                            List<ToolCallback> callbacks,
+                                                                                            ToolContext toolContext,
+                                                                                            Object scope ) {
+        final int size = toolCalls.size();
+        final var result = new CompletableFuture<List<ToolResponseMessage.ToolResponse>>();
+
+        if( size == 0 ) {
+            result.complete( List.of() );
+            return result;
+        }
+
+        final var responses = new ToolResponseMessage.ToolResponse[size];
+        final var nextIndex = new AtomicInteger(0);
+        final var remaining = new AtomicInteger(size);
+        // pending calls are dispatched from the completion of previous ones, so the caller span is captured here
+        final var parentSpan = Tracing.current();
+
+        final var dispatcher = new Runnable() {
+            @Override
+            public void run() {
+                final int index = nextIndex.getAndIncrement();
+                if( index >= size ) {
+                    return;
+                }
+                final var execution = Tracing.withSpan( parentSpan,
+                        () -> executeAsync( toolCalls.get(index), callbacks.get(index), toolContext, scope ) );
+                execution.response().whenComplete( (response, ex) -> {
+                    responses[index] = response;
+                    if( remaining.decrementAndGet() == 0 ) {
+                        result.complete( List.of(responses) );
+                    }
+                });
+                // the slot is released once the call has returned
+                execution.termination().whenComplete( (ignored, ex) -> run() );
+            }
+        };
+
+        for( int i = 0, workers = Math.min(size, maxConcurrency) ; i < workers ; ++i ) {
+            dispatcher.run();
+        }
+
+        return result;
+    }
+
+    /**
+     * The execution of a tool call
+     *
+     * @param response the tool response, never completed exceptionally
+     * @param termination completed once the call has returned
+     */
+    private record Execution( CompletableFuture<ToolResponseMessage.ToolResponse> response,
+                              CompletableFuture<?> termination ) {}
+
+    /**
+     * Executes a single tool call. The response never completes exceptionally:
+     * errors and timeouts are converted in a tool response, so they are isolated from the other calls.
+     */
+    private Execution executeAsync( AssistantMessage.ToolCall toolCall,
+                                    ToolCallback callback,
+                                    ToolContext toolContext,
+                                    Object scope ) {
+        final var timeout = timeouts.getOrDefault( toolCall.name(), defaultTimeout );
+        // the task actually calling the tool, none if the result is cached or awaited from a call in flight
+        final var task = new ToolCallTask<?>[1];
+
+        final CompletableFuture<String> future;
+        if( cache != null ) {
+            // results are scoped by tool context and the same calls in flight are executed once
+            future = cache.computeIfAbsentAsync( scope, toolCall.name(), toolCall.arguments(), () -> {
+                var call = callAsync( toolCall, callback, toolContext, timeout );
+                task[0] = call;
+                return call.result();
+            });
+        }
+        else {
+            var call = callAsync( toolCall, callback, toolContext, timeout );
+            task[0] = call;
+            future = call.result();
+        }
+
+        final var response = future.handle( (functionResponse, ex ) -> {
+            if( ex == null ) {
+                return new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), functionResponse);
+            }
+            var cause = ( ex instanceof CompletionException && ex.getCause() != null ) ? ex.getCause() : ex;
+
+            log.warn( "tool call '{}' with id '{}' failed", toolCall.name(), toolCall.id(), cause );
+
+            return new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), errorMessage( toolCall.name(), cause, timeout ));
+        });
+        return new Execution( response, ( task[0] != null ) ? task[0].termination() : response );
+    }
+
+    /**
+     * Describes the failure of a tool call, reported as its response
+     */
+    private static String errorMessage( String toolName, Throwable cause, Duration timeout ) {
+        return ( cause instanceof TimeoutException && timeout != null ) ?
+                format( "tool '%s' timed out after %d ms", toolName, timeout.toMillis() ) :
+                format( "tool '%s' failed: %s", toolName, cause.getMessage() );
+    }
+
+    private ToolCallTask<String> callAsync( AssistantMessage.ToolCall toolCall,
+                                            ToolCallback callback,
+                                            ToolContext toolContext,
+                                            Duration timeout ) {
+        final var span = Tracing.startSpan( Tracing.TOOL_SPAN );
+        if( span != null ) {
+            span.setAttribute( Tracing.TOOL_NAME, toolCall.name() );
+        }
+
+        // the timeout interrupts the tool call, that holds the bulkhead permit until it returns
+        final var task = ToolCallTask.submit( () -> Tracing.withSpan( span, () -> callback.call( toolCall.arguments(), toolContext ) ),
+                executor,
+                timeout,
+                bulkheads.get( toolCall.name() ) );
+
+        Tracing.endOnCompletion( span, task.result() );
+        return task;
+    }
+
 }
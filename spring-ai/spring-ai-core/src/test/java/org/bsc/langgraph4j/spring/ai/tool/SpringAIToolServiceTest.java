@@ -0,0 +1,239 @@
+package org.bsc.langgraph4j.spring.ai.tool;
+
+import org.bsc.langgraph4j.agent.ToolResultCache;
+import org.bsc.langgraph4j.bulkhead.Bulkhead;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpringAIToolServiceTest {
+
+    static ToolCallback tool(String name, Function<String, String> function) {
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return ToolDefinition.builder()
+                        .name(name)
+                        .description(name)
+                        .inputSchema("{}")
+                        .build();
+            }
+
+            @Override
+            public String call(String toolInput) {
+                return function.apply(toolInput);
+            }
+        };
+    }
+
+    static String sleep(long millis, String result) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    static AssistantMessage.ToolCall toolCall(String id, String name, String arguments) {
+        return new AssistantMessage.ToolCall(id, "function", name, arguments);
+    }
+
+    @Test
+    public void executeFunctionsSequentially() throws Exception {
+
+        var toolService = new SpringAIToolService(List.of(
+                tool("echo", input -> format("echo %s", input)),
+                tool("upper", String::toUpperCase)));
+
+        assertFalse(toolService.isConcurrent());
+        assertTrue(toolService.agentFunction("upper").isPresent());
+        assertTrue(toolService.agentFunction("unknown").isEmpty());
+
+        var result = toolService.executeFunctions(List.of(
+                toolCall("1", "echo", "a"),
+                toolCall("2", "upper", "b"))).get();
+
+        assertEquals(List.of("echo a", "B"),
+                result.getResponses().stream().map(ToolResponseMessage.ToolResponse::responseData).toList());
+
+        var failed = toolService.executeFunctions(List.of(toolCall("1", "unknown", "a")));
+        assertTrue(failed.isCompletedExceptionally());
+    }
+
+    @Test
+    public void executeFunctionsConcurrently() throws Exception {
+
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+
+        Function<String, String> tracked = input -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                return sleep(Long.parseLong(input), input);
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var toolService = SpringAIToolService.builder()
+                    .tool(tool("wait", tracked))
+                    .tool(tool("fail", input -> {
+                        throw new IllegalStateException("boom");
+                    }))
+                    .tool(tool("slow", input -> sleep(2_000, "slow")))
+                    .toolCallExecutor(executor)
+                    .maxConcurrentToolCalls(2)
+                    .toolTimeout(Duration.ofMillis(500))
+                    .build();
+
+            assertTrue(toolService.isConcurrent());
+
+            var toolCalls = List.of(
+                    toolCall("1", "wait", "200"),
+                    toolCall("2", "fail", "{}"),
+                    toolCall("3", "wait", "10"),
+                    toolCall("4", "slow", "{}"),
+                    toolCall("5", "wait", "100"));
+
+            var responses = toolService.executeFunctions(toolCalls)
+                    .get(5, TimeUnit.SECONDS)
+                    .getResponses();
+
+            // results keep the order of requests
+            assertEquals(List.of("1", "2", "3", "4", "5"),
+                    responses.stream().map(ToolResponseMessage.ToolResponse::id).toList());
+            assertEquals("200", responses.get(0).responseData());
+            assertEquals("tool 'fail' failed: boom", responses.get(1).responseData());
+            assertEquals("10", responses.get(2).responseData());
+            assertEquals("tool 'slow' timed out after 500 ms", responses.get(3).responseData());
+            assertEquals("100", responses.get(4).responseData());
+
+            assertTrue(maxRunning.get() <= 2, "concurrency limit exceeded");
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void holdSlotUntilTimedOutCallReturns() throws Exception {
+
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+
+        // the call ignores the interruption and keeps running after its timeout
+        Function<String, String> stubborn = input -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Long.parseLong(input));
+                while (System.nanoTime() < deadline) {
+                    sleep(10, input);
+                    Thread.interrupted();
+                }
+                return input;
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var toolService = SpringAIToolService.builder()
+                    .tool(tool("stubborn", stubborn))
+                    .toolCallExecutor(executor)
+                    .maxConcurrentToolCalls(1)
+                    .toolTimeout("stubborn", Duration.ofMillis(50))
+                    .build();
+
+            var responses = toolService.executeFunctions(List.of(
+                            toolCall("1", "stubborn", "300"),
+                            toolCall("2", "stubborn", "10")))
+                    .get(5, TimeUnit.SECONDS)
+                    .getResponses();
+
+            assertEquals("tool 'stubborn' timed out after 50 ms", responses.get(0).responseData());
+            assertEquals("10", responses.get(1).responseData());
+            // the timed out call kept its slot until it returned
+            assertEquals(1, maxRunning.get());
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void executeFunctionsWithResultCache() throws Exception {
+
+        final var calls = new AtomicInteger();
+
+        var cache = ToolResultCache.builder().build();
+
+        var toolService = SpringAIToolService.builder()
+                .tool(tool("search", input -> "found-" + calls.incrementAndGet()))
+                .toolResultCache(cache)
+                .build();
+
+        var responses = toolService.executeFunctions(List.of(
+                        toolCall("1", "search", "{\"q\":\"a\"}"),
+                        toolCall("2", "search", "{ \"q\" : \"a\" }"),
+                        toolCall("3", "search", "{\"q\":\"b\"}")))
+                .get()
+                .getResponses();
+
+        assertEquals(List.of("found-1", "found-1", "found-2"),
+                responses.stream().map(ToolResponseMessage.ToolResponse::responseData).toList());
+        assertEquals(2, calls.get());
+        assertEquals(1.0 / 3, cache.stats().hitRate(), 0.0001);
+    }
+
+    @Test
+    public void executeFunctionsThroughBulkhead() throws Exception {
+
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+
+        var bulkhead = Bulkhead.builder().name("api").maxConcurrency(1).build();
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var toolService = SpringAIToolService.builder()
+                    .tool(tool("api", input -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        var result = sleep(20, "api " + input);
+                        running.decrementAndGet();
+                        return result;
+                    }))
+                    .toolCallExecutor(executor)
+                    .toolBulkhead("api", bulkhead)
+                    .build();
+
+            var result = toolService.executeFunctions(List.of(
+                    toolCall("1", "api", "a"),
+                    toolCall("2", "api", "b"),
+                    toolCall("3", "api", "c"))).get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of("api a", "api b", "api c"),
+                    result.getResponses().stream().map(ToolResponseMessage.ToolResponse::responseData).toList());
+            assertEquals(1, maxRunning.get());
+            assertEquals(3, bulkhead.stats().completed());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.io.PrintWriter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -418,6 +419,7 @@ public interface LangGraphStudioServer {
     class GraphStreamServlet extends HttpServlet {
 
         final Map<String,Instance> instanceMap;
+        final Map<PersistentConfig,TimelineRecorder> timelineRecorders = new ConcurrentHashMap<>();
         final Logger log = LangGraphStudioServer.log;
 
 
@@ -438,12 +440,16 @@ public interface LangGraphStudioServer {
 
         /**
          * Compiles the configuration for the given persistent configuration.
+         * The instance configuration is extended with the listener recording the steps timeline.
          *
          * @param config the persistent configuration.
          * @return the compiled configuration.
          */
         private CompileConfig compileConfig( Instance instance, PersistentConfig config) {
-            return instance.compileConfig();
+            var recorder = timelineRecorders.computeIfAbsent( config, key -> new TimelineRecorder() );
+            return CompileConfig.builder( instance.compileConfig() )
+                    .lifecycleListener( recorder )
+                    .build();
         }
 
         /**
@@ -465,12 +471,16 @@ public interface LangGraphStudioServer {
          * @param writer the writer to serialize to.
          * @param threadId the ID of the thread.
          * @param output the output to serialize.
+         * @param timing the timing of the step that produced the output, if any.
          */
-        private void serializeOutput( Instance instance, PrintWriter writer, String threadId, NodeOutput<? extends AgentState> output) {
+        private void serializeOutput( Instance instance, PrintWriter writer, String threadId, NodeOutput<? extends AgentState> output, NodeTiming timing) {
             try {
                 writer.printf("[ \"%s\",", threadId);
                 writer.println();
-                var outputAsString = instance.objectMapper().writeValueAsString(output);
+                var outputAsString = instance.objectMapper()
+                                        .writer()
+                                        .withAttribute( NodeTiming.class, timing )
+                                        .writeValueAsString(output);
                 writer.println(outputAsString);
                 writer.println("]");
             } catch (IOException e) {
@@ -584,12 +594,22 @@ public interface LangGraphStudioServer {
                     generator = compiledGraph.streamSnapshots(dataMap, runnableConfig(persistentConfig));
                 }
 
+                // the generator is lazy, so each step runs between the previous output sent and the next one received
+                final var recorder = timelineRecorders.get( persistentConfig );
+                if( recorder != null ) {
+                    recorder.beginStep();
+                }
+
                 generator.forEachAsync(s -> {
                             try {
-                                serializeOutput(instance, writer, threadId, s);
+                                var timing = ( recorder != null ) ? recorder.endStep() : null;
+                                serializeOutput(instance, writer, threadId, s, timing);
                                 writer.println();
                                 writer.flush();
                                 TimeUnit.SECONDS.sleep(1);
+                                if( recorder != null ) {
+                                    recorder.beginStep();
+                                }
                             } catch (InterruptedException e) {
                                 throw new CompletionException(e);
                             }
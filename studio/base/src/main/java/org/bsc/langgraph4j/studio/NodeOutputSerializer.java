@@ -1,6 +1,7 @@
 package org.bsc.langgraph4j.studio;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import org.bsc.langgraph4j.NodeOutput;
@@ -9,12 +10,16 @@ import org.bsc.langgraph4j.subgraph.SubGraphOutput;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static java.lang.String.format;
 
 /**
  * Serializer for NodeOutput objects, extending the StdSerializer class.
  * This class is responsible for converting NodeOutput instances into JSON format.
+ * <p>
+ * If a {@link NodeTiming} is given as serialization attribute, it is written in the {@code timing} field
+ * together with the size in bytes of the serialized state.
  */
 @SuppressWarnings("rawtypes")
 class NodeOutputSerializer extends StdSerializer<NodeOutput> {
@@ -28,6 +33,10 @@ class NodeOutputSerializer extends StdSerializer<NodeOutput> {
         super( NodeOutput.class );
     }
 
+    private static double toMillis( long nanos ) {
+        return nanos / 1_000_000.0;
+    }
+
     /**
      * Serializes a NodeOutput instance into JSON.
      *
@@ -61,11 +70,51 @@ class NodeOutputSerializer extends StdSerializer<NodeOutput> {
 
         // serializerProvider.defaultSerializeField("state", nodeOutput.state().data(), gen);
 
-        gen.writeObjectField("state", nodeOutput.state().data());
+        var timing = (NodeTiming) serializerProvider.getAttribute( NodeTiming.class );
+
+        if( timing != null && gen.getCodec() instanceof ObjectMapper mapper ) {
+            // serialize the state apart to measure its size
+            var state = mapper.writeValueAsString( nodeOutput.state().data() );
+            gen.writeFieldName("state");
+            gen.writeRawValue(state);
+
+            writeTiming( timing, state.getBytes(StandardCharsets.UTF_8).length, gen );
+        }
+        else {
+            gen.writeObjectField("state", nodeOutput.state().data());
+        }
 
         if( nodeOutput instanceof StateSnapshot<?> snapshot ) {
             gen.writeObjectField("next", snapshot.next() );
         }
         gen.writeEndObject();
     }
+
+    /**
+     * Writes the step timing. Timestamps are epoch milliseconds and durations are milliseconds, both with fractional part
+     */
+    private void writeTiming( NodeTiming timing, long stateSize, JsonGenerator gen ) throws IOException {
+        log.trace( "timing: {}", timing );
+
+        gen.writeObjectFieldStart("timing");
+        gen.writeNumberField("start", toMillis( timing.start() ) );
+        gen.writeNumberField("end", toMillis( timing.end() ) );
+        gen.writeNumberField("duration", toMillis( timing.durationNanos() ) );
+        gen.writeNumberField("checkpointWrite", toMillis( timing.checkpointWriteNanos() ) );
+        gen.writeNumberField("stateSize", stateSize );
+        gen.writeArrayFieldStart("branches");
+        for( var branch : timing.branches() ) {
+            gen.writeStartObject();
+            gen.writeStringField("node", branch.node());
+            gen.writeNumberField("start", toMillis( branch.start() ) );
+            gen.writeNumberField("end", toMillis( branch.end() ) );
+            gen.writeNumberField("duration", toMillis( branch.end() - branch.start() ) );
+            if( branch.failed() ) {
+                gen.writeBooleanField("failed", true );
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
 }
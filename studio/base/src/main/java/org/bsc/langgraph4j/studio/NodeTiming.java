@@ -0,0 +1,41 @@
+package org.bsc.langgraph4j.studio;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Timing of a graph step, that is the production of a single {@link org.bsc.langgraph4j.NodeOutput}, streamed
+ * to the studio beside the output itself.
+ * <p>
+ * Timestamps are epoch nanoseconds, so they can be compared across steps and runs.
+ *
+ * @param start the step start
+ * @param end the step end
+ * @param checkpointWriteNanos the time spent storing the step checkpoints
+ * @param branches the parallel branches run in the step, if any
+ */
+record NodeTiming( long start, long end, long checkpointWriteNanos, List<Branch> branches ) {
+
+    /**
+     * Timing of a parallel branch
+     *
+     * @param node the branch target node
+     * @param start the branch start
+     * @param end the branch end
+     * @param failed whether the branch has failed
+     */
+    record Branch( String node, long start, long end, boolean failed ) {
+        Branch {
+            requireNonNull( node, "node cannot be null" );
+        }
+    }
+
+    NodeTiming {
+        branches = List.copyOf( requireNonNull( branches, "branches cannot be null" ) );
+    }
+
+    long durationNanos() {
+        return end - start;
+    }
+}
@@ -0,0 +1,67 @@
+package org.bsc.langgraph4j.studio;
+
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleEvent.CheckpointPut;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleEvent.ParallelBranch;
+import org.bsc.langgraph4j.lifecycle.GraphLifecycleListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the timing of the steps of a graph streamed to the studio.
+ * <p>
+ * The steps are delimited by the stream consumer: a step begins when the previous output has been sent
+ * ({@link #beginStep()}) and ends when the next output is received ({@link #endStep()}), so the time spent
+ * by the studio to send the outputs is not accounted. In the meanwhile the checkpoint writes and the parallel
+ * branches notified by the graph are collected into the step.
+ * <p>
+ * A recorder observes a single compiled graph, whose runs are streamed one at a time.
+ */
+class TimelineRecorder implements GraphLifecycleListener {
+
+    // offset to convert System.nanoTime() values to epoch nanoseconds
+    private final long epochOffset = TimeUnit.MILLISECONDS.toNanos( System.currentTimeMillis() ) - System.nanoTime();
+
+    private long stepStart;
+    private long checkpointWriteNanos;
+    private final List<NodeTiming.Branch> branches = new ArrayList<>();
+
+    private long toEpoch( long nanoTime ) {
+        return nanoTime + epochOffset;
+    }
+
+    /**
+     * Begins a new step, discarding whatever has been collected so far
+     */
+    synchronized void beginStep() {
+        stepStart = System.nanoTime();
+        checkpointWriteNanos = 0L;
+        branches.clear();
+    }
+
+    /**
+     * Ends the current step
+     *
+     * @return the step timing
+     */
+    synchronized NodeTiming endStep() {
+        return new NodeTiming( toEpoch( stepStart ),
+                toEpoch( System.nanoTime() ),
+                checkpointWriteNanos,
+                branches );
+    }
+
+    @Override
+    public synchronized void onCheckpointPut( CheckpointPut event ) {
+        checkpointWriteNanos += event.durationNanos();
+    }
+
+    @Override
+    public synchronized void onParallelBranch( ParallelBranch event ) {
+        branches.add( new NodeTiming.Branch( event.branchId(),
+                toEpoch( event.timestamp() ),
+                toEpoch( event.timestamp() + event.durationNanos() ),
+                event.errorIfAny().isPresent() ) );
+    }
+}
@@ -0,0 +1,119 @@
+package org.bsc.langgraph4j.studio;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.bsc.langgraph4j.CompileConfig;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.MemorySaver;
+import org.bsc.langgraph4j.prebuilt.MessagesStateGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.bsc.langgraph4j.StateGraph.END;
+import static org.bsc.langgraph4j.StateGraph.START;
+import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodeOutputTimingTest {
+
+    static Map<String,Object> sleepAndReturn( String message, long millis ) throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep( millis );
+        return Map.of( "messages", message );
+    }
+
+    @Test
+    public void serializeTimeline() throws Exception {
+        var workflow = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> sleepAndReturn( "A", 20 ) ) )
+                .addNode("B1", node_async( state -> sleepAndReturn( "B1", 10 ) ) )
+                .addNode("B2", node_async( state -> sleepAndReturn( "B2", 10 ) ) )
+                .addNode("C", node_async( state -> Map.of( "messages", "C" ) ) )
+                .addEdge(START, "A")
+                .addEdge("A", "B1")
+                .addEdge("A", "B2")
+                .addEdge("B1", "C")
+                .addEdge("B2", "C")
+                .addEdge("C", END);
+
+        var instance = new LangGraphStudioServer.Instance( "test", workflow,
+                CompileConfig.builder().checkpointSaver( new MemorySaver() ).build(), List.of() );
+
+        var recorder = new TimelineRecorder();
+        var app = workflow.compile( CompileConfig.builder( instance.compileConfig() )
+                .lifecycleListener( recorder )
+                .build() );
+
+        var outputs = new ArrayList<JsonNode>();
+        var writer = instance.objectMapper().writer();
+
+        // consume the outputs as the studio stream servlet does
+        recorder.beginStep();
+        app.streamSnapshots( GraphInput.args(Map.of()), RunnableConfig.builder().build() ).forEachAsync( output -> {
+            var timing = recorder.endStep();
+            try {
+                var json = writer.withAttribute( NodeTiming.class, timing ).writeValueAsString( output );
+                outputs.add( instance.objectMapper().readTree( json ) );
+                // simulate the studio streaming delay, that must not be accounted
+                TimeUnit.MILLISECONDS.sleep( 50 );
+            }
+            catch( Exception e ) {
+                throw new CompletionException( e );
+            }
+            recorder.beginStep();
+        }).join();
+
+        assertEquals( List.of( START, "A", "__PARALLEL__(A)", "C", END ),
+                outputs.stream().map( o -> o.get("node").asText() ).toList() );
+
+        double previousEnd = -50;
+        for( var output : outputs ) {
+            var timing = output.get("timing");
+            assertNotNull( timing, output.toString() );
+            // the streaming delay falls between the steps
+            assertTrue( timing.get("start").asDouble() >= previousEnd + 50, "the streaming delay is not accounted" );
+            assertEquals( timing.get("end").asDouble() - timing.get("start").asDouble(), timing.get("duration").asDouble(), 0.001 );
+            assertTrue( timing.get("stateSize").asLong() > 0 );
+            assertTrue( output.get("state").isObject() );
+            previousEnd = timing.get("end").asDouble();
+        }
+
+        var nodeA = outputs.get(1).get("timing");
+        assertTrue( nodeA.get("duration").asDouble() >= 20 );
+        assertTrue( nodeA.get("checkpointWrite").asDouble() > 0 );
+        assertEquals( 0, nodeA.get("branches").size() );
+
+        var parallel = outputs.get(2).get("timing");
+        var branches = parallel.get("branches");
+        assertEquals( 2, branches.size() );
+        for( var branch : branches ) {
+            assertTrue( List.of( "B1", "B2" ).contains( branch.get("node").asText() ) );
+            assertTrue( branch.get("duration").asDouble() >= 10 );
+            assertTrue( branch.get("start").asDouble() >= parallel.get("start").asDouble() );
+            assertTrue( branch.get("end").asDouble() <= parallel.get("end").asDouble() );
+        }
+    }
+
+    @Test
+    public void serializeWithoutTiming() throws Exception {
+        var workflow = new MessagesStateGraph<String>()
+                .addNode("A", node_async( state -> Map.of( "messages", "A" ) ) )
+                .addEdge(START, "A")
+                .addEdge("A", END);
+
+        var instance = new LangGraphStudioServer.Instance( "test", workflow,
+                CompileConfig.builder().checkpointSaver( new MemorySaver() ).build(), List.of() );
+
+        var app = workflow.compile( instance.compileConfig() );
+
+        for( var output : app.streamSnapshots( GraphInput.args(Map.of()), RunnableConfig.builder().build() ) ) {
+            var json = instance.objectMapper().readTree( instance.objectMapper().writeValueAsString( output ) );
+            assertFalse( json.has("timing") );
+            assertTrue( json.has("state") );
+        }
+    }
+}
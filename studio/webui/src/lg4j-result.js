@@ -241,6 +241,7 @@ export class LG4JResultElement extends LitElement {
             <input type="radio" name="execution-${ index === 0 ? '0' : '1'}" checked="${ index === 0 ? 'checked' : nothing }" />
             <div class="collapse-title text-ml font-bold">${ index === 0 ? 'Last Execution' : `Execution (${index})`}</div>
             <div class="collapse-content">
+              <lg4j-timeline .results=${results}></lg4j-timeline>
               <table class="table table-pin-rows">
                 <tbody>
                   ${results.map( result => 
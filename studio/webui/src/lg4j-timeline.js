@@ -0,0 +1,210 @@
+import TWStyles from './twlit.js';
+
+import { html, css, LitElement, nothing } from 'lit';
+import { debug } from './debug.js';
+
+const _DBG = debug( { on: false, topic: 'LG4JTimeline' } )
+
+/**
+ * @file
+ * @typedef {import('./types.js').ResultData} ResultData
+ * @typedef {import('./types.js').NodeTiming} NodeTiming
+ */
+
+/**
+ * @typedef {Object} TimelineRow
+ * @property {string} label - row label
+ * @property {boolean} branch - true if the row is a parallel branch
+ * @property {boolean} subgraph - true if the row is a subgraph step
+ * @property {number} offset - bar start in milliseconds from the timeline start
+ * @property {number} duration - bar length in milliseconds
+ * @property {number} [checkpointWrite] - checkpoint write time in milliseconds
+ * @property {number} [stateSize] - state size in bytes
+ * @property {boolean} [failed] - true if the branch has failed
+ */
+
+/**
+ * @param {number} ms
+ */
+const formatMillis = ( ms ) => ( ms >= 1000 ) ? `${(ms / 1000).toFixed(2)} s` : `${ms.toFixed(1)} ms`
+
+/**
+ * @param {number} bytes
+ */
+const formatBytes = ( bytes ) => ( bytes >= 1024 ) ? `${(bytes / 1024).toFixed(1)} KB` : `${bytes} B`
+
+/**
+ * Gantt-style timeline of the steps of an execution.
+ *
+ * The steps are laid out one after the other removing the idle time spent streaming the outputs,
+ * while the parallel branches keep their actual offset within their step.
+ */
+export class LG4JTimelineElement extends LitElement {
+
+  static styles = [TWStyles, css`
+  .row {
+    display: grid;
+    grid-template-columns: 12rem 1fr 5rem;
+    align-items: center;
+    gap: .5rem;
+    font-size: .75rem;
+    line-height: 1.25rem;
+  }
+  .label {
+    overflow: hidden;
+    text-overflow: ellipsis;
+    white-space: nowrap;
+  }
+  .branch .label {
+    padding-left: 1rem;
+    font-style: italic;
+  }
+  .subgraph .label {
+    padding-left: .5rem;
+  }
+  .track {
+    position: relative;
+    height: .9rem;
+    background-color: rgba(255,255,255,.05);
+  }
+  .bar {
+    position: absolute;
+    top: 0;
+    bottom: 0;
+    min-width: 2px;
+    border-radius: 2px;
+    background-color: #3abff8;
+  }
+  .branch .bar {
+    background-color: #828df8;
+  }
+  .bar.hotspot {
+    background-color: #fbbd23;
+  }
+  .bar.failed {
+    background-color: #f87272;
+  }
+  .checkpoint {
+    position: absolute;
+    top: 0;
+    bottom: 0;
+    right: 0;
+    background-color: rgba(0,0,0,.35);
+  }
+  .duration {
+    text-align: right;
+    font-variant-numeric: tabular-nums;
+  }
+  `]
+
+  static properties = {
+    results: { type: Array }
+  }
+
+  constructor() {
+    super()
+    /** @type {ResultData[]} */
+    this.results = []
+  }
+
+  /**
+   * Builds the timeline rows from the results carrying timing information
+   *
+   * @returns {TimelineRow[]}
+   */
+  #rows() {
+    /** @type {TimelineRow[]} */
+    const rows = []
+    let offset = 0
+
+    for( const result of this.results ?? [] ) {
+      const { timing } = result
+      if( !timing ) continue
+
+      rows.push( {
+        label: result.subgraphNode ?? result.node,
+        branch: false,
+        subgraph: !!result.subgraphNode,
+        offset,
+        duration: timing.duration,
+        checkpointWrite: timing.checkpointWrite,
+        stateSize: timing.stateSize
+      })
+
+      for( const branch of timing.branches ?? [] ) {
+        rows.push( {
+          label: branch.node,
+          branch: true,
+          subgraph: false,
+          offset: offset + ( branch.start - timing.start ),
+          duration: branch.duration,
+          failed: branch.failed
+        })
+      }
+
+      offset += timing.duration
+    }
+    _DBG( 'rows', rows )
+
+    return rows
+  }
+
+  /**
+   * @param {TimelineRow} row
+   * @param {number} total - the timeline length in milliseconds
+   * @param {number} hotspot - the duration from which a step is highlighted
+   */
+  #renderRow( row, total, hotspot ) {
+    const left = ( row.offset / total ) * 100
+    const width = ( row.duration / total ) * 100
+    const checkpoint = ( row.checkpointWrite && row.duration > 0 ) ? ( row.checkpointWrite / row.duration ) * 100 : 0
+
+    const classes = [ 'bar' ]
+    if( row.failed ) classes.push( 'failed' )
+    else if( !row.branch && row.duration >= hotspot ) classes.push( 'hotspot' )
+
+    const title = [
+      `${row.label}: ${formatMillis(row.duration)}`,
+      row.checkpointWrite !== undefined ? `checkpoint write: ${formatMillis(row.checkpointWrite)}` : null,
+      row.stateSize !== undefined ? `state size: ${formatBytes(row.stateSize)}` : null,
+      row.failed ? 'failed' : null
+    ].filter( line => line !== null ).join('\n')
+
+    return html`
+      <div class="row ${row.branch ? 'branch' : ''} ${row.subgraph ? 'subgraph' : ''}" title="${title}">
+        <div class="label">${row.label}</div>
+        <div class="track">
+          <div class="${classes.join(' ')}" style="left: ${left}%; width: ${width}%">
+            ${ checkpoint > 0 ? html`<div class="checkpoint" style="width: ${checkpoint}%"></div>` : nothing }
+          </div>
+        </div>
+        <div class="duration">${formatMillis(row.duration)}</div>
+      </div>`
+  }
+
+  render() {
+    const rows = this.#rows()
+    if( rows.length === 0 ) {
+      return nothing
+    }
+
+    const steps = rows.filter( row => !row.branch )
+    const total = Math.max( ...rows.map( row => row.offset + row.duration ), 0.001 )
+    const checkpointWrite = steps.reduce( ( sum, row ) => sum + ( row.checkpointWrite ?? 0 ), 0 )
+    // the slowest steps, taking at least half of the slowest one, are highlighted
+    const hotspot = Math.max( ...steps.map( row => row.duration ) ) / 2
+
+    return html`
+      <div class="p-2">
+        <div class="text-sm mb-2">
+          <span class="font-bold">Timeline</span>
+          <span class="ml-4">${steps.length} steps in ${formatMillis(total)}</span>
+          <span class="ml-4">checkpoint write ${formatMillis(checkpointWrite)}</span>
+        </div>
+        ${rows.map( row => this.#renderRow( row, total, hotspot ) )}
+      </div>
+    `
+  }
+}
+
+window.customElements.define('lg4j-timeline', LG4JTimelineElement);
@@ -19,6 +19,29 @@
  * @property {string|undefined} subgraphNode - subgraph id 
  */
 
+/**
+ * Timing of a parallel branch, timestamps are epoch milliseconds
+ *
+ * @typedef {Object} BranchTiming
+ * @property {string} node - branch target node id
+ * @property {number} start - branch start
+ * @property {number} end - branch end
+ * @property {number} duration - branch duration in milliseconds
+ * @property {boolean} [failed] - true if the branch has failed
+ */
+
+/**
+ * Timing of the step that produced a result, timestamps are epoch milliseconds
+ *
+ * @typedef {Object} NodeTiming
+ * @property {number} start - step start
+ * @property {number} end - step end
+ * @property {number} duration - step duration in milliseconds
+ * @property {number} checkpointWrite - checkpoint write time in milliseconds
+ * @property {number} stateSize - serialized state size in bytes
+ * @property {Array<BranchTiming>} branches - parallel branches run in the step
+ */
+
 /**
  * @typedef {Object} ResultData
  * @property {string} node - node id 
@@ -26,6 +49,7 @@
  * @property {string|undefined} subgraphNode - subgraph id 
  * @property {string} [checkpoint] - checkpoint id.
  * @property {Record<string,any>} state - state
+ * @property {NodeTiming} [timing] - step timing
  */
 
 /**